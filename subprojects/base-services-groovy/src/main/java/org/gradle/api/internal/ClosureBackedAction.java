@@ -48,6 +48,10 @@ public class ClosureBackedAction<T> implements Action<T> {
         this.resolveStrategy = resolveStrategy;
     }
 
+    public Closure getClosure() {
+        return closure;
+    }
+
     public static <T> void execute(T delegate, Closure<?> closure) {
         new ClosureBackedAction<T>(closure).execute(delegate);
     }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Measures creating a child registry and looking up services in it, as happens for each project of a large build.
+ */
+@State(Scope.Benchmark)
+public class DefaultServiceRegistryBenchmark {
+    private DefaultServiceRegistry parent;
+    private DefaultServiceRegistry child;
+
+    @Setup
+    public void createRegistries() {
+        parent = new DefaultServiceRegistry();
+        parent.addProvider(new ParentServices());
+        child = new DefaultServiceRegistry(parent);
+        child.addProvider(new ChildServices());
+        child.get(Set.class);
+    }
+
+    @Benchmark
+    public void createRegistryAndLookupServices(Blackhole bh) {
+        DefaultServiceRegistry registry = new DefaultServiceRegistry(parent);
+        registry.addProvider(new ChildServices());
+        bh.consume(registry.get(Set.class));
+        bh.consume(registry.get(List.class));
+        bh.consume(registry.get(BigDecimal.class));
+        bh.consume(registry.get(StringBuilder.class));
+    }
+
+    @Benchmark
+    public void lookupOwnService(Blackhole bh) {
+        bh.consume(child.get(Set.class));
+    }
+
+    @Benchmark
+    public void lookupParentService(Blackhole bh) {
+        bh.consume(child.get(BigDecimal.class));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void lookupServiceConcurrently(Blackhole bh) {
+        bh.consume(child.get(Set.class));
+    }
+
+    private static class ParentServices {
+        BigDecimal createBigDecimal() {
+            return BigDecimal.ONE;
+        }
+
+        BigInteger createBigInteger() {
+            return BigInteger.ONE;
+        }
+
+        StringBuilder createStringBuilder() {
+            return new StringBuilder();
+        }
+
+        Serializable createSerializable() {
+            return "serializable";
+        }
+    }
+
+    private static class ChildServices {
+        Set<String> createSet(List<String> list) {
+            return new HashSet<String>(list);
+        }
+
+        List<String> createList(Map<String, String> map) {
+            return new ArrayList<String>(map.keySet());
+        }
+
+        Map<String, String> createMap(BigDecimal value) {
+            Map<String, String> map = new HashMap<String, String>();
+            map.put("value", value.toString());
+            return map;
+        }
+
+        StringBuffer createStringBuffer() {
+            return new StringBuffer();
+        }
+
+        Thread createThread() {
+            return new Thread();
+        }
+    }
+}
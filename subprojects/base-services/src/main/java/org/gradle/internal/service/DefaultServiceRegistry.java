@@ -85,14 +85,16 @@ public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
 
     private static final ConcurrentMap<Class<?>, RelevantMethods> METHODS_CACHE = new ConcurrentHashMap<Class<?>, RelevantMethods>();
     private static final ConcurrentMap<Type, BiFunction<ServiceProvider, LookupContext, Provider>> SERVICE_TYPE_PROVIDER_CACHE = new ConcurrentHashMap<Type, BiFunction<ServiceProvider, LookupContext, Provider>>();
-    private final Map<Type, ServiceProvider> providerCache = new HashMap<Type, ServiceProvider>();
+    private static final ConcurrentMap<Class<?>, Set<Class<?>>> SUPER_TYPES_CACHE = new ConcurrentHashMap<Class<?>, Set<Class<?>>>();
+    // Each service is a singleton, so once located a service can be returned without locking
+    private final ConcurrentMap<Type, Object> serviceCache = new ConcurrentHashMap<Type, Object>();
 
     private final Object lock = new Object();
     private final OwnServices ownServices;
     private final Provider allServices;
     private final Provider parentServices;
     private final String displayName;
-    private boolean closed;
+    private volatile boolean closed;
     private boolean mutable = true; // access under lock
 
     public DefaultServiceRegistry() {
@@ -362,6 +364,7 @@ public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
                 CompositeStoppable.stoppable(allServices).stop();
             } finally {
                 closed = true;
+                serviceCache.clear();
             }
         }
     }
@@ -416,17 +419,21 @@ public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
 
 
     private Object doGet(Type serviceType) throws IllegalArgumentException {
+        Object service = serviceCache.get(serviceType);
+        if (service != null && !closed) {
+            return service;
+        }
         synchronized (lock) {
             mutable = false;
             if (closed) {
                 throw new IllegalStateException(String.format("Cannot locate service of type %s, as %s has been closed.", format(serviceType), getDisplayName()));
             }
-            ServiceProvider provider = providerCache.get(serviceType);
-            if (provider == null) {
-                provider = getServiceProvider(serviceType);
-                providerCache.put(serviceType, provider);
+            service = serviceCache.get(serviceType);
+            if (service == null) {
+                service = getServiceProvider(serviceType).get();
+                serviceCache.put(serviceType, service);
             }
-            return provider.get();
+            return service;
         }
     }
 
@@ -485,18 +492,19 @@ public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
     }
 
     private class OwnServices implements Provider {
-        private List<Provider> providers;
+        private List<SingletonService> providers;
+        // Providers indexed by each type they can satisfy, built on first use after providers are added
+        private Map<Class<?>, List<SingletonService>> providersByType;
 
         public ServiceProvider getFactory(LookupContext context, Class<?> type) {
-            if (providers == null) {
+            List<SingletonService> providers = getProviders(Factory.class);
+            if (providers.isEmpty()) {
                 return null;
             }
             List<ServiceProvider> candidates = new ArrayList<ServiceProvider>();
-            ServiceProvider unique = null;
             for (Provider provider : providers) {
                 ServiceProvider factory = provider.getFactory(context, type);
                 if (factory != null) {
-                    unique = factory;
                     candidates.add(factory);
                 }
             }
@@ -521,7 +529,8 @@ public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
         }
 
         public ServiceProvider getService(LookupContext context, TypeSpec serviceType) {
-            if (providers == null) {
+            List<SingletonService> providers = getProviders(serviceType.getRawType());
+            if (providers.isEmpty()) {
                 return null;
             }
             ServiceProvider singleCandidate = null;
@@ -562,14 +571,32 @@ public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
         }
 
         public <T> void getAll(LookupContext context, Class<T> serviceType, List<T> result) {
-            if (providers == null) {
-                return;
-            }
-            for (Provider provider : providers) {
+            for (Provider provider : getProviders(serviceType)) {
                 provider.getAll(context, serviceType, result);
             }
         }
 
+        private List<SingletonService> getProviders(Class<?> serviceType) {
+            if (providers == null) {
+                return Collections.emptyList();
+            }
+            if (providersByType == null) {
+                providersByType = new HashMap<Class<?>, List<SingletonService>>();
+                for (SingletonService provider : providers) {
+                    for (Class<?> type : getSuperTypes(provider.serviceClass)) {
+                        List<SingletonService> providersForType = providersByType.get(type);
+                        if (providersForType == null) {
+                            providersForType = new ArrayList<SingletonService>(1);
+                            providersByType.put(type, providersForType);
+                        }
+                        providersForType.add(provider);
+                    }
+                }
+            }
+            List<SingletonService> providersForType = providersByType.get(serviceType);
+            return providersForType == null ? Collections.<SingletonService>emptyList() : providersForType;
+        }
+
         public void stop() {
             if (providers == null) {
                 return;
@@ -577,11 +604,33 @@ public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
             CompositeStoppable.stoppable(providers).stop();
         }
 
-        public void add(Provider provider) {
+        public void add(SingletonService provider) {
             if (providers == null) {
                 providers = Lists.newArrayList();
             }
             this.providers.add(provider);
+            providersByType = null;
+        }
+    }
+
+    private static Set<Class<?>> getSuperTypes(Class<?> type) {
+        Set<Class<?>> superTypes = SUPER_TYPES_CACHE.get(type);
+        if (superTypes == null) {
+            superTypes = new HashSet<Class<?>>();
+            collectSuperTypes(type, superTypes);
+            superTypes.add(Object.class);
+            SUPER_TYPES_CACHE.putIfAbsent(type, superTypes);
+        }
+        return superTypes;
+    }
+
+    private static void collectSuperTypes(Class<?> type, Set<Class<?>> superTypes) {
+        if (type == null || !superTypes.add(type)) {
+            return;
+        }
+        collectSuperTypes(type.getSuperclass(), superTypes);
+        for (Class<?> interfaceType : type.getInterfaces()) {
+            collectSuperTypes(interfaceType, superTypes);
         }
     }
 
@@ -1119,6 +1168,11 @@ public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
 
     interface TypeSpec extends Spec<Type> {
         Type getType();
+
+        /**
+         * Returns the class that a service must extend or implement to satisfy this spec.
+         */
+        Class<?> getRawType();
     }
 
     private static class ClassSpec implements TypeSpec {
@@ -1132,6 +1186,10 @@ public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
             return type;
         }
 
+        public Class<?> getRawType() {
+            return type;
+        }
+
         public boolean isSatisfiedBy(Type element) {
             if (element instanceof ParameterizedType) {
                 ParameterizedType parameterizedType = (ParameterizedType) element;
@@ -1181,6 +1239,10 @@ public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
             return type;
         }
 
+        public Class<?> getRawType() {
+            return rawType.getRawType();
+        }
+
         public boolean isSatisfiedBy(Type element) {
             if (element instanceof ParameterizedType) {
                 ParameterizedType parameterizedType = (ParameterizedType) element;
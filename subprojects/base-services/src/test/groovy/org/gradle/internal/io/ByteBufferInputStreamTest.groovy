@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.io
+
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+
+class ByteBufferInputStreamTest extends Specification {
+
+    def "reads bytes from the remaining region of the buffer"() {
+        def buffer = ByteBuffer.wrap([1, 2, 3, 4, 5] as byte[])
+        buffer.position(1)
+        def stream = new ByteBufferInputStream(buffer)
+        def bytes = new byte[10]
+
+        expect:
+        stream.available() == 4
+        stream.read() == 2
+        stream.read(bytes, 0, 10) == 3
+        bytes[0..2] == [3, 4, 5] as byte[]
+        stream.read() == -1
+        stream.read(bytes, 0, 10) == -1
+    }
+
+    def "reads unsigned values"() {
+        def stream = new ByteBufferInputStream(ByteBuffer.wrap([-1] as byte[]))
+
+        expect:
+        stream.read() == 255
+    }
+
+    def "skips no further than the end of the buffer"() {
+        def stream = new ByteBufferInputStream(ByteBuffer.wrap([1, 2, 3] as byte[]))
+
+        expect:
+        stream.skip(2) == 2
+        stream.skip(5) == 1
+        stream.read() == -1
+    }
+}
@@ -186,13 +186,18 @@ public abstract class AbstractCodeQualityPlugin<T> implements Plugin<ProjectInte
 
     private void configureCheckTaskDependents() {
         final String taskBaseName = getTaskBaseName();
-        project.getTasks().getByName("check").dependsOn(new Callable() {
+        project.getTasks().configureLater("check", new Action<Task>() {
             @Override
-            public Object call() {
-                return Iterables.transform(extension.getSourceSets(), new Function<SourceSet, String>() {
+            public void execute(Task check) {
+                check.dependsOn(new Callable() {
                     @Override
-                    public String apply(SourceSet sourceSet) {
-                        return sourceSet.getTaskName(taskBaseName, null);
+                    public Object call() {
+                        return Iterables.transform(extension.getSourceSets(), new Function<SourceSet, String>() {
+                            @Override
+                            public String apply(SourceSet sourceSet) {
+                                return sourceSet.getTaskName(taskBaseName, null);
+                            }
+                        });
                     }
                 });
             }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.cache;
+
+import org.gradle.api.Transformer;
+import org.gradle.internal.event.DefaultListenerManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures contended lookups of values that are already present in a cache, as happens when many worker threads look up the same classes.
+ */
+@State(Scope.Benchmark)
+public class CrossBuildInMemoryCacheBenchmark {
+    private static final int KEY_COUNT = 1024;
+    private static final Transformer<Object, String> FACTORY = new Transformer<Object, String>() {
+        @Override
+        public Object transform(String key) {
+            return new Object();
+        }
+    };
+
+    private final CrossBuildInMemoryCache<String, Object> cache = new CrossBuildInMemoryCacheFactory(new DefaultListenerManager()).newCache();
+    private final String[] keys = new String[KEY_COUNT];
+
+    @Setup
+    public void populateCache() {
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = "key" + i;
+            cache.get(keys[i], FACTORY);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Position {
+        int next;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void getPresent(Position position, Blackhole bh) {
+        bh.consume(cache.get(keys[++position.next % KEY_COUNT], FACTORY));
+    }
+}
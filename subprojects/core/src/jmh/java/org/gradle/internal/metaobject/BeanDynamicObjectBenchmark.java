@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.metaobject;
+
+import org.gradle.api.internal.AsmBackedClassGenerator;
+import org.gradle.api.internal.ClassGeneratorBackedInstantiator;
+import org.gradle.internal.reflect.DirectInstantiator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compares reading and writing the properties of a decorated object, which uses the generated accessors, with doing the same for
+ * a plain object, which goes through the meta-class. Each operation is roughly what a small configuration block does.
+ */
+@State(Scope.Benchmark)
+public class BeanDynamicObjectBenchmark {
+    private static final List<String> ARGS = Collections.singletonList("-Xlint");
+
+    private BeanDynamicObject decorated;
+    private BeanDynamicObject plain;
+
+    @Setup
+    public void createBeans() {
+        ClassGeneratorBackedInstantiator instantiator = new ClassGeneratorBackedInstantiator(new AsmBackedClassGenerator(), DirectInstantiator.INSTANCE);
+        decorated = new BeanDynamicObject(instantiator.newInstance(Options.class));
+        plain = new BeanDynamicObject(new Options());
+    }
+
+    @Benchmark
+    public void configureDecoratedObject(Blackhole bh) {
+        configure(decorated, bh);
+    }
+
+    @Benchmark
+    public void configurePlainObject(Blackhole bh) {
+        configure(plain, bh);
+    }
+
+    private static void configure(BeanDynamicObject options, Blackhole bh) {
+        options.setProperty("encoding", "UTF-8");
+        options.setProperty("verbose", true);
+        options.setProperty("memoryMaximumSize", 512);
+        options.setProperty("compilerArgs", ARGS);
+        bh.consume(options.getProperty("encoding"));
+        bh.consume(options.getProperty("verbose"));
+        bh.consume(options.getProperty("memoryMaximumSize"));
+        bh.consume(options.getProperty("compilerArgs"));
+    }
+
+    public static class Options {
+        private String encoding;
+        private boolean verbose;
+        private int memoryMaximumSize;
+        private List<String> compilerArgs;
+
+        public String getEncoding() {
+            return encoding;
+        }
+
+        public void setEncoding(String encoding) {
+            this.encoding = encoding;
+        }
+
+        public boolean isVerbose() {
+            return verbose;
+        }
+
+        public void setVerbose(boolean verbose) {
+            this.verbose = verbose;
+        }
+
+        public int getMemoryMaximumSize() {
+            return memoryMaximumSize;
+        }
+
+        public void setMemoryMaximumSize(int memoryMaximumSize) {
+            this.memoryMaximumSize = memoryMaximumSize;
+        }
+
+        public List<String> getCompilerArgs() {
+            return compilerArgs;
+        }
+
+        public void setCompilerArgs(List<String> compilerArgs) {
+            this.compilerArgs = compilerArgs;
+        }
+    }
+}
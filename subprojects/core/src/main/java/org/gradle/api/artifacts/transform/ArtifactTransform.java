@@ -31,6 +31,12 @@ import java.util.List;
 public abstract class ArtifactTransform {
     private File outputDirectory;
 
+    /**
+     * The directory where the transform should write its outputs.
+     *
+     * <p>When the transform is not configured with an output directory, Gradle provides a directory in its cache. The outputs written there
+     * are reused by later builds for inputs with the same content, as long as the transform implementation, the code that configures it and the values it sets are unchanged.</p>
+     */
     public File getOutputDirectory() {
         return outputDirectory;
     }
@@ -27,6 +27,7 @@ import org.gradle.api.GradleException;
 import org.gradle.api.NonExtensible;
 import org.gradle.api.Nullable;
 import org.gradle.api.plugins.ExtensionAware;
+import org.gradle.internal.metaobject.GeneratedPropertyAccess;
 import org.gradle.internal.reflect.*;
 
 import javax.inject.Inject;
@@ -190,6 +191,20 @@ public abstract class AbstractClassGenerator implements ClassGenerator {
                 }
             }
 
+            // Adds direct access to those properties whose getter or setter can be called without going through the meta-class
+            if (!GeneratedPropertyAccess.class.isAssignableFrom(type)) {
+                List<PropertyMetaData> directProperties = new ArrayList<PropertyMetaData>();
+                for (PropertyMetaData property : classMetaData.properties.values()) {
+                    if (SKIP_PROPERTIES.contains(property.name)) {
+                        continue;
+                    }
+                    if (property.getDirectGetter() != null || property.getDirectSetter() != null) {
+                        directProperties.add(property);
+                    }
+                }
+                builder.addGeneratedPropertyAccess(directProperties);
+            }
+
             for (Constructor<?> constructor : type.getConstructors()) {
                 if (Modifier.isPublic(constructor.getModifiers())) {
                     builder.addConstructor(constructor);
@@ -391,6 +406,55 @@ public abstract class AbstractClassGenerator implements ClassGenerator {
             setters.add(method);
         }
 
+        /**
+         * Returns the getter that the meta-class would use to read this property, when it can be called directly.
+         */
+        @Nullable
+        public Method getDirectGetter() {
+            if (getters.size() != 1) {
+                return null;
+            }
+            Method getter = getters.get(0);
+            if (!Modifier.isPublic(getter.getModifiers())) {
+                return null;
+            }
+            if (getter.getName().startsWith("is") && !getter.getReturnType().equals(Boolean.TYPE)) {
+                // Groovy does not treat an is-method returning Boolean as a getter
+                return null;
+            }
+            return getter;
+        }
+
+        /**
+         * Returns the setter that the meta-class would use to write this property, when it can be called directly.
+         */
+        @Nullable
+        public Method getDirectSetter() {
+            if (setters.size() != 1) {
+                return null;
+            }
+            Method setter = setters.get(0);
+            if (!Modifier.isPublic(setter.getModifiers()) || !setter.getReturnType().equals(Void.TYPE)) {
+                return null;
+            }
+            Class<?> paramType = setter.getParameterTypes()[0];
+            if (!getters.isEmpty() && !getType().equals(paramType)) {
+                return null;
+            }
+            if (!isPublicType(paramType)) {
+                // The generated class casts the value to the parameter type
+                return null;
+            }
+            return setter;
+        }
+
+        private static boolean isPublicType(Class<?> type) {
+            while (type.isArray()) {
+                type = type.getComponentType();
+            }
+            return type.isPrimitive() || Modifier.isPublic(type.getModifiers());
+        }
+
         public void addSetMethod(Method method) {
             setMethods.add(method);
         }
@@ -427,6 +491,8 @@ public abstract class AbstractClassGenerator implements ClassGenerator {
 
         void addActionMethod(Method method) throws Exception;
 
+        void addGeneratedPropertyAccess(List<PropertyMetaData> properties) throws Exception;
+
         Class<? extends T> generate() throws Exception;
     }
 }
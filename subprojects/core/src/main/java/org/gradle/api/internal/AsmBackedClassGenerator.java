@@ -31,6 +31,8 @@ import org.gradle.internal.UncheckedException;
 import org.gradle.internal.metaobject.AbstractDynamicObject;
 import org.gradle.internal.metaobject.BeanDynamicObject;
 import org.gradle.internal.metaobject.DynamicObject;
+import org.gradle.internal.metaobject.GeneratedPropertyAccess;
+import org.gradle.internal.metaobject.GeneratedPropertyTable;
 import org.gradle.internal.metaobject.PropertyAccess;
 import org.gradle.internal.reflect.JavaMethod;
 import org.gradle.internal.reflect.JavaReflectionUtil;
@@ -49,6 +51,7 @@ import java.lang.annotation.Inherited;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -75,12 +78,16 @@ public class AsmBackedClassGenerator extends AbstractClassGenerator {
         private static final String DYNAMIC_OBJECT_HELPER_FIELD = "__dyn_obj__";
         private static final String MAPPING_FIELD = "__mapping__";
         private static final String META_CLASS_FIELD = "__meta_class__";
+        private static final String PROPERTY_TABLE_FIELD = "__property_table__";
         private static final String CONVENTION_MAPPING_FIELD_DESCRIPTOR = Type.getDescriptor(ConventionMapping.class);
         private static final String META_CLASS_TYPE_DESCRIPTOR = Type.getDescriptor(MetaClass.class);
         private final static Type META_CLASS_TYPE = Type.getType(MetaClass.class);
         private final static Type CONVENTION_AWARE_TYPE = Type.getType(IConventionAware.class);
         private final static Type CONVENTION_AWARE_HELPER_TYPE = Type.getType(ConventionAwareHelper.class);
         private final static Type DYNAMIC_OBJECT_AWARE_TYPE = Type.getType(DynamicObjectAware.class);
+        private final static Type GENERATED_PROPERTY_ACCESS_TYPE = Type.getType(GeneratedPropertyAccess.class);
+        private final static Type GENERATED_PROPERTY_TABLE_TYPE = Type.getType(GeneratedPropertyTable.class);
+        private final static Type ILLEGAL_ARGUMENT_EXCEPTION_TYPE = Type.getType(IllegalArgumentException.class);
         private final static Type EXTENSION_AWARE_TYPE = Type.getType(ExtensionAware.class);
         private final static Type HAS_CONVENTION_TYPE = Type.getType(HasConvention.class);
         private final static Type DYNAMIC_OBJECT_TYPE = Type.getType(DynamicObject.class);
@@ -127,6 +134,7 @@ public class AsmBackedClassGenerator extends AbstractClassGenerator {
         private final boolean conventionAware;
         private final boolean extensible;
         private final boolean providesOwnDynamicObject;
+        private GeneratedPropertyTable propertyTable;
 
         private ClassBuilderImpl(Class<T> type, ClassMetaData classMetaData) {
             this.type = type;
@@ -154,6 +162,10 @@ public class AsmBackedClassGenerator extends AbstractClassGenerator {
             interfaceTypes.add(DYNAMIC_OBJECT_AWARE_TYPE.getInternalName());
             interfaceTypes.add(GROOVY_OBJECT_TYPE.getInternalName());
 
+            if (!GeneratedPropertyAccess.class.isAssignableFrom(type)) {
+                interfaceTypes.add(GENERATED_PROPERTY_ACCESS_TYPE.getInternalName());
+            }
+
             includeNotInheritedAnnotations();
 
             visitor.visit(V1_5, ACC_PUBLIC, generatedType.getInternalName(), null,
@@ -828,6 +840,120 @@ public class AsmBackedClassGenerator extends AbstractClassGenerator {
             methodVisitor.visitEnd();
         }
 
+        public void addGeneratedPropertyAccess(List<PropertyMetaData> properties) throws Exception {
+            List<String> names = new ArrayList<String>(properties.size());
+            boolean[] readable = new boolean[properties.size()];
+            Class<?>[] setterTypes = new Class<?>[properties.size()];
+            for (int i = 0; i < properties.size(); i++) {
+                PropertyMetaData property = properties.get(i);
+                names.add(property.getName());
+                readable[i] = property.getDirectGetter() != null;
+                Method setter = property.getDirectSetter();
+                setterTypes[i] = setter == null ? null : setter.getParameterTypes()[0];
+            }
+            propertyTable = new GeneratedPropertyTable(names, readable, setterTypes);
+
+            // GENERATE private static GeneratedPropertyTable __property_table__
+            // This is assigned once the class has been defined
+
+            visitor.visitField(Opcodes.ACC_PRIVATE | ACC_STATIC | Opcodes.ACC_SYNTHETIC, PROPERTY_TABLE_FIELD, GENERATED_PROPERTY_TABLE_TYPE.getDescriptor(), null, null);
+
+            // GENERATE public GeneratedPropertyTable generatedPropertyTable() { return __property_table__; }
+
+            addGetter(GeneratedPropertyAccess.class.getDeclaredMethod("generatedPropertyTable"), new MethodCodeBody() {
+                public void add(MethodVisitor visitor) throws Exception {
+                    visitor.visitFieldInsn(Opcodes.GETSTATIC, generatedType.getInternalName(), PROPERTY_TABLE_FIELD, GENERATED_PROPERTY_TABLE_TYPE.getDescriptor());
+                }
+            });
+
+            // GENERATE public Object readGeneratedProperty(int index) { switch (index) { case 0: return <getter-0>(); ... } throw new IllegalArgumentException(); }
+
+            MethodVisitor methodVisitor = visitor.visitMethod(Opcodes.ACC_PUBLIC, "readGeneratedProperty", Type.getMethodDescriptor(OBJECT_TYPE, Type.INT_TYPE), null, EMPTY_STRINGS);
+            methodVisitor.visitCode();
+            Label unknownProperty = new Label();
+            Label[] getterLabels = new Label[properties.size()];
+            for (int i = 0; i < properties.size(); i++) {
+                getterLabels[i] = readable[i] ? new Label() : unknownProperty;
+            }
+            visitPropertySwitch(methodVisitor, unknownProperty, getterLabels);
+            for (int i = 0; i < properties.size(); i++) {
+                Method getter = properties.get(i).getDirectGetter();
+                if (getter == null) {
+                    continue;
+                }
+                methodVisitor.visitLabel(getterLabels[i]);
+
+                // GENERATE return <getter>()
+
+                methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, generatedType.getInternalName(), getter.getName(), Type.getMethodDescriptor(getter), false);
+                if (getter.getReturnType().isPrimitive()) {
+                    Type boxedType = Type.getType(JavaReflectionUtil.getWrapperTypeForPrimitiveType(getter.getReturnType()));
+                    String valueOfMethodDescriptor = Type.getMethodDescriptor(boxedType, Type.getType(getter.getReturnType()));
+                    methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, boxedType.getInternalName(), "valueOf", valueOfMethodDescriptor, false);
+                }
+                methodVisitor.visitInsn(Opcodes.ARETURN);
+            }
+            methodVisitor.visitLabel(unknownProperty);
+            throwIllegalArgument(methodVisitor);
+            methodVisitor.visitMaxs(0, 0);
+            methodVisitor.visitEnd();
+
+            // GENERATE public void writeGeneratedProperty(int index, Object value) { switch (index) { case 0: <setter-0>((<type>) value); return; ... } throw new IllegalArgumentException(); }
+
+            methodVisitor = visitor.visitMethod(Opcodes.ACC_PUBLIC, "writeGeneratedProperty", Type.getMethodDescriptor(VOID_TYPE, Type.INT_TYPE, OBJECT_TYPE), null, EMPTY_STRINGS);
+            methodVisitor.visitCode();
+            unknownProperty = new Label();
+            Label[] setterLabels = new Label[properties.size()];
+            for (int i = 0; i < properties.size(); i++) {
+                setterLabels[i] = setterTypes[i] != null ? new Label() : unknownProperty;
+            }
+            visitPropertySwitch(methodVisitor, unknownProperty, setterLabels);
+            for (int i = 0; i < properties.size(); i++) {
+                Method setter = properties.get(i).getDirectSetter();
+                if (setter == null) {
+                    continue;
+                }
+                methodVisitor.visitLabel(setterLabels[i]);
+
+                // GENERATE <setter>((<type>) value); return
+
+                Class<?> paramType = setter.getParameterTypes()[0];
+                methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                methodVisitor.visitVarInsn(Opcodes.ALOAD, 2);
+                if (paramType.isPrimitive()) {
+                    Type boxedType = Type.getType(JavaReflectionUtil.getWrapperTypeForPrimitiveType(paramType));
+                    methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, boxedType.getInternalName());
+                    String valueMethodDescriptor = Type.getMethodDescriptor(Type.getType(paramType));
+                    methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, boxedType.getInternalName(), paramType.getName() + "Value", valueMethodDescriptor, false);
+                } else {
+                    methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, Type.getType(paramType).getInternalName());
+                }
+                methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, generatedType.getInternalName(), setter.getName(), Type.getMethodDescriptor(setter), false);
+                methodVisitor.visitInsn(Opcodes.RETURN);
+            }
+            methodVisitor.visitLabel(unknownProperty);
+            throwIllegalArgument(methodVisitor);
+            methodVisitor.visitMaxs(0, 0);
+            methodVisitor.visitEnd();
+        }
+
+        private void visitPropertySwitch(MethodVisitor methodVisitor, Label unknownProperty, Label[] labels) {
+            if (labels.length == 0) {
+                return;
+            }
+            methodVisitor.visitVarInsn(Opcodes.ILOAD, 1);
+            methodVisitor.visitTableSwitchInsn(0, labels.length - 1, unknownProperty, labels);
+        }
+
+        private void throwIllegalArgument(MethodVisitor methodVisitor) {
+            // GENERATE throw new IllegalArgumentException()
+            methodVisitor.visitTypeInsn(Opcodes.NEW, ILLEGAL_ARGUMENT_EXCEPTION_TYPE.getInternalName());
+            methodVisitor.visitInsn(Opcodes.DUP);
+            methodVisitor.visitMethodInsn(Opcodes.INVOKESPECIAL, ILLEGAL_ARGUMENT_EXCEPTION_TYPE.getInternalName(), "<init>", Type.getMethodDescriptor(VOID_TYPE), false);
+            methodVisitor.visitInsn(Opcodes.ATHROW);
+        }
+
         private void includeNotInheritedAnnotations() {
             for (Annotation annotation : type.getDeclaredAnnotations()) {
                 if (annotation.annotationType().getAnnotation(Inherited.class) != null) {
@@ -900,12 +1026,18 @@ public class AsmBackedClassGenerator extends AbstractClassGenerator {
             }
         }
 
-        public Class<? extends T> generate() {
+        public Class<? extends T> generate() throws Exception {
             writeGenericReturnTypeFields();
             visitor.visitEnd();
 
             byte[] bytecode = visitor.toByteArray();
-            return DEFINE_CLASS_METHOD.invoke(type.getClassLoader(), typeName, bytecode, 0, bytecode.length);
+            Class<? extends T> generatedClass = DEFINE_CLASS_METHOD.invoke(type.getClassLoader(), typeName, bytecode, 0, bytecode.length);
+            if (propertyTable != null) {
+                Field propertyTableField = generatedClass.getDeclaredField(PROPERTY_TABLE_FIELD);
+                propertyTableField.setAccessible(true);
+                propertyTableField.set(null, propertyTable);
+            }
+            return generatedClass;
         }
 
         private void writeGenericReturnTypeFields() {
@@ -20,13 +20,16 @@ import net.jcip.annotations.ThreadSafe;
 import org.gradle.api.Nullable;
 import org.gradle.api.Transformer;
 import org.gradle.initialization.SessionLifecycleListener;
+import org.gradle.internal.UncheckedException;
 import org.gradle.internal.event.ListenerManager;
 
 import java.lang.ref.SoftReference;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
 
 /**
  * A factory for {@link CrossBuildInMemoryCache} instances.
@@ -35,6 +38,8 @@ import java.util.Set;
  * Note that this implementation currently retains strong references to keys and values during the whole lifetime of a build session.
  *
  * Uses a simple algorithm to collect unused values, by retaining strong references to all keys and values used during the current build session, and the previous build session. All other values are referenced only by soft references.
+ *
+ * Lookups do not block. When a value is missing, it is created by the first thread that requests it, while other threads requesting the same key wait for that value.
  */
 @ThreadSafe
 public class CrossBuildInMemoryCacheFactory {
@@ -56,11 +61,12 @@ public class CrossBuildInMemoryCacheFactory {
     }
 
     private static class DefaultCrossBuildInMemoryCache<K, V> implements CrossBuildInMemoryCache<K, V>, SessionLifecycleListener {
-        private final Object lock = new Object();
-        private final Map<K, V> valuesForThisSession = new HashMap<K, V>();
+        private final ConcurrentMap<K, V> valuesForThisSession = new ConcurrentHashMap<K, V>();
         // This is used only to retain strong references to the values
-        private final Set<V> valuesForPreviousSession = new HashSet<V>();
-        private final Map<K, SoftReference<V>> allValues = new HashMap<K, SoftReference<V>>();
+        private volatile Collection<V> valuesForPreviousSession = Collections.emptyList();
+        private final ConcurrentMap<K, SoftReference<V>> allValues = new ConcurrentHashMap<K, SoftReference<V>>();
+        // Values currently being created, so that each value is created by a single thread
+        private final ConcurrentMap<K, PendingValue<V>> pendingValues = new ConcurrentHashMap<K, PendingValue<V>>();
 
         @Override
         public void afterStart() {
@@ -68,59 +74,69 @@ public class CrossBuildInMemoryCacheFactory {
 
         @Override
         public void beforeComplete() {
-            synchronized (lock) {
-                // Retain strong references to the values created for this session
-                valuesForPreviousSession.clear();
-                valuesForPreviousSession.addAll(valuesForThisSession.values());
-                valuesForThisSession.clear();
-            }
+            // Retain strong references to the values created for this session
+            valuesForPreviousSession = new ArrayList<V>(valuesForThisSession.values());
+            valuesForThisSession.clear();
         }
 
         @Override
         public void clear() {
-            synchronized (lock) {
-                valuesForThisSession.clear();
-                valuesForPreviousSession.clear();
-                allValues.clear();
-            }
+            valuesForThisSession.clear();
+            valuesForPreviousSession = Collections.emptyList();
+            allValues.clear();
         }
 
         @Nullable
         @Override
         public V get(K key) {
-            synchronized (lock) {
-                return getIfPresent(key);
-            }
+            return getIfPresent(key);
         }
 
         @Override
         public V get(K key, Transformer<V, K> factory) {
-            synchronized (lock) {
+            while (true) {
                 V v = getIfPresent(key);
                 if (v != null) {
                     return v;
                 }
 
-                // TODO - do not hold lock while computing value
-                v = factory.transform(key);
-
-                allValues.put(key, new SoftReference<V>(v));
-                // Retain strong reference
-                valuesForThisSession.put(key, v);
+                PendingValue<V> pendingValue = new PendingValue<V>();
+                PendingValue<V> existing = pendingValues.putIfAbsent(key, pendingValue);
+                if (existing != null) {
+                    if (existing.isCreatedByCurrentThread()) {
+                        // Waiting for the value would deadlock, as it can only be completed by this thread
+                        throw new IllegalStateException(String.format("Cannot create the value for key '%s' as it is already being created by the current thread.", key));
+                    }
+                    // Another thread is creating the value. Use its value, or try again when it failed to create one
+                    v = existing.await();
+                    if (v != null) {
+                        return v;
+                    }
+                    continue;
+                }
 
-                return v;
+                try {
+                    // The value may have been added since the check above
+                    v = getIfPresent(key);
+                    if (v == null) {
+                        v = factory.transform(key);
+                        put(key, v);
+                    }
+                    pendingValue.complete(v);
+                    return v;
+                } finally {
+                    pendingValue.complete(null);
+                    pendingValues.remove(key, pendingValue);
+                }
             }
         }
 
         @Override
         public void put(K key, V value) {
-            synchronized (lock) {
-                allValues.put(key, new SoftReference<V>(value));
-                valuesForThisSession.put(key, value);
-            }
+            allValues.put(key, new SoftReference<V>(value));
+            valuesForThisSession.put(key, value);
         }
 
-        // Caller must be holding lock
         private V getIfPresent(K key) {
             V v = valuesForThisSession.get(key);
             if (v != null) {
@@ -140,4 +156,34 @@ public class CrossBuildInMemoryCacheFactory {
             return null;
         }
     }
+
+    private static class PendingValue<V> {
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final Thread owner = Thread.currentThread();
+        private volatile V value;
+
+        boolean isCreatedByCurrentThread() {
+            return owner == Thread.currentThread();
+        }
+
+        /**
+         * Completes this value. Only the first call has any effect.
+         */
+        void complete(@Nullable V value) {
+            if (completed.getCount() > 0) {
+                this.value = value;
+                completed.countDown();
+            }
+        }
+
+        @Nullable
+        V await() {
+            try {
+                completed.await();
+            } catch (InterruptedException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+            return value;
+        }
+    }
 }
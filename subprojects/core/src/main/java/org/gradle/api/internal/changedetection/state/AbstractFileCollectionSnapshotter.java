@@ -65,10 +65,11 @@ public abstract class AbstractFileCollectionSnapshotter implements FileCollectio
 
     @Override
     public FileCollectionSnapshot snapshot(FileCollection input, TaskFilePropertyCompareStrategy compareStrategy, final SnapshotNormalizationStrategy snapshotNormalizationStrategy) {
-        final List<FileDetails> fileTreeElements = Lists.newLinkedList();
+        final List<FileDetails> fileTreeElements = Lists.newArrayList();
         FileCollectionInternal fileCollection = (FileCollectionInternal) input;
         FileCollectionVisitorImpl visitor = new FileCollectionVisitorImpl(fileTreeElements);
         fileCollection.visitRootElements(visitor);
+        visitor.normaliseRootFiles();
 
         if (fileTreeElements.isEmpty()) {
             return FileCollectionSnapshot.EMPTY;
@@ -121,13 +122,39 @@ public abstract class AbstractFileCollectionSnapshotter implements FileCollectio
         return details;
     }
 
+    /**
+     * Normalises the root files of a collection, returning the normalised files in the same order. Invoked only for top level elements that are regular files.
+     */
+    protected List<FileDetails> normaliseFileElements(List<FileDetails> rootFiles) {
+        List<FileDetails> normalised = Lists.newArrayListWithCapacity(rootFiles.size());
+        for (FileDetails rootFile : rootFiles) {
+            normalised.add(normaliseFileElement(rootFile));
+        }
+        return normalised;
+    }
+
     private class FileCollectionVisitorImpl implements FileCollectionVisitor {
         private final List<FileDetails> fileTreeElements;
+        private final List<FileDetails> rootFiles = Lists.newArrayList();
+        private final List<Integer> rootFileIndices = Lists.newArrayList();
 
         FileCollectionVisitorImpl(List<FileDetails> fileTreeElements) {
             this.fileTreeElements = fileTreeElements;
         }
 
+        /**
+         * Replaces the root files with their normalised form. Root files are normalised together once the collection has been visited.
+         */
+        void normaliseRootFiles() {
+            if (rootFiles.isEmpty()) {
+                return;
+            }
+            List<FileDetails> normalised = normaliseFileElements(rootFiles);
+            for (int i = 0; i < rootFileIndices.size(); i++) {
+                fileTreeElements.set(rootFileIndices.get(i), normalised.get(i));
+            }
+        }
+
         @Override
         public void visitCollection(FileCollectionInternal fileCollection) {
             for (File file : fileCollection) {
@@ -141,7 +168,9 @@ public abstract class AbstractFileCollectionSnapshotter implements FileCollectio
                         fileTreeElements.add(details);
                         break;
                     case RegularFile:
-                        fileTreeElements.add(normaliseFileElement(details));
+                        rootFileIndices.add(fileTreeElements.size());
+                        rootFiles.add(details);
+                        fileTreeElements.add(details);
                         break;
                     case Directory:
                         // Visit the directory itself, then its contents
@@ -20,6 +20,10 @@ import com.google.common.hash.HashCode;
 import org.gradle.api.internal.cache.StringInterner;
 import org.gradle.api.internal.file.collections.DirectoryFileTreeFactory;
 import org.gradle.api.internal.hash.FileHasher;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.concurrent.StoppableExecutor;
 import org.gradle.internal.nativeintegration.filesystem.FileSystem;
 import org.gradle.internal.nativeintegration.filesystem.FileType;
 
@@ -27,8 +31,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
-public class DefaultCompileClasspathSnapshotter extends AbstractFileCollectionSnapshotter implements CompileClasspathSnapshotter {
+public class DefaultCompileClasspathSnapshotter extends AbstractFileCollectionSnapshotter implements CompileClasspathSnapshotter, Stoppable {
     private static final Comparator<FileDetails> FILE_DETAILS_COMPARATOR = new Comparator<FileDetails>() {
         @Override
         public int compare(FileDetails o1, FileDetails o2) {
@@ -36,10 +43,12 @@ public class DefaultCompileClasspathSnapshotter extends AbstractFileCollectionSn
         }
     };
     private final JvmClassHasher jvmClassHasher;
+    private final StoppableExecutor executor;
 
-    public DefaultCompileClasspathSnapshotter(FileHasher hasher, StringInterner stringInterner, FileSystem fileSystem, DirectoryFileTreeFactory directoryFileTreeFactory, FileSystemMirror fileSystemMirror, JvmClassHasher jvmClassHasher) {
+    public DefaultCompileClasspathSnapshotter(FileHasher hasher, StringInterner stringInterner, FileSystem fileSystem, DirectoryFileTreeFactory directoryFileTreeFactory, FileSystemMirror fileSystemMirror, JvmClassHasher jvmClassHasher, ExecutorFactory executorFactory, int parallelism) {
         super(hasher, stringInterner, fileSystem, directoryFileTreeFactory, fileSystemMirror);
         this.jvmClassHasher = jvmClassHasher;
+        this.executor = executorFactory.create("Snapshot compile classpath", parallelism);
     }
 
     @Override
@@ -67,8 +76,44 @@ public class DefaultCompileClasspathSnapshotter extends AbstractFileCollectionSn
         return sorted;
     }
 
+    /**
+     * Calculates the signatures of the jars of the classpath concurrently, as calculating the signature of a jar that has not been seen before
+     * requires reading each of its classes.
+     */
+    @Override
+    protected List<FileDetails> normaliseFileElements(List<FileDetails> rootFiles) {
+        if (rootFiles.size() < 2) {
+            return super.normaliseFileElements(rootFiles);
+        }
+        List<Future<FileDetails>> results = new ArrayList<Future<FileDetails>>(rootFiles.size());
+        for (final FileDetails rootFile : rootFiles) {
+            results.add(executor.submit(new Callable<FileDetails>() {
+                @Override
+                public FileDetails call() {
+                    return normaliseFileElement(rootFile);
+                }
+            }));
+        }
+        List<FileDetails> normalised = new ArrayList<FileDetails>(rootFiles.size());
+        try {
+            for (Future<FileDetails> result : results) {
+                normalised.add(result.get());
+            }
+        } catch (ExecutionException e) {
+            throw UncheckedException.throwAsUncheckedException(e.getCause());
+        } catch (InterruptedException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+        return normalised;
+    }
+
     @Override
     protected FileDetails normaliseFileElement(FileDetails details) {
         return details.withContent(jvmClassHasher.hashJarFile(details));
     }
+
+    @Override
+    public void stop() {
+        executor.stop();
+    }
 }
@@ -18,6 +18,7 @@ package org.gradle.api.internal.changedetection.state;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import org.gradle.api.Transformer;
 import org.gradle.api.internal.cache.CrossBuildInMemoryCache;
 import org.gradle.api.internal.cache.CrossBuildInMemoryCacheFactory;
@@ -33,17 +34,28 @@ import org.gradle.cache.internal.FileLock;
 import org.gradle.cache.internal.MultiProcessSafeAsyncPersistentIndexedCache;
 import org.gradle.cache.internal.MultiProcessSafePersistentIndexedCache;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A {@link CacheDecorator} that wraps each cache with an in-memory cache that is used to short-circuit reads from the backing cache.
  * The in-memory cache is invalidated when the backing cache is changed by another process.
+ *
+ * <p>The in-memory caches share a single budget when the heap is under pressure. See {@link #releaseMemory()}.</p>
  */
 public class InMemoryTaskArtifactCache {
     private final static Logger LOG = Logging.getLogger(InMemoryTaskArtifactCache.class);
+    private static final double RETAINED_FRACTION = 0.5;
     private final boolean longLivingProcess;
     private final HeapProportionalCacheSizer cacheSizer = new HeapProportionalCacheSizer();
     private final CrossBuildInMemoryCache<String, CacheDetails> caches;
+    // Does not retain the in-memory caches, which are referenced softly by the above
+    private final ConcurrentMap<String, WeakReference<CacheDetails>> liveCaches = new ConcurrentHashMap<String, WeakReference<CacheDetails>>();
 
     public InMemoryTaskArtifactCache(boolean longLivingProcess, CrossBuildInMemoryCacheFactory cacheFactory) {
         this.longLivingProcess = longLivingProcess;
@@ -72,6 +84,7 @@ public class InMemoryTaskArtifactCache {
                 Cache<Object, Object> entries = createInMemoryCache(cacheId, maxSize);
                 CacheDetails cacheDetails = new CacheDetails(cacheId, maxSize, entries, new AtomicReference<FileLock.State>(null));
                 LOG.debug("Creating in-memory store for cache {} (max size: {})", cacheId, maxSize);
+                liveCaches.put(cacheId, new WeakReference<CacheDetails>(cacheDetails));
                 return cacheDetails;
             }
         });
@@ -91,6 +104,56 @@ public class InMemoryTaskArtifactCache {
 
     public void invalidateAll() {
         caches.clear();
+        liveCaches.clear();
+    }
+
+    /**
+     * Releases entries from the in-memory caches, to reduce pressure on the heap. Released entries are read again from the backing caches when required.
+     *
+     * <p>The caches retain half of the memory they currently use, shared between them according to how useful each cache has been since
+     * the previous release. A cache whose entries have not been used since then is cleared entirely. Caches created with a small maximum
+     * size are expected to hold large entries, so the memory used by a cache is measured by how full it is rather than by its entry count.</p>
+     *
+     * @return the number of entries released.
+     */
+    public long releaseMemory() {
+        List<CacheDetails> details = new ArrayList<CacheDetails>();
+        for (Iterator<WeakReference<CacheDetails>> iterator = liveCaches.values().iterator(); iterator.hasNext();) {
+            CacheDetails cacheDetails = iterator.next().get();
+            if (cacheDetails == null) {
+                iterator.remove();
+            } else {
+                details.add(cacheDetails);
+            }
+        }
+
+        int count = details.size();
+        long[] sizes = new long[count];
+        double[] hitRates = new double[count];
+        double totalWeight = 0;
+        double totalScore = 0;
+        for (int i = 0; i < count; i++) {
+            CacheDetails cacheDetails = details.get(i);
+            sizes[i] = cacheDetails.entries.size();
+            CacheStats recentStats = cacheDetails.takeRecentStats();
+            hitRates[i] = recentStats.requestCount() == 0 ? 0 : recentStats.hitRate();
+            double weight = (double) sizes[i] / cacheDetails.maxEntries;
+            totalWeight += weight;
+            totalScore += weight * hitRates[i];
+        }
+
+        double retainedWeight = totalWeight * RETAINED_FRACTION;
+        long released = 0;
+        for (int i = 0; i < count; i++) {
+            CacheDetails cacheDetails = details.get(i);
+            double weight = (double) sizes[i] / cacheDetails.maxEntries;
+            double share = totalScore == 0 ? 0 : retainedWeight * weight * hitRates[i] / totalScore;
+            long retain = Math.min(sizes[i], (long) (share * cacheDetails.maxEntries));
+            long releasedFromCache = cacheDetails.trimTo(retain);
+            released += releasedFromCache;
+            LOG.info("Released {} of {} entries from in-memory cache of {} (max size: {}, recent hit rate: {}%).", releasedFromCache, sizes[i], cacheDetails.cacheId, cacheDetails.maxEntries, Math.round(hitRates[i] * 100));
+        }
+        return released;
     }
 
     private class InMemoryCacheDecorator implements CacheDecorator {
@@ -132,6 +195,7 @@ public class InMemoryTaskArtifactCache {
         private final int maxEntries;
         private final Cache<Object, Object> entries;
         private final AtomicReference<FileLock.State> lockState;
+        private CacheStats statsAtLastRelease = new CacheStats(0, 0, 0, 0, 0, 0);
 
         CacheDetails(String cacheId, int maxEntries, Cache<Object, Object> entries, AtomicReference<FileLock.State> lockState) {
             this.cacheId = cacheId;
@@ -139,5 +203,26 @@ public class InMemoryTaskArtifactCache {
             this.entries = entries;
             this.lockState = lockState;
         }
+
+        /**
+         * Returns the stats for this cache since this method was last called.
+         */
+        synchronized CacheStats takeRecentStats() {
+            CacheStats stats = entries.stats();
+            CacheStats recentStats = stats.minus(statsAtLastRelease);
+            statsAtLastRelease = stats;
+            return recentStats;
+        }
+
+        long trimTo(long maxSize) {
+            long released = 0;
+            Iterator<Object> keys = entries.asMap().keySet().iterator();
+            while (entries.size() > maxSize && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+                released++;
+            }
+            return released;
+        }
     }
 }
@@ -25,7 +25,11 @@ import org.apache.commons.io.IOUtils;
 import org.gradle.api.Nullable;
 import org.gradle.api.UncheckedIOException;
 import org.gradle.api.internal.tasks.compile.ApiClassExtractor;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
 import org.gradle.cache.PersistentIndexedCache;
+import org.gradle.internal.time.Timer;
+import org.gradle.internal.time.Timers;
 import org.gradle.util.internal.Java9ClassReader;
 
 import java.io.File;
@@ -37,12 +41,19 @@ import java.util.TreeMap;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
+/**
+ * Calculates the ABI signature of class files and jars. Signatures are cached by the content hash of the file, with the signatures of jars
+ * kept in a separate cache so that they can outlive the signatures of individual class files, as an unchanged jar never needs to be opened again.
+ */
 public class JvmClassHasher {
+    private static final Logger LOGGER = Logging.getLogger(JvmClassHasher.class);
     private static final byte[] SIGNATURE = Hashing.md5().hashString(JvmClassHasher.class.getName(), Charsets.UTF_8).asBytes();
     private final PersistentIndexedCache<HashCode, HashCode> persistentCache;
+    private final PersistentIndexedCache<HashCode, HashCode> jarSignatureCache;
 
-    public JvmClassHasher(PersistentIndexedCache<HashCode, HashCode> persistentCache) {
+    public JvmClassHasher(PersistentIndexedCache<HashCode, HashCode> persistentCache, PersistentIndexedCache<HashCode, HashCode> jarSignatureCache) {
         this.persistentCache = persistentCache;
+        this.jarSignatureCache = jarSignatureCache;
     }
 
     /**
@@ -89,12 +100,13 @@ public class JvmClassHasher {
     }
 
     public HashCode hashJarFile(FileDetails fileDetails) {
-        HashCode signature = persistentCache.get(fileDetails.getContent().getContentMd5());
+        HashCode signature = jarSignatureCache.get(fileDetails.getContent().getContentMd5());
         if (signature != null) {
             return signature;
         }
 
         File file = new File(fileDetails.getPath());
+        Timer clock = Timers.startTimer();
         final Hasher hasher = createHasher();
         ZipFile zipFile = null;
         try {
@@ -117,7 +129,8 @@ public class JvmClassHasher {
             IOUtils.closeQuietly(zipFile);
         }
         signature = hasher.hash();
-        persistentCache.put(fileDetails.getContent().getContentMd5(), signature);
+        jarSignatureCache.put(fileDetails.getContent().getContentMd5(), signature);
+        LOGGER.debug("Calculated ABI signature of {} in {}.", file, clock.getElapsed());
         return signature;
     }
 
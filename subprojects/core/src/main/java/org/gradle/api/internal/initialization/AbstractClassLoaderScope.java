@@ -34,6 +34,7 @@ public abstract class AbstractClassLoaderScope implements ClassLoaderScope {
     /**
      * A string representing the path of this {@link ClassLoaderScope} in the {@link ClassLoaderScope} graph.
      */
+    @Override
     public String getPath() {
         return id.getPath();
     }
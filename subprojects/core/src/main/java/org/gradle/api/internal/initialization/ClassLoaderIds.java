@@ -34,8 +34,24 @@ public class ClassLoaderIds {
         return new DefaultClassLoaderId(type, attributes);
     }
 
-    public static ClassLoaderId buildScript(String fileName, String operationId) {
-        return of(Type.SCRIPT, fileName, operationId);
+    /**
+     * The id of the classloader of a script, which is compiled by the given operation against a classloader of the given scope.
+     */
+    public static ClassLoaderId buildScript(String fileName, String operationId, String parentScopePath) {
+        return of(Type.SCRIPT, fileName, operationId, parentScopePath);
+    }
+
+    /**
+     * The id of the classloader of a script class that is shared by scripts with identical content. The class is compiled by the same operation and
+     * against the same scope as the script with the given id.
+     */
+    public static ClassLoaderId sharedBuildScript(ClassLoaderId buildScriptId, String className) {
+        if (!(buildScriptId instanceof DefaultClassLoaderId) || ((DefaultClassLoaderId) buildScriptId).type != Type.SCRIPT) {
+            throw new IllegalArgumentException("Not the id of a script classloader: " + buildScriptId);
+        }
+        String[] attributes = ((DefaultClassLoaderId) buildScriptId).attributes.clone();
+        attributes[0] = className;
+        return of(Type.SCRIPT, attributes);
     }
 
     public static ClassLoaderId testTaskClasspath(String testTaskPath) {
@@ -27,6 +27,11 @@ import org.gradle.internal.classpath.ClassPath;
  */
 public interface ClassLoaderScope {
 
+    /**
+     * A string identifying this scope, made of the names of this scope and its parents. The path is the same for the corresponding scope of each build.
+     */
+    String getPath();
+
     /**
      * The classloader for use at this node.
      * <p>
@@ -20,6 +20,7 @@ import org.gradle.api.Action;
 import org.gradle.api.GradleException;
 import org.gradle.api.plugins.Convention;
 import org.gradle.api.plugins.ExtraPropertiesExtension;
+import org.gradle.internal.FastActionSet;
 import org.gradle.internal.metaobject.AbstractDynamicObject;
 import org.gradle.internal.metaobject.BeanDynamicObject;
 import org.gradle.internal.metaobject.DynamicObject;
@@ -40,7 +41,8 @@ public class DefaultConvention implements Convention, ExtensionContainerInternal
     private final Map<String, Object> plugins = new LinkedHashMap<String, Object>();
     private final DefaultConvention.ExtensionsDynamicObject extensionsDynamicObject = new ExtensionsDynamicObject();
     private final ExtensionsStorage extensionsStorage = new ExtensionsStorage();
-    private final ExtraPropertiesExtension extraProperties = new DefaultExtraPropertiesExtension();
+    private final DefaultExtraPropertiesExtension extraProperties = new DefaultExtraPropertiesExtension();
+    private final FastActionSet<Void> mutateAction = new FastActionSet<Void>();
     private final Instantiator instantiator;
 
     /**
@@ -116,6 +118,7 @@ public class DefaultConvention implements Convention, ExtensionContainerInternal
 
     @Override
     public <T> void add(Class<T> publicType, String name, T extension) {
+        mutateAction.execute(null);
         extensionsStorage.add(publicType, name, extension);
     }
 
@@ -136,6 +139,14 @@ public class DefaultConvention implements Convention, ExtensionContainerInternal
         return extraProperties;
     }
 
+    /**
+     * Adds an action which is executed before an extension is added or an extra property is set. Any exception thrown by the action will veto the change.
+     */
+    public void beforeChange(Action<Void> action) {
+        mutateAction.add(action);
+        extraProperties.beforeChange(action);
+    }
+
     @Override
     public Map<String, Class<?>> getSchema() {
         return extensionsStorage.getSchema();
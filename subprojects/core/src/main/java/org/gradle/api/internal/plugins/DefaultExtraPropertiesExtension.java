@@ -20,7 +20,9 @@ import groovy.lang.Closure;
 import groovy.lang.GroovyObjectSupport;
 import groovy.lang.MissingPropertyException;
 import groovy.lang.ReadOnlyPropertyException;
+import org.gradle.api.Action;
 import org.gradle.api.plugins.ExtraPropertiesExtension;
+import org.gradle.internal.FastActionSet;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -28,6 +30,7 @@ import java.util.Map;
 public class DefaultExtraPropertiesExtension extends GroovyObjectSupport implements ExtraPropertiesExtension {
 
     private final Map<String, Object> storage = new HashMap<String, Object>();
+    private final FastActionSet<Void> mutateAction = new FastActionSet<Void>();
 
     public boolean has(String name) {
         return storage.containsKey(name);
@@ -42,9 +45,17 @@ public class DefaultExtraPropertiesExtension extends GroovyObjectSupport impleme
     }
 
     public void set(String name, Object value) {
+        mutateAction.execute(null);
         storage.put(name, value);
     }
 
+    /**
+     * Adds an action which is executed before a property is set. Any exception thrown by the action will veto the change.
+     */
+    public void beforeChange(Action<Void> action) {
+        mutateAction.add(action);
+    }
+
     public Object getProperty(String name) {
         if (name.equals("properties")) {
             return getProperties();
@@ -43,6 +43,7 @@ import org.gradle.api.file.DeleteSpec;
 import org.gradle.api.file.FileTree;
 import org.gradle.api.initialization.dsl.ScriptHandler;
 import org.gradle.api.internal.ClosureBackedAction;
+import org.gradle.api.internal.DefaultDomainObjectCollection;
 import org.gradle.api.internal.DynamicObjectAware;
 import org.gradle.api.internal.DynamicPropertyNamer;
 import org.gradle.api.internal.ExtensibleDynamicObject;
@@ -57,6 +58,7 @@ import org.gradle.api.internal.file.FileResolver;
 import org.gradle.api.internal.file.SourceDirectorySetFactory;
 import org.gradle.api.internal.initialization.ClassLoaderScope;
 import org.gradle.api.internal.initialization.ScriptHandlerFactory;
+import org.gradle.api.internal.plugins.DefaultConvention;
 import org.gradle.api.internal.plugins.DefaultObjectConfigurationAction;
 import org.gradle.api.internal.plugins.ExtensionContainerInternal;
 import org.gradle.api.internal.plugins.PluginManagerInternal;
@@ -70,6 +72,7 @@ import org.gradle.api.resources.ResourceHandler;
 import org.gradle.api.tasks.WorkResult;
 import org.gradle.configuration.ScriptPluginFactory;
 import org.gradle.configuration.project.ProjectConfigurationActionContainer;
+import org.gradle.configuration.project.ProjectEvaluationCoordinator;
 import org.gradle.configuration.project.ProjectEvaluator;
 import org.gradle.groovy.scripts.ScriptSource;
 import org.gradle.internal.Actions;
@@ -184,6 +187,13 @@ public class DefaultProject extends AbstractPluginAware implements ProjectIntern
 
     private ExtensibleDynamicObject extensibleDynamicObject;
 
+    private final Action<Void> mutationGuard = new Action<Void>() {
+        @Override
+        public void execute(Void ignored) {
+            getProjectEvaluationCoordinator().assertCanConfigure(DefaultProject.this);
+        }
+    };
+
     private String description;
 
     private final Path path;
@@ -224,6 +234,8 @@ public class DefaultProject extends AbstractPluginAware implements ProjectIntern
             extensibleDynamicObject.setParent(parent.getInheritedScope());
         }
         extensibleDynamicObject.addObject(taskContainer.getTasksAsDynamicObject(), ExtensibleDynamicObject.Location.AfterConvention);
+        guardMutations(extensibleDynamicObject.getConvention());
+        guardMutations(taskContainer);
 
         evaluationListener.add(gradle.getProjectEvaluationBroadcaster());
 
@@ -465,6 +477,7 @@ public class DefaultProject extends AbstractPluginAware implements ProjectIntern
     public ConfigurationContainer getConfigurations() {
         if (configurationContainer == null) {
             configurationContainer = services.get(ConfigurationContainer.class);
+            guardMutations(configurationContainer);
         }
         return configurationContainer;
     }
@@ -572,11 +585,31 @@ public class DefaultProject extends AbstractPluginAware implements ProjectIntern
 
     public <T> Iterable<T> configure(Iterable<T> objects, Action<? super T> configureAction) {
         for (T object : objects) {
+            assertCanConfigure(object);
             configureAction.execute(object);
         }
         return objects;
     }
 
+    /**
+     * Checks that a change made to the given state of this project, through any handle to this project, is made by a project that may configure
+     * this project. This detects projects being configured in parallel that change the extensions, extra properties, tasks or configurations
+     * of another project.
+     */
+    private void guardMutations(Object state) {
+        if (state instanceof DefaultConvention) {
+            ((DefaultConvention) state).beforeChange(mutationGuard);
+        } else if (state instanceof DefaultDomainObjectCollection) {
+            ((DefaultDomainObjectCollection<?>) state).beforeChange(mutationGuard);
+        }
+    }
+
+    private void assertCanConfigure(Object object) {
+        if (object instanceof Project) {
+            getProjectEvaluationCoordinator().assertCanConfigure((Project) object);
+        }
+    }
+
     public AntBuilder getAnt() {
         if (ant == null) {
             ant = createAntBuilder();
@@ -663,7 +696,7 @@ public class DefaultProject extends AbstractPluginAware implements ProjectIntern
     }
 
     private Project evaluationDependsOn(DefaultProject projectToEvaluate) {
-        if (projectToEvaluate.getState().getExecuting()) {
+        if (projectToEvaluate.getState().isExecutingInCurrentThread()) {
             throw new CircularReferenceException(String.format("Circular referencing during evaluation for %s.",
                 projectToEvaluate));
         }
@@ -948,15 +981,20 @@ public class DefaultProject extends AbstractPluginAware implements ProjectIntern
 
     @Override
     public Project project(String path, Closure configureClosure) {
-        return ConfigureUtil.configure(configureClosure, project(path));
+        Project project = project(path);
+        assertCanConfigure(project);
+        return ConfigureUtil.configure(configureClosure, project);
     }
 
     @Override
     public Project project(String path, Action<? super Project> configureAction) {
-        return Actions.with(project(path), configureAction);
+        Project project = project(path);
+        assertCanConfigure(project);
+        return Actions.with(project, configureAction);
     }
 
     public Object configure(Object object, Closure configureClosure) {
+        assertCanConfigure(object);
         return ConfigureUtil.configure(configureClosure, object);
     }
 
@@ -1104,6 +1142,12 @@ public class DefaultProject extends AbstractPluginAware implements ProjectIntern
         }
     }
 
+    @Inject
+    protected ProjectEvaluationCoordinator getProjectEvaluationCoordinator() {
+        // Decoration takes care of the implementation
+        throw new UnsupportedOperationException();
+    }
+
     @Inject
     protected DeferredProjectConfiguration getDeferredProjectConfiguration() {
         // Decoration takes care of the implementation
@@ -20,9 +20,9 @@ import org.gradle.api.ProjectState;
 import org.gradle.internal.UncheckedException;
 
 public class ProjectStateInternal implements ProjectState {
-    private boolean executing;
-    private boolean executed;
-    private Throwable failure;
+    private volatile Thread executingThread;
+    private volatile boolean executed;
+    private volatile Throwable failure;
 
     public boolean getExecuted() {
         return executed;
@@ -39,11 +39,18 @@ public class ProjectStateInternal implements ProjectState {
     }
 
     public boolean getExecuting() {
-        return executing;
+        return executingThread != null;
+    }
+
+    /**
+     * Returns true when this project is being evaluated by the current thread, as opposed to by another thread when projects are configured in parallel.
+     */
+    public boolean isExecutingInCurrentThread() {
+        return executingThread == Thread.currentThread();
     }
 
     public void setExecuting(boolean executing) {
-        this.executing = executing;
+        this.executingThread = executing ? Thread.currentThread() : null;
     }
 
     public boolean hasFailure() {
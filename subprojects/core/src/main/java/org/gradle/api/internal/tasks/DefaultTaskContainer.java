@@ -15,6 +15,8 @@
  */
 package org.gradle.api.internal.tasks;
 
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Sets;
 import groovy.lang.Closure;
 import org.apache.commons.lang.StringUtils;
@@ -48,6 +50,7 @@ import org.gradle.util.GUtil;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
@@ -57,6 +60,7 @@ public class DefaultTaskContainer extends DefaultTaskCollection<Task> implements
     private final ITaskFactory taskFactory;
     private final ProjectAccessListener projectAccessListener;
     private final Set<String> placeholders = Sets.newHashSet();
+    private final ListMultimap<String, Action<? super Task>> deferredActions = ArrayListMultimap.create();
     private final NamedEntityInstantiator<Task> instantiator;
 
     public DefaultTaskContainer(MutableModelNode modelNode, ProjectInternal project, Instantiator instantiator, ITaskFactory taskFactory, ProjectAccessListener projectAccessListener) {
@@ -68,6 +72,7 @@ public class DefaultTaskContainer extends DefaultTaskCollection<Task> implements
     }
 
     public Task create(Map<String, ?> options) {
+        assertMutable();
         Map<String, Object> mutableOptions = new HashMap<String, Object>(options);
 
         Object replaceStr = mutableOptions.remove(Task.TASK_OVERWRITE);
@@ -91,6 +96,7 @@ public class DefaultTaskContainer extends DefaultTaskCollection<Task> implements
         }
 
         add(task);
+        executeDeferredActions(task);
 
         return task;
     }
@@ -271,6 +277,22 @@ public class DefaultTaskContainer extends DefaultTaskCollection<Task> implements
         }
     }
 
+    @Override
+    public void configureLater(String name, Action<? super Task> action) {
+        if (placeholders.contains(name) && findByNameWithoutRules(name) == null) {
+            deferredActions.put(name, action);
+            return;
+        }
+        action.execute(getByName(name));
+    }
+
+    private void executeDeferredActions(Task task) {
+        List<Action<? super Task>> actions = deferredActions.removeAll(task.getName());
+        for (Action<? super Task> action : actions) {
+            action.execute(task);
+        }
+    }
+
     public <U extends Task> NamedDomainObjectContainer<U> containerWithType(Class<U> type) {
         throw new UnsupportedOperationException();
     }
@@ -315,6 +337,7 @@ public class DefaultTaskContainer extends DefaultTaskCollection<Task> implements
             configure.execute(task);
             taskContainer.add(task);
             mutableModelNode.setPrivateData(taskModelType, task);
+            taskContainer.executeDeferredActions(task);
         }
     }
 
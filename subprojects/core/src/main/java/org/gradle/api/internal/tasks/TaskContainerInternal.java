@@ -34,6 +34,14 @@ public interface TaskContainerInternal extends TaskContainer, TaskResolver, Poly
 
     <T extends TaskInternal> void addPlaceholderAction(String placeholderName, Class<T> type, Action<? super T> configure);
 
+    /**
+     * Adds an action to configure the task with the given name, without creating the task if it is a placeholder that has not been created yet.
+     *
+     * When the task has already been created, the action is executed immediately. When the task is a placeholder, the action is executed
+     * when the task is created. Otherwise, the task is located as for {@link #getByName(String)} and the action executed immediately.
+     */
+    void configureLater(String name, Action<? super Task> action);
+
     /**
      * Force the task graph to come into existence.
      *
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.configuration;
+
+import org.gradle.api.Project;
+import org.gradle.api.internal.DocumentationRegistry;
+import org.gradle.api.internal.initialization.ClassLoaderScope;
+import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.groovy.scripts.ScriptCompilerFactory;
+import org.gradle.groovy.scripts.ScriptSource;
+import org.gradle.internal.Actions;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.concurrent.StoppableExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compiles the first pass of each project build script in the background, once the projects of the build have been loaded.
+ *
+ * <p>The first pass of a project build script, which contains the buildscript {} and plugins {} blocks, is compiled against the
+ * export classloader of the build's root classloader scope. This classloader is known as soon as settings have been processed, so the
+ * first pass of every build script can be compiled ahead of evaluation and in parallel. When a project is evaluated, its first pass is
+ * taken from the build scoped script cache, waiting for the background compilation to finish if required.</p>
+ *
+ * <p>The second pass cannot be compiled ahead of time, as it is compiled against the classpath declared by the buildscript {} block of
+ * the project and its parents.</p>
+ *
+ * <p>A script that fails to compile is ignored here, so that the failure is reported when the project is evaluated.</p>
+ */
+public class BuildScriptPrecompiler implements Stoppable {
+    public static final String PRECOMPILE_PROPERTY = "org.gradle.scripts.precompile";
+    private static final Logger LOGGER = LoggerFactory.getLogger(BuildScriptPrecompiler.class);
+
+    private final ScriptCompilerFactory scriptCompilerFactory;
+    private final DocumentationRegistry documentationRegistry;
+    private final StoppableExecutor executor;
+
+    public BuildScriptPrecompiler(ScriptCompilerFactory scriptCompilerFactory, DocumentationRegistry documentationRegistry, ExecutorFactory executorFactory, int parallelism) {
+        this.scriptCompilerFactory = scriptCompilerFactory;
+        this.documentationRegistry = documentationRegistry;
+        this.executor = executorFactory.create("Compile build scripts", parallelism);
+    }
+
+    public static boolean isPrecompilationEnabled() {
+        return Boolean.getBoolean(PRECOMPILE_PROPERTY);
+    }
+
+    /**
+     * Starts compiling the build scripts of the given project and its subprojects. Does not wait for compilation to finish.
+     */
+    public void precompile(ProjectInternal rootProject) {
+        ClassLoaderScope baseScope = rootProject.getBaseClassLoaderScope();
+        if (!baseScope.isLocked()) {
+            // The classloader the scripts will be compiled against is not yet known
+            return;
+        }
+        submit(rootProject, baseScope);
+        for (Project project : rootProject.getSubprojects()) {
+            ProjectInternal subproject = (ProjectInternal) project;
+            if (subproject.getBaseClassLoaderScope() == baseScope) {
+                submit(subproject, baseScope);
+            }
+        }
+    }
+
+    private void submit(ProjectInternal project, final ClassLoaderScope baseScope) {
+        final ScriptSource scriptSource = project.getBuildScriptSource();
+        if (!scriptSource.getResource().getExists()) {
+            return;
+        }
+        final ScriptTarget scriptTarget = new ProjectScriptTarget(project);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    scriptCompilerFactory.createCompiler(scriptSource).compile(scriptTarget.getScriptClass(), DefaultScriptPluginFactory.initialPassOperation(scriptSource, scriptTarget, documentationRegistry), baseScope, baseScope.getExportClassLoader(), Actions.doNothing());
+                } catch (Throwable t) {
+                    LOGGER.debug("Could not compile {} ahead of evaluation.", scriptSource.getDisplayName(), t);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void stop() {
+        executor.stop();
+    }
+}
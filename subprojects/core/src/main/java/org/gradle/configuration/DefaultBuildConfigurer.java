@@ -17,6 +17,7 @@ package org.gradle.configuration;
 
 import org.gradle.StartParameter;
 import org.gradle.api.internal.GradleInternal;
+import org.gradle.configuration.project.ProjectEvaluationCoordinator;
 import org.gradle.execution.ProjectConfigurer;
 import org.gradle.util.SingleMessageLogger;
 import org.slf4j.Logger;
@@ -51,6 +52,10 @@ public class DefaultBuildConfigurer implements BuildConfigurer {
         } else if (startParameter.isConfigureOnDemand()) {
             SingleMessageLogger.incubatingFeatureUsed("Configuration on demand");
         }
+
+        if (ProjectEvaluationCoordinator.isParallelConfigurationEnabled() && !startParameter.isConfigureOnDemand()) {
+            SingleMessageLogger.incubatingFeatureUsed("Parallel project configuration");
+        }
     }
 
     private void maybeInformAboutParallelLimitations(GradleInternal gradle) {
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.configuration.project;
+
+import org.gradle.api.CircularReferenceException;
+import org.gradle.api.InvalidUserCodeException;
+import org.gradle.api.Project;
+import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.api.internal.project.ProjectStateInternal;
+import org.gradle.internal.UncheckedException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Coordinates the evaluation of projects when projects are configured in parallel.
+ *
+ * <p>Each project is evaluated by a single thread. A thread that needs a project that another thread is evaluating, for example because of
+ * {@link Project#evaluationDependsOn(String)}, waits for that evaluation to complete. A cycle of such waits is reported as a circular reference,
+ * as it would be when the projects are evaluated one after another.</p>
+ *
+ * <p>A project evaluated in parallel may configure itself and its subprojects, which are only evaluated once it completes. Configuring any other
+ * project would race with the evaluation of that project, so is reported as a failure. This applies both to configuring another project using
+ * {@link Project#configure(Object, groovy.lang.Closure)} and friends, and to changing the extensions, extra properties, tasks or configurations of
+ * another project through a reference to it, such as {@link Project#getRootProject()}.</p>
+ */
+public class ProjectEvaluationCoordinator {
+    /**
+     * The system property used to enable parallel project configuration.
+     */
+    public static final String PARALLEL_CONFIGURATION_PROPERTY = "org.gradle.configuration.parallel";
+
+    private final boolean parallel;
+    private final Object lock = new Object();
+    private final Map<ProjectInternal, Thread> evaluatingThreads = new HashMap<ProjectInternal, Thread>();
+    private final Map<Thread, Thread> waitingThreads = new HashMap<Thread, Thread>();
+    private final ThreadLocal<ProjectInternal> currentProject = new ThreadLocal<ProjectInternal>();
+
+    public ProjectEvaluationCoordinator(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    public static boolean isParallelConfigurationEnabled() {
+        return Boolean.getBoolean(PARALLEL_CONFIGURATION_PROPERTY);
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Decorates the given evaluator so that it can be used from multiple threads, when projects are configured in parallel.
+     */
+    public ProjectEvaluator decorate(ProjectEvaluator evaluator) {
+        return parallel ? new CoordinatingProjectEvaluator(evaluator) : evaluator;
+    }
+
+    /**
+     * Checks that the project being evaluated by the current thread may configure the given project.
+     */
+    public void assertCanConfigure(Project target) {
+        if (!parallel) {
+            return;
+        }
+        ProjectInternal source = currentProject.get();
+        if (source == null || source.getParent() == null || isSelfOrDescendant(source, target)) {
+            return;
+        }
+        throw new InvalidUserCodeException(String.format("%s cannot configure %s while projects are configured in parallel. Use evaluationDependsOn() or disable parallel configuration by removing the %s system property.",
+            capitalize(source.getDisplayName()), target.getDisplayName(), PARALLEL_CONFIGURATION_PROPERTY));
+    }
+
+    private static boolean isSelfOrDescendant(Project source, Project target) {
+        for (Project project = target; project != null; project = project.getParent()) {
+            if (project == source) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String capitalize(String displayName) {
+        return Character.toUpperCase(displayName.charAt(0)) + displayName.substring(1);
+    }
+
+    private void evaluate(ProjectInternal project, ProjectStateInternal state, ProjectEvaluator delegate) {
+        Thread currentThread = Thread.currentThread();
+        synchronized (lock) {
+            while (true) {
+                Thread owner = evaluatingThreads.get(project);
+                if (owner == null || owner == currentThread) {
+                    break;
+                }
+                if (waitingOn(owner, currentThread)) {
+                    throw new CircularReferenceException(String.format("Circular referencing during evaluation for %s.", project));
+                }
+                waitingThreads.put(currentThread, owner);
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    throw UncheckedException.throwAsUncheckedException(e);
+                } finally {
+                    waitingThreads.remove(currentThread);
+                }
+            }
+            if (state.getExecuted() || evaluatingThreads.containsKey(project)) {
+                // Already evaluated, or being evaluated further up this thread's stack
+                return;
+            }
+            evaluatingThreads.put(project, currentThread);
+        }
+
+        ProjectInternal previous = currentProject.get();
+        currentProject.set(project);
+        try {
+            delegate.evaluate(project, state);
+        } finally {
+            currentProject.set(previous);
+            synchronized (lock) {
+                evaluatingThreads.remove(project);
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private boolean waitingOn(Thread thread, Thread target) {
+        for (Thread current = thread; current != null; current = waitingThreads.get(current)) {
+            if (current == target) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private class CoordinatingProjectEvaluator implements ProjectEvaluator {
+        private final ProjectEvaluator delegate;
+
+        CoordinatingProjectEvaluator(ProjectEvaluator delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void evaluate(ProjectInternal project, ProjectStateInternal state) {
+            ProjectEvaluationCoordinator.this.evaluate(project, state, delegate);
+        }
+    }
+}
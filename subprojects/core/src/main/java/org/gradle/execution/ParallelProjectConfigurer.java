@@ -0,0 +1,195 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.execution;
+
+import org.gradle.api.Action;
+import org.gradle.api.Project;
+import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.concurrent.StoppableExecutor;
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.progress.BuildOperationDetails;
+import org.gradle.internal.progress.BuildOperationExecutor;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Configures the subprojects of a hierarchy concurrently, once the root project has been configured.
+ *
+ * <p>A project is only configured once its parent project has been configured, as the parent may configure its subprojects. Waiting for projects
+ * referenced by {@link Project#evaluationDependsOn(String)} is taken care of by {@link org.gradle.configuration.project.ProjectEvaluationCoordinator}.</p>
+ */
+public class ParallelProjectConfigurer implements ProjectConfigurer, Stoppable {
+    private final ProjectConfigurer delegate;
+    private final BuildOperationExecutor buildOperationExecutor;
+    private final StoppableExecutor executor;
+    private final int parallelism;
+
+    public ParallelProjectConfigurer(ProjectConfigurer delegate, BuildOperationExecutor buildOperationExecutor, ExecutorFactory executorFactory, int parallelism) {
+        this.delegate = delegate;
+        this.buildOperationExecutor = buildOperationExecutor;
+        this.executor = executorFactory.create("Configure projects");
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public void configure(ProjectInternal project) {
+        delegate.configure(project);
+    }
+
+    @Override
+    public void configureFully(ProjectInternal project) {
+        delegate.configureFully(project);
+    }
+
+    @Override
+    public void configureHierarchyFully(ProjectInternal project) {
+        delegate.configureHierarchyFully(project);
+    }
+
+    @Override
+    public void configureHierarchy(ProjectInternal project) {
+        delegate.configure(project);
+
+        Set<Project> subprojects = project.getSubprojects();
+        int workerCount = Math.min(parallelism, subprojects.size());
+        if (workerCount < 2) {
+            for (Project subproject : subprojects) {
+                delegate.configure((ProjectInternal) subproject);
+            }
+            return;
+        }
+
+        final ProjectQueue queue = new ProjectQueue(project, subprojects.size(), workerCount);
+        final BuildOperationExecutor.Operation parentOperation = buildOperationExecutor.getCurrentOperation();
+        for (int i = 1; i < workerCount; i++) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    buildOperationExecutor.run(BuildOperationDetails.displayName("Configure projects").parent(parentOperation).build(), new Action<BuildOperationContext>() {
+                        @Override
+                        public void execute(BuildOperationContext buildOperationContext) {
+                            configureProjects(queue);
+                        }
+                    });
+                }
+            });
+        }
+        configureProjects(queue);
+
+        queue.awaitWorkers();
+        for (Project subproject : subprojects) {
+            Throwable failure = queue.getFailure(subproject);
+            if (failure != null) {
+                throw UncheckedException.throwAsUncheckedException(failure);
+            }
+        }
+    }
+
+    private void configureProjects(ProjectQueue queue) {
+        try {
+            ProjectInternal project;
+            while ((project = queue.take()) != null) {
+                Throwable failure = null;
+                try {
+                    delegate.configure(project);
+                } catch (Throwable t) {
+                    failure = t;
+                }
+                queue.completed(project, failure);
+            }
+        } finally {
+            queue.workerFinished();
+        }
+    }
+
+    @Override
+    public void stop() {
+        executor.stop();
+    }
+
+    private static class ProjectQueue {
+        private final Deque<ProjectInternal> ready = new ArrayDeque<ProjectInternal>();
+        private final Map<Project, Throwable> failures = new HashMap<Project, Throwable>();
+        private int remaining;
+        private int workers;
+
+        ProjectQueue(ProjectInternal root, int projectCount, int workerCount) {
+            this.remaining = projectCount;
+            this.workers = workerCount;
+            addChildren(root);
+        }
+
+        private void addChildren(Project project) {
+            for (Project child : project.getChildProjects().values()) {
+                ready.add((ProjectInternal) child);
+            }
+        }
+
+        /**
+         * Returns the next project to configure, or null when all projects have been configured or a project has failed.
+         */
+        synchronized ProjectInternal take() {
+            while (ready.isEmpty() && remaining > 0 && failures.isEmpty()) {
+                waitForChange();
+            }
+            if (!failures.isEmpty()) {
+                return null;
+            }
+            return ready.pollFirst();
+        }
+
+        synchronized void completed(ProjectInternal project, Throwable failure) {
+            remaining--;
+            if (failure != null) {
+                failures.put(project, failure);
+            } else {
+                addChildren(project);
+            }
+            notifyAll();
+        }
+
+        synchronized void workerFinished() {
+            workers--;
+            notifyAll();
+        }
+
+        synchronized void awaitWorkers() {
+            while (workers > 0) {
+                waitForChange();
+            }
+        }
+
+        synchronized Throwable getFailure(Project project) {
+            return failures.get(project);
+        }
+
+        private void waitForChange() {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        }
+    }
+}
@@ -18,6 +18,7 @@ package org.gradle.groovy.scripts;
 import org.codehaus.groovy.ast.ClassNode;
 import org.gradle.api.Action;
 import org.gradle.api.internal.initialization.ClassLoaderIds;
+import org.gradle.api.internal.initialization.ClassLoaderScope;
 import org.gradle.api.internal.initialization.loadercache.ClassLoaderId;
 import org.gradle.groovy.scripts.internal.CompiledScript;
 import org.gradle.groovy.scripts.internal.CompileOperation;
@@ -45,8 +46,8 @@ public class DefaultScriptCompilerFactory implements ScriptCompilerFactory {
         }
 
         @Override
-        public <T extends Script, M> ScriptRunner<T, M> compile(Class<T> scriptType, CompileOperation<M> extractingTransformer, ClassLoader classloader, Action<? super ClassNode> verifier) {
-            ClassLoaderId classLoaderId = ClassLoaderIds.buildScript(source.getFileName(), extractingTransformer.getId());
+        public <T extends Script, M> ScriptRunner<T, M> compile(Class<T> scriptType, CompileOperation<M> extractingTransformer, ClassLoaderScope classLoaderScope, ClassLoader classloader, Action<? super ClassNode> verifier) {
+            ClassLoaderId classLoaderId = ClassLoaderIds.buildScript(source.getFileName(), extractingTransformer.getId(), classLoaderScope.getPath());
             CompiledScript<T, M> compiledScript = scriptClassCompiler.compile(source, classloader, classLoaderId, extractingTransformer, scriptType, verifier);
             return scriptRunnerFactory.create(compiledScript, source, classloader);
         }
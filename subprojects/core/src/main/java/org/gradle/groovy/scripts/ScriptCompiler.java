@@ -17,6 +17,7 @@ package org.gradle.groovy.scripts;
 
 import org.codehaus.groovy.ast.ClassNode;
 import org.gradle.api.Action;
+import org.gradle.api.internal.initialization.ClassLoaderScope;
 import org.gradle.groovy.scripts.internal.CompileOperation;
 
 /**
@@ -27,8 +28,10 @@ public interface ScriptCompiler {
     /**
      * Compiles the script into a {@code Script} object of the given type.
      *
+     * @param classLoaderScope the scope that the classloader belongs to.
+     * @param classloader the classloader to compile the script against.
      * @return a {@code ScriptRunner} for the script.
      * @throws ScriptCompilationException On compilation failure.
      */
-    <T extends Script, M> ScriptRunner<T, M> compile(Class<T> scriptType, CompileOperation<M> extractingTransformer, ClassLoader classloader, Action<? super ClassNode> verifier);
+    <T extends Script, M> ScriptRunner<T, M> compile(Class<T> scriptType, CompileOperation<M> extractingTransformer, ClassLoaderScope classLoaderScope, ClassLoader classloader, Action<? super ClassNode> verifier);
 }
@@ -15,7 +15,6 @@
  */
 package org.gradle.groovy.scripts.internal;
 
-import com.google.common.collect.Maps;
 import groovy.lang.Script;
 import org.codehaus.groovy.ast.ClassNode;
 import org.gradle.api.Action;
@@ -23,17 +22,21 @@ import org.gradle.api.internal.initialization.loadercache.ClassLoaderId;
 import org.gradle.groovy.scripts.ScriptSource;
 import org.gradle.internal.Cast;
 
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * This in-memory cache is responsible for caching compiled build scripts during a build session.
  * If the compiled script is not found in this cache, it will try to find it in the global cache,
  * which will use the delegate script class compiler in case of a miss.
+ *
+ * <p>Scripts may be compiled by several threads at once, for example when projects are configured in parallel or build scripts are compiled ahead of evaluation.
+ * A thread that asks for a script that is already being compiled waits for that compilation to finish rather than compiling the script again.</p>
  */
 public class BuildScopeInMemoryCachingScriptClassCompiler implements ScriptClassCompiler {
     private final CrossBuildInMemoryCachingScriptClassCache cache;
     private final ScriptClassCompiler scriptClassCompiler;
-    private final Map<ScriptCacheKey, CompiledScript<?, ?>> cachedCompiledScripts = Maps.newHashMap();
+    private final ConcurrentMap<ScriptCacheKey, CachedCompiledScript> cachedCompiledScripts = new ConcurrentHashMap<ScriptCacheKey, CachedCompiledScript>();
 
     public BuildScopeInMemoryCachingScriptClassCompiler(CrossBuildInMemoryCachingScriptClassCache cache, ScriptClassCompiler scriptClassCompiler) {
         this.cache = cache;
@@ -43,12 +46,25 @@ public class BuildScopeInMemoryCachingScriptClassCompiler implements ScriptClass
     @Override
     public <T extends Script, M> CompiledScript<T, M> compile(ScriptSource source, ClassLoader classLoader, ClassLoaderId classLoaderId, CompileOperation<M> operation, Class<T> scriptBaseClass, Action<? super ClassNode> verifier) {
         ScriptCacheKey key = new ScriptCacheKey(source.getClassName(), classLoader, operation.getId());
-        CompiledScript<T, M> compiledScript = Cast.uncheckedCast(cachedCompiledScripts.get(key));
-        if (compiledScript == null) {
-            compiledScript = cache.getOrCompile(source, classLoader, classLoaderId, operation, scriptBaseClass, verifier, scriptClassCompiler);
-            cachedCompiledScripts.put(key, compiledScript);
+        CachedCompiledScript cached = cachedCompiledScripts.get(key);
+        if (cached == null) {
+            cached = new CachedCompiledScript();
+            CachedCompiledScript existing = cachedCompiledScripts.putIfAbsent(key, cached);
+            if (existing != null) {
+                cached = existing;
+            }
+        }
+        synchronized (cached) {
+            CompiledScript<T, M> compiledScript = Cast.uncheckedCast(cached.compiledScript);
+            if (compiledScript == null) {
+                compiledScript = cache.getOrCompile(source, classLoader, classLoaderId, operation, scriptBaseClass, verifier, scriptClassCompiler);
+                cached.compiledScript = compiledScript;
+            }
+            return compiledScript;
         }
-        return compiledScript;
     }
 
+    private static class CachedCompiledScript {
+        private CompiledScript<?, ?> compiledScript;
+    }
 }
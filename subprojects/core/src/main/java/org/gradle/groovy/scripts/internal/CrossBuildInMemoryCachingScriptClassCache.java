@@ -19,20 +19,53 @@ import com.google.common.hash.HashCode;
 import groovy.lang.Script;
 import org.codehaus.groovy.ast.ClassNode;
 import org.gradle.api.Action;
+import org.gradle.api.Transformer;
 import org.gradle.api.internal.cache.CrossBuildInMemoryCache;
 import org.gradle.api.internal.cache.CrossBuildInMemoryCacheFactory;
 import org.gradle.api.internal.hash.FileHasher;
+import org.gradle.api.internal.initialization.ClassLoaderIds;
 import org.gradle.api.internal.initialization.loadercache.ClassLoaderId;
+import org.gradle.groovy.scripts.DelegatingScriptSource;
 import org.gradle.groovy.scripts.ScriptSource;
 import org.gradle.internal.Cast;
+import org.gradle.internal.classloader.ImplementationHashAware;
+import org.gradle.internal.hash.HashUtil;
+import org.gradle.model.dsl.internal.transform.RuleVisitor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+/**
+ * Caches compiled scripts across builds, by script class name and the classloader the script is compiled against.
+ *
+ * <p>When class sharing is enabled, scripts with identical content that are compiled against the same classloader are compiled and remapped only once,
+ * regardless of where the scripts are located. Each script still defines its own classes from this shared bytecode, in its own classloader, with the
+ * source file name and location of that script. This way failures and stack traces always refer to the script that is being run.</p>
+ */
 public class CrossBuildInMemoryCachingScriptClassCache {
+    public static final String SHARE_CLASSES_PROPERTY = "org.gradle.scripts.share-classes";
+
     private final CrossBuildInMemoryCache<ScriptCacheKey, CachedCompiledScript> cachedCompiledScripts;
+    private final CrossBuildInMemoryCache<ScriptCacheKey, SharedCompiledScript> sharedCompiledScripts;
     private final FileHasher hasher;
+    private final boolean shareClasses;
 
-    public CrossBuildInMemoryCachingScriptClassCache(FileHasher hasher, CrossBuildInMemoryCacheFactory cacheFactory) {
+    public CrossBuildInMemoryCachingScriptClassCache(FileHasher hasher, CrossBuildInMemoryCacheFactory cacheFactory, boolean shareClasses) {
         this.hasher = hasher;
+        this.shareClasses = shareClasses;
         cachedCompiledScripts = cacheFactory.newCache();
+        sharedCompiledScripts = cacheFactory.newCache();
+    }
+
+    public static boolean isClassSharingEnabled() {
+        return Boolean.getBoolean(SHARE_CLASSES_PROPERTY);
     }
 
     public <T extends Script, M> CompiledScript<T, M> getOrCompile(ScriptSource source, ClassLoader classLoader,
@@ -41,19 +74,249 @@ public class CrossBuildInMemoryCachingScriptClassCache {
                                                                    Class<T> scriptBaseClass,
                                                                    Action<? super ClassNode> verifier,
                                                                    ScriptClassCompiler delegate) {
+        HashCode hash = hasher.hash(source.getResource());
         ScriptCacheKey key = new ScriptCacheKey(source.getClassName(), classLoader, operation.getId());
         CachedCompiledScript cached = cachedCompiledScripts.get(key);
-        HashCode hash = hasher.hash(source.getResource());
         if (cached != null) {
             if (hash.equals(cached.hash)) {
                 return Cast.uncheckedCast(cached.compiledScript);
             }
         }
-        CompiledScript<T, M> compiledScript = delegate.compile(source, classLoader, classLoaderId, operation, scriptBaseClass, verifier);
+        CompiledScript<T, M> compiledScript;
+        if (shareClasses) {
+            SharedCompiledScript shared = getOrCompileShared(source, hash, classLoader, classLoaderId, operation, scriptBaseClass, verifier, delegate);
+            compiledScript = new RelocatedCompiledScript<T, M>(shared, source, hash, scriptBaseClass);
+        } else {
+            compiledScript = delegate.compile(source, classLoader, classLoaderId, operation, scriptBaseClass, verifier);
+        }
         cachedCompiledScripts.put(key, new CachedCompiledScript(hash, compiledScript));
         return compiledScript;
     }
 
+    private <T extends Script, M> SharedCompiledScript getOrCompileShared(final ScriptSource source, HashCode hash, final ClassLoader classLoader,
+                                                                          final ClassLoaderId classLoaderId,
+                                                                          final CompileOperation<M> operation,
+                                                                          final Class<T> scriptBaseClass,
+                                                                          final Action<? super ClassNode> verifier,
+                                                                          final ScriptClassCompiler delegate) {
+        final SharedScriptSource sharedSource = new SharedScriptSource(source, hash);
+        ScriptCacheKey key = new ScriptCacheKey(sharedSource.getClassName(), classLoader, operation.getId());
+        return sharedCompiledScripts.get(key, new Transformer<SharedCompiledScript, ScriptCacheKey>() {
+            @Override
+            public SharedCompiledScript transform(ScriptCacheKey key) {
+                ClassLoaderId sharedClassLoaderId = ClassLoaderIds.sharedBuildScript(classLoaderId, sharedSource.getClassName());
+                return new SharedCompiledScript(source, delegate.compile(sharedSource, classLoader, sharedClassLoaderId, operation, scriptBaseClass, verifier));
+            }
+        });
+    }
+
+    /**
+     * A script source whose class name is determined by the content of the script rather than its location.
+     */
+    private static class SharedScriptSource extends DelegatingScriptSource {
+        private final String className;
+
+        SharedScriptSource(ScriptSource source, HashCode hash) {
+            super(source);
+            this.className = "shared_" + HashUtil.compactStringFor(hash);
+        }
+
+        @Override
+        public String getClassName() {
+            return className;
+        }
+    }
+
+    /**
+     * A script compiled once for all scripts with the same content. Its classes carry the file name and location of the script it was compiled from.
+     */
+    private static class SharedCompiledScript {
+        private final ScriptSource source;
+        private final CompiledScript<?, ?> compiledScript;
+        private Class<?> scriptClass;
+
+        SharedCompiledScript(ScriptSource source, CompiledScript<?, ?> compiledScript) {
+            this.source = source;
+            this.compiledScript = compiledScript;
+        }
+
+        synchronized Class<?> loadClass() {
+            if (scriptClass == null) {
+                scriptClass = compiledScript.loadClass();
+            }
+            return scriptClass;
+        }
+    }
+
+    /**
+     * A script that uses the classes of a shared script, relocated to the location of this script.
+     */
+    private static class RelocatedCompiledScript<T extends Script, M> implements CompiledScript<T, M> {
+        private final SharedCompiledScript shared;
+        private final ScriptSource source;
+        private final HashCode hash;
+        private final Class<T> scriptBaseClass;
+        private Class<? extends T> scriptClass;
+
+        RelocatedCompiledScript(SharedCompiledScript shared, ScriptSource source, HashCode hash, Class<T> scriptBaseClass) {
+            this.shared = shared;
+            this.source = source;
+            this.hash = hash;
+            this.scriptBaseClass = scriptBaseClass;
+        }
+
+        @Override
+        public boolean getRunDoesSomething() {
+            return shared.compiledScript.getRunDoesSomething();
+        }
+
+        @Override
+        public boolean getHasMethods() {
+            return shared.compiledScript.getHasMethods();
+        }
+
+        @Override
+        public M getData() {
+            return Cast.uncheckedCast(shared.compiledScript.getData());
+        }
+
+        @Override
+        public Class<? extends T> loadClass() {
+            if (scriptClass == null) {
+                Class<?> sharedClass = shared.loadClass();
+                ClassLoader sharedClassLoader = sharedClass.getClassLoader();
+                ClassLoader loader = new RelocatingScriptClassLoader(sharedClassLoader.getParent(), sharedClassLoader, sharedClass.getName(), shared.source, source, hash);
+                try {
+                    scriptClass = loader.loadClass(sharedClass.getName()).asSubclass(scriptBaseClass);
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException(String.format("Could not load compiled classes for %s.", source.getDisplayName()), e);
+                }
+            }
+            return scriptClass;
+        }
+    }
+
+    /**
+     * Defines the classes of a shared script, replacing the file name and location of the script they were compiled from with those of another script.
+     */
+    private static class RelocatingScriptClassLoader extends ClassLoader implements ImplementationHashAware {
+        private final ClassLoader sharedClassLoader;
+        private final String className;
+        private final ScriptSource sharedSource;
+        private final ScriptSource source;
+        private final HashCode implementationHash;
+
+        RelocatingScriptClassLoader(ClassLoader parent, ClassLoader sharedClassLoader, String className, ScriptSource sharedSource, ScriptSource source, HashCode implementationHash) {
+            super(parent);
+            this.sharedClassLoader = sharedClassLoader;
+            this.className = className;
+            this.sharedSource = sharedSource;
+            this.source = source;
+            this.implementationHash = implementationHash;
+        }
+
+        @Override
+        public HashCode getImplementationHash() {
+            return implementationHash;
+        }
+
+        @Override
+        protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            // The shared script classes are only available from this ClassLoader - avoid delegation
+            if (name.startsWith(className)) {
+                Class<?> cl = findLoadedClass(name);
+                if (cl == null) {
+                    cl = findClass(name);
+                }
+                if (resolve) {
+                    resolveClass(cl);
+                }
+                return cl;
+            }
+            return super.loadClass(name, resolve);
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            InputStream inputStream = sharedClassLoader.getResourceAsStream(name.replace('.', '/') + ".class");
+            if (inputStream == null) {
+                throw new ClassNotFoundException(name);
+            }
+            byte[] bytes;
+            try {
+                try {
+                    ClassWriter classWriter = new ClassWriter(0);
+                    new ClassReader(inputStream).accept(new ScriptSourceRelocator(classWriter, sharedSource, source), 0);
+                    bytes = classWriter.toByteArray();
+                } finally {
+                    inputStream.close();
+                }
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+
+    /**
+     * Replaces the source file name of a class, and the script location that {@link RuleVisitor} embeds for model rules.
+     */
+    private static class ScriptSourceRelocator extends ClassVisitor implements Opcodes {
+        private final String fileName;
+        private final String sharedUri;
+        private final String uri;
+        private final String sharedDisplayName;
+        private final String displayName;
+
+        ScriptSourceRelocator(ClassVisitor cv, ScriptSource sharedSource, ScriptSource source) {
+            super(ASM5, cv);
+            this.fileName = source.getFileName();
+            this.sharedUri = uriOf(sharedSource);
+            this.uri = uriOf(source);
+            this.sharedDisplayName = sharedSource.getDisplayName();
+            this.displayName = source.getDisplayName();
+        }
+
+        private static String uriOf(ScriptSource source) {
+            URI uri = source.getResource().getLocation().getURI();
+            return uri == null ? null : uri.toString();
+        }
+
+        @Override
+        public void visitSource(String source, String debug) {
+            cv.visitSource(fileName, debug);
+        }
+
+        @Override
+        public FieldVisitor visitField(int access, String name, String desc, String signature, Object value) {
+            return super.visitField(access, name, desc, signature, relocate(value));
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
+            MethodVisitor mv = super.visitMethod(access, name, desc, signature, exceptions);
+            if (mv == null) {
+                return null;
+            }
+            return new MethodVisitor(ASM5, mv) {
+                @Override
+                public void visitLdcInsn(Object cst) {
+                    super.visitLdcInsn(relocate(cst));
+                }
+            };
+        }
+
+        private Object relocate(Object value) {
+            if (sharedUri != null && uri != null && sharedUri.equals(value)) {
+                return uri;
+            }
+            if (sharedDisplayName != null && displayName != null && sharedDisplayName.equals(value)) {
+                return displayName;
+            }
+            return value;
+        }
+    }
+
     private static class CachedCompiledScript {
         private final HashCode hash;
         private final CompiledScript<?, ?> compiledScript;
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.initialization;
+
+import org.gradle.api.initialization.ProjectDescriptor;
+import org.gradle.api.internal.GradleInternal;
+import org.gradle.api.internal.initialization.ClassLoaderScope;
+import org.gradle.configuration.BuildScriptPrecompiler;
+
+/**
+ * Starts compiling the build scripts of the projects once they have been loaded.
+ */
+public class PrecompilingBuildLoader implements BuildLoader {
+    private final BuildLoader delegate;
+    private final BuildScriptPrecompiler precompiler;
+
+    public PrecompilingBuildLoader(BuildLoader delegate, BuildScriptPrecompiler precompiler) {
+        this.delegate = delegate;
+        this.precompiler = precompiler;
+    }
+
+    @Override
+    public void load(ProjectDescriptor rootProjectDescriptor, ProjectDescriptor defaultProject, GradleInternal gradle, ClassLoaderScope classLoaderScope) {
+        delegate.load(rootProjectDescriptor, defaultProject, gradle, classLoaderScope);
+        precompiler.precompile(gradle.getRootProject());
+    }
+}
@@ -92,7 +92,8 @@ public class BuildSourceBuilder {
         try {
             GradleLauncher gradleLauncher = buildGradleLauncher(startParameter);
             try {
-                return buildSrcCache.useCache(new BuildSrcUpdateFactory(buildSrcCache, gradleLauncher, buildSrcBuildListenerFactory));
+                BuildSrcClasspathCache classpathCache = BuildSrcClasspathCache.isEnabled() ? new BuildSrcClasspathCache(buildSrcCache.getBaseDir(), startParameter) : null;
+                return buildSrcCache.useCache(new BuildSrcUpdateFactory(buildSrcCache, gradleLauncher, buildSrcBuildListenerFactory, classpathCache));
             } finally {
                 gradleLauncher.stop();
             }
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.initialization.buildsrc;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.gradle.StartParameter;
+import org.gradle.api.Nullable;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.classpath.DefaultClassPath;
+import org.gradle.internal.serialize.Decoder;
+import org.gradle.internal.serialize.Encoder;
+import org.gradle.internal.serialize.kryo.KryoBackedDecoder;
+import org.gradle.internal.serialize.kryo.KryoBackedEncoder;
+import org.gradle.util.GFileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Remembers the classpath produced by the buildSrc build together with a fingerprint of the inputs of that build, so that
+ * the buildSrc build does not need to be configured or executed again while none of its inputs have changed.
+ *
+ * <p>The inputs are the files of the buildSrc directory, the init scripts, the <code>gradle.properties</code> file of the Gradle user home,
+ * the project and system properties of the build and the environment. Dependencies with dynamic or changing versions are not
+ * taken into account, which is why reuse has to be enabled using the {@value #ENABLED_PROPERTY} system property.</p>
+ */
+class BuildSrcClasspathCache {
+    static final String ENABLED_PROPERTY = "org.gradle.buildsrc.cache";
+    private static final Logger LOGGER = LoggerFactory.getLogger(BuildSrcClasspathCache.class);
+
+    private final File resultFile;
+    private final StartParameter startParameter;
+
+    BuildSrcClasspathCache(File cacheDir, StartParameter startParameter) {
+        this.resultFile = new File(cacheDir, "classpath.bin");
+        this.startParameter = startParameter;
+    }
+
+    static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    /**
+     * Returns the classpath of the previous buildSrc build, or null when it cannot be reused.
+     */
+    @Nullable
+    DefaultClassPath load() {
+        if (!resultFile.isFile() || startParameter.isRefreshDependencies() || startParameter.isRerunTasks()) {
+            return null;
+        }
+        try {
+            KryoBackedDecoder decoder = new KryoBackedDecoder(new FileInputStream(resultFile));
+            try {
+                return read(decoder);
+            } finally {
+                decoder.close();
+            }
+        } catch (Exception e) {
+            // A truncated or otherwise unreadable file only means that buildSrc has to be built again
+            LOGGER.debug("Could not read the classpath of the previous buildSrc build from {}.", resultFile, e);
+            return null;
+        }
+    }
+
+    /**
+     * Remembers the given classpath. The file is written under a temporary name and then renamed, so that a build that is interrupted
+     * while writing it does not leave a partial file behind.
+     */
+    void store(Collection<File> classpath) {
+        File tempFile = new File(resultFile.getParentFile(), resultFile.getName() + ".tmp");
+        try {
+            KryoBackedEncoder encoder = new KryoBackedEncoder(new FileOutputStream(tempFile));
+            try {
+                write(encoder, classpath);
+            } finally {
+                encoder.close();
+            }
+        } catch (Exception e) {
+            GFileUtils.deleteQuietly(tempFile);
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+        if (!tempFile.renameTo(resultFile)) {
+            // Renaming onto an existing file fails on some platforms
+            GFileUtils.deleteQuietly(resultFile);
+            GFileUtils.moveFile(tempFile, resultFile);
+        }
+    }
+
+    private DefaultClassPath read(Decoder decoder) throws Exception {
+        if (!Arrays.equals(decoder.readBinary(), hashInputs().asBytes())) {
+            return null;
+        }
+        int count = decoder.readSmallInt();
+        List<File> classpath = new ArrayList<File>(count);
+        for (int i = 0; i < count; i++) {
+            classpath.add(new File(decoder.readString()));
+        }
+        if (!Arrays.equals(decoder.readBinary(), hashOutputs(classpath).asBytes())) {
+            return null;
+        }
+        return new DefaultClassPath(classpath);
+    }
+
+    private void write(Encoder encoder, Collection<File> classpath) throws Exception {
+        encoder.writeBinary(hashInputs().asBytes());
+        encoder.writeSmallInt(classpath.size());
+        for (File file : classpath) {
+            encoder.writeString(file.getAbsolutePath());
+        }
+        encoder.writeBinary(hashOutputs(classpath).asBytes());
+    }
+
+    private HashCode hashInputs() {
+        Hasher hasher = Hashing.md5().newHasher();
+        File buildSrcDir = startParameter.getCurrentDir();
+        hashFileTree(buildSrcDir, buildSrcDir, true, hasher);
+        for (File initScript : startParameter.getAllInitScripts()) {
+            hashFile(initScript, initScript.getAbsolutePath(), hasher);
+        }
+        File userHomeProperties = new File(startParameter.getGradleUserHomeDir(), "gradle.properties");
+        hashFile(userHomeProperties, userHomeProperties.getAbsolutePath(), hasher);
+        hashMap(startParameter.getProjectProperties(), hasher);
+        hashMap(startParameter.getSystemPropertiesArgs(), hasher);
+        hashMap(System.getenv(), hasher);
+        hasher.putBoolean(startParameter.isOffline());
+        return hasher.hash();
+    }
+
+    private static HashCode hashOutputs(Collection<File> classpath) {
+        Hasher hasher = Hashing.md5().newHasher();
+        for (File file : classpath) {
+            hashFileTree(file, file, false, hasher);
+        }
+        return hasher.hash();
+    }
+
+    private static void hashFileTree(File root, File file, boolean excludeBuildOutputs, Hasher hasher) {
+        String path = file == root ? file.getAbsolutePath() : file.getAbsolutePath().substring(root.getAbsolutePath().length());
+        if (!file.isDirectory()) {
+            hashFile(file, path, hasher);
+            return;
+        }
+        File[] children = file.listFiles();
+        if (children == null) {
+            return;
+        }
+        Arrays.sort(children);
+        for (File child : children) {
+            if (excludeBuildOutputs && child.isDirectory() && isBuildOutput(root, child)) {
+                continue;
+            }
+            hashFileTree(root, child, excludeBuildOutputs, hasher);
+        }
+    }
+
+    private static boolean isBuildOutput(File root, File directory) {
+        if (directory.getName().equals(".gradle")) {
+            return true;
+        }
+        // Only the build directory of the buildSrc project itself is ignored, as nested directories with that name may well be source directories
+        return directory.getName().equals("build") && directory.getParentFile().equals(root);
+    }
+
+    private static void hashFile(File file, String path, Hasher hasher) {
+        hasher.putString(path, Charsets.UTF_8);
+        hasher.putBoolean(file.isFile());
+        hasher.putLong(file.length());
+        hasher.putLong(file.lastModified());
+    }
+
+    private static void hashMap(Map<String, String> values, Hasher hasher) {
+        for (Map.Entry<String, String> entry : new TreeMap<String, String>(values).entrySet()) {
+            hasher.putString(entry.getKey(), Charsets.UTF_8);
+            hasher.putString(String.valueOf(entry.getValue()), Charsets.UTF_8);
+        }
+        hasher.putInt(values.size());
+    }
+}
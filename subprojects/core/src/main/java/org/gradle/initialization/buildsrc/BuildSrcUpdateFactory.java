@@ -16,6 +16,7 @@
 
 package org.gradle.initialization.buildsrc;
 
+import org.gradle.api.Nullable;
 import org.gradle.api.UncheckedIOException;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
@@ -32,18 +33,32 @@ public class BuildSrcUpdateFactory implements Factory<DefaultClassPath> {
     private final PersistentCache cache;
     private final GradleLauncher gradleLauncher;
     private BuildSrcBuildListenerFactory listenerFactory;
+    private final BuildSrcClasspathCache classpathCache;
     private static final Logger LOGGER = Logging.getLogger(BuildSrcUpdateFactory.class);
 
     public BuildSrcUpdateFactory(PersistentCache cache, GradleLauncher gradleLauncher, BuildSrcBuildListenerFactory listenerFactory) {
+        this(cache, gradleLauncher, listenerFactory, null);
+    }
+
+    BuildSrcUpdateFactory(PersistentCache cache, GradleLauncher gradleLauncher, BuildSrcBuildListenerFactory listenerFactory, @Nullable BuildSrcClasspathCache classpathCache) {
         this.cache = cache;
         this.gradleLauncher = gradleLauncher;
         this.listenerFactory = listenerFactory;
+        this.classpathCache = classpathCache;
     }
 
     public DefaultClassPath create() {
         File markerFile = new File(cache.getBaseDir(), "built.bin");
         final boolean rebuild = !markerFile.exists();
 
+        if (!rebuild && classpathCache != null) {
+            DefaultClassPath classpath = classpathCache.load();
+            if (classpath != null) {
+                LOGGER.info("Inputs of the build sources have not changed, skipping the build of the build sources.");
+                return classpath;
+            }
+        }
+
         Collection<File> classpath = build(rebuild);
         LOGGER.debug("Gradle source classpath is: {}", classpath);
         try {
@@ -51,6 +66,9 @@ public class BuildSrcUpdateFactory implements Factory<DefaultClassPath> {
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
+        if (classpathCache != null) {
+            classpathCache.store(classpath);
+        }
         return new DefaultClassPath(classpath);
     }
 
@@ -108,6 +108,8 @@ public class BeanDynamicObject extends AbstractDynamicObject {
             return new ClassAdapter((Class<?>) bean);
         } else if (bean instanceof Map) {
             return new MapAdapter();
+        } else if (bean instanceof GeneratedPropertyAccess) {
+            return new GeneratedPropertyAccessAdapter();
         } else if (bean instanceof DynamicObject || bean instanceof DynamicObjectAware || !(bean instanceof GroovyObject)) {
             return new MetaClassAdapter();
         }
@@ -575,6 +577,53 @@ public class BeanDynamicObject extends AbstractDynamicObject {
         }
     }
 
+    /*
+       Generated classes can read and write their bean properties directly, which avoids locating and invoking the getter or setter
+       through the meta-class. This is used only while the object has the default meta-class, as a customised meta-class may replace
+       the getters and setters of the object.
+     */
+    private class GeneratedPropertyAccessAdapter extends MetaClassAdapter {
+        private final GeneratedPropertyAccess propertyAccess = (GeneratedPropertyAccess) bean;
+        private final GeneratedPropertyTable propertyTable = propertyAccess.generatedPropertyTable();
+
+        private int indexOf(String name) {
+            if (!includeProperties || getMetaClass().getClass() != MetaClassImpl.class) {
+                return -1;
+            }
+            return propertyTable.indexOf(name);
+        }
+
+        @Override
+        public boolean hasProperty(String name) {
+            return indexOf(name) >= 0 || super.hasProperty(name);
+        }
+
+        @Override
+        public void getProperty(String name, GetPropertyResult result) {
+            int index = indexOf(name);
+            if (index >= 0 && propertyTable.isReadable(index)) {
+                result.result(propertyAccess.readGeneratedProperty(index));
+                return;
+            }
+            super.getProperty(name, result);
+        }
+
+        @Override
+        public void setProperty(String name, Object value, SetPropertyResult result) {
+            int index = indexOf(name);
+            Class<?> setterType = index >= 0 ? propertyTable.getSetterType(index) : null;
+            if (setterType != null && (value != null || !setterType.isPrimitive())) {
+                // Coerce the value to the type accepted by the property setter, in the same way as when the setter is invoked through the meta-class
+                Object converted = propertySetTransformer.transformValue(setterType, value);
+                converted = DefaultTypeTransformation.castToType(converted, setterType);
+                propertyAccess.writeGeneratedProperty(index, converted);
+                result.found();
+                return;
+            }
+            super.setProperty(name, value, result);
+        }
+    }
+
     private class MapAdapter extends MetaClassAdapter {
         Map<String, Object> map = (Map<String, Object>) bean;
 
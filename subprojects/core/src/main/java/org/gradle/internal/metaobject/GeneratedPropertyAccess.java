@@ -0,0 +1,40 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.metaobject;
+
+/**
+ * Implemented by generated classes to allow {@link BeanDynamicObject} to read and write bean properties by calling the getter and setter
+ * methods directly, rather than going through the Groovy meta-class.
+ *
+ * <p>Properties are identified by their index in the {@link GeneratedPropertyTable} of the object.</p>
+ */
+public interface GeneratedPropertyAccess {
+    /**
+     * Returns the properties that can be accessed directly. This is the same instance for all objects of a given class.
+     */
+    GeneratedPropertyTable generatedPropertyTable();
+
+    /**
+     * Invokes the getter of the property with the given index.
+     */
+    Object readGeneratedProperty(int index);
+
+    /**
+     * Invokes the setter of the property with the given index. The value must already have been coerced to the setter type.
+     */
+    void writeGeneratedProperty(int index, Object value);
+}
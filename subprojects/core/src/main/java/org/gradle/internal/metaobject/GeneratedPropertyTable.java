@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.metaobject;
+
+import org.gradle.api.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Describes the properties of a class that implements {@link GeneratedPropertyAccess}.
+ */
+public class GeneratedPropertyTable {
+    private final Map<String, Integer> indices = new HashMap<String, Integer>();
+    private final boolean[] readable;
+    private final Class<?>[] setterTypes;
+
+    /**
+     * @param names The property names, in index order.
+     * @param readable Whether each property has a getter that can be called directly.
+     * @param setterTypes The parameter type of the setter of each property, or null when the property has no setter that can be called directly.
+     */
+    public GeneratedPropertyTable(List<String> names, boolean[] readable, Class<?>[] setterTypes) {
+        for (int i = 0; i < names.size(); i++) {
+            indices.put(names.get(i), i);
+        }
+        this.readable = readable;
+        this.setterTypes = setterTypes;
+    }
+
+    /**
+     * Returns the index of the given property, or -1 when the property cannot be accessed directly.
+     */
+    public int indexOf(String name) {
+        Integer index = indices.get(name);
+        return index == null ? -1 : index;
+    }
+
+    public boolean isReadable(int index) {
+        return readable[index];
+    }
+
+    @Nullable
+    public Class<?> getSetterType(int index) {
+        return setterTypes[index];
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.resource.local;
+
+import org.gradle.util.GFileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+
+/**
+ * A file store that keeps a single copy of each distinct file content, keyed by the SHA1 of that content.
+ *
+ * Other locations, such as the entries of a {@link GroupedAndNamedUniqueFileStore}, are hard links to the stored content.
+ * When hard links cannot be created, for example because the file system does not support them, files are stored only at those
+ * other locations and their content is not kept in this store.
+ * <p>
+ * This implementation is NOT THREAD SAFE. Concurrent access must be organised externally. Content added concurrently by other processes, or by
+ * threads that share the same directory, is tolerated.
+ */
+public class ContentAddressedFileStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContentAddressedFileStore.class);
+
+    private final File baseDir;
+    private volatile boolean hardLinksSupported = true;
+
+    public ContentAddressedFileStore(File baseDir) {
+        this.baseDir = baseDir;
+    }
+
+    /**
+     * Moves the given file to the destination. When content with the given checksum is already present, the destination is linked to it and the file is discarded.
+     */
+    public void move(String sha1, File source, File destination) {
+        add(sha1, source, destination, true);
+    }
+
+    /**
+     * Copies the given file to the destination. When content with the given checksum is already present, the destination is linked to it instead.
+     */
+    public void copy(String sha1, File source, File destination) {
+        add(sha1, source, destination, false);
+    }
+
+    private void add(String sha1, File source, File destination, boolean isMove) {
+        File content = new File(baseDir, toPath(sha1));
+        if (hardLinksSupported && content.isFile() && link(destination, content)) {
+            if (isMove) {
+                GFileUtils.deleteQuietly(source);
+            }
+            return;
+        }
+        if (isMove) {
+            GFileUtils.moveFile(source, destination);
+        } else {
+            GFileUtils.copyFile(source, destination);
+        }
+        if (hardLinksSupported && !content.exists()) {
+            // Keep the content by linking to the destination, so that it is never stored twice. This fails when the same content has been stored
+            // concurrently, which is fine as the content is then kept by the other link
+            link(content, destination);
+        }
+    }
+
+    private boolean link(File link, File existing) {
+        try {
+            GFileUtils.parentMkdirs(link);
+            createLink(link, existing);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            LOGGER.debug("Could not hard link {} to {} as it already exists.", link, existing);
+            return false;
+        } catch (NoSuchFileException e) {
+            LOGGER.debug("Could not hard link {} to {} as it no longer exists.", link, existing);
+            return false;
+        } catch (AccessDeniedException e) {
+            LOGGER.debug("Could not hard link {} to {}.", link, existing, e);
+            return false;
+        } catch (FileSystemException e) {
+            // For example, the files are on different file systems, or the file system does not support hard links
+            LOGGER.debug("Could not hard link {} to {}, no longer sharing the content of files.", link, existing, e);
+        } catch (IOException e) {
+            LOGGER.debug("Could not hard link {} to {}.", link, existing, e);
+            return false;
+        } catch (UnsupportedOperationException e) {
+            LOGGER.debug("Hard links are not supported, no longer sharing the content of files.");
+        }
+        hardLinksSupported = false;
+        return false;
+    }
+
+    void createLink(File link, File existing) throws IOException {
+        Files.createLink(link.toPath(), existing.toPath());
+    }
+
+    private static String toPath(String sha1) {
+        return sha1.substring(0, 2) + "/" + sha1;
+    }
+}
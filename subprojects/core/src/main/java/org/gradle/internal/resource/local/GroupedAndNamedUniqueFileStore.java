@@ -16,9 +16,11 @@
 package org.gradle.internal.resource.local;
 
 import org.gradle.api.Action;
+import org.gradle.api.Nullable;
 import org.gradle.api.Transformer;
 import org.gradle.api.internal.file.TemporaryFileProvider;
 import org.gradle.internal.hash.HashUtil;
+import org.gradle.util.GFileUtils;
 
 import java.io.File;
 import java.util.Set;
@@ -29,21 +31,53 @@ public class GroupedAndNamedUniqueFileStore<K> implements FileStore<K>, FileStor
     private final TemporaryFileProvider temporaryFileProvider;
     private final Transformer<String, K> grouper;
     private final Transformer<String, K> namer;
-
+    private final ContentAddressedFileStore contentStore;
 
     public GroupedAndNamedUniqueFileStore(PathKeyFileStore delegate, TemporaryFileProvider temporaryFileProvider, Transformer<String, K> grouper, Transformer<String, K> namer) {
+        this(delegate, null, temporaryFileProvider, grouper, namer);
+    }
+
+    /**
+     * Creates a file store that keeps the content of its entries in the given content addressed store, so that entries with identical content are only stored once.
+     */
+    public GroupedAndNamedUniqueFileStore(PathKeyFileStore delegate, @Nullable ContentAddressedFileStore contentStore, TemporaryFileProvider temporaryFileProvider, Transformer<String, K> grouper, Transformer<String, K> namer) {
         this.delegate = delegate;
+        this.contentStore = contentStore;
         this.temporaryFileProvider = temporaryFileProvider;
         this.grouper = grouper;
         this.namer = namer;
     }
 
     public LocallyAvailableResource move(K key, File source) {
-        return delegate.move(toPath(key, getChecksum(source)), source);
+        String checksum = getChecksum(source);
+        if (contentStore != null) {
+            LocallyAvailableResource entry = addToContentStore(key, checksum, source, true);
+            // The entry may already have been present, in which case the source was not used
+            GFileUtils.deleteQuietly(source);
+            return entry;
+        }
+        return delegate.move(toPath(key, checksum), source);
     }
 
     public LocallyAvailableResource copy(K key, File source) {
-        return delegate.copy(toPath(key, getChecksum(source)), source);
+        String checksum = getChecksum(source);
+        if (contentStore != null) {
+            return addToContentStore(key, checksum, source, false);
+        }
+        return delegate.copy(toPath(key, checksum), source);
+    }
+
+    private LocallyAvailableResource addToContentStore(K key, final String checksum, final File source, final boolean isMove) {
+        return delegate.add(toPath(key, checksum), new Action<File>() {
+            @Override
+            public void execute(File file) {
+                if (isMove) {
+                    contentStore.move(checksum, source, file);
+                } else {
+                    contentStore.copy(checksum, source, file);
+                }
+            }
+        });
     }
 
     public Set<? extends LocallyAvailableResource> search(K key) {
@@ -74,7 +108,6 @@ public class GroupedAndNamedUniqueFileStore<K> implements FileStore<K>, FileStor
         //and reexecuting the action isn't acceptable
         final File tempFile = getTempFile();
         addAction.execute(tempFile);
-        final String groupedAndNamedKey = toPath(key, getChecksum(tempFile));
-        return delegate.move(groupedAndNamedKey, tempFile);
+        return move(key, tempFile);
     }
 }
@@ -70,6 +70,7 @@ import org.gradle.cache.CacheValidator;
 import org.gradle.caching.internal.tasks.TaskExecutionStatisticsEventAdapter;
 import org.gradle.caching.internal.tasks.statistics.TaskExecutionStatisticsListener;
 import org.gradle.configuration.BuildConfigurer;
+import org.gradle.configuration.BuildScriptPrecompiler;
 import org.gradle.configuration.DefaultBuildConfigurer;
 import org.gradle.configuration.DefaultInitScriptProcessor;
 import org.gradle.configuration.DefaultScriptPluginFactory;
@@ -81,7 +82,9 @@ import org.gradle.configuration.project.ConfigureActionsProjectEvaluator;
 import org.gradle.configuration.project.DelayedConfigurationActions;
 import org.gradle.configuration.project.LifecycleProjectEvaluator;
 import org.gradle.configuration.project.PluginsProjectConfigureActions;
+import org.gradle.configuration.project.ProjectEvaluationCoordinator;
 import org.gradle.configuration.project.ProjectEvaluator;
+import org.gradle.execution.ParallelProjectConfigurer;
 import org.gradle.execution.ProjectConfigurer;
 import org.gradle.execution.TaskPathProjectEvaluator;
 import org.gradle.groovy.scripts.DefaultScriptCompilerFactory;
@@ -108,6 +111,7 @@ import org.gradle.initialization.InstantiatingBuildLoader;
 import org.gradle.initialization.MultipleBuildFailuresExceptionAnalyser;
 import org.gradle.initialization.NestedBuildFactory;
 import org.gradle.initialization.NotifyingSettingsProcessor;
+import org.gradle.initialization.PrecompilingBuildLoader;
 import org.gradle.initialization.ProjectAccessListener;
 import org.gradle.initialization.ProjectPropertySettingBuildLoader;
 import org.gradle.initialization.PropertiesLoadingSettingsProcessor;
@@ -211,18 +215,30 @@ public class BuildScopeServices extends DefaultServiceRegistry {
     }
 
     protected BuildLoader createBuildLoader() {
-        return new ProjectPropertySettingBuildLoader(
+        BuildLoader buildLoader = new ProjectPropertySettingBuildLoader(
             get(IGradlePropertiesLoader.class),
             new InstantiatingBuildLoader(get(IProjectFactory.class)));
+        if (BuildScriptPrecompiler.isPrecompilationEnabled()) {
+            return new PrecompilingBuildLoader(buildLoader, get(BuildScriptPrecompiler.class));
+        }
+        return buildLoader;
+    }
+
+    protected BuildScriptPrecompiler createBuildScriptPrecompiler(ScriptCompilerFactory scriptCompilerFactory, DocumentationRegistry documentationRegistry, ExecutorFactory executorFactory, StartParameter startParameter) {
+        return new BuildScriptPrecompiler(scriptCompilerFactory, documentationRegistry, executorFactory, startParameter.getMaxWorkerCount());
     }
 
-    protected ProjectEvaluator createProjectEvaluator(BuildOperationExecutor buildOperationExecutor, CachingServiceLocator cachingServiceLocator, ScriptPluginFactory scriptPluginFactory) {
+    protected ProjectEvaluationCoordinator createProjectEvaluationCoordinator() {
+        return new ProjectEvaluationCoordinator(ProjectEvaluationCoordinator.isParallelConfigurationEnabled());
+    }
+
+    protected ProjectEvaluator createProjectEvaluator(BuildOperationExecutor buildOperationExecutor, CachingServiceLocator cachingServiceLocator, ScriptPluginFactory scriptPluginFactory, ProjectEvaluationCoordinator projectEvaluationCoordinator) {
         ConfigureActionsProjectEvaluator withActionsEvaluator = new ConfigureActionsProjectEvaluator(
             new PluginsProjectConfigureActions(cachingServiceLocator),
             new BuildScriptProcessor(scriptPluginFactory),
             new DelayedConfigurationActions()
         );
-        return new LifecycleProjectEvaluator(buildOperationExecutor, withActionsEvaluator);
+        return projectEvaluationCoordinator.decorate(new LifecycleProjectEvaluator(buildOperationExecutor, withActionsEvaluator));
     }
 
     protected TaskClassValidatorExtractor createTaskClassValidatorExtractor(ServiceRegistry registry) {
@@ -357,8 +373,12 @@ public class BuildScopeServices extends DefaultServiceRegistry {
         );
     }
 
-    protected ProjectConfigurer createProjectConfigurer(BuildCancellationToken cancellationToken) {
-        return new TaskPathProjectEvaluator(cancellationToken);
+    protected ProjectConfigurer createProjectConfigurer(BuildCancellationToken cancellationToken, ProjectEvaluationCoordinator projectEvaluationCoordinator, BuildOperationExecutor buildOperationExecutor, ExecutorFactory executorFactory, StartParameter startParameter) {
+        ProjectConfigurer projectConfigurer = new TaskPathProjectEvaluator(cancellationToken);
+        if (projectEvaluationCoordinator.isParallel()) {
+            return new ParallelProjectConfigurer(projectConfigurer, buildOperationExecutor, executorFactory, startParameter.getMaxWorkerCount());
+        }
+        return projectConfigurer;
     }
 
     protected BuildConfigurer createBuildConfigurer(ProjectConfigurer projectConfigurer) {
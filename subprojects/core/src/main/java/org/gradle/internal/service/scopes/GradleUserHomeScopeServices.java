@@ -79,7 +79,7 @@ public class GradleUserHomeScopeServices {
     }
 
     CrossBuildInMemoryCachingScriptClassCache createCachingScriptCompiler(FileHasher hasher, CrossBuildInMemoryCacheFactory cacheFactory) {
-        return new CrossBuildInMemoryCachingScriptClassCache(hasher, cacheFactory);
+        return new CrossBuildInMemoryCachingScriptClassCache(hasher, cacheFactory, CrossBuildInMemoryCachingScriptClassCache.isClassSharingEnabled());
     }
 
     ClassLoaderHierarchyHasher createClassLoaderHierarchyHasher(ClassLoaderRegistry registry, ClassLoaderHasher classLoaderHasher) {
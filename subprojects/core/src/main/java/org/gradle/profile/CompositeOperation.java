@@ -20,6 +20,7 @@ import com.google.common.collect.Lists;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * An operation made up of other operations of type T.
@@ -41,9 +42,14 @@ public class CompositeOperation<T extends Operation> extends Operation implement
 
     @Override
     long getElapsedTime() {
+        return TimeUnit.NANOSECONDS.toMillis(getElapsedTimeNanos());
+    }
+
+    @Override
+    long getElapsedTimeNanos() {
         long sum = 0;
         for (T child : children) {
-            sum += child.getElapsedTime();
+            sum += child.getElapsedTimeNanos();
         }
         return sum;
     }
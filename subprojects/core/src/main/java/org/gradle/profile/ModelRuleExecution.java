@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.profile;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The time spent executing a model rule, summed over all executions of the rule for a project.
+ */
+public class ModelRuleExecution extends Operation {
+    private final String description;
+    private long elapsedNanos;
+    private int count;
+
+    public ModelRuleExecution(String description) {
+        this.description = description;
+    }
+
+    public ModelRuleExecution executed(long executionTimeNanos) {
+        elapsedNanos += executionTimeNanos;
+        count++;
+        return this;
+    }
+
+    /**
+     * Returns the number of times the rule was executed.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public long getElapsedTime() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    @Override
+    long getElapsedTimeNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
@@ -16,6 +16,7 @@
 package org.gradle.profile;
 
 import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A general operation.
@@ -26,6 +27,14 @@ public abstract class Operation {
      */
     abstract long getElapsedTime();
 
+    /**
+     * Returns the total elapsed execution time of this operation in nanos. Operations that measure their time more precisely than in millis override
+     * this, so that the time is not rounded before it is summed.
+     */
+    long getElapsedTimeNanos() {
+        return TimeUnit.MILLISECONDS.toNanos(getElapsedTime());
+    }
+
     abstract String getDescription();
 
     /**
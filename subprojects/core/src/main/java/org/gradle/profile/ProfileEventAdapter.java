@@ -30,11 +30,13 @@ import org.gradle.api.tasks.TaskState;
 import org.gradle.initialization.BuildCompletionListener;
 import org.gradle.initialization.BuildRequestMetaData;
 import org.gradle.internal.time.TimeProvider;
+import org.gradle.model.internal.core.rule.describe.ModelRuleDescriptor;
+import org.gradle.model.internal.registry.ModelRuleExecutionListener;
 
 /**
  * Adapts various events to build a {@link BuildProfile} model, and then notifies a {@link ReportGeneratingProfileListener} when the model is ready.
  */
-public class ProfileEventAdapter implements BuildListener, ProjectEvaluationListener, TaskExecutionListener, DependencyResolutionListener, BuildCompletionListener {
+public class ProfileEventAdapter implements BuildListener, ProjectEvaluationListener, TaskExecutionListener, DependencyResolutionListener, BuildCompletionListener, ModelRuleExecutionListener {
     private final BuildRequestMetaData buildMetaData;
     private final TimeProvider timeProvider;
     private final ProfileListener listener;
@@ -120,5 +122,11 @@ public class ProfileEventAdapter implements BuildListener, ProjectEvaluationList
         long now = timeProvider.getCurrentTime();
         buildProfile.getDependencySetProfile(dependencies.getPath()).setFinish(now);
     }
-}
 
+    // ModelRuleExecutionListener
+    public void ruleExecuted(String projectPath, ModelRuleDescriptor rule, long executionTimeNanos) {
+        if (buildProfile != null) {
+            buildProfile.getProjectProfile(projectPath).getModelRuleProfile(rule.toString()).executed(executionTimeNanos);
+        }
+    }
+}
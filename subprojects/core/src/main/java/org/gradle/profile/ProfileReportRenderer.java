@@ -65,14 +65,21 @@ public class ProfileReportRenderer {
                 @Override
                 public void render(BuildProfile model, SimpleHtmlWriter htmlWriter) throws IOException {
                     CompositeOperation<Operation> profiledProjectConfiguration = model.getProjectConfiguration();
+                    boolean hasModelRules = false;
+                    for (ProjectProfile project : model.getProjects()) {
+                        hasModelRules |= !project.getModelRules().getOperations().isEmpty();
+                    }
 
                     htmlWriter.startElement("div").attribute("id", "tabs")
                         .startElement("ul").attribute("class", "tabLinks")
                             .startElement("li").startElement("a").attribute("href", "#tab0").characters("Summary").endElement().endElement()
                             .startElement("li").startElement("a").attribute("href", "#tab1").characters("Configuration").endElement().endElement()
                             .startElement("li").startElement("a").attribute("href", "#tab2").characters("Dependency Resolution").endElement().endElement()
-                            .startElement("li").startElement("a").attribute("href", "#tab3").characters("Task Execution").endElement().endElement()
-                        .endElement();
+                            .startElement("li").startElement("a").attribute("href", "#tab3").characters("Task Execution").endElement().endElement();
+                        if (hasModelRules) {
+                            htmlWriter.startElement("li").startElement("a").attribute("href", "#tab4").characters("Model Rules").endElement().endElement();
+                        }
+                        htmlWriter.endElement();
                         htmlWriter.startElement("div").attribute("class", "tab").attribute("id", "tab0");
                             htmlWriter.startElement("h2").characters("Summary").endElement();
                             htmlWriter.startElement("table");
@@ -176,8 +183,40 @@ public class ProfileReportRenderer {
                                     }
                                 }
                             htmlWriter.endElement()
-                        .endElement()
-                    .endElement();
+                        .endElement();
+                        if (hasModelRules) {
+                            htmlWriter.startElement("div").attribute("class", "tab").attribute("id", "tab4");
+                                htmlWriter.startElement("h2").characters("Model Rules").endElement()
+                                .startElement("table")
+                                    .startElement("thead")
+                                        .startElement("tr")
+                                            .startElement("th").characters("Rule").endElement()
+                                            .startElement("th").attribute("class", "numeric").characters("Duration").endElement()
+                                            .startElement("th").attribute("class", "numeric").characters("Executions").endElement()
+                                        .endElement()
+                                    .endElement();
+                                    for (ProjectProfile project : model.getProjects()) {
+                                        CompositeOperation<ModelRuleExecution> modelRules = project.getModelRules();
+                                        if (modelRules.getOperations().isEmpty()) {
+                                            continue;
+                                        }
+                                        htmlWriter.startElement("tr")
+                                            .startElement("td").characters(project.getPath()).endElement()
+                                            .startElement("td").attribute("class", "numeric").characters(DURATION_FORMAT.format(modelRules.getElapsedTime())).endElement()
+                                            .startElement("td").characters("(total)").endElement()
+                                        .endElement();
+                                        for (ModelRuleExecution ruleExecution : modelRules) {
+                                            htmlWriter.startElement("tr")
+                                                .startElement("td").attribute("class", "indentPath").characters(ruleExecution.getDescription()).endElement()
+                                                .startElement("td").attribute("class", "numeric").characters(DURATION_FORMAT.format(ruleExecution.getElapsedTime())).endElement()
+                                                .startElement("td").attribute("class", "numeric").characters(String.valueOf(ruleExecution.getCount())).endElement()
+                                            .endElement();
+                                        }
+                                    }
+                                htmlWriter.endElement()
+                            .endElement();
+                        }
+                    htmlWriter.endElement();
                 }
             };
         }
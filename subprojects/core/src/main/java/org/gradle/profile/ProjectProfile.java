@@ -19,9 +19,11 @@ import org.gradle.util.CollectionUtils;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ProjectProfile extends Operation {
     private HashMap<String, TaskExecution> tasks = new HashMap<String, TaskExecution>();
+    private final Map<String, ModelRuleExecution> modelRules = new HashMap<String, ModelRuleExecution>();
     private final ContinuousOperation configurationOperation;
     private String projectPath;
 
@@ -50,6 +52,26 @@ public class ProjectProfile extends Operation {
         return new CompositeOperation<TaskExecution>(taskExecutions);
     }
 
+    /**
+     * Gets the model rule profiling container for the specified rule.
+     */
+    public ModelRuleExecution getModelRuleProfile(String ruleDescription) {
+        ModelRuleExecution result = modelRules.get(ruleDescription);
+        if (result == null) {
+            result = new ModelRuleExecution(ruleDescription);
+            modelRules.put(ruleDescription, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the model rules executed for this project.
+     */
+    public CompositeOperation<ModelRuleExecution> getModelRules() {
+        List<ModelRuleExecution> ruleExecutions = CollectionUtils.sort(modelRules.values(), Operation.slowestFirst());
+        return new CompositeOperation<ModelRuleExecution>(ruleExecutions);
+    }
+
     /**
      * Get the String project path.
      */
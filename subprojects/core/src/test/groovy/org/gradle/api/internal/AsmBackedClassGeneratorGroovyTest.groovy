@@ -370,6 +370,30 @@ class AsmBackedClassGeneratorGroovyTest extends Specification {
         then:
         values == ["bar"]
     }
+
+    def "generated class provides direct access to bean properties"() {
+        given:
+        def bean = create(BeanWithDirectProperties)
+        def table = bean.generatedPropertyTable()
+
+        when:
+        bean.writeGeneratedProperty(table.indexOf("prop"), "value")
+        bean.writeGeneratedProperty(table.indexOf("count"), 12)
+
+        then:
+        bean.prop == "value"
+        bean.count == 12
+        bean.readGeneratedProperty(table.indexOf("prop")) == "value"
+        bean.readGeneratedProperty(table.indexOf("count")) == 12
+        bean.readGeneratedProperty(table.indexOf("readOnly")) == "read-only"
+
+        and:
+        table.getSetterType(table.indexOf("count")) == int
+        table.getSetterType(table.indexOf("readOnly")) == null
+        !table.isReadable(table.indexOf("writeOnly"))
+        table.indexOf("overloaded") == -1
+        table.indexOf("metaClass") == -1
+    }
 }
 
 enum TestEnum {
@@ -600,3 +624,21 @@ class BeanWithMutableServices extends BeanWithServices {
 
     void setThing(Runnable runnnable) { throw new UnsupportedOperationException() }
 }
+
+class BeanWithDirectProperties {
+    String prop
+    int count
+
+    String getReadOnly() {
+        return "read-only"
+    }
+
+    void setWriteOnly(String value) {
+    }
+
+    void setOverloaded(String value) {
+    }
+
+    void setOverloaded(Integer value) {
+    }
+}
@@ -19,9 +19,9 @@ package org.gradle.api.internal.cache
 import org.gradle.api.Transformer
 import org.gradle.initialization.SessionLifecycleListener
 import org.gradle.internal.event.DefaultListenerManager
-import spock.lang.Specification
+import org.gradle.test.fixtures.concurrent.ConcurrentSpec
 
-class CrossBuildInMemoryCacheFactoryTest extends Specification {
+class CrossBuildInMemoryCacheFactoryTest extends ConcurrentSpec {
     def listenerManager = new DefaultListenerManager()
     def factory = new CrossBuildInMemoryCacheFactory(listenerManager)
 
@@ -112,4 +112,81 @@ class CrossBuildInMemoryCacheFactoryTest extends Specification {
         then:
         0 * transformer._
     }
+
+    def "creates each entry once when accessed concurrently"() {
+        def a = new Object()
+        def cache = factory.newCache()
+        def transformer = { key ->
+            instant.creating
+            thread.block()
+            return a
+        } as Transformer
+        def results = [].asSynchronized()
+
+        when:
+        async {
+            start {
+                results << cache.get("a", transformer)
+            }
+            start {
+                instant.waitFor("creating")
+                results << cache.get("a", transformer)
+            }
+            start {
+                instant.waitFor("creating")
+                results << cache.get("a", transformer)
+            }
+        }
+
+        then:
+        results.size() == 3
+        results.every { it.is(a) }
+    }
+
+    def "creates entry again when creation fails in another thread"() {
+        def a = new Object()
+        def cache = factory.newCache()
+        def failure = new RuntimeException("broken")
+        def result = null
+
+        when:
+        async {
+            start {
+                try {
+                    cache.get("a", {
+                        instant.creating
+                        thread.blockUntil.waiting
+                        thread.block()
+                        throw failure
+                    } as Transformer)
+                } catch (RuntimeException e) {
+                    assert e.is(failure)
+                }
+            }
+            start {
+                thread.blockUntil.creating
+                instant.waiting
+                result = cache.get("a", { a } as Transformer)
+            }
+        }
+
+        then:
+        result.is(a)
+    }
+
+    def "fails when the entry is requested again while it is being created by the same thread"() {
+        def cache = factory.newCache()
+        def transformer
+        transformer = { key -> cache.get(key, transformer) } as Transformer
+
+        when:
+        cache.get("a", transformer)
+
+        then:
+        def e = thrown(IllegalStateException)
+        e.message == "Cannot create the value for key 'a' as it is already being created by the current thread."
+
+        and:
+        cache.get("a", { "a" } as Transformer) == "a"
+    }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.changedetection.state
+
+import com.google.common.hash.HashCode
+import org.gradle.api.file.RelativePath
+import org.gradle.api.internal.cache.StringInterner
+import org.gradle.api.internal.file.collections.DirectoryFileTreeFactory
+import org.gradle.api.internal.hash.FileHasher
+import org.gradle.internal.concurrent.DefaultExecutorFactory
+import org.gradle.internal.nativeintegration.filesystem.FileSystem
+import org.gradle.internal.nativeintegration.filesystem.FileType
+import spock.lang.Specification
+
+class DefaultCompileClasspathSnapshotterTest extends Specification {
+    def jvmClassHasher = Mock(JvmClassHasher)
+    def snapshotter = new DefaultCompileClasspathSnapshotter(Stub(FileHasher), Stub(StringInterner), Stub(FileSystem), Stub(DirectoryFileTreeFactory), Stub(FileSystemMirror), jvmClassHasher, new DefaultExecutorFactory(), 4)
+
+    def cleanup() {
+        snapshotter.stop()
+    }
+
+    def "calculates signatures of jars concurrently and keeps them in classpath order"() {
+        def jars = (1..20).collect { jar("lib${it}.jar") }
+
+        when:
+        def result = snapshotter.normaliseFileElements(jars)
+
+        then:
+        20 * jvmClassHasher.hashJarFile(_) >> { FileDetails details -> HashCode.fromInt(details.name.hashCode()) }
+        result*.path == jars*.path
+        result*.content*.contentMd5 == jars.collect { HashCode.fromInt(it.name.hashCode()) }
+    }
+
+    def "propagates failure to calculate signature of a jar"() {
+        def failure = new RuntimeException("broken")
+
+        when:
+        snapshotter.normaliseFileElements([jar("lib1.jar"), jar("lib2.jar")])
+
+        then:
+        _ * jvmClassHasher.hashJarFile({ it.name == "lib1.jar" }) >> HashCode.fromInt(1)
+        _ * jvmClassHasher.hashJarFile({ it.name == "lib2.jar" }) >> { throw failure }
+        def e = thrown(RuntimeException)
+        e.is(failure)
+    }
+
+    def jar(String name) {
+        return new DefaultFileDetails("/libs/" + name, new RelativePath(true, name), FileType.RegularFile, true, new FileHashSnapshot(HashCode.fromInt(0)))
+    }
+}
@@ -202,4 +202,32 @@ class InMemoryTaskArtifactCacheTest extends Specification {
         0 * target._
     }
 
+    def "releases entries from caches that have not been used recently when memory is released"() {
+        def otherTarget = Mock(MultiProcessSafePersistentIndexedCache)
+        crossProcessCacheAccess.withFileLock(_) >> { Factory task -> task.create() }
+        asyncCacheAccess.read(_) >> { Factory task -> task.create() }
+
+        given:
+        def usedCache = cacheFactory.decorator(100, true).decorate("path/used.bin", "used", target, crossProcessCacheAccess, asyncCacheAccess)
+        def unusedCache = cacheFactory.decorator(100, true).decorate("path/unused.bin", "unused", otherTarget, crossProcessCacheAccess, asyncCacheAccess)
+        10.times {
+            usedCache.get("key" + it)
+            usedCache.get("key" + it)
+            unusedCache.get("key" + it)
+        }
+
+        when:
+        def released = cacheFactory.releaseMemory()
+
+        then:
+        released == 10
+
+        when:
+        usedCache.get("key1")
+        unusedCache.get("key1")
+
+        then:
+        0 * target.get(_)
+        1 * otherTarget.get("key1")
+    }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.changedetection.state
+
+import com.google.common.hash.HashCode
+import org.gradle.api.file.RelativePath
+import org.gradle.cache.PersistentIndexedCache
+import org.gradle.internal.nativeintegration.filesystem.FileType
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class JvmClassHasherTest extends Specification {
+    @Rule TestNameTestDirectoryProvider tmpDir
+    def classSignatureCache = Mock(PersistentIndexedCache)
+    def jarSignatureCache = Mock(PersistentIndexedCache)
+    def hasher = new JvmClassHasher(classSignatureCache, jarSignatureCache)
+    def contentHash = HashCode.fromInt(123)
+
+    def "uses cached signature of jar without reading the jar"() {
+        def signature = HashCode.fromInt(456)
+
+        when:
+        def result = hasher.hashJarFile(jar(tmpDir.file("missing.jar")))
+
+        then:
+        result == signature
+        1 * jarSignatureCache.get(contentHash) >> signature
+        0 * _
+    }
+
+    def "calculates signature of jar that is not cached and caches it by the content hash of the jar"() {
+        def dir = tmpDir.createDir("classes")
+        dir.file("META-INF/MANIFEST.MF") << "Manifest-Version: 1.0"
+        def jarFile = tmpDir.file("lib.jar")
+        dir.zipTo(jarFile)
+
+        when:
+        def result = hasher.hashJarFile(jar(jarFile))
+
+        then:
+        result != null
+        1 * jarSignatureCache.get(contentHash) >> null
+        1 * jarSignatureCache.put(contentHash, { it != null })
+        0 * _
+    }
+
+    def jar(File file) {
+        return new DefaultFileDetails(file.absolutePath, new RelativePath(true, file.name), FileType.RegularFile, true, new FileHashSnapshot(contentHash))
+    }
+}
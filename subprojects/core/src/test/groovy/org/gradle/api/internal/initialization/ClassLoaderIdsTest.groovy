@@ -19,6 +19,7 @@ package org.gradle.api.internal.initialization
 import spock.lang.Specification
 
 import static org.gradle.api.internal.initialization.ClassLoaderIds.buildScript
+import static org.gradle.api.internal.initialization.ClassLoaderIds.sharedBuildScript
 import static org.gradle.api.internal.initialization.ClassLoaderIds.testTaskClasspath
 import static org.gradle.util.Matchers.strictlyEquals
 
@@ -26,14 +27,22 @@ class ClassLoaderIdsTest extends Specification {
 
     def "equality"() {
         expect:
-        strictlyEquals(buildScript("x", "x"), buildScript("x", "x"))
-        buildScript("x", "x") != buildScript("x", "y")
-        buildScript("x", "x") != buildScript("y", "y")
+        strictlyEquals(buildScript("x", "x", "x"), buildScript("x", "x", "x"))
+        buildScript("x", "x", "x") != buildScript("x", "y", "x")
+        buildScript("x", "x", "x") != buildScript("y", "y", "x")
+        buildScript("x", "x", "x") != buildScript("x", "x", "y")
 
-        testTaskClasspath("x") != buildScript("y", "y")
-        buildScript("y", "y") != testTaskClasspath("x")
+        testTaskClasspath("x") != buildScript("y", "y", "y")
+        buildScript("y", "y", "y") != testTaskClasspath("x")
 
         strictlyEquals(testTaskClasspath("x"), testTaskClasspath("x"))
         testTaskClasspath("x") != testTaskClasspath("y")
     }
+
+    def "shared build script keeps the operation and parent scope of the build script"() {
+        expect:
+        strictlyEquals(sharedBuildScript(buildScript("x", "x", "x"), "shared"), buildScript("shared", "x", "x"))
+        sharedBuildScript(buildScript("x", "x", "x"), "shared") == sharedBuildScript(buildScript("y", "x", "x"), "shared")
+        sharedBuildScript(buildScript("x", "x", "x"), "shared") != sharedBuildScript(buildScript("x", "x", "y"), "shared")
+    }
 }
@@ -16,6 +16,7 @@
 
 package org.gradle.api.internal.plugins
 
+import org.gradle.api.Action
 import org.gradle.api.internal.ThreadGlobalInstantiator
 import org.gradle.api.plugins.Convention
 import org.gradle.api.plugins.TestPluginConvention1
@@ -145,6 +146,35 @@ class DefaultConventionTest {
         assert extension.is(convention.getByName("foo"))
     }
 
+    @Test void beforeChangeActionCanVetoAddingExtensionsAndSettingExtraProperties() {
+        convention = new DefaultConvention(instantiator)
+        convention.extraProperties.set("foo", "value")
+        convention.beforeChange({ throw new IllegalStateException("vetoed") } as Action)
+
+        try {
+            convention.add("custom", "value")
+            fail()
+        } catch (IllegalStateException e) {
+            assertEquals("vetoed", e.message)
+        }
+        try {
+            convention.create("foo", FooExtension)
+            fail()
+        } catch (IllegalStateException e) {
+            assertEquals("vetoed", e.message)
+        }
+        try {
+            convention.extraProperties.foo = "changed"
+            fail()
+        } catch (IllegalStateException e) {
+            assertEquals("vetoed", e.message)
+        }
+
+        assertNull(convention.findByName("custom"))
+        assertNull(convention.findByName("foo"))
+        assertEquals("value", convention.extraProperties.get("foo"))
+    }
+
     static class FooExtension {
         String message = "Hello world!";
     }
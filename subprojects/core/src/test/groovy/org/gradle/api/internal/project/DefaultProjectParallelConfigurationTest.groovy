@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.project
+
+import org.gradle.api.InvalidUserCodeException
+import org.gradle.configuration.project.ProjectEvaluationCoordinator
+import org.gradle.configuration.project.ProjectEvaluator
+import org.gradle.test.fixtures.AbstractProjectBuilderSpec
+import org.gradle.util.SetSystemProperties
+import org.gradle.util.TestUtil
+import org.junit.Rule
+
+class DefaultProjectParallelConfigurationTest extends AbstractProjectBuilderSpec {
+    @Rule
+    SetSystemProperties setSystemProperties = new SetSystemProperties((ProjectEvaluationCoordinator.PARALLEL_CONFIGURATION_PROPERTY): "true")
+
+    ProjectInternal a
+    ProjectInternal b
+    ProjectInternal aChild
+
+    def setup() {
+        a = TestUtil.createChildProject(project, "a")
+        b = TestUtil.createChildProject(project, "b")
+        aChild = TestUtil.createChildProject(a, "child")
+    }
+
+    def "project cannot set extra property of root project"() {
+        project.ext.foo = 0
+
+        when:
+        evaluate(a) {
+            a.rootProject.ext.foo = 1
+        }
+
+        then:
+        def e = thrown(InvalidUserCodeException)
+        e.message.startsWith("Project ':a' cannot configure ${project.displayName} while projects are configured in parallel.")
+        project.ext.foo == 0
+    }
+
+    def "project cannot set extra property of root project through dynamic property"() {
+        project.ext.foo = 0
+
+        when:
+        evaluate(a) {
+            a.rootProject.foo = 1
+        }
+
+        then:
+        thrown(InvalidUserCodeException)
+        project.ext.foo == 0
+    }
+
+    def "project cannot add extension to sibling project"() {
+        when:
+        evaluate(a) {
+            a.project(":b").extensions.add("custom", "value")
+        }
+
+        then:
+        def e = thrown(InvalidUserCodeException)
+        e.message.startsWith("Project ':a' cannot configure project ':b' while projects are configured in parallel.")
+        b.extensions.findByName("custom") == null
+    }
+
+    def "project cannot create task in sibling project"() {
+        when:
+        evaluate(a) {
+            a.project(":b").tasks.create("x")
+        }
+
+        then:
+        def e = thrown(InvalidUserCodeException)
+        e.message.startsWith("Project ':a' cannot configure project ':b' while projects are configured in parallel.")
+        b.tasks.findByName("x") == null
+    }
+
+    def "project cannot remove task from root project"() {
+        def task = project.tasks.create("x")
+
+        when:
+        evaluate(a) {
+            a.rootProject.tasks.remove(task)
+        }
+
+        then:
+        thrown(InvalidUserCodeException)
+        project.tasks.findByName("x") == task
+    }
+
+    def "project cannot create configuration in sibling project"() {
+        when:
+        evaluate(a) {
+            a.project(":b").configurations.create("conf")
+        }
+
+        then:
+        def e = thrown(InvalidUserCodeException)
+        e.message.startsWith("Project ':a' cannot configure project ':b' while projects are configured in parallel.")
+        b.configurations.findByName("conf") == null
+    }
+
+    def "project can change its own state and the state of its subprojects"() {
+        when:
+        evaluate(a) {
+            a.ext.foo = 1
+            a.extensions.add("custom", "value")
+            a.tasks.create("x")
+            a.configurations.create("conf")
+            aChild.ext.foo = 2
+            aChild.tasks.create("x")
+            aChild.configurations.create("conf")
+        }
+
+        then:
+        a.ext.foo == 1
+        a.extensions.getByName("custom") == "value"
+        a.tasks.findByName("x") != null
+        a.configurations.findByName("conf") != null
+        aChild.ext.foo == 2
+        aChild.tasks.findByName("x") != null
+        aChild.configurations.findByName("conf") != null
+    }
+
+    def "root project can change the state of other projects"() {
+        when:
+        evaluate(project) {
+            a.ext.foo = 1
+            b.tasks.create("x")
+            b.configurations.create("conf")
+        }
+
+        then:
+        a.ext.foo == 1
+        b.tasks.findByName("x") != null
+        b.configurations.findByName("conf") != null
+    }
+
+    def "projects can change the state of other projects when they are not being evaluated"() {
+        when:
+        project.ext.foo = 1
+        b.tasks.create("x")
+        b.configurations.create("conf")
+
+        then:
+        project.ext.foo == 1
+        b.tasks.findByName("x") != null
+        b.configurations.findByName("conf") != null
+    }
+
+    private void evaluate(ProjectInternal target, Closure action) {
+        def coordinator = target.services.get(ProjectEvaluationCoordinator)
+        coordinator.decorate({ ProjectInternal p, ProjectStateInternal state -> action.call() } as ProjectEvaluator).evaluate(target, new ProjectStateInternal())
+    }
+}
@@ -347,6 +347,66 @@ public class DefaultTaskContainerTest extends Specification {
         0 * placeholderAction.execute(_)
     }
 
+    void "configureLater does not create placeholder task"() {
+        given:
+        def placeholderAction = addPlaceholderTask("task")
+        def action = Mock(Action)
+
+        when:
+        container.configureLater("task", action)
+
+        then:
+        0 * taskFactory.create(_, _)
+        0 * placeholderAction.execute(_)
+        0 * action.execute(_)
+
+        when:
+        container.getByName("task")
+
+        then:
+        1 * taskFactory.create("task", DefaultTask) >> { task(it[0], it[1]) }
+
+        then:
+        1 * placeholderAction.execute(_)
+
+        then:
+        1 * action.execute(_)
+    }
+
+    void "configureLater configures existing task immediately"() {
+        given:
+        def task = addTask("task")
+        def action = Mock(Action)
+
+        when:
+        container.configureLater("task", action)
+
+        then:
+        1 * action.execute(task)
+    }
+
+    void "configureLater applies deferred actions to task defined in place of placeholder"() {
+        given:
+        def placeholderAction = addPlaceholderTask("task")
+        def action = Mock(Action)
+        container.configureLater("task", action)
+
+        when:
+        addTask("task")
+
+        then:
+        1 * action.execute({ it.name == "task" })
+        0 * placeholderAction.execute(_)
+    }
+
+    void "configureLater fails for unknown task"() {
+        when:
+        container.configureLater("unknown", Mock(Action))
+
+        then:
+        thrown(UnknownTaskException)
+    }
+
     void "getNames contains task and placeholder action names"() {
         when:
         addTask("task1")
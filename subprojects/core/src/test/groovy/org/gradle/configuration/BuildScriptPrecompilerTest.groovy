@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.configuration
+
+import org.gradle.api.internal.DocumentationRegistry
+import org.gradle.api.internal.initialization.ClassLoaderScope
+import org.gradle.api.internal.project.ProjectInternal
+import org.gradle.api.internal.project.ProjectScript
+import org.gradle.groovy.scripts.ScriptCompiler
+import org.gradle.groovy.scripts.ScriptCompilerFactory
+import org.gradle.groovy.scripts.ScriptSource
+import org.gradle.internal.concurrent.ExecutorFactory
+import org.gradle.internal.concurrent.StoppableExecutor
+import org.gradle.internal.resource.TextResource
+import spock.lang.Specification
+
+class BuildScriptPrecompilerTest extends Specification {
+    def scriptCompilerFactory = Mock(ScriptCompilerFactory)
+    def executor = Mock(StoppableExecutor) {
+        execute(_) >> { Runnable runnable -> runnable.run() }
+    }
+    def executorFactory = Stub(ExecutorFactory) {
+        create(_, _) >> executor
+    }
+    def baseScope = Mock(ClassLoaderScope)
+    def classLoader = Mock(ClassLoader)
+    def precompiler = new BuildScriptPrecompiler(scriptCompilerFactory, Stub(DocumentationRegistry), executorFactory, 4)
+
+    def "compiles the first pass of each project build script against the base classloader"() {
+        def compiler1 = Mock(ScriptCompiler)
+        def compiler2 = Mock(ScriptCompiler)
+        def source1 = scriptSource()
+        def source2 = scriptSource()
+        def child = project(source2, baseScope)
+        def root = project(source1, baseScope, child)
+
+        when:
+        precompiler.precompile(root)
+
+        then:
+        _ * baseScope.locked >> true
+        _ * baseScope.exportClassLoader >> classLoader
+        1 * scriptCompilerFactory.createCompiler(source1) >> compiler1
+        1 * scriptCompilerFactory.createCompiler(source2) >> compiler2
+        1 * compiler1.compile(ProjectScript, { it.id == "cp_proj" }, baseScope, classLoader, _)
+        1 * compiler2.compile(ProjectScript, { it.id == "cp_proj" }, baseScope, classLoader, _)
+        0 * scriptCompilerFactory._
+    }
+
+    def "does not compile build scripts when the base scope is not locked"() {
+        def root = project(scriptSource(), baseScope)
+
+        when:
+        precompiler.precompile(root)
+
+        then:
+        _ * baseScope.locked >> false
+        0 * scriptCompilerFactory._
+        0 * executor._
+    }
+
+    def "does not compile build scripts that do not exist"() {
+        def root = project(scriptSource(false), baseScope)
+
+        when:
+        precompiler.precompile(root)
+
+        then:
+        _ * baseScope.locked >> true
+        0 * scriptCompilerFactory._
+    }
+
+    def "does not compile build scripts of projects with a different base scope"() {
+        def child = project(scriptSource(), Mock(ClassLoaderScope))
+        def root = project(scriptSource(), baseScope, child)
+        def compiler = Mock(ScriptCompiler)
+
+        when:
+        precompiler.precompile(root)
+
+        then:
+        _ * baseScope.locked >> true
+        1 * scriptCompilerFactory.createCompiler(root.buildScriptSource) >> compiler
+        0 * scriptCompilerFactory._
+    }
+
+    def "ignores failures to compile build scripts"() {
+        def compiler = Mock(ScriptCompiler)
+        def root = project(scriptSource(), baseScope)
+
+        when:
+        precompiler.precompile(root)
+
+        then:
+        _ * baseScope.locked >> true
+        1 * scriptCompilerFactory.createCompiler(_) >> compiler
+        1 * compiler.compile(_, _, _, _, _) >> { throw new RuntimeException("broken") }
+        noExceptionThrown()
+    }
+
+    def "stops executor"() {
+        when:
+        precompiler.stop()
+
+        then:
+        1 * executor.stop()
+    }
+
+    def scriptSource(boolean exists = true) {
+        def resource = Stub(TextResource) {
+            getExists() >> exists
+        }
+        return Stub(ScriptSource) {
+            getResource() >> resource
+            getDisplayName() >> "build file"
+        }
+    }
+
+    def project(ScriptSource source, ClassLoaderScope scope, ProjectInternal... subprojects) {
+        return Stub(ProjectInternal) {
+            getBuildScriptSource() >> source
+            getBaseClassLoaderScope() >> scope
+            getSubprojects() >> (subprojects as Set)
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.configuration.project
+
+import org.gradle.api.CircularReferenceException
+import org.gradle.api.InvalidUserCodeException
+import org.gradle.api.internal.project.ProjectInternal
+import org.gradle.api.internal.project.ProjectStateInternal
+import org.gradle.test.fixtures.concurrent.ConcurrentSpec
+
+class ProjectEvaluationCoordinatorTest extends ConcurrentSpec {
+    def coordinator = new ProjectEvaluationCoordinator(true)
+    def root = project(":", null)
+    def a = project(":a", root)
+    def b = project(":b", root)
+    def aChild = project(":a:child", a)
+
+    def "does not decorate evaluator when not configuring in parallel"() {
+        def evaluator = Stub(ProjectEvaluator)
+
+        expect:
+        new ProjectEvaluationCoordinator(false).decorate(evaluator).is(evaluator)
+    }
+
+    def "waits for project being evaluated by another thread"() {
+        def state = new ProjectStateInternal()
+        def count = 0
+        def evaluator = coordinator.decorate({ ProjectInternal project, ProjectStateInternal projectState ->
+            count++
+            instant.evaluating
+            thread.block()
+            instant.evaluated
+            projectState.executed()
+        } as ProjectEvaluator)
+
+        when:
+        async {
+            start {
+                evaluator.evaluate(a, state)
+            }
+            thread.blockUntil.evaluating
+            evaluator.evaluate(a, state)
+            instant.returned
+        }
+
+        then:
+        instant.returned > instant.evaluated
+        count == 1
+    }
+
+    def "reports circular reference between projects evaluated by different threads"() {
+        def stateA = new ProjectStateInternal()
+        def stateB = new ProjectStateInternal()
+        def failures = [].asSynchronized()
+        def evaluator
+        evaluator = coordinator.decorate({ ProjectInternal project, ProjectStateInternal projectState ->
+            def other = project.is(a) ? b : a
+            instant."${project.name}Started"
+            thread.blockUntil."${other.name}Started"
+            try {
+                evaluator.evaluate(other, other.is(a) ? stateA : stateB)
+            } catch (CircularReferenceException e) {
+                failures << e
+            }
+            projectState.executed()
+        } as ProjectEvaluator)
+
+        when:
+        async {
+            start {
+                evaluator.evaluate(a, stateA)
+            }
+            start {
+                evaluator.evaluate(b, stateB)
+            }
+        }
+
+        then:
+        failures.size() == 1
+        stateA.executed
+        stateB.executed
+    }
+
+    def "project evaluated in parallel can configure itself and its subprojects"() {
+        def evaluator = coordinator.decorate({ ProjectInternal project, ProjectStateInternal projectState ->
+            coordinator.assertCanConfigure(a)
+            coordinator.assertCanConfigure(aChild)
+        } as ProjectEvaluator)
+
+        when:
+        evaluator.evaluate(a, new ProjectStateInternal())
+
+        then:
+        noExceptionThrown()
+    }
+
+    def "project evaluated in parallel cannot configure other projects"() {
+        def evaluator = coordinator.decorate({ ProjectInternal project, ProjectStateInternal projectState ->
+            coordinator.assertCanConfigure(b)
+        } as ProjectEvaluator)
+
+        when:
+        evaluator.evaluate(a, new ProjectStateInternal())
+
+        then:
+        def e = thrown(InvalidUserCodeException)
+        e.message.startsWith("Project :a cannot configure project :b while projects are configured in parallel.")
+    }
+
+    def "root project can configure other projects"() {
+        def evaluator = coordinator.decorate({ ProjectInternal project, ProjectStateInternal projectState ->
+            coordinator.assertCanConfigure(a)
+            coordinator.assertCanConfigure(b)
+        } as ProjectEvaluator)
+
+        when:
+        evaluator.evaluate(root, new ProjectStateInternal())
+
+        then:
+        noExceptionThrown()
+    }
+
+    private ProjectInternal project(String path, ProjectInternal parent) {
+        def project = Stub(ProjectInternal)
+        project.path >> path
+        project.name >> (parent == null ? "root" : path.substring(path.lastIndexOf(':') + 1))
+        project.parent >> parent
+        project.displayName >> "project " + path
+        project.toString() >> "project " + path
+        return project
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.execution
+
+import org.gradle.api.internal.project.ProjectInternal
+import org.gradle.internal.concurrent.DefaultExecutorFactory
+import org.gradle.internal.progress.TestBuildOperationExecutor
+import spock.lang.Specification
+
+class ParallelProjectConfigurerTest extends Specification {
+    def configured = [].asSynchronized()
+    def failures = [:]
+    // Not a Spock mock, as it is invoked from other threads
+    def delegate = [configure: { ProjectInternal project ->
+        if (failures[project.path]) {
+            throw failures[project.path]
+        }
+        configured << project.path
+    }] as ProjectConfigurer
+    def configurer = new ParallelProjectConfigurer(delegate, new TestBuildOperationExecutor(), new DefaultExecutorFactory(), 4)
+
+    def root = project(":")
+    def a = project(":a", root)
+    def b = project(":b", root)
+    def aChild = project(":a:child", a)
+    def bChild = project(":b:child", b)
+
+    def cleanup() {
+        configurer.stop()
+    }
+
+    def "configures root project then all subprojects"() {
+        when:
+        configurer.configureHierarchy(root)
+
+        then:
+        configured.size() == 5
+        configured as Set == [":", ":a", ":b", ":a:child", ":b:child"] as Set
+        configured.first() == ":"
+        configured.indexOf(":a") < configured.indexOf(":a:child")
+        configured.indexOf(":b") < configured.indexOf(":b:child")
+    }
+
+    def "does not configure subprojects of a project that fails"() {
+        def failure = new RuntimeException("broken")
+        failures[":a"] = failure
+
+        when:
+        configurer.configureHierarchy(root)
+
+        then:
+        def e = thrown(RuntimeException)
+        e.is(failure)
+        !configured.contains(":a:child")
+    }
+
+    private ProjectInternal project(String path, ProjectInternal parent = null) {
+        def children = [:]
+        def subprojects = new LinkedHashSet()
+        def project = Stub(ProjectInternal)
+        project.path >> path
+        project.childProjects >> children
+        project.subprojects >> subprojects
+        if (parent != null) {
+            parent.childProjects.put(path, project)
+            for (def p = parent; p != null; p = p.parent) {
+                p.subprojects.add(project)
+            }
+        }
+        project.parent >> parent
+        return project
+    }
+}
@@ -23,6 +23,9 @@ import org.gradle.groovy.scripts.TestScript
 import org.gradle.groovy.scripts.Transformer
 import spock.lang.Specification
 
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicInteger
+
 class BuildScopeInMemoryCachingScriptClassCompilerTest extends Specification {
     private final ScriptClassCompiler target = Mock()
     private final CrossBuildInMemoryCachingScriptClassCache cache = Mock() {
@@ -115,6 +118,32 @@ class BuildScopeInMemoryCachingScriptClassCompilerTest extends Specification {
         1 * target.compile(script2, parentClassLoader, classLoaderId, transformer, TestScript.class, verifier)
     }
 
+    def "compiles script once when it is requested by several threads"() {
+        ScriptSource script = scriptSource('script')
+        ClassLoader parentClassLoader = Mock()
+        CompileOperation<?> transformer = operation()
+        def started = new CountDownLatch(1)
+        def compileCount = new AtomicInteger()
+        target.compile(script, parentClassLoader, classLoaderId, transformer, Script.class, verifier) >> {
+            compileCount.incrementAndGet()
+            started.countDown()
+            Thread.sleep(100)
+            compiledScript
+        }
+
+        when:
+        def other = Thread.start {
+            compiler.compile(script, parentClassLoader, classLoaderId, transformer, Script.class, verifier)
+        }
+        started.await()
+        def c = compiler.compile(script, parentClassLoader, classLoaderId, transformer, Script.class, verifier)
+        other.join()
+
+        then:
+        c == compiledScript
+        compileCount.get() == 1
+    }
+
     def scriptSource(String className = 'script') {
         ScriptSource script = Mock()
         _ * script.className >> className
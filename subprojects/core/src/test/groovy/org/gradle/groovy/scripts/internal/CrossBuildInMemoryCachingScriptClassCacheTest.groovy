@@ -0,0 +1,238 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.groovy.scripts.internal
+
+import com.google.common.hash.HashCode
+import org.gradle.api.Action
+import org.gradle.api.internal.cache.CrossBuildInMemoryCacheFactory
+import org.gradle.api.internal.hash.FileHasher
+import org.gradle.api.internal.initialization.ClassLoaderIds
+import org.gradle.groovy.scripts.ScriptSource
+import org.gradle.internal.event.DefaultListenerManager
+import org.gradle.internal.resource.ResourceLocation
+import org.gradle.internal.resource.TextResource
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import org.objectweb.asm.ClassWriter
+import org.objectweb.asm.Label
+import spock.lang.Specification
+
+import static org.objectweb.asm.Opcodes.*
+
+class CrossBuildInMemoryCachingScriptClassCacheTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+    def hasher = Mock(FileHasher)
+    def cacheFactory = new CrossBuildInMemoryCacheFactory(new DefaultListenerManager())
+    def delegate = Mock(ScriptClassCompiler)
+    def classLoader = Mock(ClassLoader)
+    def classLoaderId = ClassLoaderIds.buildScript("build_a.gradle", "id", "root:scope")
+    def operation = Stub(CompileOperation) {
+        getId() >> "id"
+    }
+    def verifier = Mock(Action)
+
+    def "reuses compiled script for script with same class name and classloader"() {
+        def cache = new CrossBuildInMemoryCachingScriptClassCache(hasher, cacheFactory, false)
+        def source = scriptSource("build_a", "content")
+        def compiledScript = Stub(CompiledScript)
+
+        when:
+        def c1 = cache.getOrCompile(source, classLoader, classLoaderId, operation, Script, verifier, delegate)
+        def c2 = cache.getOrCompile(source, classLoader, classLoaderId, operation, Script, verifier, delegate)
+
+        then:
+        c1.is(compiledScript)
+        c2.is(compiledScript)
+        1 * delegate.compile(source, classLoader, classLoaderId, operation, Script, verifier) >> compiledScript
+        0 * delegate._
+    }
+
+    def "does not share compiled script between scripts with identical content by default"() {
+        def cache = new CrossBuildInMemoryCachingScriptClassCache(hasher, cacheFactory, false)
+        def source1 = scriptSource("build_a", "content")
+        def source2 = scriptSource("build_b", "content")
+
+        when:
+        cache.getOrCompile(source1, classLoader, classLoaderId, operation, Script, verifier, delegate)
+        cache.getOrCompile(source2, classLoader, classLoaderId, operation, Script, verifier, delegate)
+
+        then:
+        1 * delegate.compile(source1, classLoader, classLoaderId, operation, Script, verifier) >> Stub(CompiledScript)
+        1 * delegate.compile(source2, classLoader, classLoaderId, operation, Script, verifier) >> Stub(CompiledScript)
+    }
+
+    def "compiles scripts with identical content once when class sharing is enabled"() {
+        def cache = new CrossBuildInMemoryCachingScriptClassCache(hasher, cacheFactory, true)
+        def source1 = scriptSource("build_a", "content")
+        def source2 = scriptSource("build_b", "content")
+        def compiledScript = Stub(CompiledScript) {
+            getRunDoesSomething() >> true
+            getHasMethods() >> false
+            getData() >> "data"
+        }
+        ScriptSource compiledSource = null
+        def compiledClassLoaderId = null
+
+        when:
+        def c1 = cache.getOrCompile(source1, classLoader, classLoaderId, operation, Script, verifier, delegate)
+        def c2 = cache.getOrCompile(source2, classLoader, classLoaderId, operation, Script, verifier, delegate)
+
+        then:
+        1 * delegate.compile(_, classLoader, _, operation, Script, verifier) >> { args ->
+            compiledSource = args[0]
+            compiledClassLoaderId = args[2]
+            compiledScript
+        }
+        0 * delegate._
+
+        and:
+        compiledSource.className.startsWith("shared_")
+        compiledClassLoaderId == ClassLoaderIds.buildScript(compiledSource.className, "id", "root:scope")
+
+        and:
+        [c1, c2].every { it.runDoesSomething && !it.hasMethods && it.data == "data" }
+
+        and:
+        cache.getOrCompile(source1, classLoader, classLoaderId, operation, Script, verifier, delegate).is(c1)
+        cache.getOrCompile(source2, classLoader, classLoaderId, operation, Script, verifier, delegate).is(c2)
+    }
+
+    def "scripts with identical content report their own location when class sharing is enabled"() {
+        def cache = new CrossBuildInMemoryCachingScriptClassCache(hasher, cacheFactory, true)
+        def source1 = scriptSource("build_a", "content")
+        def source2 = scriptSource("build_b", "content")
+        def compiledScript = Mock(CompiledScript)
+        String sharedClassName = null
+        delegate.compile(_, classLoader, _, operation, Script, verifier) >> { args ->
+            sharedClassName = args[0].className
+            compiledScript
+        }
+
+        when:
+        def class1 = cache.getOrCompile(source1, classLoader, classLoaderId, operation, Script, verifier, delegate).loadClass()
+        def class2 = cache.getOrCompile(source2, classLoader, classLoaderId, operation, Script, verifier, delegate).loadClass()
+
+        then:
+        1 * compiledScript.loadClass() >> { sharedClass(sharedClassName, source1) }
+
+        and:
+        class1 != class2
+        class1.name == sharedClassName
+        class2.name == sharedClassName
+
+        and:
+        def failure1 = failureLocation(class1)
+        failure1.fileName == "build_a.gradle"
+        failure1.lineNumber == 3
+        def failure2 = failureLocation(class2)
+        failure2.fileName == "build_b.gradle"
+        failure2.lineNumber == 3
+
+        and:
+        class1.sourceUri() == "file:/build_a.gradle"
+        class1.sourceDisplayName() == "build file 'build_a.gradle'"
+        class2.sourceUri() == "file:/build_b.gradle"
+        class2.sourceDisplayName() == "build file 'build_b.gradle'"
+    }
+
+    def "does not share compiled script between scripts with different content or classloaders when class sharing is enabled"() {
+        def cache = new CrossBuildInMemoryCachingScriptClassCache(hasher, cacheFactory, true)
+        def source1 = scriptSource("build_a", "content")
+        def source2 = scriptSource("build_b", "other content")
+        def otherClassLoader = Mock(ClassLoader)
+
+        when:
+        cache.getOrCompile(source1, classLoader, classLoaderId, operation, Script, verifier, delegate)
+        cache.getOrCompile(source2, classLoader, classLoaderId, operation, Script, verifier, delegate)
+        cache.getOrCompile(source1, otherClassLoader, classLoaderId, operation, Script, verifier, delegate)
+
+        then:
+        3 * delegate.compile(_, _, _, operation, Script, verifier) >> Stub(CompiledScript)
+    }
+
+    def scriptSource(String className, String content) {
+        def location = Stub(ResourceLocation) {
+            getURI() >> new URI("file:/${className}.gradle")
+        }
+        def resource = Stub(TextResource) {
+            getLocation() >> location
+        }
+        hasher.hash(resource) >> HashCode.fromInt(content.hashCode())
+        return Stub(ScriptSource) {
+            getClassName() >> className
+            getFileName() >> "${className}.gradle"
+            getDisplayName() >> "build file '${className}.gradle'"
+            getResource() >> resource
+        }
+    }
+
+    /**
+     * Defines a script class compiled from the given source, whose {@code run()} method fails on line 3.
+     */
+    Class<?> sharedClass(String className, ScriptSource source) {
+        def classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS)
+        classWriter.visit(V1_6, ACC_PUBLIC, className, null, "groovy/lang/Script", null)
+        classWriter.visitSource(source.fileName, null)
+
+        def constructor = classWriter.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null)
+        constructor.visitCode()
+        constructor.visitVarInsn(ALOAD, 0)
+        constructor.visitMethodInsn(INVOKESPECIAL, "groovy/lang/Script", "<init>", "()V", false)
+        constructor.visitInsn(RETURN)
+        constructor.visitMaxs(0, 0)
+        constructor.visitEnd()
+
+        def run = classWriter.visitMethod(ACC_PUBLIC, "run", "()Ljava/lang/Object;", null, null)
+        run.visitCode()
+        def line = new Label()
+        run.visitLabel(line)
+        run.visitLineNumber(3, line)
+        run.visitTypeInsn(NEW, "java/lang/RuntimeException")
+        run.visitInsn(DUP)
+        run.visitMethodInsn(INVOKESPECIAL, "java/lang/RuntimeException", "<init>", "()V", false)
+        run.visitInsn(ATHROW)
+        run.visitMaxs(0, 0)
+        run.visitEnd()
+
+        constant(classWriter, "sourceUri", source.resource.location.URI.toString())
+        constant(classWriter, "sourceDisplayName", source.displayName)
+        classWriter.visitEnd()
+
+        def classesDir = tmpDir.createDir("classes")
+        classesDir.file("${className}.class").bytes = classWriter.toByteArray()
+        return new URLClassLoader([classesDir.toURI().toURL()] as URL[], getClass().classLoader).loadClass(className)
+    }
+
+    private static void constant(ClassWriter classWriter, String methodName, String value) {
+        def method = classWriter.visitMethod(ACC_PUBLIC | ACC_STATIC, methodName, "()Ljava/lang/String;", null, null)
+        method.visitCode()
+        method.visitLdcInsn(value)
+        method.visitInsn(ARETURN)
+        method.visitMaxs(0, 0)
+        method.visitEnd()
+    }
+
+    private static StackTraceElement failureLocation(Class<?> scriptClass) {
+        try {
+            scriptClass.newInstance().run()
+        } catch (RuntimeException e) {
+            return e.stackTrace[0]
+        }
+        throw new AssertionError("script did not fail")
+    }
+}
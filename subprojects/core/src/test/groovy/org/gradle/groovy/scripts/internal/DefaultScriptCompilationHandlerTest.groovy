@@ -81,7 +81,7 @@ class DefaultScriptCompilationHandlerTest extends Specification {
     public TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
     @Rule
     public SetSystemProperties systemProperties = new SetSystemProperties()
-    private final ClassLoaderId classLoaderId = ClassLoaderIds.buildScript("foo", "bar")
+    private final ClassLoaderId classLoaderId = ClassLoaderIds.buildScript("foo", "bar", "root")
 
     def setup() {
         File testProjectDir = tmpDir.createDir("projectDir")
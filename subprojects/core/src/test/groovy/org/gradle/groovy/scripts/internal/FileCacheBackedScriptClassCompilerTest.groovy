@@ -60,7 +60,7 @@ class FileCacheBackedScriptClassCompilerTest extends Specification {
     final CompiledScript compiledScript = Stub() {
         loadClass() >> Script
     }
-    def classLoaderId = ClassLoaderIds.buildScript("foo", "bar")
+    def classLoaderId = ClassLoaderIds.buildScript("foo", "bar", "root")
 
     def setup() {
         _ * source.resource >> resource
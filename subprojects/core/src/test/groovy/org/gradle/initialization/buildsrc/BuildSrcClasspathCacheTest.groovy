@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.initialization.buildsrc
+
+import org.gradle.StartParameter
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class BuildSrcClasspathCacheTest extends Specification {
+    @Rule TestNameTestDirectoryProvider temp = new TestNameTestDirectoryProvider()
+
+    def buildSrcDir = temp.createDir("buildSrc")
+    def sourceFile = buildSrcDir.createFile("src/main/groovy/Thing.groovy")
+    def classesDir = buildSrcDir.createDir("build/classes/main")
+    def classFile = classesDir.createFile("Thing.class")
+    def startParameter = new StartParameter()
+    def cache
+
+    def setup() {
+        startParameter.currentDir = buildSrcDir
+        startParameter.gradleUserHomeDir = temp.createDir("user-home")
+        cache = new BuildSrcClasspathCache(temp.createDir("cache"), startParameter)
+    }
+
+    def "reuses classpath when inputs and outputs have not changed"() {
+        when:
+        cache.store([classesDir])
+
+        then:
+        cache.load().asFiles == [classesDir]
+    }
+
+    def "ignores changes to build directory of buildSrc"() {
+        cache.store([classesDir])
+
+        when:
+        buildSrcDir.createFile("build/tmp/other.txt").text = "changed"
+
+        then:
+        cache.load().asFiles == [classesDir]
+    }
+
+    def "does not reuse classpath when a source file has changed"() {
+        cache.store([classesDir])
+
+        when:
+        sourceFile.text = "class Thing { }"
+
+        then:
+        cache.load() == null
+    }
+
+    def "does not reuse classpath when project properties have changed"() {
+        cache.store([classesDir])
+
+        when:
+        startParameter.projectProperties = [prop: "value"]
+
+        then:
+        cache.load() == null
+    }
+
+    def "does not reuse classpath when an output has been removed"() {
+        cache.store([classesDir])
+
+        when:
+        classFile.delete()
+
+        then:
+        cache.load() == null
+    }
+
+    def "does not reuse classpath when dependencies are refreshed"() {
+        cache.store([classesDir])
+
+        when:
+        startParameter.refreshDependencies = true
+
+        then:
+        cache.load() == null
+    }
+
+    def "does not reuse classpath when nothing has been stored"() {
+        expect:
+        cache.load() == null
+    }
+
+    def "does not reuse classpath when the stored file cannot be read"() {
+        cache.store([classesDir])
+
+        when:
+        def file = temp.file("cache/classpath.bin")
+        file.bytes = Arrays.copyOf(file.bytes, 10)
+
+        then:
+        cache.load() == null
+    }
+
+    def "replaces the stored classpath"() {
+        def otherDir = temp.createDir("other")
+        cache.store([classesDir])
+
+        when:
+        cache.store([otherDir])
+
+        then:
+        cache.load().asFiles == [otherDir]
+        temp.file("cache").list() as List == ["classpath.bin"]
+    }
+}
@@ -18,6 +18,7 @@ package org.gradle.initialization.buildsrc
 
 import org.gradle.initialization.GradleLauncher
 import org.gradle.cache.PersistentCache
+import org.gradle.internal.classpath.DefaultClassPath
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
 import org.junit.Rule
 import spock.lang.Specification
@@ -55,6 +56,38 @@ class BuildSrcUpdateFactoryTest extends Specification {
         1 * listenerFactory.create(false) >> listener
     }
 
+    def "reuses cached classpath when marker file present"() {
+        temp.createFile("built.bin")
+        cache.getBaseDir() >> temp.testDirectory
+        def classpathCache = Mock(BuildSrcClasspathCache)
+        def factory = new BuildSrcUpdateFactory(cache, launcher, listenerFactory, classpathCache)
+
+        when:
+        def classpath = factory.create()
+
+        then:
+        classpath.asFiles == [new File("cached")]
+        1 * classpathCache.load() >> new DefaultClassPath(new File("cached"))
+        0 * listenerFactory._
+    }
+
+    def "builds and stores classpath when cached classpath cannot be reused"() {
+        temp.createFile("built.bin")
+        cache.getBaseDir() >> temp.testDirectory
+        listener.getRuntimeClasspath() >> [new File("dummy")]
+        def classpathCache = Mock(BuildSrcClasspathCache)
+        def factory = new BuildSrcUpdateFactory(cache, launcher, listenerFactory, classpathCache)
+
+        when:
+        def classpath = factory.create()
+
+        then:
+        classpath.asFiles == [new File("dummy")]
+        1 * classpathCache.load() >> null
+        1 * listenerFactory.create(false) >> listener
+        1 * classpathCache.store([new File("dummy")])
+    }
+
     def "uses listener with rebuild on when marker file not present"() {
         cache.getBaseDir() >> temp.createDir("empty")
 
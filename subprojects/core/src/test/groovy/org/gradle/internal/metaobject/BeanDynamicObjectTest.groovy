@@ -462,6 +462,29 @@ class BeanDynamicObjectTest extends Specification {
         e.message == "Could not set unknown property 'unknown' for ${bean} of type ${bean.getClass().name}."
     }
 
+    def "uses generated property access when available"() {
+        def bean = new BeanWithGeneratedAccess()
+        def dynamicObject = new BeanDynamicObject(bean)
+
+        when:
+        dynamicObject.setProperty("prop", "value")
+
+        then:
+        dynamicObject.hasProperty("prop")
+        dynamicObject.getProperty("prop") == "value"
+        bean.accessed == ["write", "read"]
+    }
+
+    def "does not use generated property access when meta-class has been customised"() {
+        def bean = new BeanWithGeneratedAccess()
+        bean.metaClass.getProp = { -> "custom" }
+        def dynamicObject = new BeanDynamicObject(bean)
+
+        expect:
+        dynamicObject.getProperty("prop") == "custom"
+        bean.accessed.empty
+    }
+
     def "can get properties of map"() {
         def bean = [:]
         def dynamicObject = new BeanDynamicObject(bean)
@@ -795,6 +818,25 @@ class BeanDynamicObjectTest extends Specification {
         }
     }
 
+    static class BeanWithGeneratedAccess implements GeneratedPropertyAccess {
+        String prop
+        final List<String> accessed = []
+
+        GeneratedPropertyTable generatedPropertyTable() {
+            return new GeneratedPropertyTable(["prop"], [true] as boolean[], [String] as Class[])
+        }
+
+        Object readGeneratedProperty(int index) {
+            accessed << "read"
+            return prop
+        }
+
+        void writeGeneratedProperty(int index, Object value) {
+            accessed << "write"
+            prop = value
+        }
+    }
+
     static class EnumBean {
         SomeEnum prop
 
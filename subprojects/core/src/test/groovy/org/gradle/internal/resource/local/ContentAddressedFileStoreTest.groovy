@@ -0,0 +1,201 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.resource.local
+
+import org.gradle.api.Transformer
+import org.gradle.api.internal.file.TemporaryFileProvider
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.gradle.util.UsesNativeServices
+import org.junit.Rule
+import spock.lang.Specification
+
+import java.nio.file.FileAlreadyExistsException
+import java.nio.file.FileSystemException
+import java.nio.file.Files
+
+@UsesNativeServices
+class ContentAddressedFileStoreTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider temporaryFolder = new TestNameTestDirectoryProvider()
+
+    def contentStore = new ContentAddressedFileStore(temporaryFolder.file("content"))
+    def fileStore = new GroupedAndNamedUniqueFileStore<String>(new UniquePathKeyFileStore(temporaryFolder.file("files")), contentStore, Stub(TemporaryFileProvider), { it.split(":")[0] } as Transformer, { it.split(":")[1] } as Transformer)
+
+    def "move stores content once and discards duplicates"() {
+        def source1 = temporaryFolder.createFile("source1")
+        source1.text = "content"
+        def source2 = temporaryFolder.createFile("source2")
+        source2.text = "content"
+        def destination1 = temporaryFolder.file("files/a.jar")
+        def destination2 = temporaryFolder.file("files/b.jar")
+
+        when:
+        contentStore.move("abcdef", source1, destination1)
+        contentStore.move("abcdef", source2, destination2)
+
+        then:
+        def content = temporaryFolder.file("content/ab/abcdef")
+        content.text == "content"
+        destination1.text == "content"
+        destination2.text == "content"
+        Files.isSameFile(content.toPath(), destination1.toPath())
+        Files.isSameFile(content.toPath(), destination2.toPath())
+        !source1.exists()
+        !source2.exists()
+    }
+
+    def "copy stores content and leaves source in place"() {
+        def source = temporaryFolder.createFile("source")
+        source.text = "content"
+        def destination = temporaryFolder.file("files/a.jar")
+
+        when:
+        contentStore.copy("abcdef", source, destination)
+
+        then:
+        destination.text == "content"
+        Files.isSameFile(temporaryFolder.file("content/ab/abcdef").toPath(), destination.toPath())
+        source.exists()
+    }
+
+    def "stores files only at their destination when hard links cannot be created"() {
+        def contentStore = new ContentAddressedFileStore(temporaryFolder.file("content")) {
+            @Override
+            void createLink(File link, File existing) throws IOException {
+                throw new FileSystemException(link.path, existing.path, "Operation not supported")
+            }
+        }
+        def source1 = temporaryFolder.createFile("source1")
+        source1.text = "content"
+        def source2 = temporaryFolder.createFile("source2")
+        source2.text = "content"
+        def destination1 = temporaryFolder.file("files/a.jar")
+        def destination2 = temporaryFolder.file("files/b.jar")
+
+        when:
+        contentStore.move("abcdef", source1, destination1)
+        contentStore.copy("abcdef", source2, destination2)
+
+        then:
+        destination1.text == "content"
+        destination2.text == "content"
+        !Files.isSameFile(destination1.toPath(), destination2.toPath())
+        !temporaryFolder.file("content/ab/abcdef").exists()
+        !source1.exists()
+        source2.exists()
+    }
+
+    def "keeps sharing content when the same content is stored concurrently"() {
+        def contentStore = new ContentAddressedFileStore(temporaryFolder.file("content")) {
+            boolean raced
+
+            @Override
+            void createLink(File link, File existing) throws IOException {
+                if (!raced) {
+                    // Another download stores the same content just before this one
+                    raced = true
+                    Files.copy(existing.toPath(), link.toPath())
+                    throw new FileAlreadyExistsException(link.path)
+                }
+                super.createLink(link, existing)
+            }
+        }
+        def source1 = temporaryFolder.createFile("source1")
+        source1.text = "content"
+        def source2 = temporaryFolder.createFile("source2")
+        source2.text = "content"
+        def destination1 = temporaryFolder.file("files/a.jar")
+        def destination2 = temporaryFolder.file("files/b.jar")
+
+        when:
+        contentStore.move("abcdef", source1, destination1)
+        contentStore.move("abcdef", source2, destination2)
+
+        then:
+        def content = temporaryFolder.file("content/ab/abcdef")
+        destination1.text == "content"
+        destination2.text == "content"
+        Files.isSameFile(content.toPath(), destination2.toPath())
+        !source2.exists()
+    }
+
+    def "keeps sharing content when a link cannot be created for another reason"() {
+        def contentStore = new ContentAddressedFileStore(temporaryFolder.file("content")) {
+            boolean failed
+
+            @Override
+            void createLink(File link, File existing) throws IOException {
+                if (!failed) {
+                    failed = true
+                    throw new IOException("broken")
+                }
+                super.createLink(link, existing)
+            }
+        }
+        def source1 = temporaryFolder.createFile("source1")
+        source1.text = "content"
+        def source2 = temporaryFolder.createFile("source2")
+        source2.text = "content"
+        def destination1 = temporaryFolder.file("files/a.jar")
+        def destination2 = temporaryFolder.file("files/b.jar")
+
+        when:
+        contentStore.move("abcdef", source1, destination1)
+        contentStore.move("abcdef", source2, destination2)
+
+        then:
+        destination1.text == "content"
+        Files.isSameFile(temporaryFolder.file("content/ab/abcdef").toPath(), destination2.toPath())
+    }
+
+    def "entries with identical content share the stored content"() {
+        def source1 = temporaryFolder.createFile("source1")
+        source1.text = "content"
+        def source2 = temporaryFolder.createFile("source2")
+        source2.text = "content"
+
+        when:
+        def entry1 = fileStore.move("group1:a.jar", source1)
+        def entry2 = fileStore.move("group2:b.jar", source2)
+
+        then:
+        entry1.file.text == "content"
+        entry2.file.text == "content"
+        entry1.file != entry2.file
+        Files.isSameFile(entry1.file.toPath(), entry2.file.toPath())
+        temporaryFolder.file("content").listFiles().length == 1
+        !source1.exists()
+        !source2.exists()
+    }
+
+    def "entries with different content are stored separately"() {
+        def source1 = temporaryFolder.createFile("source1")
+        source1.text = "content 1"
+        def source2 = temporaryFolder.createFile("source2")
+        source2.text = "content 2"
+
+        when:
+        def entry1 = fileStore.copy("group:a.jar", source1)
+        def entry2 = fileStore.copy("group:a.jar", source2)
+
+        then:
+        entry1.file.text == "content 1"
+        entry2.file.text == "content 2"
+        entry1.file != entry2.file
+        fileStore.search("group:a.jar").size() == 2
+    }
+}
@@ -17,6 +17,8 @@ package org.gradle.profile
 
 import spock.lang.Specification
 
+import java.util.concurrent.TimeUnit
+
 class CompositeOperationTest extends Specification {
 
     def "execution time is sum of execution time of child operations"() {
@@ -29,9 +31,22 @@ class CompositeOperationTest extends Specification {
         operation.elapsedTime == 22
     }
 
+    def "sums the execution time of child operations before rounding to millis"() {
+        given:
+        def rule1 = new ModelRuleExecution("rule 1").executed(600000)
+        def rule2 = new ModelRuleExecution("rule 2").executed(700000)
+        def operation = new CompositeOperation<ModelRuleExecution>([rule1, rule2])
+
+        expect:
+        rule1.elapsedTime == 0
+        rule2.elapsedTime == 0
+        operation.elapsedTime == 1
+    }
+
     def operation(long elapsedTime) {
         Operation operation = Mock()
         _ * operation.elapsedTime >> elapsedTime
+        _ * operation.elapsedTimeNanos >> TimeUnit.MILLISECONDS.toNanos(elapsedTime)
         return operation
     }
 }
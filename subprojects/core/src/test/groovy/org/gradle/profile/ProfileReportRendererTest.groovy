@@ -22,6 +22,8 @@ import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
 import org.junit.Rule
 import spock.lang.Specification
 
+import java.util.concurrent.TimeUnit
+
 import static org.gradle.util.TextUtil.toPlatformLineSeparators
 
 class ProfileReportRendererTest extends Specification {
@@ -218,6 +220,52 @@ class ProfileReportRendererTest extends Specification {
 </div>"""))
     }
 
+    def "renders model rules when rules have been executed"() {
+        def model = new BuildProfile(new StartParameter())
+        def file = temp.file("report.html")
+
+        model.getProjectProfile("a").getModelRuleProfile("rule a").executed(TimeUnit.SECONDS.toNanos(2))
+        model.getProjectProfile("a").getModelRuleProfile("rule b").executed(TimeUnit.SECONDS.toNanos(1)).executed(TimeUnit.SECONDS.toNanos(2))
+        model.getProjectProfile("b")
+
+        when:
+        new ProfileReportRenderer().writeTo(model, file)
+
+        then:
+        file.text.contains(toPlatformLineSeparators("""<li>
+<a href="#tab4">Model Rules</a>
+</li>
+</ul>"""))
+        file.text.contains(toPlatformLineSeparators("""<div class="tab" id="tab4">
+<h2>Model Rules</h2>
+<table>
+<thead>
+<tr>
+<th>Rule</th>
+<th class="numeric">Duration</th>
+<th class="numeric">Executions</th>
+</tr>
+</thead>
+<tr>
+<td>a</td>
+<td class="numeric">5.000s</td>
+<td>(total)</td>
+</tr>
+<tr>
+<td class="indentPath">rule b</td>
+<td class="numeric">3.000s</td>
+<td class="numeric">2</td>
+</tr>
+<tr>
+<td class="indentPath">rule a</td>
+<td class="numeric">2.000s</td>
+<td class="numeric">1</td>
+</tr>
+</table>
+</div>
+</div>"""))
+    }
+
     private long time(int hour, int mins, int secs, int ms = 0) {
         def cal = new GregorianCalendar(2010, 1, 5, hour, mins, secs)
         cal.add(Calendar.MILLISECOND, ms)
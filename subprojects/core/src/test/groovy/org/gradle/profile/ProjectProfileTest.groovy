@@ -19,6 +19,8 @@ package org.gradle.profile
 import org.gradle.api.tasks.TaskState
 import spock.lang.Specification
 
+import java.util.concurrent.TimeUnit
+
 class ProjectProfileTest extends Specification {
 
     def "provides sorted tasks"() {
@@ -31,4 +33,15 @@ class ProjectProfileTest extends Specification {
         expect:
         profile.tasks.operations == [a, d, b, c]
     }
+
+    def "provides sorted model rules"() {
+        def profile = new ProjectProfile(":foo")
+        def a = profile.getModelRuleProfile("rule a").executed(TimeUnit.MILLISECONDS.toNanos(5))
+        def b = profile.getModelRuleProfile("rule b").executed(TimeUnit.MILLISECONDS.toNanos(1)).executed(TimeUnit.MILLISECONDS.toNanos(20))
+
+        expect:
+        profile.modelRules.operations == [b, a]
+        profile.modelRules.elapsedTime == 26
+        b.count == 2
+    }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.modulecache;
+
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.internal.artifacts.DefaultModuleVersionSelector;
+import org.gradle.internal.component.external.descriptor.Artifact;
+import org.gradle.internal.component.external.descriptor.MavenScope;
+import org.gradle.internal.component.external.descriptor.MutableModuleDescriptorState;
+import org.gradle.internal.component.external.model.DefaultModuleComponentIdentifier;
+import org.gradle.internal.component.external.model.DefaultMutableMavenModuleResolveMetadata;
+import org.gradle.internal.component.external.model.MavenDependencyMetadata;
+import org.gradle.internal.component.model.DependencyMetadata;
+import org.gradle.internal.component.model.Exclude;
+import org.gradle.internal.serialize.kryo.KryoBackedDecoder;
+import org.gradle.internal.serialize.kryo.KryoBackedEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Measures the time taken to load the cached metadata of every module in a graph of 2,000 modules.
+ */
+@State(Scope.Benchmark)
+public class ModuleMetadataSerializerBenchmark {
+    private static final int MODULE_COUNT = 2000;
+    private static final int DEPENDENCY_COUNT = 15;
+
+    private final ModuleMetadataSerializer serializer = new ModuleMetadataSerializer();
+    private byte[][] descriptors;
+
+    @Setup
+    public void writeDescriptors() throws IOException {
+        descriptors = new byte[MODULE_COUNT][];
+        for (int i = 0; i < MODULE_COUNT; i++) {
+            ModuleComponentIdentifier id = DefaultModuleComponentIdentifier.newId("org.gradle.benchmark.group" + i % 50, "module" + i, "1.0." + i);
+            List<DependencyMetadata> dependencies = new ArrayList<DependencyMetadata>(DEPENDENCY_COUNT);
+            for (int j = 1; j <= DEPENDENCY_COUNT; j++) {
+                int dependency = (i + j * 7) % MODULE_COUNT;
+                dependencies.add(new MavenDependencyMetadata(MavenScope.Compile, false, DefaultModuleVersionSelector.newSelector("org.gradle.benchmark.group" + dependency % 50, "module" + dependency, "1.0." + dependency), Collections.<Artifact>emptyList(), Collections.<Exclude>emptyList()));
+            }
+            DefaultMutableMavenModuleResolveMetadata metadata = new DefaultMutableMavenModuleResolveMetadata(id, new MutableModuleDescriptorState(id), "jar", false, dependencies);
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            KryoBackedEncoder encoder = new KryoBackedEncoder(outputStream);
+            serializer.write(encoder, metadata.asImmutable());
+            encoder.flush();
+            descriptors[i] = outputStream.toByteArray();
+        }
+    }
+
+    @Benchmark
+    public void readGraph(Blackhole bh) throws IOException {
+        for (byte[] descriptor : descriptors) {
+            bh.consume(serializer.read(new KryoBackedDecoder(new ByteArrayInputStream(descriptor))));
+        }
+    }
+}
@@ -122,7 +122,17 @@ public class DefaultResolvedArtifact implements ResolvedArtifact, Buildable {
         return attributes;
     }
 
-    public File getFile() {
+    /**
+     * Returns true when the file for this artifact is already known, so that {@link #getFile()} will not need to resolve or download it.
+     */
+    public synchronized boolean isResolved() {
+        return file != null;
+    }
+
+    /**
+     * Resolves the file for this artifact, downloading it if required. Concurrent callers wait for a single resolution.
+     */
+    public synchronized File getFile() {
         if (file == null) {
             BuildOperationDetails operationDetails = BuildOperationDetails.displayName("Resolve artifact " + artifactId.getDisplayName()).name("Resolve artifact" + artifact.getName()).operationDescriptor(artifactId).build();
             buildOperationExecutor.run(operationDetails, new Action<BuildOperationContext>() {
@@ -17,10 +17,20 @@
 package org.gradle.api.internal.artifacts;
 
 import org.gradle.api.internal.artifacts.ivyservice.DefaultArtifactCacheMetaData;
+import org.gradle.api.internal.artifacts.transform.DefaultTransformedFileCache;
+import org.gradle.api.internal.artifacts.transform.TransformedFileCache;
+import org.gradle.api.internal.file.TemporaryFileProvider;
+import org.gradle.api.internal.hash.FileHasher;
+import org.gradle.cache.CacheRepository;
 import org.gradle.cache.internal.CacheScopeMapping;
+import org.gradle.internal.event.ListenerManager;
 
 public class DependencyManagementGradleUserHomeScopeServices {
     DefaultArtifactCacheMetaData createArtifactCacheMetaData(CacheScopeMapping cacheScopeMapping) {
         return new DefaultArtifactCacheMetaData(cacheScopeMapping);
     }
+
+    TransformedFileCache createTransformedFileCache(CacheRepository cacheRepository, FileHasher fileHasher, TemporaryFileProvider temporaryFileProvider, ListenerManager listenerManager) {
+        return new DefaultTransformedFileCache(cacheRepository, fileHasher, temporaryFileProvider, listenerManager);
+    }
 }
@@ -30,6 +30,13 @@ public interface ArtifactCacheMetaData {
      */
     File getFileStoreDirectory();
 
+    /**
+     * Returns the root directory for the content addressed store, which holds a single copy of each distinct artifact content.
+     *
+     * @return Content store location
+     */
+    File getContentStoreDirectory();
+
     /**
      * Returns the root directory for the meta-data file store.
      *
@@ -22,10 +22,12 @@ import java.io.File;
 public enum CacheLayout {
     ROOT(null, "modules", 2),
     FILE_STORE(ROOT, "files", 1),
-    META_DATA(ROOT, "metadata", 23);
+    CONTENT_STORE(ROOT, "content", 1),
+    META_DATA(ROOT, "metadata", 24);
 
     // If you update the META_DATA version, also update DefaultGradleDistribution.getArtifactCacheLayoutVersion() (which is the historical record)
     // If you update FILE_STORE, you may also need to update LocallyAvailableResourceFinderFactory
+    // Entries of FILE_STORE are hard links into CONTENT_STORE, so both must live on the same file system
 
     private final String name;
     private final CacheLayout parent;
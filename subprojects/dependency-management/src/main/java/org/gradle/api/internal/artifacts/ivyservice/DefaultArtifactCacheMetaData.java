@@ -44,6 +44,10 @@ public class DefaultArtifactCacheMetaData implements ArtifactCacheMetaData, Cach
         return createCacheRelativeDir(CacheLayout.FILE_STORE);
     }
 
+    public File getContentStoreDirectory() {
+        return createCacheRelativeDir(CacheLayout.CONTENT_STORE);
+    }
+
     public File getMetaDataStoreDirectory() {
         return new File(createCacheRelativeDir(CacheLayout.META_DATA), "descriptors");
     }
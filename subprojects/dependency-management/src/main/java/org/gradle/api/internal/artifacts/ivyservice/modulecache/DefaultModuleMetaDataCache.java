@@ -16,6 +16,7 @@
 package org.gradle.api.internal.artifacts.ivyservice.modulecache;
 
 import com.google.common.base.Objects;
+import com.google.common.collect.Maps;
 import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
 import org.gradle.api.internal.artifacts.ivyservice.ArtifactCacheMetaData;
 import org.gradle.api.internal.artifacts.ivyservice.CacheLockingManager;
@@ -34,6 +35,9 @@ import org.gradle.util.BuildCommencedTimeProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.math.BigInteger;
+import java.util.concurrent.ConcurrentMap;
+
 public class DefaultModuleMetaDataCache implements ModuleMetaDataCache {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultModuleMetaDataCache.class);
 
@@ -41,6 +45,8 @@ public class DefaultModuleMetaDataCache implements ModuleMetaDataCache {
     private final CacheLockingManager cacheLockingManager;
 
     private final ModuleMetadataStore moduleMetadataStore;
+    // Metadata decoded during this build, so that each descriptor is read from the store at most once per build
+    private final ConcurrentMap<ModuleComponentAtRepositoryKey, DecodedMetadata> decoded = Maps.newConcurrentMap();
     private PersistentIndexedCache<ModuleComponentAtRepositoryKey, ModuleMetadataCacheEntry> cache;
 
     public DefaultModuleMetaDataCache(BuildCommencedTimeProvider timeProvider, CacheLockingManager cacheLockingManager, ArtifactCacheMetaData artifactCacheMetaData) {
@@ -70,19 +76,28 @@ public class DefaultModuleMetaDataCache implements ModuleMetaDataCache {
         if (entry.isMissing()) {
             return new DefaultCachedMetaData(entry, null, timeProvider);
         }
+        DecodedMetadata decodedMetadata = decoded.get(key);
+        if (decodedMetadata != null && decodedMetadata.isFor(entry)) {
+            return new DefaultCachedMetaData(entry, decodedMetadata.metadata, timeProvider);
+        }
         MutableModuleComponentResolveMetadata metadata = moduleMetadataStore.getModuleDescriptor(key);
         if (metadata == null) {
-            // Descriptor file has been deleted - ignore the entry
+            // Descriptor file has been deleted or was written in an older format - ignore the entry
             getCache().remove(key);
+            decoded.remove(key);
             return null;
         }
-        return new DefaultCachedMetaData(entry, entry.configure(metadata), timeProvider);
+        ModuleComponentResolveMetadata configured = entry.configure(metadata);
+        decoded.put(key, new DecodedMetadata(entry, configured));
+        return new DefaultCachedMetaData(entry, configured, timeProvider);
     }
 
     public CachedMetaData cacheMissing(ModuleComponentRepository repository, ModuleComponentIdentifier id) {
         LOGGER.debug("Recording absence of module descriptor in cache: {} [changing = {}]", id, false);
         ModuleMetadataCacheEntry entry = ModuleMetadataCacheEntry.forMissingModule(timeProvider.getCurrentTime());
-        getCache().put(createKey(repository, id), entry);
+        ModuleComponentAtRepositoryKey key = createKey(repository, id);
+        getCache().put(key, entry);
+        decoded.remove(key);
         return new DefaultCachedMetaData(entry, null, timeProvider);
     }
 
@@ -92,6 +107,7 @@ public class DefaultModuleMetaDataCache implements ModuleMetaDataCache {
         LocallyAvailableResource resource = moduleMetadataStore.putModuleDescriptor(key, metadata);
         ModuleMetadataCacheEntry entry = createEntry(metadata, resource.getSha1());
         getCache().put(key, entry);
+        decoded.remove(key);
         return new DefaultCachedMetaData(entry, null, timeProvider);
     }
 
@@ -103,6 +119,22 @@ public class DefaultModuleMetaDataCache implements ModuleMetaDataCache {
         return ModuleMetadataCacheEntry.forMetaData(metaData, timeProvider.getCurrentTime(), moduleDescriptorHash.asBigInteger());
     }
 
+    private static class DecodedMetadata {
+        private final long createTimestamp;
+        private final BigInteger moduleDescriptorHash;
+        private final ModuleComponentResolveMetadata metadata;
+
+        DecodedMetadata(ModuleMetadataCacheEntry entry, ModuleComponentResolveMetadata metadata) {
+            this.createTimestamp = entry.createTimestamp;
+            this.moduleDescriptorHash = entry.moduleDescriptorHash;
+            this.metadata = metadata;
+        }
+
+        boolean isFor(ModuleMetadataCacheEntry entry) {
+            return createTimestamp == entry.createTimestamp && moduleDescriptorHash.equals(entry.moduleDescriptorHash);
+        }
+    }
+
     private static class RevisionKeySerializer extends AbstractSerializer<ModuleComponentAtRepositoryKey> {
         private final ComponentIdentifierSerializer componentIdSerializer = new ComponentIdentifierSerializer();
 
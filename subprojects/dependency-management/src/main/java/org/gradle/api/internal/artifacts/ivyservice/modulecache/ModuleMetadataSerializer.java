@@ -18,6 +18,7 @@ package org.gradle.api.internal.artifacts.ivyservice.modulecache;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.SetMultimap;
+import org.gradle.api.Nullable;
 import org.gradle.api.artifacts.ModuleVersionSelector;
 import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
 import org.gradle.api.internal.artifacts.DefaultModuleVersionSelector;
@@ -48,15 +49,32 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+/**
+ * Serializes module metadata to the binary descriptor format held in the metadata store.
+ *
+ * <p>Each descriptor starts with a format version, so that a descriptor written in an older format is discarded rather than misread.
+ * Strings are written once per descriptor and referenced by index afterwards, as the group, module, version and configuration names
+ * of dependencies, artifacts and excludes tend to repeat many times in a single descriptor.</p>
+ */
 public class ModuleMetadataSerializer {
+    private static final byte FORMAT_VERSION = 2;
     private static final byte TYPE_IVY = 1;
     private static final byte TYPE_MAVEN = 2;
 
+    private static final int NULL_STRING = 0;
+    private static final int NEW_STRING = 1;
+    private static final int FIRST_STRING_INDEX = 2;
+
+    /**
+     * Reads module metadata, returning null when the metadata was written in a different format.
+     */
+    @Nullable
     public MutableModuleComponentResolveMetadata read(Decoder decoder) throws IOException {
         return new Reader(decoder).read();
     }
@@ -67,12 +85,14 @@ public class ModuleMetadataSerializer {
 
     private static class Writer {
         private final Encoder encoder;
+        private final Map<String, Integer> strings = new HashMap<String, Integer>();
 
         private Writer(Encoder encoder) {
             this.encoder = encoder;
         }
 
         public void write(ModuleComponentResolveMetadata metadata) throws IOException {
+            encoder.writeByte(FORMAT_VERSION);
             if (metadata instanceof IvyModuleResolveMetadata) {
                 write((IvyModuleResolveMetadata) metadata);
             } else if (metadata instanceof MavenModuleResolveMetadata) {
@@ -227,11 +247,25 @@ public class ModuleMetadataSerializer {
         }
 
         private void writeString(String str) throws IOException {
-            encoder.writeString(str);
+            if (str == null) {
+                throw new IllegalArgumentException("Cannot write a null string.");
+            }
+            writeNullableString(str);
         }
 
         private void writeNullableString(String str) throws IOException {
-            encoder.writeNullableString(str);
+            if (str == null) {
+                encoder.writeSmallInt(NULL_STRING);
+                return;
+            }
+            Integer index = strings.get(str);
+            if (index == null) {
+                strings.put(str, strings.size() + FIRST_STRING_INDEX);
+                encoder.writeSmallInt(NEW_STRING);
+                encoder.writeString(str);
+            } else {
+                encoder.writeSmallInt(index);
+            }
         }
 
         private void writeBoolean(boolean b) throws IOException {
@@ -274,6 +308,7 @@ public class ModuleMetadataSerializer {
 
     private static class Reader {
         private final Decoder decoder;
+        private final List<String> strings = Lists.newArrayList();
         private MutableModuleDescriptorState md;
         private ModuleComponentIdentifier id;
 
@@ -282,6 +317,10 @@ public class ModuleMetadataSerializer {
         }
 
         public MutableModuleComponentResolveMetadata read() throws IOException {
+            byte formatVersion = decoder.readByte();
+            if (formatVersion != FORMAT_VERSION) {
+                return null;
+            }
             byte type = decoder.readByte();
             switch (type) {
                 case TYPE_IVY:
@@ -461,11 +500,25 @@ public class ModuleMetadataSerializer {
         }
 
         private String readString() throws IOException {
-            return decoder.readString();
+            String str = readNullableString();
+            if (str == null) {
+                throw new IllegalArgumentException("Unexpected null string found.");
+            }
+            return str;
         }
 
         private String readNullableString() throws IOException {
-            return decoder.readNullableString();
+            int index = decoder.readSmallInt();
+            switch (index) {
+                case NULL_STRING:
+                    return null;
+                case NEW_STRING:
+                    String str = decoder.readString();
+                    strings.add(str);
+                    return str;
+                default:
+                    return strings.get(index - FIRST_STRING_INDEX);
+            }
         }
 
         private boolean readBoolean() throws IOException {
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.resolveengine.artifact;
+
+import org.gradle.api.Action;
+import org.gradle.api.artifacts.ResolvedArtifact;
+import org.gradle.api.internal.artifacts.DefaultResolvedArtifact;
+import org.gradle.api.internal.artifacts.ivyservice.CacheLockingManager;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.component.external.model.ModuleComponentArtifactIdentifier;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.concurrent.StoppableExecutor;
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.progress.BuildOperationDetails;
+import org.gradle.internal.progress.BuildOperationExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Downloads the files of the external artifacts in a {@link ResolvedArtifactSet} concurrently, ahead of the set being visited.
+ *
+ * <p>Failures are not reported by this downloader. An artifact that could not be downloaded remains unresolved, and the failure is reported
+ * when the artifact's file is requested while visiting the set.</p>
+ */
+public class ParallelArtifactDownloader implements Stoppable {
+    private static final Logger LOGGER = Logging.getLogger(ParallelArtifactDownloader.class);
+
+    private final CacheLockingManager cacheLockingManager;
+    private final BuildOperationExecutor buildOperationExecutor;
+    private final StoppableExecutor executor;
+
+    public ParallelArtifactDownloader(CacheLockingManager cacheLockingManager, BuildOperationExecutor buildOperationExecutor, ExecutorFactory executorFactory, int maxConcurrentDownloads) {
+        this.cacheLockingManager = cacheLockingManager;
+        this.buildOperationExecutor = buildOperationExecutor;
+        this.executor = executorFactory.create("artifact downloads", maxConcurrentDownloads);
+    }
+
+    public void download(ResolvedArtifactSet artifacts) {
+        final List<DefaultResolvedArtifact> pending = new ArrayList<DefaultResolvedArtifact>();
+        for (ResolvedArtifact artifact : artifacts.getArtifacts()) {
+            // Only external artifacts are downloaded concurrently: resolving a project artifact may require building it
+            if (artifact instanceof DefaultResolvedArtifact && artifact.getId() instanceof ModuleComponentArtifactIdentifier) {
+                DefaultResolvedArtifact resolvedArtifact = (DefaultResolvedArtifact) artifact;
+                if (!resolvedArtifact.isResolved()) {
+                    pending.add(resolvedArtifact);
+                }
+            }
+        }
+        if (pending.size() < 2) {
+            return;
+        }
+
+        final BuildOperationExecutor.Operation parentOperation = buildOperationExecutor.getCurrentOperation();
+        final List<Future<?>> downloads = new ArrayList<Future<?>>(pending.size());
+        for (final DefaultResolvedArtifact artifact : pending) {
+            downloads.add(executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    buildOperationExecutor.run(BuildOperationDetails.displayName("Resolve " + artifact).parent(parentOperation).build(), new Action<BuildOperationContext>() {
+                        @Override
+                        public void execute(BuildOperationContext buildOperationContext) {
+                            try {
+                                artifact.getFile();
+                            } catch (Throwable t) {
+                                LOGGER.debug("Could not download {} in parallel, will retry when visited.", artifact, t);
+                            }
+                        }
+                    });
+                }
+            }));
+        }
+
+        // Release the artifact cache, if held, while waiting so that the downloads can use it
+        cacheLockingManager.longRunningOperation(new Runnable() {
+            @Override
+            public void run() {
+                for (Future<?> download : downloads) {
+                    try {
+                        download.get();
+                    } catch (InterruptedException e) {
+                        throw UncheckedException.throwAsUncheckedException(e);
+                    } catch (ExecutionException e) {
+                        throw UncheckedException.throwAsUncheckedException(e.getCause());
+                    }
+                }
+            }
+        });
+    }
+
+    @Override
+    public void stop() {
+        executor.stop();
+    }
+}
@@ -17,16 +17,23 @@ package org.gradle.api.internal.artifacts.ivyservice.resolveengine.store;
 
 import org.gradle.api.internal.cache.BinaryStore;
 import org.gradle.internal.concurrent.CompositeStoppable;
+import org.gradle.internal.io.ByteBufferInputStream;
 import org.gradle.internal.io.RandomAccessFileInputStream;
+import org.gradle.internal.os.OperatingSystem;
 import org.gradle.internal.serialize.Decoder;
 import org.gradle.internal.serialize.kryo.KryoBackedDecoder;
 import org.gradle.internal.serialize.kryo.KryoBackedEncoder;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 import static org.gradle.internal.UncheckedException.throwAsUncheckedException;
 
 class DefaultBinaryStore implements BinaryStore, Closeable {
+    // Memory mapped files cannot be deleted on Windows until the mapping is garbage collected
+    private static final boolean MEMORY_MAPPED_READS = !OperatingSystem.current().isWindows();
+
     private File file;
     private KryoBackedEncoder encoder;
     private int offset = -1;
@@ -67,10 +74,12 @@ class DefaultBinaryStore implements BinaryStore, Closeable {
 
     public BinaryData done() {
         try {
+            int end = offset;
             if (encoder != null) {
                 encoder.flush();
+                end = encoder.getWritePosition();
             }
-            return new SimpleBinaryData(file, offset, diagnose());
+            return new SimpleBinaryData(file, offset, end, diagnose());
         } finally {
             offset = -1;
         }
@@ -100,25 +109,33 @@ class DefaultBinaryStore implements BinaryStore, Closeable {
 
     private static class SimpleBinaryData implements BinaryStore.BinaryData {
         private final int offset;
+        private final int end;
         private final File inputFile;
         private final String sourceDescription;
 
+        private ByteBuffer mappedData;
         private Decoder decoder;
         private CompositeStoppable resources;
 
-        public SimpleBinaryData(File inputFile, int offset, String sourceDescription) {
+        public SimpleBinaryData(File inputFile, int offset, int end, String sourceDescription) {
             this.inputFile = inputFile;
             this.offset = offset;
+            this.end = end;
             this.sourceDescription = sourceDescription;
         }
 
         public <T> T read(BinaryStore.ReadAction<T> readAction) {
             try {
                 if (decoder == null) {
-                    RandomAccessFile randomAccess = new RandomAccessFile(inputFile, "r");
-                    randomAccess.seek(offset);
-                    decoder = new KryoBackedDecoder(new RandomAccessFileInputStream(randomAccess));
-                    resources = new CompositeStoppable().add(randomAccess, decoder);
+                    if (MEMORY_MAPPED_READS) {
+                        decoder = new KryoBackedDecoder(new ByteBufferInputStream(getMappedData().duplicate()));
+                        resources = new CompositeStoppable().add(decoder);
+                    } else {
+                        RandomAccessFile randomAccess = new RandomAccessFile(inputFile, "r");
+                        randomAccess.seek(offset);
+                        decoder = new KryoBackedDecoder(new RandomAccessFileInputStream(randomAccess));
+                        resources = new CompositeStoppable().add(randomAccess, decoder);
+                    }
                 }
                 return readAction.read(decoder);
             } catch (Exception e) {
@@ -126,6 +143,22 @@ class DefaultBinaryStore implements BinaryStore, Closeable {
             }
         }
 
+        /**
+         * Maps the region of the file holding this data, once. The mapping outlives {@link #close()}, so that
+         * re-reading the data does not need to reopen the file.
+         */
+        private ByteBuffer getMappedData() throws IOException {
+            if (mappedData == null) {
+                RandomAccessFile randomAccess = new RandomAccessFile(inputFile, "r");
+                try {
+                    mappedData = randomAccess.getChannel().map(FileChannel.MapMode.READ_ONLY, offset, end - offset);
+                } finally {
+                    randomAccess.close();
+                }
+            }
+            return mappedData;
+        }
+
         public void close() {
             try {
                 if (resources != null) {
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.transform;
+
+import org.gradle.api.Transformer;
+import org.gradle.api.internal.artifacts.ivyservice.CacheLockingManager;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.concurrent.StoppableExecutor;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Applies artifact transforms to a batch of files concurrently.
+ */
+public class ArtifactTransformExecutor implements Stoppable {
+    private static final ThreadLocal<Boolean> IS_WORKER = new ThreadLocal<Boolean>();
+
+    private final CacheLockingManager cacheLockingManager;
+    private final StoppableExecutor executor;
+
+    public ArtifactTransformExecutor(CacheLockingManager cacheLockingManager, ExecutorFactory executorFactory, int maxConcurrentTransforms) {
+        this.cacheLockingManager = cacheLockingManager;
+        this.executor = executorFactory.create("artifact transforms", maxConcurrentTransforms);
+    }
+
+    /**
+     * Applies each transformer to the corresponding file, and returns the results in the same order as the files.
+     * When more than one transform fails, the failure for the earliest file is rethrown.
+     */
+    public List<List<File>> transformAll(List<File> files, List<Transformer<List<File>, File>> transformers) {
+        List<List<File>> results = new ArrayList<List<File>>(files.size());
+        // Transform inline when there is nothing to run concurrently, or when called from a transform, to avoid exhausting the workers
+        if (files.size() < 2 || IS_WORKER.get() != null) {
+            for (int i = 0; i < files.size(); i++) {
+                results.add(transformers.get(i).transform(files.get(i)));
+            }
+            return results;
+        }
+
+        final List<Future<List<File>>> transforms = new ArrayList<Future<List<File>>>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            final File file = files.get(i);
+            final Transformer<List<File>, File> transformer = transformers.get(i);
+            transforms.add(executor.submit(new Callable<List<File>>() {
+                @Override
+                public List<File> call() {
+                    IS_WORKER.set(Boolean.TRUE);
+                    try {
+                        return transformer.transform(file);
+                    } finally {
+                        IS_WORKER.remove();
+                    }
+                }
+            }));
+        }
+
+        // Release the artifact cache, if held, while waiting so that the transforms can resolve artifacts
+        cacheLockingManager.longRunningOperation(new Runnable() {
+            @Override
+            public void run() {
+                for (Future<List<File>> transform : transforms) {
+                    try {
+                        transform.get();
+                    } catch (InterruptedException e) {
+                        throw UncheckedException.throwAsUncheckedException(e);
+                    } catch (ExecutionException e) {
+                        // Collected below
+                    }
+                }
+            }
+        });
+
+        for (Future<List<File>> transform : transforms) {
+            try {
+                results.add(transform.get());
+            } catch (InterruptedException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            } catch (ExecutionException e) {
+                throw UncheckedException.throwAsUncheckedException(e.getCause());
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public void stop() {
+        executor.stop();
+    }
+}
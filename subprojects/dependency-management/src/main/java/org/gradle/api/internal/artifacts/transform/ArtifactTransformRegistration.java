@@ -16,12 +16,15 @@
 
 package org.gradle.api.internal.artifacts.transform;
 
+import com.google.common.hash.HashCode;
 import org.gradle.api.Action;
+import org.gradle.api.Nullable;
 import org.gradle.api.Transformer;
 import org.gradle.api.artifacts.transform.ArtifactTransform;
 import org.gradle.api.artifacts.transform.ArtifactTransformException;
 import org.gradle.api.attributes.AttributeContainer;
 import org.gradle.internal.reflect.DirectInstantiator;
+import org.gradle.internal.util.BiFunction;
 
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -32,15 +35,15 @@ class ArtifactTransformRegistration {
     public final AttributeContainer to;
     public final Class<? extends ArtifactTransform> type;
     public final Action<? super ArtifactTransform> config;
-    private Transformer<List<File>, File> transform;
+    private final Transformer<List<File>, File> transform;
 
-    ArtifactTransformRegistration(AttributeContainer from, AttributeContainer to, Class<? extends ArtifactTransform> type, Action<? super ArtifactTransform> config) {
+    ArtifactTransformRegistration(AttributeContainer from, AttributeContainer to, Class<? extends ArtifactTransform> type, Action<? super ArtifactTransform> config, TransformedFileCache transformedFileCache, @Nullable HashCode transformHash) {
         this.from = from;
         this.to = to;
         this.type = type;
         this.config = config;
 
-        this.transform = createArtifactTransformer();
+        this.transform = createArtifactTransformer(transformedFileCache, transformHash);
     }
 
     Class<? extends ArtifactTransform> getType() {
@@ -51,10 +54,52 @@ class ArtifactTransformRegistration {
         return transform;
     }
 
-    private Transformer<List<File>, File> createArtifactTransformer() {
+    private Transformer<List<File>, File> createArtifactTransformer(TransformedFileCache transformedFileCache, @Nullable HashCode transformHash) {
+        if (createTransform().getOutputDirectory() != null) {
+            // The transform writes to a location chosen by the build, so its outputs cannot be reused
+            return new Transformer<List<File>, File>() {
+                @Override
+                public List<File> transform(File input) {
+                    return doTransform(input, null);
+                }
+            };
+        }
+        return new CachingArtifactFileTransformer(transformedFileCache, transformHash);
+    }
+
+    private List<File> doTransform(File input, @Nullable File outputDirectory) {
+        // Use a new instance for each input, as transforms may run concurrently
+        ArtifactTransform artifactTransform = createTransform();
+        if (outputDirectory != null) {
+            artifactTransform.setOutputDirectory(outputDirectory);
+        }
+        return new ArtifactFileTransformer(artifactTransform, to).transform(input);
+    }
+
+    private ArtifactTransform createTransform() {
         ArtifactTransform artifactTransform = DirectInstantiator.INSTANCE.newInstance(type);
         config.execute(artifactTransform);
-        return new ArtifactFileTransformer(artifactTransform, to);
+        return artifactTransform;
+    }
+
+    private class CachingArtifactFileTransformer implements Transformer<List<File>, File>, BiFunction<List<File>, File, File> {
+        private final TransformedFileCache transformedFileCache;
+        private final HashCode transformHash;
+
+        CachingArtifactFileTransformer(TransformedFileCache transformedFileCache, @Nullable HashCode transformHash) {
+            this.transformedFileCache = transformedFileCache;
+            this.transformHash = transformHash;
+        }
+
+        @Override
+        public List<File> transform(File input) {
+            return transformedFileCache.getResult(input, transformHash, this);
+        }
+
+        @Override
+        public List<File> apply(File input, File outputDirectory) {
+            return doTransform(input, outputDirectory);
+        }
     }
 
     private static class ArtifactFileTransformer implements Transformer<List<File>, File> {
@@ -16,22 +16,39 @@
 
 package org.gradle.api.internal.artifacts.transform;
 
+import com.google.common.base.Charsets;
 import com.google.common.collect.Lists;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import org.gradle.api.Action;
+import org.gradle.api.Nullable;
 import org.gradle.api.artifacts.transform.ArtifactTransform;
+import org.gradle.api.internal.ClosureBackedAction;
 import org.gradle.api.internal.attributes.AttributeContainerInternal;
 import org.gradle.api.internal.attributes.DefaultMutableAttributeContainer;
 import org.gradle.api.internal.attributes.ImmutableAttributesFactory;
+import org.gradle.internal.classloader.ClassLoaderHierarchyHasher;
+import org.gradle.internal.UncheckedException;
 import org.gradle.internal.reflect.DirectInstantiator;
 
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 public class DefaultArtifactTransformRegistrations implements ArtifactTransformRegistrationsInternal {
     private final List<ArtifactTransformRegistration> transforms = Lists.newArrayList();
     private final ImmutableAttributesFactory immutableAttributesFactory;
+    private final TransformedFileCache transformedFileCache;
+    private final ClassLoaderHierarchyHasher classLoaderHierarchyHasher;
 
-    public DefaultArtifactTransformRegistrations(ImmutableAttributesFactory immutableAttributesFactory) {
+    public DefaultArtifactTransformRegistrations(ImmutableAttributesFactory immutableAttributesFactory, TransformedFileCache transformedFileCache, ClassLoaderHierarchyHasher classLoaderHierarchyHasher) {
         this.immutableAttributesFactory = immutableAttributesFactory;
+        this.transformedFileCache = transformedFileCache;
+        this.classLoaderHierarchyHasher = classLoaderHierarchyHasher;
     }
 
     public void registerTransform(Class<? extends ArtifactTransform> type, Action<? super ArtifactTransform> config) {
@@ -47,7 +64,7 @@ public class DefaultArtifactTransformRegistrations implements ArtifactTransformR
         artifactTransform.configure(from, registry);
 
         for (AttributeContainerInternal to : registry.getNewTargets()) {
-            ArtifactTransformRegistration registration = new ArtifactTransformRegistration(from.asImmutable(), to.asImmutable(), type, config);
+            ArtifactTransformRegistration registration = new ArtifactTransformRegistration(from.asImmutable(), to.asImmutable(), type, config, transformedFileCache, hashTransform(type, config, to));
             transforms.add(registration);
         }
     }
@@ -55,4 +72,91 @@ public class DefaultArtifactTransformRegistrations implements ArtifactTransformR
     public Iterable<ArtifactTransformRegistration> getTransforms() {
         return transforms;
     }
+
+    /**
+     * Calculates a hash of the transform implementation, the code that configures it and the parameters it sets. Returns null when any of these
+     * cannot be hashed reliably, so that the transform results are not reused by later builds.
+     */
+    @Nullable
+    private HashCode hashTransform(Class<? extends ArtifactTransform> type, Action<? super ArtifactTransform> config, AttributeContainerInternal to) {
+        Hasher hasher = Hashing.md5().newHasher();
+        hasher.putString(to.asImmutable().toString(), Charsets.UTF_8);
+        if (!hashClass(hasher, type)) {
+            return null;
+        }
+        Object configImplementation = config instanceof ClosureBackedAction ? ((ClosureBackedAction) config).getClosure() : config;
+        if (configImplementation != null && !hashClass(hasher, configImplementation.getClass())) {
+            return null;
+        }
+        ArtifactTransform artifactTransform = DirectInstantiator.INSTANCE.newInstance(type);
+        config.execute(artifactTransform);
+        if (!hashParameters(hasher, artifactTransform)) {
+            return null;
+        }
+        return hasher.hash();
+    }
+
+    private boolean hashClass(Hasher hasher, Class<?> type) {
+        hasher.putString(type.getName(), Charsets.UTF_8);
+        HashCode classLoaderHash = classLoaderHierarchyHasher.getClassLoaderHash(type.getClassLoader());
+        if (classLoaderHash == null) {
+            return false;
+        }
+        hasher.putBytes(classLoaderHash.asBytes());
+        return true;
+    }
+
+    /**
+     * Hashes the values of the fields declared by the transform implementation, as set by the configuration action.
+     */
+    private static boolean hashParameters(Hasher hasher, ArtifactTransform artifactTransform) {
+        for (Class<?> current = artifactTransform.getClass(); current != ArtifactTransform.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+                field.setAccessible(true);
+                Object value;
+                try {
+                    value = field.get(artifactTransform);
+                } catch (IllegalAccessException e) {
+                    throw UncheckedException.throwAsUncheckedException(e);
+                }
+                hasher.putString(field.getName(), Charsets.UTF_8);
+                if (!hashValue(hasher, value)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean hashValue(Hasher hasher, @Nullable Object value) {
+        if (value == null) {
+            hasher.putBoolean(false);
+        } else if (value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Character || value instanceof Enum || value instanceof File) {
+            hasher.putString(value.getClass().getName(), Charsets.UTF_8);
+            hasher.putString(value.toString(), Charsets.UTF_8);
+        } else if (value instanceof Iterable) {
+            hasher.putString(List.class.getName(), Charsets.UTF_8);
+            for (Object element : (Iterable<?>) value) {
+                if (!hashValue(hasher, element)) {
+                    return false;
+                }
+            }
+        } else if (value instanceof Object[]) {
+            return hashValue(hasher, Arrays.asList((Object[]) value));
+        } else if (value instanceof Map) {
+            hasher.putString(Map.class.getName(), Charsets.UTF_8);
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!hashValue(hasher, entry.getKey()) || !hashValue(hasher, entry.getValue())) {
+                    return false;
+                }
+            }
+        } else {
+            return false;
+        }
+        return true;
+    }
 }
@@ -42,16 +42,19 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 public class DefaultArtifactTransforms implements ArtifactTransforms {
 
     private ArtifactAttributeMatchingCache matchingCache;
     private final BuildOperationExecutor buildOperationExecutor;
+    private final ArtifactTransformExecutor transformExecutor;
 
-    public DefaultArtifactTransforms(ArtifactAttributeMatchingCache matchingCache, BuildOperationExecutor buildOperationExecutor) {
+    public DefaultArtifactTransforms(ArtifactAttributeMatchingCache matchingCache, BuildOperationExecutor buildOperationExecutor, ArtifactTransformExecutor transformExecutor) {
         this.matchingCache = matchingCache;
         this.buildOperationExecutor = buildOperationExecutor;
+        this.transformExecutor = transformExecutor;
     }
 
     /**
@@ -180,6 +183,10 @@ public class DefaultArtifactTransforms implements ArtifactTransforms {
             List<File> result = new ArrayList<File>();
             RuntimeException transformException = null;
             try {
+                // The results for each file, in order, with null for the files still to be transformed
+                List<List<File>> fileResults = new ArrayList<List<File>>();
+                List<File> pendingFiles = new ArrayList<File>();
+                List<Transformer<List<File>, File>> pendingTransforms = new ArrayList<Transformer<List<File>, File>>();
                 for (File file : files) {
                     try {
                         List<File> transformResults = matchingCache.getTransformedFile(file, attributes);
@@ -188,24 +195,33 @@ public class DefaultArtifactTransforms implements ArtifactTransforms {
                             if (matchingCache.areMatchingAttributes(fileWithAttributes, this.attributes)) {
                                 transformResults = Collections.singletonList(file);
                                 matchingCache.putTransformedFile(file, attributes, transformResults);
+                            } else {
+                                Transformer<List<File>, File> transform = matchingCache.getTransform(fileWithAttributes, attributes);
+                                if (transform == null) {
+                                    continue;
+                                }
+                                pendingFiles.add(file);
+                                pendingTransforms.add(transform);
                             }
                         }
-                        if (transformResults != null) {
-                            result.addAll(transformResults);
-                            continue;
+                        fileResults.add(transformResults);
+                    } catch (RuntimeException e) {
+                        transformException = e;
+                        break;
+                    }
+                }
+                if (transformException == null) {
+                    try {
+                        List<List<File>> transformed = transformExecutor.transformAll(pendingFiles, pendingTransforms);
+                        for (int i = 0; i < pendingFiles.size(); i++) {
+                            matchingCache.putTransformedFile(pendingFiles.get(i), attributes, transformed.get(i));
                         }
-
-                        AttributeContainer fileWithAttributes = DefaultArtifactAttributes.forFile(file, attributesFactory);
-                        Transformer<List<File>, File> transform = matchingCache.getTransform(fileWithAttributes, attributes);
-                        if (transform == null) {
-                            continue;
+                        Iterator<List<File>> transformedIterator = transformed.iterator();
+                        for (List<File> fileResult : fileResults) {
+                            result.addAll(fileResult != null ? fileResult : transformedIterator.next());
                         }
-                        transformResults = transform.transform(file);
-                        matchingCache.putTransformedFile(file, attributes, transformResults);
-                        result.addAll(transformResults);
                     } catch (RuntimeException e) {
                         transformException = e;
-                        break;
                     }
                 }
             } catch (Throwable t) {
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.transform;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.apache.commons.io.FileUtils;
+import org.gradle.api.Nullable;
+import org.gradle.api.internal.file.TemporaryFileProvider;
+import org.gradle.api.internal.hash.FileHasher;
+import org.gradle.cache.CacheBuilder;
+import org.gradle.cache.CacheRepository;
+import org.gradle.cache.PersistentCache;
+import org.gradle.cache.PersistentIndexedCache;
+import org.gradle.cache.PersistentIndexedCacheParameters;
+import org.gradle.cache.internal.FileLockManager;
+import org.gradle.initialization.SessionLifecycleListener;
+import org.gradle.internal.Factory;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.event.ListenerManager;
+import org.gradle.internal.serialize.BaseSerializerFactory;
+import org.gradle.internal.serialize.HashCodeSerializer;
+import org.gradle.internal.serialize.ListSerializer;
+import org.gradle.internal.util.BiFunction;
+import org.gradle.util.GFileUtils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.gradle.cache.internal.filelock.LockOptionsBuilder.mode;
+
+/**
+ * Keeps the outputs of artifact transforms in the user home cache, indexed by a hash of the input file content and of the transform.
+ *
+ * <p>A transform is run into a private working directory, which is then moved into place while holding the cache lock. This allows
+ * transforms to run concurrently, both in this process and in other processes sharing the cache, without the lock being held while
+ * a transform runs.</p>
+ *
+ * <p>The outputs of a directory are kept in a single location for each directory, which is replaced when the content of the directory changes.
+ * Transforms that cannot be identified are run into a temporary directory that is deleted at the end of the build.</p>
+ */
+public class DefaultTransformedFileCache implements TransformedFileCache, SessionLifecycleListener, Stoppable {
+    private final PersistentCache cache;
+    private final PersistentIndexedCache<HashCode, List<File>> indexedCache;
+    private final FileHasher fileHasher;
+    private final TemporaryFileProvider temporaryFileProvider;
+    private final ListenerManager listenerManager;
+    private final File filesDir;
+    private final Map<HashCode, List<File>> results = new ConcurrentHashMap<HashCode, List<File>>();
+    // Keyed by the transform and location of the directory, cleared at the end of each build
+    private final Map<HashCode, DirectoryResult> directoryResults = new ConcurrentHashMap<HashCode, DirectoryResult>();
+    private File temporaryDir;
+
+    public DefaultTransformedFileCache(CacheRepository cacheRepository, FileHasher fileHasher, TemporaryFileProvider temporaryFileProvider, ListenerManager listenerManager) {
+        this.fileHasher = fileHasher;
+        this.temporaryFileProvider = temporaryFileProvider;
+        this.listenerManager = listenerManager;
+        cache = cacheRepository
+            .cache("transforms-1")
+            .withDisplayName("artifact transforms cache")
+            .withCrossVersionCache(CacheBuilder.LockTarget.DefaultTarget)
+            .withLockOptions(mode(FileLockManager.LockMode.None)) // Lock on demand
+            .open();
+        indexedCache = cache.createCache(PersistentIndexedCacheParameters.of("results", new HashCodeSerializer(), new ListSerializer<File>(BaseSerializerFactory.FILE_SERIALIZER)));
+        filesDir = new File(cache.getBaseDir(), "files-1.1");
+        listenerManager.addListener(this);
+    }
+
+    @Override
+    public void afterStart() {
+    }
+
+    @Override
+    public void beforeComplete() {
+        directoryResults.clear();
+        deleteTemporaryDir();
+    }
+
+    @Override
+    public void stop() {
+        listenerManager.removeListener(this);
+        deleteTemporaryDir();
+        cache.close();
+    }
+
+    private synchronized File getTemporaryDir() {
+        if (temporaryDir == null) {
+            temporaryDir = temporaryFileProvider.createTemporaryDirectory("transforms", null);
+        }
+        return temporaryDir;
+    }
+
+    private synchronized void deleteTemporaryDir() {
+        if (temporaryDir != null) {
+            FileUtils.deleteQuietly(temporaryDir);
+            temporaryDir = null;
+        }
+    }
+
+    @Override
+    public List<File> getResult(File input, @Nullable HashCode transformHash, BiFunction<List<File>, File, File> transformer) {
+        if (transformHash == null) {
+            return transform(input, new File(getTemporaryDir(), input.getName() + "/" + UUID.randomUUID()), transformer);
+        }
+        if (input.isFile()) {
+            return getFileResult(input, transformHash, transformer);
+        }
+        return getDirectoryResult(input, transformHash, transformer);
+    }
+
+    /**
+     * Regular files are identified by their content, and their results are reused across builds.
+     */
+    private List<File> getFileResult(File input, HashCode transformHash, BiFunction<List<File>, File, File> transformer) {
+        Hasher hasher = Hashing.md5().newHasher();
+        hasher.putBytes(transformHash.asBytes());
+        hasher.putBytes(fileHasher.hash(input).asBytes());
+        final HashCode key = hasher.hash();
+
+        List<File> result = results.get(key);
+        if (result != null) {
+            return result;
+        }
+
+        result = cache.useCache(new Factory<List<File>>() {
+            @Override
+            public List<File> create() {
+                return lookup(key);
+            }
+        });
+        if (result != null) {
+            results.put(key, result);
+            return result;
+        }
+
+        final File outputDir = new File(filesDir, input.getName() + "/" + key);
+        final File workDir = new File(filesDir, input.getName() + "/" + key + "-" + UUID.randomUUID());
+        List<File> outputs = transform(input, workDir, transformer);
+        final List<File> relocated = relocate(outputs, workDir, outputDir);
+
+        result = cache.useCache(new Factory<List<File>>() {
+            @Override
+            public List<File> create() {
+                List<File> existing = lookup(key);
+                if (existing != null) {
+                    // Another thread or process produced the same result in the meantime
+                    FileUtils.deleteQuietly(workDir);
+                    return existing;
+                }
+                replace(workDir, outputDir);
+                indexedCache.put(key, relocated);
+                return relocated;
+            }
+        });
+        results.put(key, result);
+        return result;
+    }
+
+    /**
+     * Directories are identified by their location, and their results are only reused within a build while their content does not change.
+     */
+    private List<File> getDirectoryResult(File input, HashCode transformHash, BiFunction<List<File>, File, File> transformer) {
+        Hasher hasher = Hashing.md5().newHasher();
+        hasher.putBytes(transformHash.asBytes());
+        hasher.putString(input.getAbsolutePath(), Charsets.UTF_8);
+        HashCode key = hasher.hash();
+        Hasher contentHasher = Hashing.md5().newHasher();
+        hashDirectoryContent(contentHasher, input, "");
+        HashCode contentHash = contentHasher.hash();
+
+        DirectoryResult previous = directoryResults.get(key);
+        if (previous != null && previous.contentHash.equals(contentHash)) {
+            return previous.files;
+        }
+
+        final File outputDir = new File(filesDir, input.getName() + "/" + key);
+        final File workDir = new File(filesDir, input.getName() + "/" + key + "-" + UUID.randomUUID());
+        List<File> outputs = transform(input, workDir, transformer);
+        List<File> relocated = relocate(outputs, workDir, outputDir);
+
+        cache.useCache(new Runnable() {
+            @Override
+            public void run() {
+                replace(workDir, outputDir);
+            }
+        });
+        directoryResults.put(key, new DirectoryResult(contentHash, relocated));
+        return relocated;
+    }
+
+    private static void replace(File workDir, File outputDir) {
+        FileUtils.deleteQuietly(outputDir);
+        if (workDir.exists()) {
+            GFileUtils.moveDirectory(workDir, outputDir);
+        }
+    }
+
+    private static List<File> transform(File input, File outputDir, BiFunction<List<File>, File, File> transformer) {
+        GFileUtils.mkdirs(outputDir);
+        try {
+            return transformer.apply(input, outputDir);
+        } catch (RuntimeException e) {
+            FileUtils.deleteQuietly(outputDir);
+            throw e;
+        }
+    }
+
+    private void hashDirectoryContent(Hasher hasher, File dir, String relativePath) {
+        File[] children = dir.listFiles();
+        if (children == null) {
+            return;
+        }
+        Arrays.sort(children);
+        for (File child : children) {
+            String childPath = relativePath + "/" + child.getName();
+            hasher.putString(childPath, Charsets.UTF_8);
+            if (child.isDirectory()) {
+                hashDirectoryContent(hasher, child, childPath);
+            } else {
+                hasher.putBytes(fileHasher.hash(child).asBytes());
+            }
+        }
+    }
+
+    private List<File> lookup(HashCode key) {
+        List<File> result = indexedCache.get(key);
+        if (result == null) {
+            return null;
+        }
+        for (File file : result) {
+            if (!file.exists()) {
+                return null;
+            }
+        }
+        return result;
+    }
+
+    private static class DirectoryResult {
+        private final HashCode contentHash;
+        private final List<File> files;
+
+        DirectoryResult(HashCode contentHash, List<File> files) {
+            this.contentHash = contentHash;
+            this.files = files;
+        }
+    }
+
+    private static List<File> relocate(List<File> outputs, File workDir, File outputDir) {
+        String workDirPrefix = workDir.getAbsolutePath() + File.separator;
+        List<File> result = new ArrayList<File>(outputs.size());
+        for (File output : outputs) {
+            String path = output.getAbsolutePath();
+            if (path.startsWith(workDirPrefix)) {
+                result.add(new File(outputDir, path.substring(workDirPrefix.length())));
+            } else if (path.equals(workDir.getAbsolutePath())) {
+                result.add(outputDir);
+            } else {
+                result.add(output);
+            }
+        }
+        return result;
+    }
+}
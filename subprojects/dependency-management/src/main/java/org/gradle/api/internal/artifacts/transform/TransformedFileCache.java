@@ -0,0 +1,42 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.transform;
+
+import com.google.common.hash.HashCode;
+import org.gradle.api.Nullable;
+import org.gradle.internal.util.BiFunction;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Caches the results of applying artifact transforms to files across builds.
+ */
+public interface TransformedFileCache {
+    /**
+     * Returns the result of applying the given transformer to the given input file.
+     *
+     * <p>The transformer is given the input file and an empty output directory provided by this cache. When the input is a regular file, the result is
+     * reused for any input file with the same content, and the transformer is only invoked when no such result is available.</p>
+     *
+     * @param input The file to transform.
+     * @param transformHash A hash of the transform implementation and its parameters, or null when the transform cannot be identified across builds.
+     * In that case the transformer is invoked every time, and its result is not cached.
+     * @param transformer The action that performs the transformation.
+     */
+    List<File> getResult(File input, @Nullable HashCode transformHash, BiFunction<List<File>, File, File> transformer);
+}
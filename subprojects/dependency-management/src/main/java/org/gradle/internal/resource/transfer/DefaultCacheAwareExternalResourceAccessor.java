@@ -61,17 +61,29 @@ public class DefaultCacheAwareExternalResourceAccessor implements CacheAwareExte
     private final BuildCommencedTimeProvider timeProvider;
     private final TemporaryFileProvider temporaryFileProvider;
     private final CacheLockingManager cacheLockingManager;
+    private final DownloadCoordinator downloadCoordinator;
     private final ExternalResourceCachePolicy externalResourceCachePolicy = new DefaultExternalResourceCachePolicy();
 
-    public DefaultCacheAwareExternalResourceAccessor(ExternalResourceRepository delegate, CachedExternalResourceIndex<String> cachedExternalResourceIndex, BuildCommencedTimeProvider timeProvider, TemporaryFileProvider temporaryFileProvider, CacheLockingManager cacheLockingManager) {
+    public DefaultCacheAwareExternalResourceAccessor(ExternalResourceRepository delegate, CachedExternalResourceIndex<String> cachedExternalResourceIndex, BuildCommencedTimeProvider timeProvider, TemporaryFileProvider temporaryFileProvider, CacheLockingManager cacheLockingManager, DownloadCoordinator downloadCoordinator) {
         this.delegate = delegate;
         this.cachedExternalResourceIndex = cachedExternalResourceIndex;
         this.timeProvider = timeProvider;
         this.temporaryFileProvider = temporaryFileProvider;
         this.cacheLockingManager = cacheLockingManager;
+        this.downloadCoordinator = downloadCoordinator;
     }
 
     public LocallyAvailableExternalResource getResource(final URI location, final ResourceFileStore fileStore, @Nullable LocallyAvailableResourceCandidates localCandidates) throws IOException {
+        // Another thread may be fetching the same resource: wait for it, so that the resource is then found in the cache
+        DownloadCoordinator.Lease lease = downloadCoordinator.acquire(location);
+        try {
+            return getResourceExclusively(location, fileStore, localCandidates);
+        } finally {
+            lease.release();
+        }
+    }
+
+    private LocallyAvailableExternalResource getResourceExclusively(final URI location, final ResourceFileStore fileStore, @Nullable LocallyAvailableResourceCandidates localCandidates) throws IOException {
         LOGGER.debug("Constructing external resource: {}", location);
         CachedExternalResource cached = cachedExternalResourceIndex.lookup(location.toString());
 
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.resource.transfer;
+
+import net.jcip.annotations.ThreadSafe;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Coordinates concurrent access to remote resources across all repositories of a build:
+ * <ul>
+ *     <li>Only one thread at a time accesses a given resource location, so that a resource requested by several threads is downloaded once and then found in the cache by the others.</li>
+ *     <li>The number of resources accessed concurrently from a repository, identified by the scheme, host and port of the resource location, is bounded.</li>
+ * </ul>
+ */
+@ThreadSafe
+public class DownloadCoordinator {
+    public static final int DEFAULT_MAX_CONCURRENT_DOWNLOADS_PER_REPOSITORY = 4;
+
+    private final int maxConcurrentDownloadsPerRepository;
+    private final ConcurrentMap<String, Semaphore> repositoryPermits = new ConcurrentHashMap<String, Semaphore>();
+    private final Map<URI, InFlightResource> inFlight = new HashMap<URI, InFlightResource>();
+
+    public DownloadCoordinator(int maxConcurrentDownloadsPerRepository) {
+        this.maxConcurrentDownloadsPerRepository = maxConcurrentDownloadsPerRepository;
+    }
+
+    /**
+     * Blocks until the current thread may access the given location. The returned lease must be released once the access has completed.
+     */
+    public Lease acquire(URI location) {
+        InFlightResource resource;
+        synchronized (inFlight) {
+            resource = inFlight.get(location);
+            if (resource == null) {
+                resource = new InFlightResource(location);
+                inFlight.put(location, resource);
+            }
+            resource.users++;
+        }
+        resource.lock.lock();
+        Semaphore permits = permitsFor(location);
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            resource.release();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to access " + location, e);
+        }
+        return new DefaultLease(resource, permits);
+    }
+
+    private Semaphore permitsFor(URI location) {
+        String repositoryKey = location.getScheme() + "://" + location.getAuthority();
+        Semaphore permits = repositoryPermits.get(repositoryKey);
+        if (permits == null) {
+            permits = new Semaphore(maxConcurrentDownloadsPerRepository);
+            Semaphore existing = repositoryPermits.putIfAbsent(repositoryKey, permits);
+            if (existing != null) {
+                permits = existing;
+            }
+        }
+        return permits;
+    }
+
+    /**
+     * Grants access to a resource location, until released.
+     */
+    public interface Lease {
+        void release();
+    }
+
+    private class InFlightResource {
+        final URI location;
+        final ReentrantLock lock = new ReentrantLock();
+        // Guarded by inFlight
+        int users;
+
+        InFlightResource(URI location) {
+            this.location = location;
+        }
+
+        void release() {
+            lock.unlock();
+            synchronized (inFlight) {
+                users--;
+                if (users == 0) {
+                    inFlight.remove(location);
+                }
+            }
+        }
+    }
+
+    private static class DefaultLease implements Lease {
+        private final InFlightResource resource;
+        private final Semaphore permits;
+
+        DefaultLease(InFlightResource resource, Semaphore permits) {
+            this.resource = resource;
+            this.permits = permits;
+        }
+
+        @Override
+        public void release() {
+            permits.release();
+            resource.release();
+        }
+    }
+}
@@ -35,12 +35,13 @@ public class ResourceConnectorRepositoryTransport extends AbstractRepositoryTran
                                                 BuildCommencedTimeProvider timeProvider,
                                                 CacheLockingManager cacheLockingManager,
                                                 ExternalResourceConnector connector,
-                                                BuildOperationExecutor buildOperationExecutor) {
+                                                BuildOperationExecutor buildOperationExecutor,
+                                                DownloadCoordinator downloadCoordinator) {
         super(name);
         ProgressLoggingExternalResourceUploader loggingUploader = new ProgressLoggingExternalResourceUploader(connector, progressLoggerFactory);
         ProgressLoggingExternalResourceAccessor loggingAccessor = new ProgressLoggingExternalResourceAccessor(connector, progressLoggerFactory);
         repository = new DefaultExternalResourceRepository(name, connector, connector, connector, loggingAccessor, loggingUploader, buildOperationExecutor);
-        resourceAccessor = new DefaultCacheAwareExternalResourceAccessor(repository, cachedExternalResourceIndex, timeProvider, temporaryFileProvider, cacheLockingManager);
+        resourceAccessor = new DefaultCacheAwareExternalResourceAccessor(repository, cachedExternalResourceIndex, timeProvider, temporaryFileProvider, cacheLockingManager, downloadCoordinator);
     }
 
     public ExternalResourceRepository getRepository() {
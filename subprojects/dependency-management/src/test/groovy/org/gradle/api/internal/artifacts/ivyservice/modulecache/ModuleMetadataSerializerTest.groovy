@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.modulecache
+
+import com.google.common.collect.LinkedHashMultimap
+import org.gradle.api.internal.artifacts.DefaultModuleVersionSelector
+import org.gradle.internal.component.external.descriptor.Configuration
+import org.gradle.internal.component.external.descriptor.DefaultExclude
+import org.gradle.internal.component.external.descriptor.MavenScope
+import org.gradle.internal.component.external.descriptor.MutableModuleDescriptorState
+import org.gradle.internal.component.external.model.DefaultModuleComponentIdentifier
+import org.gradle.internal.component.external.model.DefaultMutableIvyModuleResolveMetadata
+import org.gradle.internal.component.external.model.DefaultMutableMavenModuleResolveMetadata
+import org.gradle.internal.component.external.model.IvyDependencyMetadata
+import org.gradle.internal.component.external.model.MavenDependencyMetadata
+import org.gradle.internal.component.external.model.ModuleComponentResolveMetadata
+import org.gradle.internal.serialize.kryo.KryoBackedDecoder
+import org.gradle.internal.serialize.kryo.KryoBackedEncoder
+import spock.lang.Specification
+
+class ModuleMetadataSerializerTest extends Specification {
+    def serializer = new ModuleMetadataSerializer()
+    def id = DefaultModuleComponentIdentifier.newId("org.test", "test", "1.0")
+
+    def "round trips maven metadata"() {
+        def descriptor = new MutableModuleDescriptorState(id, "release", false)
+        descriptor.description = "a module"
+        def dependencies = [
+            new MavenDependencyMetadata(MavenScope.Compile, false, DefaultModuleVersionSelector.newSelector("org.test", "dep1", "1.0"), [], [new DefaultExclude("org.test", "dep3", "*", "*", "*", [] as String[], "exact")]),
+            new MavenDependencyMetadata(MavenScope.Runtime, true, DefaultModuleVersionSelector.newSelector("org.test", "dep2", "1.0"), [], [])
+        ]
+        def metadata = new DefaultMutableMavenModuleResolveMetadata(id, descriptor, "jar", false, dependencies)
+        metadata.snapshotTimestamp = null
+
+        when:
+        def result = roundTrip(metadata.asImmutable())
+
+        then:
+        result.id == metadata.id
+        result.descriptor.status == "release"
+        result.descriptor.description == "a module"
+        result.descriptor.branch == null
+        result.packaging == "jar"
+        result.snapshotTimestamp == null
+        result.dependencies.size() == 2
+        result.dependencies[0].requested == DefaultModuleVersionSelector.newSelector("org.test", "dep1", "1.0")
+        result.dependencies[0].scope == MavenScope.Compile
+        result.dependencies[0].dependencyExcludes.size() == 1
+        result.dependencies[0].dependencyExcludes[0].moduleId.name == "dep3"
+        result.dependencies[1].requested == DefaultModuleVersionSelector.newSelector("org.test", "dep2", "1.0")
+        result.dependencies[1].scope == MavenScope.Runtime
+        result.dependencies[1].optional
+    }
+
+    def "round trips ivy metadata"() {
+        def descriptor = new MutableModuleDescriptorState(id, "integration", true)
+        def mappings = LinkedHashMultimap.create()
+        mappings.put("compile", "default")
+        mappings.put("runtime", "default")
+        def dependency = new IvyDependencyMetadata(DefaultModuleVersionSelector.newSelector("org.test", "dep", "1.+"), "1.+", false, true, true, mappings, [], [])
+        def metadata = new DefaultMutableIvyModuleResolveMetadata(id, descriptor, [new Configuration("compile", true, true, []), new Configuration("runtime", true, true, ["compile"])], [dependency])
+
+        when:
+        def result = roundTrip(metadata.asImmutable())
+
+        then:
+        result.id == metadata.id
+        result.descriptor.generated
+        result.configurationNames == ["compile", "runtime"] as Set
+        result.getConfiguration("runtime").hierarchy == ["runtime", "compile"] as Set
+        result.dependencies.size() == 1
+        result.dependencies[0].requested.version == "1.+"
+        result.dependencies[0].confMappings == mappings
+        result.dependencies[0].changing
+    }
+
+    def "writes repeated strings once"() {
+        def dependencies = (1..20).collect {
+            new MavenDependencyMetadata(MavenScope.Compile, false, DefaultModuleVersionSelector.newSelector("org.some.long.group.name", "module", "1.0.0-SNAPSHOT"), [], [])
+        }
+        def metadata = new DefaultMutableMavenModuleResolveMetadata(id, new MutableModuleDescriptorState(id), "jar", false, dependencies).asImmutable()
+
+        expect:
+        serialize(metadata).length < 20 * "org.some.long.group.name".length()
+    }
+
+    def "returns null for metadata written in a different format"() {
+        def bytes = serialize(new DefaultMutableMavenModuleResolveMetadata(id, new MutableModuleDescriptorState(id), "jar", false, []).asImmutable())
+        bytes[0] = 1
+
+        expect:
+        serializer.read(new KryoBackedDecoder(new ByteArrayInputStream(bytes))) == null
+    }
+
+    private ModuleComponentResolveMetadata roundTrip(ModuleComponentResolveMetadata metadata) {
+        def bytes = serialize(metadata)
+        return serializer.read(new KryoBackedDecoder(new ByteArrayInputStream(bytes))).asImmutable()
+    }
+
+    private byte[] serialize(ModuleComponentResolveMetadata metadata) {
+        def outputStream = new ByteArrayOutputStream()
+        def encoder = new KryoBackedEncoder(outputStream)
+        serializer.write(encoder, metadata)
+        encoder.flush()
+        return outputStream.toByteArray()
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.resolveengine.artifact
+
+import org.gradle.api.artifacts.component.ComponentArtifactIdentifier
+import org.gradle.api.internal.artifacts.DefaultResolvedArtifact
+import org.gradle.api.internal.artifacts.ivyservice.CacheLockingManager
+import org.gradle.internal.component.external.model.ModuleComponentArtifactIdentifier
+import org.gradle.internal.concurrent.DefaultExecutorFactory
+import org.gradle.internal.progress.TestBuildOperationExecutor
+import spock.lang.Specification
+
+class ParallelArtifactDownloaderTest extends Specification {
+    // Not a Spock mock, as the artifact mocks are invoked from other threads while this is running
+    def cacheLockingManager = [longRunningOperation: { Runnable action -> action.run() }] as CacheLockingManager
+    def buildOperationExecutor = new TestBuildOperationExecutor()
+    def downloader = new ParallelArtifactDownloader(cacheLockingManager, buildOperationExecutor, new DefaultExecutorFactory(), 2)
+
+    def cleanup() {
+        downloader.stop()
+    }
+
+    def "downloads unresolved external artifacts"() {
+        def artifact1 = externalArtifact()
+        def artifact2 = externalArtifact()
+        def artifact3 = externalArtifact()
+
+        when:
+        downloader.download(ArtifactBackedArtifactSet.of([artifact1, artifact2, artifact3]))
+
+        then:
+        1 * artifact1.isResolved() >> false
+        1 * artifact2.isResolved() >> true
+        1 * artifact3.isResolved() >> false
+        1 * artifact1.getFile()
+        1 * artifact3.getFile()
+        0 * artifact2.getFile()
+    }
+
+    def "downloads artifacts as children of the current build operation"() {
+        def artifact1 = externalArtifact()
+        def artifact2 = externalArtifact()
+
+        when:
+        downloader.download(ArtifactBackedArtifactSet.of([artifact1, artifact2]))
+
+        then:
+        buildOperationExecutor.operations.size() == 2
+        buildOperationExecutor.operations.every { it.parent.id == "current" }
+    }
+
+    def "does not download project artifacts"() {
+        def artifact1 = Mock(DefaultResolvedArtifact) {
+            getId() >> Stub(ComponentArtifactIdentifier)
+        }
+        def artifact2 = Mock(DefaultResolvedArtifact) {
+            getId() >> Stub(ComponentArtifactIdentifier)
+        }
+
+        when:
+        downloader.download(ArtifactBackedArtifactSet.of([artifact1, artifact2]))
+
+        then:
+        0 * artifact1.getFile()
+        0 * artifact2.getFile()
+    }
+
+    def "ignores download failures"() {
+        def artifact1 = externalArtifact()
+        def artifact2 = externalArtifact()
+
+        when:
+        downloader.download(ArtifactBackedArtifactSet.of([artifact1, artifact2]))
+
+        then:
+        1 * artifact1.getFile() >> { throw new RuntimeException("broken") }
+        1 * artifact2.getFile()
+        noExceptionThrown()
+    }
+
+    private DefaultResolvedArtifact externalArtifact() {
+        return Mock(DefaultResolvedArtifact) {
+            getId() >> Stub(ModuleComponentArtifactIdentifier)
+        }
+    }
+}
@@ -24,6 +24,7 @@ import org.gradle.api.attributes.AttributeContainer
 import org.gradle.api.internal.attributes.DefaultMutableAttributeContainer
 import org.gradle.api.internal.attributes.DefaultAttributesSchema
 import org.gradle.api.internal.attributes.DefaultImmutableAttributesFactory
+import org.gradle.internal.classloader.ClassLoaderHierarchyHasher
 import org.gradle.internal.component.model.ComponentAttributeMatcher
 import spock.lang.Specification
 
@@ -32,7 +33,7 @@ class ArtifactAttributeMatchingCacheTest extends Specification {
     def matcher = Mock(ComponentAttributeMatcher)
     def schema = new DefaultAttributesSchema(matcher)
     def immutableAttributesFactory = new DefaultImmutableAttributesFactory()
-    def transformRegistrations = new DefaultArtifactTransformRegistrations(immutableAttributesFactory)
+    def transformRegistrations = new DefaultArtifactTransformRegistrations(immutableAttributesFactory, Stub(TransformedFileCache), Stub(ClassLoaderHierarchyHasher))
     def matchingCache = new ArtifactAttributeMatchingCache(transformRegistrations, schema)
 
     def a1 = Attribute.of("a1", String)
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.transform
+
+import com.google.common.hash.HashCode
+import org.gradle.api.Action
+import org.gradle.api.artifacts.transform.ArtifactTransform
+import org.gradle.api.artifacts.transform.ArtifactTransformTargets
+import org.gradle.api.attributes.Attribute
+import org.gradle.api.attributes.AttributeContainer
+import org.gradle.api.internal.attributes.DefaultImmutableAttributesFactory
+import org.gradle.internal.classloader.ClassLoaderHierarchyHasher
+import spock.lang.Specification
+
+class DefaultArtifactTransformRegistrationsTest extends Specification {
+    def classLoaderHierarchyHasher = Stub(ClassLoaderHierarchyHasher) {
+        getClassLoaderHash(_) >> HashCode.fromInt(123)
+    }
+    def input = new File("thing.jar")
+
+    def "transform hash depends on the parameters set by the configuration action"() {
+        when:
+        def hash1 = transformHash(new Configure(format: "a", values: [1, 2]))
+        def hash2 = transformHash(new Configure(format: "a", values: [1, 2]))
+        def hash3 = transformHash(new Configure(format: "b", values: [1, 2]))
+        def hash4 = transformHash(new Configure(format: "a", values: [1, 3]))
+
+        then:
+        hash1 != null
+        hash1 == hash2
+        hash1 != hash3
+        hash1 != hash4
+    }
+
+    def "does not hash transform when a parameter cannot be hashed"() {
+        expect:
+        transformHash(new Configure(format: "a", other: new Object())) == null
+    }
+
+    def "does not hash transform when its class loader cannot be hashed"() {
+        given:
+        classLoaderHierarchyHasher = Mock(ClassLoaderHierarchyHasher)
+
+        expect:
+        transformHash(new Configure(format: "a")) == null
+    }
+
+    private HashCode transformHash(Action<? super ArtifactTransform> config) {
+        HashCode hash = null
+        def transformedFileCache = { File file, HashCode transformHash, def transformer ->
+            hash = transformHash
+            []
+        } as TransformedFileCache
+        def registrations = new DefaultArtifactTransformRegistrations(new DefaultImmutableAttributesFactory(), transformedFileCache, classLoaderHierarchyHasher)
+        registrations.registerTransform(Transform, config)
+        registrations.transforms.first().transform.transform(input)
+        return hash
+    }
+
+    static class Configure implements Action<ArtifactTransform> {
+        String format
+        List<Integer> values
+        Object other
+
+        @Override
+        void execute(ArtifactTransform transform) {
+            transform.format = format
+            transform.values = values
+            transform.other = other
+        }
+    }
+
+    static class Transform extends ArtifactTransform {
+        String format
+        List<Integer> values
+        Object other
+
+        void configure(AttributeContainer from, ArtifactTransformTargets targetRegistry) {
+            def type = Attribute.of("type", String)
+            from.attribute(type, "jar")
+            targetRegistry.newTarget().attribute(type, "classes")
+        }
+
+        List<File> transform(File input, AttributeContainer target) {}
+    }
+}
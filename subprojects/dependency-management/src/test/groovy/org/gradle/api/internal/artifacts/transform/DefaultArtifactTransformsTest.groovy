@@ -22,13 +22,16 @@ import org.gradle.api.artifacts.ResolvedArtifact
 import org.gradle.api.artifacts.component.ComponentIdentifier
 import org.gradle.api.attributes.AttributesSchema
 import org.gradle.api.internal.artifacts.attributes.DefaultArtifactAttributes
+import org.gradle.api.internal.artifacts.ivyservice.CacheLockingManager
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.artifact.ArtifactVisitor
 import org.gradle.api.internal.attributes.AttributeContainerInternal
 import org.gradle.api.internal.attributes.DefaultMutableAttributeContainer
 import org.gradle.api.internal.attributes.DefaultAttributesSchema
 import org.gradle.api.internal.attributes.DefaultImmutableAttributesFactory
 import org.gradle.api.internal.attributes.ImmutableAttributesFactory
+import org.gradle.internal.classloader.ClassLoaderHierarchyHasher
 import org.gradle.internal.component.model.ComponentAttributeMatcher
+import org.gradle.internal.concurrent.DefaultExecutorFactory
 import org.gradle.internal.resolve.ArtifactResolveException
 import spock.lang.Specification
 
@@ -38,13 +41,18 @@ import static org.gradle.api.internal.artifacts.ArtifactAttributes.ARTIFACT_FORM
 
 class DefaultArtifactTransformsTest extends Specification {
     def matchingCache = Mock(ArtifactAttributeMatchingCache)
-    def transformer = new DefaultArtifactTransforms(matchingCache, null)
+    def transformExecutor = new ArtifactTransformExecutor([longRunningOperation: { Runnable action -> action.run() }] as CacheLockingManager, new DefaultExecutorFactory(), 2)
+    def transformer = new DefaultArtifactTransforms(matchingCache, null, transformExecutor)
     def ImmutableAttributesFactory immutableAttributesFactory
 
     def setup() {
         immutableAttributesFactory = new DefaultImmutableAttributesFactory()
     }
 
+    def cleanup() {
+        transformExecutor.stop()
+    }
+
     def "forwards artifact whose type matches requested format"() {
         def visitor = Mock(ArtifactVisitor)
         def artifact = Stub(ResolvedArtifact)
@@ -168,6 +176,32 @@ class DefaultArtifactTransformsTest extends Specification {
         0 * _
     }
 
+    def "applies transforms to multiple files and forwards results in order"() {
+        def visitor = Mock(ArtifactVisitor)
+        def id = Stub(ComponentIdentifier)
+        def transform = Mock(Transformer)
+        def file1 = new File("thing1.zip")
+        def file2 = new File("thing2.classpath")
+        def file3 = new File("thing3.zip")
+        def transformedFile1 = new File("thing1.classpath")
+        def transformedFile3 = new File("thing3.classpath")
+
+        given:
+        matchingCache.areMatchingAttributes(DefaultArtifactAttributes.forFile(file1, immutableAttributesFactory), typeAttributes("classpath")) >> false
+        matchingCache.areMatchingAttributes(DefaultArtifactAttributes.forFile(file2, immutableAttributesFactory), typeAttributes("classpath")) >> true
+        matchingCache.getTransform(DefaultArtifactAttributes.forFile(file1, immutableAttributesFactory), typeAttributes("classpath")) >> transform
+
+        when:
+        transformer.visitor(visitor, typeAttributes("classpath"), immutableAttributesFactory).visitFiles(id, [file1, file2, file3])
+
+        then:
+        1 * transform.transform(file1) >> [transformedFile1]
+        1 * transform.transform(file3) >> [transformedFile3]
+        1 * matchingCache.putTransformedFile(file1, typeAttributes("classpath"), [transformedFile1])
+        1 * matchingCache.putTransformedFile(file3, typeAttributes("classpath"), [transformedFile3])
+        1 * visitor.visitFiles(id, [transformedFile1, file2, transformedFile3])
+    }
+
     def "applies transform once only"() {
         def visitor = Mock(ArtifactVisitor)
         def id = Stub(ComponentIdentifier)
@@ -225,8 +259,8 @@ class DefaultArtifactTransformsTest extends Specification {
     }
 
     def "selects variant with requested attributes"() {
-        def realCache = new ArtifactAttributeMatchingCache(new DefaultArtifactTransformRegistrations(), setupSchema())
-        transformer = new DefaultArtifactTransforms(realCache, null)
+        def realCache = new ArtifactAttributeMatchingCache(new DefaultArtifactTransformRegistrations(immutableAttributesFactory, Stub(TransformedFileCache), Stub(ClassLoaderHierarchyHasher)), setupSchema())
+        transformer = new DefaultArtifactTransforms(realCache, null, transformExecutor)
         def artifact1 = Stub(ResolvedArtifact)
         def artifact2 = Stub(ResolvedArtifact)
 
@@ -256,8 +290,8 @@ class DefaultArtifactTransformsTest extends Specification {
     }
 
     def "selects variant with requested attributes when another variant can be transformed"() {
-        def realCache = new ArtifactAttributeMatchingCache(new DefaultArtifactTransformRegistrations(), setupSchema())
-        transformer = new DefaultArtifactTransforms(realCache, null)
+        def realCache = new ArtifactAttributeMatchingCache(new DefaultArtifactTransformRegistrations(immutableAttributesFactory, Stub(TransformedFileCache), Stub(ClassLoaderHierarchyHasher)), setupSchema())
+        transformer = new DefaultArtifactTransforms(realCache, null, transformExecutor)
 
         def artifact1 = Stub(ResolvedArtifact)
         def artifact2 = Stub(ResolvedArtifact)
@@ -274,8 +308,8 @@ class DefaultArtifactTransformsTest extends Specification {
     }
 
     def "selects no variant when none match"() {
-        def realCache = new ArtifactAttributeMatchingCache(new DefaultArtifactTransformRegistrations(), setupSchema())
-        transformer = new DefaultArtifactTransforms(realCache, null)
+        def realCache = new ArtifactAttributeMatchingCache(new DefaultArtifactTransformRegistrations(immutableAttributesFactory, Stub(TransformedFileCache), Stub(ClassLoaderHierarchyHasher)), setupSchema())
+        transformer = new DefaultArtifactTransforms(realCache, null, transformExecutor)
 
         def artifact1 = Stub(ResolvedArtifact)
         def artifact2 = Stub(ResolvedArtifact)
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.transform
+
+import com.google.common.hash.HashCode
+import org.gradle.api.internal.file.DefaultTemporaryFileProvider
+import org.gradle.api.internal.hash.FileHasher
+import org.gradle.cache.internal.DefaultCacheRepository
+import org.gradle.cache.internal.DefaultCacheScopeMapping
+import org.gradle.initialization.SessionLifecycleListener
+import org.gradle.internal.Factory
+import org.gradle.internal.event.DefaultListenerManager
+import org.gradle.internal.util.BiFunction
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.gradle.testfixtures.internal.InMemoryCacheFactory
+import org.gradle.util.GradleVersion
+import org.junit.Rule
+import spock.lang.Specification
+
+class DefaultTransformedFileCacheTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+    def fileHasher = Mock(FileHasher)
+    def transformer = Mock(BiFunction)
+    def transformHash = HashCode.fromInt(123)
+    def cacheRepository = new DefaultCacheRepository(new DefaultCacheScopeMapping(tmpDir.file("user-home"), tmpDir.file("build-dir"), GradleVersion.current()), new InMemoryCacheFactory())
+    def temporaryFileProvider = new DefaultTemporaryFileProvider({ tmpDir.file("tmp") } as Factory)
+    def listenerManager = new DefaultListenerManager()
+    def cache = new DefaultTransformedFileCache(cacheRepository, fileHasher, temporaryFileProvider, listenerManager)
+
+    def cleanup() {
+        cache.stop()
+    }
+
+    def "runs transform in an output directory within the cache"() {
+        def input = tmpDir.createFile("a.jar")
+
+        when:
+        def result = cache.getResult(input, transformHash, transformer)
+
+        then:
+        1 * fileHasher.hash(input) >> HashCode.fromInt(1)
+        1 * transformer.apply(input, _) >> { File file, File outputDir -> [writeOutput(outputDir, "a.txt")] }
+        0 * _
+
+        and:
+        result.size() == 1
+        result[0].name == "a.txt"
+        result[0].text == "a.txt"
+        result[0].parentFile.parentFile.name == "a.jar"
+        result[0].path.startsWith(tmpDir.file("user-home").path)
+    }
+
+    def "reuses result for input with the same content"() {
+        def input1 = tmpDir.createFile("a.jar")
+        def input2 = tmpDir.createFile("b.jar")
+
+        given:
+        fileHasher.hash(_) >> HashCode.fromInt(1)
+
+        when:
+        def result1 = cache.getResult(input1, transformHash, transformer)
+        def result2 = cache.getResult(input2, transformHash, transformer)
+
+        then:
+        1 * transformer.apply(input1, _) >> { File file, File outputDir -> [writeOutput(outputDir, "a.txt")] }
+        0 * transformer._
+
+        and:
+        result2 == result1
+    }
+
+    def "runs transform again when input content or transform changes"() {
+        def input = tmpDir.createFile("a.jar")
+
+        when:
+        cache.getResult(input, transformHash, transformer)
+        cache.getResult(input, transformHash, transformer)
+        cache.getResult(input, HashCode.fromInt(456), transformer)
+
+        then:
+        3 * fileHasher.hash(input) >>> [HashCode.fromInt(1), HashCode.fromInt(2), HashCode.fromInt(2)]
+        3 * transformer.apply(input, _) >> { File file, File outputDir -> [writeOutput(outputDir, "a.txt")] }
+    }
+
+    def "reuses result from previous build"() {
+        def input = tmpDir.createFile("a.jar")
+        def previousTransformer = Stub(BiFunction) {
+            apply(input, _) >> { File file, File outputDir -> [writeOutput(outputDir, "a.txt")] }
+        }
+
+        given:
+        fileHasher.hash(_) >> HashCode.fromInt(1)
+        def previousResult = cache.getResult(input, transformHash, previousTransformer)
+        cache.stop()
+        cache = new DefaultTransformedFileCache(cacheRepository, fileHasher, temporaryFileProvider, listenerManager)
+
+        when:
+        def result = cache.getResult(input, transformHash, transformer)
+
+        then:
+        0 * transformer._
+        result == previousResult
+    }
+
+    def "runs transform again when previous outputs have been removed"() {
+        def input = tmpDir.createFile("a.jar")
+        def previousTransformer = Stub(BiFunction) {
+            apply(input, _) >> { File file, File outputDir -> [writeOutput(outputDir, "a.txt")] }
+        }
+
+        given:
+        fileHasher.hash(_) >> HashCode.fromInt(1)
+        def previousResult = cache.getResult(input, transformHash, previousTransformer)
+        cache.stop()
+        previousResult[0].delete()
+        cache = new DefaultTransformedFileCache(cacheRepository, fileHasher, temporaryFileProvider, listenerManager)
+
+        when:
+        def result = cache.getResult(input, transformHash, transformer)
+
+        then:
+        1 * transformer.apply(input, _) >> { File file, File outputDir -> [writeOutput(outputDir, "a.txt")] }
+        result == previousResult
+        result[0].file
+    }
+
+    def "reuses result for directory input with the same location and content"() {
+        def input = tmpDir.createDir("classes")
+        def file = input.createFile("a/A.class")
+
+        when:
+        def result1 = cache.getResult(input, transformHash, transformer)
+        def result2 = cache.getResult(input, transformHash, transformer)
+
+        then:
+        2 * fileHasher.hash(file) >> HashCode.fromInt(1)
+        1 * transformer.apply(input, _) >> { File f, File outputDir -> [writeOutput(outputDir, "a.txt")] }
+        0 * _
+
+        and:
+        result2 == result1
+    }
+
+    def "runs transform again when directory input content changes"() {
+        def input = tmpDir.createDir("classes")
+        def file = input.createFile("a/A.class")
+
+        given:
+        fileHasher.hash(file) >>> [HashCode.fromInt(1), HashCode.fromInt(2)]
+        fileHasher.hash(_) >> HashCode.fromInt(3)
+
+        when:
+        cache.getResult(input, transformHash, transformer)
+
+        then:
+        1 * transformer.apply(input, _) >> { File f, File outputDir -> [writeOutput(outputDir, "a.txt")] }
+
+        when:
+        cache.getResult(input, transformHash, transformer)
+
+        then:
+        1 * transformer.apply(input, _) >> { File f, File outputDir -> [writeOutput(outputDir, "a.txt")] }
+
+        when:
+        input.createFile("B.class")
+        cache.getResult(input, transformHash, transformer)
+
+        then:
+        1 * transformer.apply(input, _) >> { File f, File outputDir -> [writeOutput(outputDir, "a.txt")] }
+    }
+
+    def "replaces the previous result when directory input content changes"() {
+        def input = tmpDir.createDir("classes")
+        def file = input.createFile("a/A.class")
+
+        given:
+        fileHasher.hash(file) >>> [HashCode.fromInt(1), HashCode.fromInt(2)]
+
+        when:
+        def result1 = cache.getResult(input, transformHash, transformer)
+
+        then:
+        1 * transformer.apply(input, _) >> { File f, File outputDir -> [writeOutput(outputDir, "a.txt")] }
+
+        when:
+        def result2 = cache.getResult(input, transformHash, transformer)
+
+        then:
+        1 * transformer.apply(input, _) >> { File f, File outputDir -> [writeOutput(outputDir, "b.txt")] }
+
+        and:
+        result2[0].parentFile == result1[0].parentFile
+        !result1[0].exists()
+        result2[0].text == "b.txt"
+        result2[0].parentFile.parentFile.list() as List == [result2[0].parentFile.name]
+    }
+
+    def "runs transform for directory input again in the next build"() {
+        def input = tmpDir.createDir("classes")
+        def file = input.createFile("a/A.class")
+
+        given:
+        fileHasher.hash(file) >> HashCode.fromInt(1)
+
+        when:
+        def result1 = cache.getResult(input, transformHash, transformer)
+        listenerManager.getBroadcaster(SessionLifecycleListener).beforeComplete()
+        def result2 = cache.getResult(input, transformHash, transformer)
+
+        then:
+        2 * transformer.apply(input, _) >> { File f, File outputDir -> [writeOutput(outputDir, "a.txt")] }
+
+        and:
+        result2 == result1
+        result2[0].text == "a.txt"
+    }
+
+    def "runs transform every time when the transform cannot be identified"() {
+        def input = tmpDir.createFile("a.jar")
+
+        when:
+        def result1 = cache.getResult(input, null, transformer)
+        def result2 = cache.getResult(input, null, transformer)
+
+        then:
+        2 * transformer.apply(input, _) >> { File file, File outputDir -> [writeOutput(outputDir, "a.txt")] }
+        0 * _
+
+        and:
+        result1 != result2
+        result1[0].text == "a.txt"
+        result2[0].text == "a.txt"
+        result1[0].path.startsWith(tmpDir.file("tmp").path)
+        result2[0].path.startsWith(tmpDir.file("tmp").path)
+    }
+
+    def "deletes the results of transforms that cannot be identified at the end of the build"() {
+        def input = tmpDir.createFile("a.jar")
+
+        given:
+        transformer.apply(input, _) >> { File file, File outputDir -> [writeOutput(outputDir, "a.txt")] }
+        def result = cache.getResult(input, null, transformer)
+
+        when:
+        listenerManager.getBroadcaster(SessionLifecycleListener).beforeComplete()
+
+        then:
+        !result[0].exists()
+        tmpDir.file("tmp").list().length == 0
+    }
+
+    def "does not cache failed transform"() {
+        def input = tmpDir.createFile("a.jar")
+        def failure = new RuntimeException("broken")
+
+        given:
+        fileHasher.hash(_) >> HashCode.fromInt(1)
+
+        when:
+        cache.getResult(input, transformHash, transformer)
+
+        then:
+        def e = thrown(RuntimeException)
+        e == failure
+        1 * transformer.apply(input, _) >> { throw failure }
+
+        when:
+        def result = cache.getResult(input, transformHash, transformer)
+
+        then:
+        1 * transformer.apply(input, _) >> { File file, File outputDir -> [writeOutput(outputDir, "a.txt")] }
+        result[0].text == "a.txt"
+    }
+
+    def "keeps outputs that are not in the output directory"() {
+        def input = tmpDir.createFile("a.jar")
+
+        given:
+        fileHasher.hash(_) >> HashCode.fromInt(1)
+
+        when:
+        def result = cache.getResult(input, transformHash, transformer)
+
+        then:
+        1 * transformer.apply(input, _) >> { File file, File outputDir -> [file] }
+        result == [input]
+    }
+
+    private static File writeOutput(File outputDir, String name) {
+        def output = new File(outputDir, name)
+        output.text = name
+        return output
+    }
+}
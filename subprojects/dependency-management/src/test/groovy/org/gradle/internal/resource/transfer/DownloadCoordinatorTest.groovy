@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.resource.transfer
+
+import org.gradle.test.fixtures.concurrent.ConcurrentSpec
+
+class DownloadCoordinatorTest extends ConcurrentSpec {
+    def "different resources from a repository can be accessed concurrently"() {
+        def coordinator = new DownloadCoordinator(2)
+
+        expect:
+        async {
+            start {
+                def lease = coordinator.acquire(new URI("http://repo/a.jar"))
+                instant.first
+                thread.blockUntil.second
+                lease.release()
+            }
+            start {
+                def lease = coordinator.acquire(new URI("http://repo/b.jar"))
+                instant.second
+                thread.blockUntil.first
+                lease.release()
+            }
+        }
+    }
+
+    def "access to a resource blocks while the resource is in flight"() {
+        def coordinator = new DownloadCoordinator(2)
+
+        when:
+        async {
+            start {
+                def lease = coordinator.acquire(new URI("http://repo/a.jar"))
+                instant.first
+                thread.block()
+                instant.firstReleased
+                lease.release()
+            }
+            start {
+                thread.blockUntil.first
+                def lease = coordinator.acquire(new URI("http://repo/a.jar"))
+                instant.second
+                lease.release()
+            }
+        }
+
+        then:
+        instant.second > instant.firstReleased
+    }
+
+    def "access blocks when the repository has no permits available"() {
+        def coordinator = new DownloadCoordinator(1)
+
+        when:
+        async {
+            start {
+                def lease = coordinator.acquire(new URI("http://repo/a.jar"))
+                instant.first
+                thread.block()
+                instant.firstReleased
+                lease.release()
+            }
+            start {
+                thread.blockUntil.first
+                def lease = coordinator.acquire(new URI("http://repo/b.jar"))
+                instant.second
+                lease.release()
+            }
+        }
+
+        then:
+        instant.second > instant.firstReleased
+    }
+
+    def "repositories on different hosts have separate permits"() {
+        def coordinator = new DownloadCoordinator(1)
+
+        expect:
+        async {
+            start {
+                def lease = coordinator.acquire(new URI("http://repo1/a.jar"))
+                instant.first
+                thread.blockUntil.second
+                lease.release()
+            }
+            start {
+                def lease = coordinator.acquire(new URI("http://repo2/a.jar"))
+                instant.second
+                thread.blockUntil.first
+                lease.release()
+            }
+        }
+    }
+}
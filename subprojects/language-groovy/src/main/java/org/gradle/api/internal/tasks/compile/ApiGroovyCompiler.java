@@ -16,13 +16,18 @@
 
 package org.gradle.api.internal.tasks.compile;
 
+import com.google.common.base.Joiner;
 import com.google.common.collect.Iterables;
 import groovy.lang.Binding;
 import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyShell;
 import groovy.lang.GroovySystem;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.InnerClassNode;
 import org.codehaus.groovy.control.CompilationUnit;
 import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.Phases;
+import org.codehaus.groovy.control.SourceUnit;
 import org.codehaus.groovy.control.customizers.ImportCustomizer;
 import org.codehaus.groovy.control.messages.SimpleMessage;
 import org.codehaus.groovy.tools.javac.JavaAwareCompilationUnit;
@@ -41,15 +46,18 @@ import org.gradle.internal.classloader.DefaultClassLoaderFactory;
 import org.gradle.internal.classloader.FilteringClassLoader;
 import org.gradle.internal.classpath.DefaultClassPath;
 import org.gradle.language.base.internal.compile.Compiler;
+import org.gradle.util.GUtil;
 import org.gradle.util.VersionNumber;
 
 import java.io.File;
 import java.io.Serializable;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 
 import static org.gradle.internal.FileUtils.hasExtension;
 
@@ -170,8 +178,28 @@ public class ApiGroovyCompiler implements org.gradle.language.base.internal.comp
             }
         });
 
+        final Properties sourceClassesMapping = new Properties();
+        if (spec.getSourceClassesMappingFile() != null) {
+            unit.addPhaseOperation(new CompilationUnit.SourceUnitOperation() {
+                @Override
+                public void call(SourceUnit source) {
+                    // Inner classes are always compiled from the source file of their outer class
+                    List<String> classNames = new ArrayList<String>();
+                    for (ClassNode classNode : source.getAST().getClasses()) {
+                        if (!(classNode instanceof InnerClassNode)) {
+                            classNames.add(classNode.getName());
+                        }
+                    }
+                    sourceClassesMapping.setProperty(new File(source.getName()).getAbsolutePath(), Joiner.on(',').join(classNames));
+                }
+            }, Phases.CANONICALIZATION);
+        }
+
         try {
             unit.compile();
+            if (spec.getSourceClassesMappingFile() != null) {
+                GUtil.saveProperties(sourceClassesMapping, spec.getSourceClassesMappingFile());
+            }
         } catch (org.codehaus.groovy.control.CompilationFailedException e) {
             System.err.println(e.getMessage());
             // Explicit flush, System.err is an auto-flushing PrintWriter unless it is replaced.
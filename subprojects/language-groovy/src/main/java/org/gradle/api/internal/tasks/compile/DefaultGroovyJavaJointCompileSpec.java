@@ -24,6 +24,7 @@ import java.util.List;
 public class DefaultGroovyJavaJointCompileSpec extends DefaultJavaCompileSpec implements GroovyJavaJointCompileSpec {
     private GroovyCompileOptions compileOptions;
     private List<File> groovyClasspath;
+    private File sourceClassesMappingFile;
 
     @Override
     public GroovyCompileOptions getGroovyCompileOptions() {
@@ -43,4 +44,14 @@ public class DefaultGroovyJavaJointCompileSpec extends DefaultJavaCompileSpec im
     public void setGroovyClasspath(List<File> groovyClasspath) {
         this.groovyClasspath = groovyClasspath;
     }
+
+    @Override
+    public File getSourceClassesMappingFile() {
+        return sourceClassesMappingFile;
+    }
+
+    @Override
+    public void setSourceClassesMappingFile(File sourceClassesMappingFile) {
+        this.sourceClassesMappingFile = sourceClassesMappingFile;
+    }
 }
@@ -16,5 +16,16 @@
 
 package org.gradle.api.internal.tasks.compile;
 
+import org.gradle.api.Nullable;
+
+import java.io.File;
+
 public interface GroovyJavaJointCompileSpec extends JavaCompileSpec, GroovyCompileSpec {
+    /**
+     * The file to record the classes compiled from each Groovy source file into, or null when this is not required.
+     */
+    @Nullable
+    File getSourceClassesMappingFile();
+
+    void setSourceClassesMappingFile(@Nullable File sourceClassesMappingFile);
 }
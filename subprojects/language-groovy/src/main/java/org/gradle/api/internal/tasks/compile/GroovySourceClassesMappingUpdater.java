@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.SetMultimap;
+import org.gradle.api.internal.tasks.compile.incremental.CompilationSourceDirs;
+import org.gradle.api.internal.tasks.compile.incremental.SourceToNameConverter;
+import org.gradle.api.internal.tasks.compile.incremental.deps.LocalSourceClassesMappingStore;
+import org.gradle.api.internal.tasks.compile.incremental.deps.SourceClassesMapping;
+import org.gradle.api.tasks.WorkResult;
+import org.gradle.language.base.internal.compile.Compiler;
+import org.gradle.util.GFileUtils;
+import org.gradle.util.GUtil;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Keeps the mapping from Groovy source files to the classes compiled from them up to date, for incremental Groovy compilation.
+ * The Groovy compiler records the classes of the source files it has compiled, which replace the classes previously recorded for those source files.
+ */
+public class GroovySourceClassesMappingUpdater implements Compiler<GroovyJavaJointCompileSpec> {
+    private final Compiler<GroovyJavaJointCompileSpec> delegate;
+    private final CompilationSourceDirs sourceDirs;
+    private final SourceToNameConverter sourceToNameConverter;
+    private final LocalSourceClassesMappingStore store;
+
+    public GroovySourceClassesMappingUpdater(Compiler<GroovyJavaJointCompileSpec> delegate, CompilationSourceDirs sourceDirs, SourceToNameConverter sourceToNameConverter,
+                                             LocalSourceClassesMappingStore store) {
+        this.delegate = delegate;
+        this.sourceDirs = sourceDirs;
+        this.sourceToNameConverter = sourceToNameConverter;
+        this.store = store;
+    }
+
+    @Override
+    public WorkResult execute(GroovyJavaJointCompileSpec spec) {
+        File mappingFile = spec.getSourceClassesMappingFile();
+        if (mappingFile == null || !sourceDirs.canInferSourceRoots()) {
+            store.remove();
+            return delegate.execute(spec);
+        }
+
+        SourceClassesMapping previous = store.get();
+        Set<String> sourcePaths = new HashSet<String>();
+        for (File sourceFile : spec.getSource()) {
+            sourcePaths.add(sourceToNameConverter.getRelativePath(sourceFile));
+        }
+        GFileUtils.deleteQuietly(mappingFile);
+
+        WorkResult result;
+        try {
+            result = delegate.execute(spec);
+        } catch (RuntimeException e) {
+            store.remove();
+            throw e;
+        }
+
+        Properties recorded = mappingFile.isFile() ? GUtil.loadProperties(mappingFile) : new Properties();
+        Set<String> compiledSourcePaths = new HashSet<String>();
+        SetMultimap<String, String> sourcesToClasses = LinkedHashMultimap.create();
+        for (Map.Entry<Object, Object> entry : recorded.entrySet()) {
+            String sourcePath = sourceToNameConverter.getRelativePath(new File((String) entry.getKey()));
+            compiledSourcePaths.add(sourcePath);
+            sourcesToClasses.putAll(sourcePath, Splitter.on(',').omitEmptyStrings().split((String) entry.getValue()));
+        }
+        if (previous != null) {
+            for (String sourcePath : previous.getSourcePaths()) {
+                if (sourcePaths.contains(sourcePath) && !compiledSourcePaths.contains(sourcePath)) {
+                    sourcesToClasses.putAll(sourcePath, previous.getClassNames(sourcePath));
+                }
+            }
+        }
+        store.put(new SourceClassesMapping(sourcesToClasses));
+        return result;
+    }
+}
@@ -21,6 +21,10 @@ import com.google.common.collect.Lists;
 import org.gradle.api.InvalidUserDataException;
 import org.gradle.api.file.FileCollection;
 import org.gradle.api.file.FileTree;
+import org.gradle.api.internal.changedetection.changes.IncrementalTaskInputsInternal;
+import org.gradle.api.internal.changedetection.state.CachingFileHasher;
+import org.gradle.api.internal.file.FileOperations;
+import org.gradle.api.internal.file.collections.SimpleFileCollection;
 import org.gradle.api.internal.project.ProjectInternal;
 import org.gradle.api.internal.tasks.compile.AnnotationProcessorDetector;
 import org.gradle.api.internal.tasks.compile.CleaningGroovyCompiler;
@@ -28,8 +32,15 @@ import org.gradle.api.internal.tasks.compile.DefaultGroovyJavaJointCompileSpec;
 import org.gradle.api.internal.tasks.compile.DefaultGroovyJavaJointCompileSpecFactory;
 import org.gradle.api.internal.tasks.compile.GroovyCompilerFactory;
 import org.gradle.api.internal.tasks.compile.GroovyJavaJointCompileSpec;
+import org.gradle.api.internal.tasks.compile.GroovySourceClassesMappingUpdater;
 import org.gradle.api.internal.tasks.compile.JavaCompilerFactory;
 import org.gradle.api.internal.tasks.compile.daemon.InProcessCompilerDaemonFactory;
+import org.gradle.api.internal.tasks.compile.incremental.CompilationSourceDirs;
+import org.gradle.api.internal.tasks.compile.incremental.IncrementalCompilerFactory;
+import org.gradle.api.internal.tasks.compile.incremental.SourceToNameConverter;
+import org.gradle.api.internal.tasks.compile.incremental.cache.DefaultCompileCaches;
+import org.gradle.api.internal.tasks.compile.incremental.cache.GeneralCompileCaches;
+import org.gradle.api.internal.tasks.compile.incremental.deps.LocalSourceClassesMappingStore;
 import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.Classpath;
 import org.gradle.api.tasks.Internal;
@@ -38,10 +49,13 @@ import org.gradle.api.tasks.PathSensitive;
 import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.api.tasks.WorkResult;
+import org.gradle.api.tasks.incremental.IncrementalTaskInputs;
+import org.gradle.internal.operations.BuildOperationProcessor;
 import org.gradle.language.base.internal.compile.Compiler;
 import org.gradle.process.internal.daemon.WorkerDaemonManager;
 import org.gradle.util.GFileUtils;
 
+import javax.inject.Inject;
 import java.io.File;
 import java.util.List;
 
@@ -55,28 +69,76 @@ public class GroovyCompile extends AbstractCompile {
     private final CompileOptions compileOptions = new CompileOptions();
     private final GroovyCompileOptions groovyCompileOptions = new GroovyCompileOptions();
 
-    @Override
     @TaskAction
+    protected void compile(IncrementalTaskInputs inputs) {
+        checkGroovyClasspathIsNonEmpty();
+        DefaultGroovyJavaJointCompileSpec spec = createSpec();
+        // A configuration script may change the classes compiled from a source file in ways that can not be tracked,
+        // and a compiler set by the build can not be asked to compile only some of the source files
+        if (!compileOptions.isIncremental() || groovyCompileOptions.getConfigurationScript() != null || compiler != null) {
+            performCompilation(spec, getCompiler(spec));
+            return;
+        }
+
+        spec.setSourceClassesMappingFile(new File(getTemporaryDir(), "source-classes-mapping.properties"));
+        List<String> sourceFileExtensions = groovyCompileOptions.getFileExtensions();
+        CompilationSourceDirs sourceDirs = new CompilationSourceDirs(source);
+        LocalSourceClassesMappingStore sourceClassesMappingStore = getGeneralCompileCaches().createLocalSourceClassesMappingStore(getPath());
+        Compiler<GroovyJavaJointCompileSpec> groovyCompiler = createGroovyCompiler(spec);
+        IncrementalCompilerFactory<GroovyJavaJointCompileSpec> factory = new IncrementalCompilerFactory<GroovyJavaJointCompileSpec>(
+            getFileOperations(), getCachingFileHasher(), getPath(), new CleaningGroovyCompiler(groovyCompiler, getOutputs()), groovyCompiler, source, new DefaultCompileCaches(getGeneralCompileCaches(), getPath()),
+            (IncrementalTaskInputsInternal) inputs, new SimpleFileCollection(spec.getAnnotationProcessorPath()), getBuildOperationProcessor(), sourceFileExtensions, sourceClassesMappingStore);
+        performCompilation(spec, new GroovySourceClassesMappingUpdater(factory.createCompiler(), sourceDirs, new SourceToNameConverter(sourceDirs, sourceFileExtensions), sourceClassesMappingStore));
+    }
+
+    @Override
     protected void compile() {
         checkGroovyClasspathIsNonEmpty();
         DefaultGroovyJavaJointCompileSpec spec = createSpec();
-        WorkResult result = getCompiler(spec).execute(spec);
+        performCompilation(spec, getCompiler(spec));
+    }
+
+    private void performCompilation(GroovyJavaJointCompileSpec spec, Compiler<GroovyJavaJointCompileSpec> compiler) {
+        WorkResult result = compiler.execute(spec);
         setDidWork(result.getDidWork());
     }
 
+    @Inject
+    protected CachingFileHasher getCachingFileHasher() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Inject
+    protected FileOperations getFileOperations() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Inject
+    protected GeneralCompileCaches getGeneralCompileCaches() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Inject
+    protected BuildOperationProcessor getBuildOperationProcessor() {
+        throw new UnsupportedOperationException();
+    }
+
     private Compiler<GroovyJavaJointCompileSpec> getCompiler(GroovyJavaJointCompileSpec spec) {
         if (compiler == null) {
-            ProjectInternal projectInternal = (ProjectInternal) getProject();
-            WorkerDaemonManager compilerDaemonManager = getServices().get(WorkerDaemonManager.class);
-            InProcessCompilerDaemonFactory inProcessCompilerDaemonFactory = getServices().get(InProcessCompilerDaemonFactory.class);
-            JavaCompilerFactory javaCompilerFactory = getServices().get(JavaCompilerFactory.class);
-            GroovyCompilerFactory groovyCompilerFactory = new GroovyCompilerFactory(projectInternal, javaCompilerFactory, compilerDaemonManager, inProcessCompilerDaemonFactory);
-            Compiler<GroovyJavaJointCompileSpec> delegatingCompiler = groovyCompilerFactory.newCompiler(spec);
-            compiler = new CleaningGroovyCompiler(delegatingCompiler, getOutputs());
+            compiler = new CleaningGroovyCompiler(createGroovyCompiler(spec), getOutputs());
         }
         return compiler;
     }
 
+    private Compiler<GroovyJavaJointCompileSpec> createGroovyCompiler(GroovyJavaJointCompileSpec spec) {
+        ProjectInternal projectInternal = (ProjectInternal) getProject();
+        WorkerDaemonManager compilerDaemonManager = getServices().get(WorkerDaemonManager.class);
+        InProcessCompilerDaemonFactory inProcessCompilerDaemonFactory = getServices().get(InProcessCompilerDaemonFactory.class);
+        JavaCompilerFactory javaCompilerFactory = getServices().get(JavaCompilerFactory.class);
+        GroovyCompilerFactory groovyCompilerFactory = new GroovyCompilerFactory(projectInternal, javaCompilerFactory, compilerDaemonManager, inProcessCompilerDaemonFactory);
+        return groovyCompilerFactory.newCompiler(spec);
+    }
+
     private DefaultGroovyJavaJointCompileSpec createSpec() {
         DefaultGroovyJavaJointCompileSpec spec = new DefaultGroovyJavaJointCompileSpecFactory(compileOptions).create();
         spec.setSource(getSource());
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile
+
+import com.google.common.collect.LinkedHashMultimap
+import org.gradle.api.internal.file.collections.SimpleFileCollection
+import org.gradle.api.internal.tasks.SimpleWorkResult
+import org.gradle.api.internal.tasks.compile.incremental.CompilationSourceDirs
+import org.gradle.api.internal.tasks.compile.incremental.SourceToNameConverter
+import org.gradle.api.internal.tasks.compile.incremental.deps.LocalSourceClassesMappingStore
+import org.gradle.api.internal.tasks.compile.incremental.deps.SourceClassesMapping
+import org.gradle.language.base.internal.compile.Compiler
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class GroovySourceClassesMappingUpdaterTest extends Specification {
+    @Rule TestNameTestDirectoryProvider temp = new TestNameTestDirectoryProvider()
+    def delegate = Mock(Compiler)
+    def store = Mock(LocalSourceClassesMappingStore)
+    def srcDir = temp.createDir("src")
+    def mappingFile = temp.file("mapping.properties")
+    def spec = new DefaultGroovyJavaJointCompileSpec()
+    def sourceDirs = new CompilationSourceDirs([srcDir])
+    def updater = new GroovySourceClassesMappingUpdater(delegate, sourceDirs, new SourceToNameConverter(sourceDirs, ["java", "groovy"]), store)
+
+    def setup() {
+        spec.sourceClassesMappingFile = mappingFile
+    }
+
+    def "replaces the classes of recompiled source files and forgets removed source files"() {
+        def foo = srcDir.file("org/Foo.groovy").createFile()
+        def bar = srcDir.file("Bar.groovy").createFile()
+        spec.source = new SimpleFileCollection(foo, bar)
+        store.get() >> mapping("org/Foo.groovy": ["org.Foo"], "Bar.groovy": ["Bar", "Baz"], "Removed.groovy": ["Removed"])
+
+        when:
+        updater.execute(spec)
+
+        then:
+        1 * delegate.execute(spec) >> {
+            mappingFile.text = "${foo.absolutePath.replace('\\', '\\\\')}=org.Foo,org.Other\n"
+            new SimpleWorkResult(true)
+        }
+        1 * store.put(mapping("org/Foo.groovy": ["org.Foo", "org.Other"], "Bar.groovy": ["Bar", "Baz"]))
+    }
+
+    def "keeps the previous classes when nothing was compiled"() {
+        def foo = srcDir.file("Foo.groovy").createFile()
+        spec.source = new SimpleFileCollection(foo)
+        mappingFile.text = "stale"
+        store.get() >> mapping("Foo.groovy": ["Foo"])
+
+        when:
+        updater.execute(spec)
+
+        then:
+        1 * delegate.execute(spec) >> new SimpleWorkResult(false)
+        1 * store.put(mapping("Foo.groovy": ["Foo"]))
+    }
+
+    def "forgets the mapping when the compilation fails"() {
+        spec.source = new SimpleFileCollection(srcDir.file("Foo.groovy").createFile())
+
+        when:
+        updater.execute(spec)
+
+        then:
+        1 * delegate.execute(spec) >> { throw new CompilationFailedException() }
+        1 * store.remove()
+        0 * store.put(_)
+        thrown(CompilationFailedException)
+    }
+
+    private static SourceClassesMapping mapping(Map<String, List<String>> sourcesToClasses) {
+        def multimap = LinkedHashMultimap.create()
+        sourcesToClasses.each { source, classes -> multimap.putAll(source, classes) }
+        new SourceClassesMapping(multimap)
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableMap;
+import org.gradle.api.UncheckedIOException;
+import org.gradle.internal.concurrent.CompositeStoppable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the file managers of javac between compilations in this process, so that the jars of the compile and annotation processor
+ * classpaths are not opened and indexed again by each compilation. This is most noticeable for the many small compilations of incremental
+ * builds, where reading the classpath dominates the time spent compiling.
+ *
+ * <p>A file manager is reused only by a compilation with the same compiler implementation, encoding and options, ignoring the options that set the
+ * locations that change between compilations (the classpath, source path, processor path and output directory). These locations are
+ * set on the file manager from the options of each compilation, as javac 8 does not apply them again to a file manager that has already
+ * been used. A file manager is discarded when any of the jars it has read has changed since it was last used. A file manager is not
+ * thread-safe, so each is used by a single compilation at a time.</p>
+ *
+ * <p>File managers keep the jars they have read open, so this is disabled by default.</p>
+ */
+public class JavaFileManagerPool {
+    public static final String REUSE_PROPERTY = "org.gradle.java.compile.reuse-file-managers";
+    private static final Logger LOGGER = LoggerFactory.getLogger(JavaFileManagerPool.class);
+    private static final Map<String, StandardLocation> LOCATION_OPTIONS = ImmutableMap.of(
+        "-d", StandardLocation.CLASS_OUTPUT,
+        "-classpath", StandardLocation.CLASS_PATH,
+        "-cp", StandardLocation.CLASS_PATH,
+        "-sourcepath", StandardLocation.SOURCE_PATH,
+        "-processorpath", StandardLocation.ANNOTATION_PROCESSOR_PATH);
+    private static final JavaFileManagerPool INSTANCE = new JavaFileManagerPool(8);
+
+    private final int maxIdle;
+    private final LinkedList<Lease> idle = new LinkedList<Lease>();
+
+    JavaFileManagerPool(int maxIdle) {
+        this.maxIdle = maxIdle;
+    }
+
+    public static JavaFileManagerPool getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(REUSE_PROPERTY);
+    }
+
+    /**
+     * Returns a file manager for a compilation with the given options and classpath. The file manager must be returned using {@link #release(Lease, boolean)}.
+     */
+    public Lease acquire(JavaCompiler compiler, Charset charset, List<String> options, Iterable<File> classpath) {
+        // A new compiler instance is created for each compilation, so key on its implementation class, which also identifies the JDK it was loaded from
+        Key key = new Key(compiler.getClass(), charset, locationIndependentOptions(options));
+        Lease lease = null;
+        synchronized (idle) {
+            for (Iterator<Lease> iterator = idle.iterator(); iterator.hasNext();) {
+                Lease candidate = iterator.next();
+                if (candidate.key.equals(key)) {
+                    iterator.remove();
+                    lease = candidate;
+                    break;
+                }
+            }
+        }
+        if (lease != null && !lease.isUpToDate()) {
+            LOGGER.debug("Discarding Java file manager as the jars it has read have changed.");
+            lease.close();
+            lease = null;
+        }
+        if (lease == null) {
+            lease = new Lease(key, compiler.getStandardFileManager(null, null, charset));
+        }
+        lease.track(classpath);
+        setLocations(lease.getFileManager(), options);
+        return lease;
+    }
+
+    /**
+     * Returns a file manager to this pool. A file manager that is not reusable, for example because the compilation failed unexpectedly, is closed.
+     */
+    public void release(Lease lease, boolean reusable) {
+        if (!reusable) {
+            lease.close();
+            return;
+        }
+        Lease evicted = null;
+        synchronized (idle) {
+            idle.addFirst(lease);
+            if (idle.size() > maxIdle) {
+                evicted = idle.removeLast();
+            }
+        }
+        if (evicted != null) {
+            evicted.close();
+        }
+    }
+
+    /**
+     * Closes all idle file managers.
+     */
+    public void clear() {
+        List<Lease> discarded;
+        synchronized (idle) {
+            discarded = new ArrayList<Lease>(idle);
+            idle.clear();
+        }
+        for (Lease lease : discarded) {
+            lease.close();
+        }
+    }
+
+    int getIdleCount() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    private static List<String> locationIndependentOptions(List<String> options) {
+        List<String> result = new ArrayList<String>(options);
+        for (int i = 0; i < result.size() - 1; i++) {
+            if (LOCATION_OPTIONS.containsKey(result.get(i))) {
+                result.set(++i, "");
+            }
+        }
+        return result;
+    }
+
+    private static void setLocations(StandardJavaFileManager fileManager, List<String> options) {
+        Map<StandardLocation, List<File>> locations = new HashMap<StandardLocation, List<File>>();
+        for (StandardLocation location : LOCATION_OPTIONS.values()) {
+            locations.put(location, null);
+        }
+        for (int i = 0; i < options.size() - 1; i++) {
+            StandardLocation location = LOCATION_OPTIONS.get(options.get(i));
+            if (location != null) {
+                String value = options.get(++i);
+                locations.put(location, location.isOutputLocation() ? Collections.singletonList(new File(value)) : toFiles(value));
+            }
+        }
+        for (Map.Entry<StandardLocation, List<File>> entry : locations.entrySet()) {
+            setLocation(fileManager, entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static List<File> toFiles(String path) {
+        List<File> files = new ArrayList<File>();
+        for (String element : Splitter.on(File.pathSeparatorChar).omitEmptyStrings().split(path)) {
+            files.add(new File(element));
+        }
+        return files;
+    }
+
+    private static void setLocation(StandardJavaFileManager fileManager, JavaFileManager.Location location, List<File> files) {
+        try {
+            fileManager.setLocation(location, files);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not set " + location.getName() + " of Java file manager.", e);
+        }
+    }
+
+    public static class Lease {
+        private final Key key;
+        private final StandardJavaFileManager fileManager;
+        private final Map<File, JarState> jars = new HashMap<File, JarState>();
+
+        private Lease(Key key, StandardJavaFileManager fileManager) {
+            this.key = key;
+            this.fileManager = fileManager;
+        }
+
+        public StandardJavaFileManager getFileManager() {
+            return fileManager;
+        }
+
+        private void track(Iterable<File> classpath) {
+            for (File file : classpath) {
+                if (!jars.containsKey(file) && file.isFile()) {
+                    jars.put(file, new JarState(file));
+                }
+            }
+        }
+
+        private boolean isUpToDate() {
+            for (Map.Entry<File, JarState> entry : jars.entrySet()) {
+                if (!entry.getValue().equals(new JarState(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void close() {
+            CompositeStoppable.stoppable(fileManager).stop();
+        }
+    }
+
+    private static class JarState {
+        private final long length;
+        private final long lastModified;
+
+        JarState(File file) {
+            this.length = file.length();
+            this.lastModified = file.lastModified();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            JarState other = (JarState) o;
+            return length == other.length && lastModified == other.lastModified;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(length, lastModified);
+        }
+    }
+
+    private static class Key {
+        private final Class<?> compilerType;
+        private final Charset charset;
+        private final List<String> options;
+
+        Key(Class<?> compilerType, Charset charset, List<String> options) {
+            this.compilerType = compilerType;
+            this.charset = charset;
+            this.options = options;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key other = (Key) o;
+            return compilerType.equals(other.compilerType) && Objects.equal(charset, other.charset) && options.equals(other.options);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(compilerType, charset, options);
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package org.gradle.api.internal.tasks.compile;
 
+import com.google.common.collect.Iterables;
 import org.gradle.api.internal.tasks.SimpleWorkResult;
 import org.gradle.api.tasks.WorkResult;
 import org.gradle.api.tasks.compile.CompileOptions;
@@ -26,8 +27,10 @@ import org.slf4j.LoggerFactory;
 import javax.tools.JavaCompiler;
 import javax.tools.JavaFileObject;
 import javax.tools.StandardJavaFileManager;
+import java.io.File;
 import java.io.Serializable;
 import java.nio.charset.Charset;
+import java.util.Collections;
 import java.util.List;
 
 public class JdkJavaCompiler implements Compiler<JavaCompileSpec>, Serializable {
@@ -42,8 +45,7 @@ public class JdkJavaCompiler implements Compiler<JavaCompileSpec>, Serializable
     public WorkResult execute(JavaCompileSpec spec) {
         LOGGER.info("Compiling with JDK Java compiler API.");
 
-        JavaCompiler.CompilationTask task = createCompileTask(spec);
-        boolean success = task.call();
+        boolean success = JavaFileManagerPool.isEnabled() ? compileWithPooledFileManager(spec) : createCompileTask(spec).call();
         if (!success) {
             throw new CompilationFailedException();
         }
@@ -54,9 +56,36 @@ public class JdkJavaCompiler implements Compiler<JavaCompileSpec>, Serializable
     private JavaCompiler.CompilationTask createCompileTask(JavaCompileSpec spec) {
         List<String> options = new JavaCompilerArgumentsBuilder(spec).build();
         JavaCompiler compiler = javaHomeBasedJavaCompilerFactory.create();
-        CompileOptions compileOptions = spec.getCompileOptions();
-        StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, compileOptions.getEncoding() != null ? Charset.forName(compileOptions.getEncoding()) : null);
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, getCharset(spec));
         Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(spec.getSource());
         return compiler.getTask(null, null, null, options, null, compilationUnits);
     }
+
+    private boolean compileWithPooledFileManager(JavaCompileSpec spec) {
+        List<String> options = new JavaCompilerArgumentsBuilder(spec).build();
+        JavaCompiler compiler = javaHomeBasedJavaCompilerFactory.create();
+        JavaFileManagerPool pool = JavaFileManagerPool.getInstance();
+        JavaFileManagerPool.Lease lease = pool.acquire(compiler, getCharset(spec), options, classpathOf(spec));
+        boolean reusable = false;
+        try {
+            StandardJavaFileManager fileManager = lease.getFileManager();
+            Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(spec.getSource());
+            boolean success = compiler.getTask(null, fileManager, null, options, null, compilationUnits).call();
+            reusable = true;
+            return success;
+        } finally {
+            pool.release(lease, reusable);
+        }
+    }
+
+    private static Iterable<File> classpathOf(JavaCompileSpec spec) {
+        List<File> classpath = spec.getCompileClasspath() == null ? Collections.<File>emptyList() : spec.getCompileClasspath();
+        List<File> processorPath = spec.getAnnotationProcessorPath() == null ? Collections.<File>emptyList() : spec.getAnnotationProcessorPath();
+        return Iterables.concat(classpath, processorPath);
+    }
+
+    private static Charset getCharset(JavaCompileSpec spec) {
+        CompileOptions compileOptions = spec.getCompileOptions();
+        return compileOptions.getEncoding() != null ? Charset.forName(compileOptions.getEncoding()) : null;
+    }
 }
@@ -35,7 +35,7 @@ class IncrementalCompilationInitializer {
         this.fileOperations = fileOperations;
     }
 
-    public void initializeCompilation(JavaCompileSpec spec, Collection<String> staleClasses) {
+    public void initializeCompilation(JavaCompileSpec spec, Collection<String> staleClasses, Collection<String> staleSources) {
         if (staleClasses.isEmpty()) {
             spec.setSource(new SimpleFileCollection());
             return; //do nothing. No classes need recompilation.
@@ -45,7 +45,7 @@ class IncrementalCompilationInitializer {
         PatternSet classesToDelete = patternSetFactory.create();
         PatternSet sourceToCompile = patternSetFactory.create();
 
-        preparePatterns(staleClasses, classesToDelete, sourceToCompile);
+        preparePatterns(staleClasses, staleSources, classesToDelete, sourceToCompile);
 
         //selectively configure the source
         spec.setSource(spec.getSource().getAsFileTree().matching(sourceToCompile));
@@ -58,16 +58,17 @@ class IncrementalCompilationInitializer {
         fileOperations.delete(deleteMe);
     }
 
-    void preparePatterns(Collection<String> staleClasses, PatternSet classesToDelete, PatternSet sourceToCompile) {
+    void preparePatterns(Collection<String> staleClasses, Collection<String> staleSources, PatternSet classesToDelete, PatternSet sourceToCompile) {
         assert !staleClasses.isEmpty(); //if stale classes are empty (e.g. nothing to recompile), the patterns will not have any includes and will match all (e.g. recompile everything).
         for (String staleClass : staleClasses) {
             String path = staleClass.replaceAll("\\.", "/");
             classesToDelete.include(path.concat(".class"));
             classesToDelete.include(path.concat("$*.class"));
-
-            //the stale class might be a source class that was deleted
-            //it's no harm to include it in sourceToCompile anyway
-            sourceToCompile.include(path.concat(".java"));
+        }
+        //the stale sources might include source files that were deleted
+        //it's no harm to include them in sourceToCompile anyway
+        for (String staleSource : staleSources) {
+            sourceToCompile.include(staleSource);
         }
     }
 }
@@ -16,12 +16,15 @@
 
 package org.gradle.api.internal.tasks.compile.incremental;
 
+import org.gradle.api.Nullable;
 import org.gradle.api.file.FileCollection;
-import org.gradle.api.internal.tasks.compile.CleaningJavaCompiler;
+import org.gradle.api.internal.tasks.compile.CleaningJavaCompilerSupport;
 import org.gradle.api.internal.tasks.compile.JavaCompileSpec;
 import org.gradle.api.internal.tasks.compile.incremental.cache.CompileCaches;
 import org.gradle.api.internal.tasks.compile.incremental.deps.ClassSetAnalysis;
 import org.gradle.api.internal.tasks.compile.incremental.deps.ClassSetAnalysisData;
+import org.gradle.api.internal.tasks.compile.incremental.deps.LocalSourceClassesMappingStore;
+import org.gradle.api.internal.tasks.compile.incremental.deps.SourceClassesMapping;
 import org.gradle.api.internal.tasks.compile.incremental.jar.JarClasspathSnapshotMaker;
 import org.gradle.api.internal.tasks.compile.incremental.jar.PreviousCompilation;
 import org.gradle.api.logging.Logger;
@@ -29,40 +32,48 @@ import org.gradle.api.logging.Logging;
 import org.gradle.api.tasks.incremental.IncrementalTaskInputs;
 import org.gradle.language.base.internal.compile.Compiler;
 
-public class IncrementalCompilerDecorator {
+public class IncrementalCompilerDecorator<T extends JavaCompileSpec> {
 
     private static final Logger LOG = Logging.getLogger(IncrementalCompilerDecorator.class);
     private final JarClasspathSnapshotMaker jarClasspathSnapshotMaker;
     private final CompileCaches compileCaches;
-    private final CleaningJavaCompiler cleaningCompiler;
+    private final CleaningJavaCompilerSupport<T> cleaningCompiler;
+    private final Compiler<T> compiler;
     private final String displayName;
     private final RecompilationSpecProvider staleClassDetecter;
     private final ClassSetAnalysisUpdater classSetAnalysisUpdater;
     private final CompilationSourceDirs sourceDirs;
     private final FileCollection annotationProcessorPath;
     private final IncrementalCompilationInitializer compilationInitializer;
+    private final LocalSourceClassesMappingStore sourceClassesMappingStore;
 
+    /**
+     * @param compiler the compiler wrapped by the cleaning compiler, used to recompile only the stale sources without deleting the other classes.
+     * @param sourceClassesMappingStore the mapping from source files to the classes compiled from them, for compilers whose classes can not be mapped to source files by name.
+     */
     public IncrementalCompilerDecorator(JarClasspathSnapshotMaker jarClasspathSnapshotMaker, CompileCaches compileCaches,
-                                        IncrementalCompilationInitializer compilationInitializer, CleaningJavaCompiler cleaningCompiler, String displayName,
+                                        IncrementalCompilationInitializer compilationInitializer, CleaningJavaCompilerSupport<T> cleaningCompiler, Compiler<T> compiler, String displayName,
                                         RecompilationSpecProvider staleClassDetecter, ClassSetAnalysisUpdater classSetAnalysisUpdater,
-                                        CompilationSourceDirs sourceDirs, FileCollection annotationProcessorPath) {
+                                        CompilationSourceDirs sourceDirs, FileCollection annotationProcessorPath, @Nullable LocalSourceClassesMappingStore sourceClassesMappingStore) {
         this.jarClasspathSnapshotMaker = jarClasspathSnapshotMaker;
         this.compileCaches = compileCaches;
         this.compilationInitializer = compilationInitializer;
         this.cleaningCompiler = cleaningCompiler;
+        this.compiler = compiler;
         this.displayName = displayName;
         this.staleClassDetecter = staleClassDetecter;
         this.classSetAnalysisUpdater = classSetAnalysisUpdater;
         this.sourceDirs = sourceDirs;
         this.annotationProcessorPath = annotationProcessorPath;
+        this.sourceClassesMappingStore = sourceClassesMappingStore;
     }
 
-    public Compiler<JavaCompileSpec> prepareCompiler(IncrementalTaskInputs inputs) {
-        Compiler<JavaCompileSpec> compiler = getCompiler(inputs, sourceDirs);
-        return new IncrementalCompilationFinalizer(compiler, jarClasspathSnapshotMaker, classSetAnalysisUpdater);
+    public Compiler<T> prepareCompiler(IncrementalTaskInputs inputs) {
+        Compiler<T> compiler = getCompiler(inputs, sourceDirs);
+        return new IncrementalCompilationFinalizer<T>(compiler, jarClasspathSnapshotMaker, classSetAnalysisUpdater);
     }
 
-    private Compiler<JavaCompileSpec> getCompiler(IncrementalTaskInputs inputs, CompilationSourceDirs sourceDirs) {
+    private Compiler<T> getCompiler(IncrementalTaskInputs inputs, CompilationSourceDirs sourceDirs) {
         if (!inputs.isIncremental()) {
             LOG.lifecycle("{} - is not incremental (e.g. outputs have changed, no previous execution, etc.).", displayName);
             return cleaningCompiler;
@@ -80,7 +91,15 @@ public class IncrementalCompilerDecorator {
             LOG.lifecycle("{} - is not incremental. No class analysis data available from the previous build.", displayName);
             return cleaningCompiler;
         }
-        PreviousCompilation previousCompilation = new PreviousCompilation(new ClassSetAnalysis(data), compileCaches.getLocalJarClasspathSnapshotStore(), compileCaches.getJarSnapshotCache());
-        return new SelectiveCompiler(inputs, previousCompilation, cleaningCompiler, staleClassDetecter, compilationInitializer, jarClasspathSnapshotMaker);
+        SourceClassesMapping sourceClassesMapping = null;
+        if (sourceClassesMappingStore != null) {
+            sourceClassesMapping = sourceClassesMappingStore.get();
+            if (sourceClassesMapping == null) {
+                LOG.lifecycle("{} - is not incremental. No source to class mapping available from the previous build.", displayName);
+                return cleaningCompiler;
+            }
+        }
+        PreviousCompilation previousCompilation = new PreviousCompilation(new ClassSetAnalysis(data), compileCaches.getLocalJarClasspathSnapshotStore(), compileCaches.getJarSnapshotCache(), sourceClassesMapping);
+        return new SelectiveCompiler<T>(inputs, previousCompilation, cleaningCompiler, compiler, staleClassDetecter, compilationInitializer, jarClasspathSnapshotMaker);
     }
 }
@@ -16,48 +16,65 @@
 
 package org.gradle.api.internal.tasks.compile.incremental;
 
+import org.gradle.api.Nullable;
 import org.gradle.api.file.FileCollection;
 import org.gradle.api.internal.changedetection.changes.IncrementalTaskInputsInternal;
 import org.gradle.api.internal.file.FileOperations;
 import org.gradle.api.internal.hash.FileHasher;
-import org.gradle.api.internal.tasks.compile.CleaningJavaCompiler;
+import org.gradle.api.internal.tasks.compile.CleaningJavaCompilerSupport;
 import org.gradle.api.internal.tasks.compile.JavaCompileSpec;
 import org.gradle.api.internal.tasks.compile.incremental.analyzer.CachingClassDependenciesAnalyzer;
 import org.gradle.api.internal.tasks.compile.incremental.analyzer.ClassDependenciesAnalyzer;
 import org.gradle.api.internal.tasks.compile.incremental.analyzer.DefaultClassDependenciesAnalyzer;
 import org.gradle.api.internal.tasks.compile.incremental.cache.CompileCaches;
+import org.gradle.api.internal.tasks.compile.incremental.deps.LocalSourceClassesMappingStore;
 import org.gradle.api.internal.tasks.compile.incremental.jar.CachingJarSnapshotter;
 import org.gradle.api.internal.tasks.compile.incremental.jar.ClasspathJarFinder;
 import org.gradle.api.internal.tasks.compile.incremental.jar.JarClasspathSnapshotFactory;
 import org.gradle.api.internal.tasks.compile.incremental.jar.JarClasspathSnapshotMaker;
 import org.gradle.api.internal.tasks.compile.incremental.jar.JarSnapshotter;
 import org.gradle.api.tasks.incremental.IncrementalTaskInputs;
+import org.gradle.internal.operations.BuildOperationProcessor;
 import org.gradle.language.base.internal.compile.Compiler;
 
+import java.util.Collections;
 import java.util.List;
 
-public class IncrementalCompilerFactory {
+public class IncrementalCompilerFactory<T extends JavaCompileSpec> {
 
-    private final IncrementalCompilerDecorator incrementalSupport;
+    private final IncrementalCompilerDecorator<T> incrementalSupport;
     private final IncrementalTaskInputs inputs;
 
-    public IncrementalCompilerFactory(FileOperations fileOperations, FileHasher cachingFileHasher, String compileDisplayName, CleaningJavaCompiler cleaningJavaCompiler,
-                                      List<Object> source, CompileCaches compileCaches, IncrementalTaskInputsInternal inputs, FileCollection annotationProcessorClasspath) {
+    public IncrementalCompilerFactory(FileOperations fileOperations, FileHasher cachingFileHasher, String compileDisplayName, CleaningJavaCompilerSupport<T> cleaningJavaCompiler, Compiler<T> compiler,
+                                      List<Object> source, CompileCaches compileCaches, IncrementalTaskInputsInternal inputs, FileCollection annotationProcessorClasspath,
+                                      BuildOperationProcessor buildOperationProcessor) {
+        this(fileOperations, cachingFileHasher, compileDisplayName, cleaningJavaCompiler, compiler, source, compileCaches, inputs, annotationProcessorClasspath, buildOperationProcessor,
+            Collections.singletonList("java"), null);
+    }
+
+    /**
+     * Creates a factory for a compiler of the source files with the given extensions. When the classes compiled from a source file can not be
+     * inferred from its path, as for Groovy, the compiler records them in the given mapping store. The given compiler is the one wrapped by the
+     * cleaning compiler, and recompiles the stale source files only.
+     */
+    public IncrementalCompilerFactory(FileOperations fileOperations, FileHasher cachingFileHasher, String compileDisplayName, CleaningJavaCompilerSupport<T> cleaningJavaCompiler, Compiler<T> compiler,
+                                      List<Object> source, CompileCaches compileCaches, IncrementalTaskInputsInternal inputs, FileCollection annotationProcessorClasspath,
+                                      BuildOperationProcessor buildOperationProcessor, List<String> sourceFileExtensions, @Nullable LocalSourceClassesMappingStore sourceClassesMappingStore) {
         this.inputs = inputs;
         //bunch of services that enable incremental java compilation.
         ClassDependenciesAnalyzer analyzer = new CachingClassDependenciesAnalyzer(new DefaultClassDependenciesAnalyzer(), compileCaches.getClassAnalysisCache());
         JarSnapshotter jarSnapshotter = new CachingJarSnapshotter(cachingFileHasher, analyzer, compileCaches.getJarSnapshotCache());
-        JarClasspathSnapshotMaker jarClasspathSnapshotMaker = new JarClasspathSnapshotMaker(compileCaches.getLocalJarClasspathSnapshotStore(), new JarClasspathSnapshotFactory(jarSnapshotter), new ClasspathJarFinder(fileOperations));
+        JarClasspathSnapshotMaker jarClasspathSnapshotMaker = new JarClasspathSnapshotMaker(compileCaches.getLocalJarClasspathSnapshotStore(), new JarClasspathSnapshotFactory(jarSnapshotter, buildOperationProcessor), new ClasspathJarFinder(fileOperations));
         CompilationSourceDirs sourceDirs = new CompilationSourceDirs(source);
-        SourceToNameConverter sourceToNameConverter = new SourceToNameConverter(sourceDirs); //TODO SF replace with converter that parses input source class
+        SourceToNameConverter sourceToNameConverter = new SourceToNameConverter(sourceDirs, sourceFileExtensions); //TODO SF replace with converter that parses input source class
         RecompilationSpecProvider recompilationSpecProvider = new RecompilationSpecProvider(sourceToNameConverter, fileOperations);
         ClassSetAnalysisUpdater classSetAnalysisUpdater = new ClassSetAnalysisUpdater(compileCaches.getLocalClassSetAnalysisStore(), fileOperations, analyzer, cachingFileHasher);
         IncrementalCompilationInitializer compilationInitializer = new IncrementalCompilationInitializer(fileOperations);
-        incrementalSupport = new IncrementalCompilerDecorator(jarClasspathSnapshotMaker, compileCaches, compilationInitializer,
-                cleaningJavaCompiler, compileDisplayName, recompilationSpecProvider, classSetAnalysisUpdater, sourceDirs, annotationProcessorClasspath);
+        incrementalSupport = new IncrementalCompilerDecorator<T>(jarClasspathSnapshotMaker, compileCaches, compilationInitializer,
+                cleaningJavaCompiler, compiler, compileDisplayName, recompilationSpecProvider, classSetAnalysisUpdater, sourceDirs, annotationProcessorClasspath, sourceClassesMappingStore);
     }
 
-    public Compiler<JavaCompileSpec> createCompiler() {
+    public Compiler<T> createCompiler() {
         return incrementalSupport.prepareCompiler(inputs);
     }
 }
@@ -25,6 +25,8 @@ import org.gradle.api.internal.tasks.compile.incremental.recomp.RecompilationSpe
 import org.gradle.api.tasks.incremental.IncrementalTaskInputs;
 import org.gradle.api.tasks.incremental.InputFileDetails;
 
+import java.util.Collection;
+
 import static org.gradle.internal.FileUtils.hasExtension;
 
 public class RecompilationSpecProvider {
@@ -40,10 +42,10 @@ public class RecompilationSpecProvider {
     public RecompilationSpec provideRecompilationSpec(IncrementalTaskInputs inputs, PreviousCompilation previousCompilation, JarClasspathSnapshot jarClasspathSnapshot) {
         //creating an action that will be executed against all changes
         RecompilationSpec spec = new RecompilationSpec();
-        JavaChangeProcessor javaChangeProcessor = new JavaChangeProcessor(previousCompilation, sourceToNameConverter);
+        SourceChangeProcessor sourceChangeProcessor = new SourceChangeProcessor(previousCompilation, sourceToNameConverter);
         ClassChangeProcessor classChangeProcessor = new ClassChangeProcessor(previousCompilation);
         JarChangeProcessor jarChangeProcessor = new JarChangeProcessor(fileOperations, jarClasspathSnapshot, previousCompilation);
-        InputChangeAction action = new InputChangeAction(spec, javaChangeProcessor, classChangeProcessor, jarChangeProcessor);
+        InputChangeAction action = new InputChangeAction(spec, sourceToNameConverter, sourceChangeProcessor, classChangeProcessor, jarChangeProcessor);
 
         //go!
         inputs.outOfDate(action);
@@ -52,18 +54,33 @@ public class RecompilationSpecProvider {
             return action.spec;
         }
         inputs.removed(action);
+        if (action.spec.getFullRebuildCause() == null) {
+            addSourcePaths(action.spec, previousCompilation);
+        }
         return action.spec;
     }
 
+    private void addSourcePaths(RecompilationSpec spec, PreviousCompilation previousCompilation) {
+        for (String className : spec.getClassNames()) {
+            Collection<String> sourcePaths = previousCompilation.getSourcePathsForClass(className);
+            if (sourcePaths == null) {
+                sourcePaths = sourceToNameConverter.getSourcePaths(className);
+            }
+            spec.getSourcePaths().addAll(sourcePaths);
+        }
+    }
+
     private static class InputChangeAction implements Action<InputFileDetails> {
         private final RecompilationSpec spec;
-        private final JavaChangeProcessor javaChangeProcessor;
+        private final SourceToNameConverter sourceToNameConverter;
+        private final SourceChangeProcessor sourceChangeProcessor;
         private final ClassChangeProcessor classChangeProcessor;
         private final JarChangeProcessor jarChangeProcessor;
 
-        public InputChangeAction(RecompilationSpec spec, JavaChangeProcessor javaChangeProcessor, ClassChangeProcessor classChangeProcessor, JarChangeProcessor jarChangeProcessor) {
+        public InputChangeAction(RecompilationSpec spec, SourceToNameConverter sourceToNameConverter, SourceChangeProcessor sourceChangeProcessor, ClassChangeProcessor classChangeProcessor, JarChangeProcessor jarChangeProcessor) {
             this.spec = spec;
-            this.javaChangeProcessor = javaChangeProcessor;
+            this.sourceToNameConverter = sourceToNameConverter;
+            this.sourceChangeProcessor = sourceChangeProcessor;
             this.classChangeProcessor = classChangeProcessor;
             this.jarChangeProcessor = jarChangeProcessor;
         }
@@ -73,8 +90,8 @@ public class RecompilationSpecProvider {
             if (spec.getFullRebuildCause() != null) {
                 return;
             }
-            if (hasExtension(input.getFile(), ".java")) {
-                javaChangeProcessor.processChange(input, spec);
+            if (sourceToNameConverter.isSourceFile(input.getFile())) {
+                sourceChangeProcessor.processChange(input, spec);
             } else if (hasExtension(input.getFile(), ".class")) {
                 classChangeProcessor.processChange(input, spec);
             } else if (hasExtension(input.getFile(), ".jar")) {
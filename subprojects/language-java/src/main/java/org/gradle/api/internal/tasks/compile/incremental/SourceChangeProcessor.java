@@ -21,26 +21,32 @@ import org.gradle.api.internal.tasks.compile.incremental.jar.PreviousCompilation
 import org.gradle.api.internal.tasks.compile.incremental.recomp.RecompilationSpec;
 import org.gradle.api.tasks.incremental.InputFileDetails;
 
+import java.util.Collection;
 import java.util.Collections;
 
-class JavaChangeProcessor {
+class SourceChangeProcessor {
 
     private final SourceToNameConverter sourceToNameConverter;
     private final PreviousCompilation previousCompilation;
 
-    public JavaChangeProcessor(PreviousCompilation previousCompilation, SourceToNameConverter sourceToNameConverter) {
+    public SourceChangeProcessor(PreviousCompilation previousCompilation, SourceToNameConverter sourceToNameConverter) {
         this.previousCompilation = previousCompilation;
         this.sourceToNameConverter = sourceToNameConverter;
     }
 
     public void processChange(InputFileDetails input, RecompilationSpec spec) {
-        String className = sourceToNameConverter.getClassName(input.getFile());
-        spec.getClassNames().add(className);
-        DependentsSet actualDependents = previousCompilation.getDependents(className, Collections.<Integer>emptySet());
-        if (actualDependents.isDependencyToAll()) {
-            spec.setFullRebuildCause(actualDependents.getDescription(), input.getFile());
-            return;
+        Collection<String> classNames = previousCompilation.getClassNamesForSource(sourceToNameConverter.getRelativePath(input.getFile()));
+        if (classNames == null) {
+            classNames = Collections.singleton(sourceToNameConverter.getClassName(input.getFile()));
+        }
+        for (String className : classNames) {
+            spec.getClassNames().add(className);
+            DependentsSet actualDependents = previousCompilation.getDependents(className, Collections.<Integer>emptySet());
+            if (actualDependents.isDependencyToAll()) {
+                spec.setFullRebuildCause(actualDependents.getDescription(), input.getFile());
+                return;
+            }
+            spec.getClassNames().addAll(actualDependents.getDependentClasses());
         }
-        spec.getClassNames().addAll(actualDependents.getDependentClasses());
     }
 }
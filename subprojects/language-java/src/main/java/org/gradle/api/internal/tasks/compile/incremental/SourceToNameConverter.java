@@ -19,30 +19,79 @@ package org.gradle.api.internal.tasks.compile.incremental;
 import org.gradle.util.GFileUtils;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static java.lang.String.format;
+import static org.gradle.internal.FileUtils.hasExtension;
 
 public class SourceToNameConverter {
 
-    private CompilationSourceDirs sourceDirs;
+    private final CompilationSourceDirs sourceDirs;
+    private final List<String> sourceFileExtensions;
 
     public SourceToNameConverter(CompilationSourceDirs sourceDirs) {
+        this(sourceDirs, Collections.singletonList("java"));
+    }
+
+    /**
+     * @param sourceFileExtensions The extensions of the source files of the compilation, without the leading dot.
+     */
+    public SourceToNameConverter(CompilationSourceDirs sourceDirs, List<String> sourceFileExtensions) {
         this.sourceDirs = sourceDirs;
+        this.sourceFileExtensions = sourceFileExtensions;
+    }
+
+    public boolean isSourceFile(File file) {
+        for (String extension : sourceFileExtensions) {
+            if (hasExtension(file, "." + extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the name of the class declared by the given source file, assuming the path of the source file follows the name of the class.
+     */
+    public String getClassName(File sourceFile) {
+        String relativePath = getRelativePath(sourceFile);
+        for (String extension : sourceFileExtensions) {
+            if (relativePath.endsWith("." + extension)) {
+                relativePath = relativePath.substring(0, relativePath.length() - extension.length() - 1);
+                break;
+            }
+        }
+        return relativePath.replace('/', '.');
     }
 
-    public String getClassName(File javaSourceClass) {
+    /**
+     * Returns the paths of the source files that may declare the given class, assuming the path of the source file follows the name of the class.
+     */
+    public List<String> getSourcePaths(String className) {
+        String path = className.replace('.', '/');
+        List<String> sourcePaths = new ArrayList<String>(sourceFileExtensions.size());
+        for (String extension : sourceFileExtensions) {
+            sourcePaths.add(path + "." + extension);
+        }
+        return sourcePaths;
+    }
+
+    /**
+     * Returns the path of the given source file relative to the source directory that contains it.
+     */
+    public String getRelativePath(File sourceFile) {
         List<File> dirs = sourceDirs.getSourceRoots();
         for (File sourceDir : dirs) {
-            if (javaSourceClass.getAbsolutePath().startsWith(sourceDir.getAbsolutePath())) { //perf tweak only
-                String relativePath = GFileUtils.relativePath(sourceDir, javaSourceClass);
+            if (sourceFile.getAbsolutePath().startsWith(sourceDir.getAbsolutePath())) { //perf tweak only
+                String relativePath = GFileUtils.relativePath(sourceDir, sourceFile);
                 if (!relativePath.startsWith("..")) {
-                    return relativePath.replaceAll("/", ".").replaceAll("\\.java$", "");
+                    return relativePath;
                 }
             }
         }
-        throw new IllegalArgumentException(format("Unable to find source java class: '%s' because it does not belong to any of the source dirs: '%s'",
-                javaSourceClass, dirs));
-
+        throw new IllegalArgumentException(format("Unable to find source file: '%s' because it does not belong to any of the source dirs: '%s'",
+                sourceFile, dirs));
     }
-}
\ No newline at end of file
+}
@@ -24,6 +24,8 @@ import org.gradle.api.internal.tasks.compile.incremental.analyzer.DefaultClassAn
 import org.gradle.api.internal.tasks.compile.incremental.deps.ClassAnalysis;
 import org.gradle.api.internal.tasks.compile.incremental.deps.ClassSetAnalysisData;
 import org.gradle.api.internal.tasks.compile.incremental.deps.LocalClassSetAnalysisStore;
+import org.gradle.api.internal.tasks.compile.incremental.deps.LocalSourceClassesMappingStore;
+import org.gradle.api.internal.tasks.compile.incremental.deps.SourceClassesMapping;
 import org.gradle.api.internal.tasks.compile.incremental.jar.DefaultJarSnapshotCache;
 import org.gradle.api.internal.tasks.compile.incremental.jar.JarClasspathSnapshotData;
 import org.gradle.api.internal.tasks.compile.incremental.jar.JarClasspathSnapshotDataSerializer;
@@ -49,6 +51,7 @@ public class DefaultGeneralCompileCaches implements GeneralCompileCaches, Closea
     private final PersistentCache cache;
     private final PersistentIndexedCache<String, JarClasspathSnapshotData> taskJarCache;
     private final PersistentIndexedCache<String, ClassSetAnalysisData> taskCompileCache;
+    private final PersistentIndexedCache<String, SourceClassesMapping> taskSourcesCache;
 
     public DefaultGeneralCompileCaches(CacheRepository cacheRepository, Gradle gradle, InMemoryTaskArtifactCache inMemoryTaskArtifactCache) {
         cache = cacheRepository
@@ -71,6 +74,10 @@ public class DefaultGeneralCompileCaches implements GeneralCompileCaches, Closea
         PersistentIndexedCacheParameters<String, ClassSetAnalysisData> taskCompileCacheParameters = new PersistentIndexedCacheParameters<String, ClassSetAnalysisData>("taskHistory", String.class, new ClassSetAnalysisData.Serializer())
                 .cacheDecorator(inMemoryTaskArtifactCache.decorator(2000, false));
         taskCompileCache = cache.createCache(taskCompileCacheParameters);
+
+        PersistentIndexedCacheParameters<String, SourceClassesMapping> taskSourcesCacheParameters = new PersistentIndexedCacheParameters<String, SourceClassesMapping>("taskSources", String.class, new SourceClassesMapping.Serializer())
+                .cacheDecorator(inMemoryTaskArtifactCache.decorator(2000, false));
+        taskSourcesCache = cache.createCache(taskSourcesCacheParameters);
     }
 
     @Override
@@ -97,4 +104,9 @@ public class DefaultGeneralCompileCaches implements GeneralCompileCaches, Closea
     public LocalClassSetAnalysisStore createLocalClassSetAnalysisStore(String taskPath) {
         return new LocalClassSetAnalysisStore(taskPath, taskCompileCache);
     }
+
+    @Override
+    public LocalSourceClassesMappingStore createLocalSourceClassesMappingStore(String taskPath) {
+        return new LocalSourceClassesMappingStore(taskPath, taskSourcesCache);
+    }
 }
@@ -45,8 +45,8 @@ public class ClassSetAnalysis {
             }
             for (String dependentClass : dependentClasses) {
                 result.add(dependentClass);
-                Set<String> children = data.classesToChildren.get(dependentClass);
-                if (children!=null && children.contains(cls)) {
+                Set<String> children = data.getChildren(dependentClass);
+                if (children.contains(cls)) {
                     System.out.println("children = " + children);
                 }
             }
@@ -68,10 +68,7 @@ public class ClassSetAnalysis {
             recurseDependents(new HashSet<String>(), result, deps.getDependentClasses());
         }
         for (Integer constant : constants) {
-            Set<String> classes = data.literalsToClasses.get(constant);
-            if (classes != null) {
-                result.addAll(classes);
-            }
+            result.addAll(data.getClassesWithLiteral(constant));
         }
 
         result.remove(className);
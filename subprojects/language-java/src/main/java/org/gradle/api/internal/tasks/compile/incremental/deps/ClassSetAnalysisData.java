@@ -16,220 +16,319 @@
 
 package org.gradle.api.internal.tasks.compile.incremental.deps;
 
+import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
 import org.gradle.internal.serialize.AbstractSerializer;
 import org.gradle.internal.serialize.Decoder;
 import org.gradle.internal.serialize.Encoder;
-import org.gradle.internal.serialize.SetSerializer;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
-import static org.gradle.internal.serialize.BaseSerializerFactory.INTEGER_SERIALIZER;
-
+/**
+ * The class dependency analysis of a set of classes, such as the output of a compile task or the content of a jar.
+ *
+ * <p>Each class name is stored once in a sorted table and referred to by its index in the table. The relations between classes are stored
+ * as {@link IntSetMultimap}s of these indices, which keeps the analysis of a large set of classes small, both in memory and when persisted.</p>
+ */
 public class ClassSetAnalysisData {
-    final Map<String, String> filePathToClassName;
-    final Map<String, DependentsSet> dependents;
-    final Map<String, Set<Integer>> classesToConstants;
-    final Map<Integer, Set<String>> literalsToClasses;
-    final Map<String, Set<String>> classesToChildren;
+    private final String[] classNames;
+    private final String[] filePaths;
+    private final int[] fileClasses;
+    private final IntSetMultimap dependents;
+    private final BitSet dependenciesToAll;
+    private final Map<Integer, String> dependencyToAllReasons;
+    private final IntSetMultimap classesToConstants;
+    private final int[] literals;
+    private final IntSetMultimap literalsToClasses;
+    private final IntSetMultimap classesToChildren;
 
     public ClassSetAnalysisData(Map<String, String> filePathToClassName, Map<String, DependentsSet> dependents, Multimap<String, Integer> classesToConstants, Multimap<Integer, String> literalsToClasses, Multimap<String, String> classesToChildren) {
-        this(filePathToClassName, dependents, asMap(classesToConstants), asMap(literalsToClasses), asMap(classesToChildren));
+        this(filePathToClassName, dependents, classesToConstants.asMap(), literalsToClasses.asMap(), classesToChildren.asMap());
+    }
+
+    public ClassSetAnalysisData(Map<String, String> filePathToClassName, Map<String, DependentsSet> dependents, Map<String, ? extends Collection<Integer>> classesToConstants, Map<Integer, ? extends Collection<String>> literalsToClasses, Map<String, ? extends Collection<String>> classesToChildren) {
+        SortedSet<String> classNames = new TreeSet<String>(filePathToClassName.values());
+        classNames.addAll(dependents.keySet());
+        for (DependentsSet dependentsSet : dependents.values()) {
+            if (!dependentsSet.isDependencyToAll()) {
+                classNames.addAll(dependentsSet.getDependentClasses());
+            }
+        }
+        classNames.addAll(classesToConstants.keySet());
+        for (Collection<String> classes : literalsToClasses.values()) {
+            classNames.addAll(classes);
+        }
+        classNames.addAll(classesToChildren.keySet());
+        for (Collection<String> children : classesToChildren.values()) {
+            classNames.addAll(children);
+        }
+        this.classNames = classNames.toArray(new String[0]);
+
+        TreeMap<String, String> sortedFiles = new TreeMap<String, String>(filePathToClassName);
+        this.filePaths = sortedFiles.keySet().toArray(new String[0]);
+        this.fileClasses = new int[filePaths.length];
+        int file = 0;
+        for (String className : sortedFiles.values()) {
+            fileClasses[file++] = indexOf(className);
+        }
+
+        IntSetMultimap.Builder dependentsBuilder = new IntSetMultimap.Builder(this.classNames.length);
+        this.dependenciesToAll = new BitSet(this.classNames.length);
+        ImmutableMap.Builder<Integer, String> reasons = ImmutableMap.builder();
+        for (Map.Entry<String, DependentsSet> entry : dependents.entrySet()) {
+            int index = indexOf(entry.getKey());
+            DependentsSet dependentsSet = entry.getValue();
+            if (dependentsSet.isDependencyToAll()) {
+                dependenciesToAll.set(index);
+                if (dependentsSet.getDescription() != null) {
+                    reasons.put(index, dependentsSet.getDescription());
+                }
+            } else {
+                dependentsBuilder.put(index, indicesOf(dependentsSet.getDependentClasses()));
+            }
+        }
+        this.dependents = dependentsBuilder.build();
+        this.dependencyToAllReasons = reasons.build();
+
+        IntSetMultimap.Builder constantsBuilder = new IntSetMultimap.Builder(this.classNames.length);
+        for (Map.Entry<String, ? extends Collection<Integer>> entry : classesToConstants.entrySet()) {
+            constantsBuilder.put(indexOf(entry.getKey()), entry.getValue());
+        }
+        this.classesToConstants = constantsBuilder.build();
+
+        TreeMap<Integer, Collection<String>> sortedLiterals = new TreeMap<Integer, Collection<String>>(literalsToClasses);
+        this.literals = new int[sortedLiterals.size()];
+        IntSetMultimap.Builder literalsBuilder = new IntSetMultimap.Builder(literals.length);
+        int literal = 0;
+        for (Map.Entry<Integer, Collection<String>> entry : sortedLiterals.entrySet()) {
+            literals[literal] = entry.getKey();
+            literalsBuilder.put(literal++, indicesOf(entry.getValue()));
+        }
+        this.literalsToClasses = literalsBuilder.build();
+
+        IntSetMultimap.Builder childrenBuilder = new IntSetMultimap.Builder(this.classNames.length);
+        for (Map.Entry<String, ? extends Collection<String>> entry : classesToChildren.entrySet()) {
+            childrenBuilder.put(indexOf(entry.getKey()), indicesOf(entry.getValue()));
+        }
+        this.classesToChildren = childrenBuilder.build();
     }
 
-    public ClassSetAnalysisData(Map<String, String> filePathToClassName, Map<String, DependentsSet> dependents, Map<String, Set<Integer>> classesToConstants, Map<Integer, Set<String>> literalsToClasses, Map<String, Set<String>> classesToChildren) {
-        this.filePathToClassName = filePathToClassName;
+    private ClassSetAnalysisData(String[] classNames, String[] filePaths, int[] fileClasses, IntSetMultimap dependents, BitSet dependenciesToAll, Map<Integer, String> dependencyToAllReasons, IntSetMultimap classesToConstants, int[] literals, IntSetMultimap literalsToClasses, IntSetMultimap classesToChildren) {
+        this.classNames = classNames;
+        this.filePaths = filePaths;
+        this.fileClasses = fileClasses;
         this.dependents = dependents;
+        this.dependenciesToAll = dependenciesToAll;
+        this.dependencyToAllReasons = dependencyToAllReasons;
         this.classesToConstants = classesToConstants;
+        this.literals = literals;
         this.literalsToClasses = literalsToClasses;
         this.classesToChildren = classesToChildren;
     }
 
-    private static <K, V> Map<K, Set<V>> asMap(Multimap<K, V> multimap) {
-        ImmutableMap.Builder<K, Set<V>> builder = ImmutableMap.builder();
-        for (K key : multimap.keySet()) {
-            builder.put(key, ImmutableSet.copyOf(multimap.get(key)));
+    private int indexOf(String className) {
+        return Arrays.binarySearch(classNames, className);
+    }
+
+    private int[] indicesOf(Collection<String> classNames) {
+        int[] indices = new int[classNames.size()];
+        int i = 0;
+        for (String className : classNames) {
+            indices[i++] = indexOf(className);
+        }
+        return indices;
+    }
+
+    private Set<String> namesOf(int[] indices) {
+        if (indices.length == 0) {
+            return Collections.emptySet();
+        }
+        ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+        for (int index : indices) {
+            builder.add(classNames[index]);
+        }
+        return builder.build();
+    }
+
+    private static Set<Integer> valuesOf(int[] values) {
+        if (values.length == 0) {
+            return Collections.emptySet();
+        }
+        ImmutableSet.Builder<Integer> builder = ImmutableSet.builder();
+        for (int value : values) {
+            builder.add(value);
         }
         return builder.build();
     }
 
     public String getClassNameForFile(String filePath) {
-        return filePathToClassName.get(filePath);
+        int file = Arrays.binarySearch(filePaths, filePath);
+        return file < 0 ? null : classNames[fileClasses[file]];
     }
 
+    /**
+     * Returns the dependents of the given class, or null when no class in this set depends on it.
+     */
     public DependentsSet getDependents(String className) {
-        return dependents.get(className);
+        int index = indexOf(className);
+        if (index < 0) {
+            return null;
+        }
+        if (dependenciesToAll.get(index)) {
+            String reason = dependencyToAllReasons.get(index);
+            return reason == null ? DependencyToAll.INSTANCE : new DependencyToAll(reason);
+        }
+        if (!dependents.containsKey(index)) {
+            return null;
+        }
+        return new DefaultDependentsSet(namesOf(dependents.get(index)));
     }
 
     public Set<Integer> getConstants(String className) {
-        Set<Integer> integers = classesToConstants.get(className);
-        if (integers == null) {
+        int index = indexOf(className);
+        if (index < 0) {
+            return Collections.emptySet();
+        }
+        return valuesOf(classesToConstants.get(index));
+    }
+
+    public Set<String> getClassesWithLiteral(int literal) {
+        int index = Arrays.binarySearch(literals, literal);
+        if (index < 0) {
             return Collections.emptySet();
         }
-        return integers;
+        return namesOf(literalsToClasses.get(index));
     }
 
     public Set<String> getChildren(String className) {
-        Set<String> children = classesToChildren.get(className);
-        return children == null ? Collections.<String>emptySet() : children;
+        int index = indexOf(className);
+        if (index < 0) {
+            return Collections.emptySet();
+        }
+        return namesOf(classesToChildren.get(index));
     }
 
-    public static class Serializer extends AbstractSerializer<ClassSetAnalysisData> {
-        private static final SetSerializer<Integer> INTEGER_SET_SERIALIZER = new SetSerializer<Integer>(INTEGER_SERIALIZER, false);
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ClassSetAnalysisData other = (ClassSetAnalysisData) o;
+        return Arrays.equals(classNames, other.classNames)
+            && Arrays.equals(filePaths, other.filePaths)
+            && Arrays.equals(fileClasses, other.fileClasses)
+            && dependents.equals(other.dependents)
+            && dependenciesToAll.equals(other.dependenciesToAll)
+            && dependencyToAllReasons.equals(other.dependencyToAllReasons)
+            && classesToConstants.equals(other.classesToConstants)
+            && Arrays.equals(literals, other.literals)
+            && literalsToClasses.equals(other.literalsToClasses)
+            && classesToChildren.equals(other.classesToChildren);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(Arrays.hashCode(classNames), Arrays.hashCode(filePaths), dependents, classesToConstants);
+    }
 
+    public static class Serializer extends AbstractSerializer<ClassSetAnalysisData> {
         @Override
         public ClassSetAnalysisData read(Decoder decoder) throws Exception {
-            // Class names are de-duplicated when encoded
-            Map<Integer, String> classNameMap = new HashMap<Integer, String>();
-
-            int count = decoder.readSmallInt();
-            ImmutableMap.Builder<String, String> filePathToClassNameBuilder = ImmutableMap.builder();
-            for (int i = 0; i < count; i++) {
-                String filePath = decoder.readString();
-                String className = readClassName(decoder, classNameMap);
-                filePathToClassNameBuilder.put(filePath, className);
-            }
+            String[] classNames = readSortedStrings(decoder);
 
-            count = decoder.readSmallInt();
-            ImmutableMap.Builder<String, DependentsSet> dependentsBuilder = ImmutableMap.builder();
-            for (int i = 0; i < count; i++) {
-                String className = readClassName(decoder, classNameMap);
-                DependentsSet dependents = readDependentsSet(decoder, classNameMap);
-                dependentsBuilder.put(className, dependents);
-            }
-
-            count = decoder.readSmallInt();
-            ImmutableMap.Builder<String, Set<Integer>> classesToConstantsBuilder = ImmutableMap.builder();
-            for (int i = 0; i < count; i++) {
-                String className = readClassName(decoder, classNameMap);
-                Set<Integer> constants = INTEGER_SET_SERIALIZER.read(decoder);
-                classesToConstantsBuilder.put(className, constants);
+            String[] filePaths = readSortedStrings(decoder);
+            int[] fileClasses = new int[filePaths.length];
+            for (int i = 0; i < fileClasses.length; i++) {
+                fileClasses[i] = decoder.readSmallInt();
             }
 
-            count = decoder.readSmallInt();
-            ImmutableMap.Builder<Integer, Set<String>> literalsToClassesBuilder = ImmutableMap.builder();
+            IntSetMultimap dependents = IntSetMultimap.read(decoder, classNames.length);
+            BitSet dependenciesToAll = new BitSet(classNames.length);
+            ImmutableMap.Builder<Integer, String> reasons = ImmutableMap.builder();
+            int count = decoder.readSmallInt();
             for (int i = 0; i < count; i++) {
-                int literal = decoder.readInt();
-                int nameCount = decoder.readSmallInt();
-                ImmutableSet.Builder<String> namesBuilder = ImmutableSet.builder();
-                for (int j = 0; j < nameCount; j++) {
-                    namesBuilder.add(readClassName(decoder, classNameMap));
+                int index = decoder.readSmallInt();
+                dependenciesToAll.set(index);
+                String reason = decoder.readNullableString();
+                if (reason != null) {
+                    reasons.put(index, reason);
                 }
-                literalsToClassesBuilder.put(literal, namesBuilder.build());
             }
 
-            count = decoder.readSmallInt();
-            ImmutableMap.Builder<String, Set<String>> classNameToChildren = ImmutableMap.builder();
-            for (int i = 0; i < count; i++) {
-                String parent = readClassName(decoder, classNameMap);
-                int nameCount = decoder.readSmallInt();
-                ImmutableSet.Builder<String> namesBuilder = ImmutableSet.builder();
-                for (int j = 0; j < nameCount; j++) {
-                    namesBuilder.add(readClassName(decoder, classNameMap));
-                }
-                classNameToChildren.put(parent, namesBuilder.build());
-            }
+            IntSetMultimap classesToConstants = IntSetMultimap.read(decoder, classNames.length);
+            int[] literals = IntSetMultimap.readSortedInts(decoder);
+            IntSetMultimap literalsToClasses = IntSetMultimap.read(decoder, literals.length);
+            IntSetMultimap classesToChildren = IntSetMultimap.read(decoder, classNames.length);
 
-            return new ClassSetAnalysisData(filePathToClassNameBuilder.build(), dependentsBuilder.build(), classesToConstantsBuilder.build(), literalsToClassesBuilder.build(), classNameToChildren.build());
+            return new ClassSetAnalysisData(classNames, filePaths, fileClasses, dependents, dependenciesToAll, reasons.build(), classesToConstants, literals, literalsToClasses, classesToChildren);
         }
 
         @Override
         public void write(Encoder encoder, ClassSetAnalysisData value) throws Exception {
-            // Deduplicate class names when encoding.
-            // This would be more efficient with a better data structure in ClassSetAnalysisData
-            Map<String, Integer> classNameMap = new HashMap<String, Integer>();
-
-            encoder.writeSmallInt(value.filePathToClassName.size());
-            for (Map.Entry<String, String> entry : value.filePathToClassName.entrySet()) {
-                encoder.writeString(entry.getKey());
-                writeClassName(entry.getValue(), classNameMap, encoder);
-            }
+            writeSortedStrings(encoder, value.classNames);
 
-            encoder.writeSmallInt(value.dependents.size());
-            for (Map.Entry<String, DependentsSet> entry : value.dependents.entrySet()) {
-                writeClassName(entry.getKey(), classNameMap, encoder);
-                writeDependentSet(entry.getValue(), classNameMap, encoder);
-            }
-
-            encoder.writeSmallInt(value.classesToConstants.size());
-            for (Map.Entry<String, Set<Integer>> entry : value.classesToConstants.entrySet()) {
-                writeClassName(entry.getKey(), classNameMap, encoder);
-                INTEGER_SET_SERIALIZER.write(encoder, entry.getValue());
-            }
-
-            encoder.writeSmallInt(value.literalsToClasses.size());
-            for (Map.Entry<Integer, Set<String>> entry : value.literalsToClasses.entrySet()) {
-                encoder.writeInt(entry.getKey());
-                encoder.writeSmallInt(entry.getValue().size());
-                for (String className : entry.getValue()) {
-                    writeClassName(className, classNameMap, encoder);
-                }
+            writeSortedStrings(encoder, value.filePaths);
+            for (int fileClass : value.fileClasses) {
+                encoder.writeSmallInt(fileClass);
             }
 
-            encoder.writeSmallInt(value.classesToChildren.size());
-            for (Map.Entry<String, Set<String>> entry : value.classesToChildren.entrySet()) {
-                writeClassName(entry.getKey(), classNameMap, encoder);
-                encoder.writeSmallInt(entry.getValue().size());
-                for (String className : entry.getValue()) {
-                    writeClassName(className, classNameMap, encoder);
-                }
+            value.dependents.write(encoder);
+            encoder.writeSmallInt(value.dependenciesToAll.cardinality());
+            for (int index = value.dependenciesToAll.nextSetBit(0); index >= 0; index = value.dependenciesToAll.nextSetBit(index + 1)) {
+                encoder.writeSmallInt(index);
+                encoder.writeNullableString(value.dependencyToAllReasons.get(index));
             }
-        }
 
-        private DependentsSet readDependentsSet(Decoder decoder, Map<Integer, String> classNameMap) throws IOException {
-            byte b = decoder.readByte();
-            if (b == 1) {
-                return new DependencyToAll(decoder.readNullableString());
-            }
-            int count = decoder.readSmallInt();
-            ImmutableSet.Builder<String> builder = ImmutableSet.builder();
-            for (int i = 0; i < count; i++) {
-                builder.add(readClassName(decoder, classNameMap));
-            }
-            return new DefaultDependentsSet(builder.build());
+            value.classesToConstants.write(encoder);
+            IntSetMultimap.writeSortedInts(encoder, value.literals, 0, value.literals.length);
+            value.literalsToClasses.write(encoder);
+            value.classesToChildren.write(encoder);
         }
 
-        private void writeDependentSet(DependentsSet dependentsSet, Map<String, Integer> classNameMap, Encoder encoder) throws IOException {
-            if (dependentsSet.isDependencyToAll()) {
-                encoder.writeByte((byte) 1);
-                encoder.writeNullableString(dependentsSet.getDescription());
-            } else {
-                encoder.writeByte((byte) 2);
-                encoder.writeSmallInt(dependentsSet.getDependentClasses().size());
-                for (String className : dependentsSet.getDependentClasses()) {
-                    writeClassName(className, classNameMap, encoder);
-                }
+        // Sorted class names and file paths share long prefixes, so each string is written as the length of the prefix it shares with the previous one, followed by the rest of the string
+        private static void writeSortedStrings(Encoder encoder, String[] strings) throws IOException {
+            encoder.writeSmallInt(strings.length);
+            String previous = "";
+            for (String string : strings) {
+                int prefix = commonPrefixLength(previous, string);
+                encoder.writeSmallInt(prefix);
+                encoder.writeString(string.substring(prefix));
+                previous = string;
             }
         }
 
-        private String readClassName(Decoder decoder, Map<Integer, String> classNameMap) throws IOException {
-            int id = decoder.readSmallInt();
-            if (id == 0) {
-                id = decoder.readSmallInt();
-                String className = decoder.readString();
-                classNameMap.put(id, className);
-                return className;
+        private static String[] readSortedStrings(Decoder decoder) throws IOException {
+            String[] strings = new String[decoder.readSmallInt()];
+            String previous = "";
+            for (int i = 0; i < strings.length; i++) {
+                int prefix = decoder.readSmallInt();
+                previous = previous.substring(0, prefix) + decoder.readString();
+                strings[i] = previous;
             }
-            return classNameMap.get(id);
+            return strings;
         }
 
-        private void writeClassName(String className, Map<String, Integer> classIdMap, Encoder encoder) throws IOException {
-            Integer id = classIdMap.get(className);
-            if (id == null) {
-                id = classIdMap.size() + 1;
-                classIdMap.put(className, id);
-                encoder.writeSmallInt(0);
-                encoder.writeSmallInt(id);
-                encoder.writeString(className);
-            } else {
-                encoder.writeSmallInt(id);
+        private static int commonPrefixLength(String a, String b) {
+            int max = Math.min(a.length(), b.length());
+            int i = 0;
+            while (i < max && a.charAt(i) == b.charAt(i)) {
+                i++;
             }
+            return i;
         }
     }
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile.incremental.deps;
+
+import org.gradle.internal.serialize.Decoder;
+import org.gradle.internal.serialize.Encoder;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * An immutable multimap from the keys {@code 0..keyCount-1} to sorted sets of ints. The sets are stored one after the other in a single
+ * array, with the offset of each set in a second array. A key that maps to an empty set is distinguished from a key without a mapping.
+ */
+final class IntSetMultimap {
+    private final BitSet keys;
+    private final int[] offsets;
+    private final int[] values;
+
+    private IntSetMultimap(BitSet keys, int[] offsets, int[] values) {
+        this.keys = keys;
+        this.offsets = offsets;
+        this.values = values;
+    }
+
+    public boolean containsKey(int key) {
+        return keys.get(key);
+    }
+
+    public int[] get(int key) {
+        return Arrays.copyOfRange(values, offsets[key], offsets[key + 1]);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        IntSetMultimap other = (IntSetMultimap) o;
+        return keys.equals(other.keys) && Arrays.equals(offsets, other.offsets) && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * keys.hashCode() + Arrays.hashCode(values);
+    }
+
+    public void write(Encoder encoder) throws IOException {
+        encoder.writeSmallInt(keys.cardinality());
+        int previousKey = 0;
+        for (int key = keys.nextSetBit(0); key >= 0; key = keys.nextSetBit(key + 1)) {
+            encoder.writeSmallInt(key - previousKey);
+            previousKey = key;
+            writeSortedInts(encoder, values, offsets[key], offsets[key + 1]);
+        }
+    }
+
+    public static IntSetMultimap read(Decoder decoder, int keyCount) throws IOException {
+        Builder builder = new Builder(keyCount);
+        int count = decoder.readSmallInt();
+        int key = 0;
+        for (int i = 0; i < count; i++) {
+            key += decoder.readSmallInt();
+            builder.put(key, readSortedInts(decoder));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Writes a sorted range of ints as the differences between consecutive values, which are small for dense sets such as class indices.
+     */
+    static void writeSortedInts(Encoder encoder, int[] values, int from, int to) throws IOException {
+        encoder.writeSmallInt(to - from);
+        long previous = Integer.MIN_VALUE;
+        for (int i = from; i < to; i++) {
+            encoder.writeSmallLong(values[i] - previous);
+            previous = values[i];
+        }
+    }
+
+    static int[] readSortedInts(Decoder decoder) throws IOException {
+        int[] values = new int[decoder.readSmallInt()];
+        long previous = Integer.MIN_VALUE;
+        for (int i = 0; i < values.length; i++) {
+            previous += decoder.readSmallLong();
+            values[i] = (int) previous;
+        }
+        return values;
+    }
+
+    static class Builder {
+        private final int[][] sets;
+
+        Builder(int keyCount) {
+            sets = new int[keyCount][];
+        }
+
+        public void put(int key, Collection<Integer> values) {
+            int[] set = new int[values.size()];
+            int i = 0;
+            for (Integer value : values) {
+                set[i++] = value;
+            }
+            put(key, set);
+        }
+
+        public void put(int key, int[] values) {
+            Arrays.sort(values);
+            sets[key] = values;
+        }
+
+        public IntSetMultimap build() {
+            BitSet keys = new BitSet(sets.length);
+            int[] offsets = new int[sets.length + 1];
+            int size = 0;
+            for (int key = 0; key < sets.length; key++) {
+                offsets[key] = size;
+                if (sets[key] != null) {
+                    keys.set(key);
+                    size += sets[key].length;
+                }
+            }
+            offsets[sets.length] = size;
+            int[] values = new int[size];
+            for (int key = 0; key < sets.length; key++) {
+                if (sets[key] != null) {
+                    System.arraycopy(sets[key], 0, values, offsets[key], sets[key].length);
+                }
+            }
+            return new IntSetMultimap(keys, offsets, values);
+        }
+    }
+}
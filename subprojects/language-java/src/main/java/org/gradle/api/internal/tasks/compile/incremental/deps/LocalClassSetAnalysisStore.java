@@ -32,7 +32,10 @@ public class LocalClassSetAnalysisStore implements Loader<ClassSetAnalysisData>,
 
     @Override
     public void put(ClassSetAnalysisData analysis) {
-        cache.put(taskPath, analysis);
+        // Most recompilations do not change the dependencies between classes, so do not rewrite an unchanged analysis
+        if (!analysis.equals(cache.get(taskPath))) {
+            cache.put(taskPath, analysis);
+        }
     }
 
     @Override
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile.incremental.deps;
+
+import org.gradle.api.internal.cache.Loader;
+import org.gradle.api.internal.cache.Stash;
+import org.gradle.cache.PersistentIndexedCache;
+
+//Keeps the classes compiled from each source file of the given compile task
+public class LocalSourceClassesMappingStore implements Loader<SourceClassesMapping>, Stash<SourceClassesMapping> {
+    private final String taskPath;
+    private final PersistentIndexedCache<String, SourceClassesMapping> cache;
+
+    public LocalSourceClassesMappingStore(String taskPath, PersistentIndexedCache<String, SourceClassesMapping> cache) {
+        this.taskPath = taskPath;
+        this.cache = cache;
+    }
+
+    @Override
+    public void put(SourceClassesMapping mapping) {
+        if (!mapping.equals(cache.get(taskPath))) {
+            cache.put(taskPath, mapping);
+        }
+    }
+
+    @Override
+    public SourceClassesMapping get() {
+        return cache.get(taskPath);
+    }
+
+    /**
+     * Forgets the mapping, for example when the classes compiled from the source files are not known.
+     */
+    public void remove() {
+        cache.remove(taskPath);
+    }
+}
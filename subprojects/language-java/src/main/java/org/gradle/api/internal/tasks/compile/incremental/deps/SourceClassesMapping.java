@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile.incremental.deps;
+
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.SetMultimap;
+import org.gradle.internal.serialize.AbstractSerializer;
+import org.gradle.internal.serialize.Decoder;
+import org.gradle.internal.serialize.Encoder;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The top level classes compiled from each source file, for languages whose source files may declare classes with names unrelated to the name of
+ * the source file. Source files are identified by their path relative to the source directory that contains them.
+ */
+public class SourceClassesMapping {
+    private final ImmutableSetMultimap<String, String> sourcesToClasses;
+
+    public SourceClassesMapping(SetMultimap<String, String> sourcesToClasses) {
+        this.sourcesToClasses = ImmutableSetMultimap.copyOf(sourcesToClasses);
+    }
+
+    public Set<String> getSourcePaths() {
+        return sourcesToClasses.keySet();
+    }
+
+    /**
+     * Returns the classes compiled from the given source file, or an empty set when the source file is not known.
+     */
+    public Set<String> getClassNames(String sourcePath) {
+        return sourcesToClasses.get(sourcePath);
+    }
+
+    /**
+     * Returns the source files the given class was compiled from, or an empty set when the class is not known.
+     */
+    public Set<String> getSourcePaths(String className) {
+        return sourcesToClasses.inverse().get(className);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return sourcesToClasses.equals(((SourceClassesMapping) o).sourcesToClasses);
+    }
+
+    @Override
+    public int hashCode() {
+        return sourcesToClasses.hashCode();
+    }
+
+    public static class Serializer extends AbstractSerializer<SourceClassesMapping> {
+        @Override
+        public SourceClassesMapping read(Decoder decoder) throws Exception {
+            ImmutableSetMultimap.Builder<String, String> builder = ImmutableSetMultimap.builder();
+            int sourceCount = decoder.readSmallInt();
+            for (int i = 0; i < sourceCount; i++) {
+                String sourcePath = decoder.readString();
+                int classCount = decoder.readSmallInt();
+                for (int j = 0; j < classCount; j++) {
+                    builder.put(sourcePath, decoder.readString());
+                }
+            }
+            return new SourceClassesMapping(builder.build());
+        }
+
+        @Override
+        public void write(Encoder encoder, SourceClassesMapping value) throws Exception {
+            Map<String, Collection<String>> sources = value.sourcesToClasses.asMap();
+            encoder.writeSmallInt(sources.size());
+            for (Map.Entry<String, Collection<String>> entry : sources.entrySet()) {
+                encoder.writeString(entry.getKey());
+                encoder.writeSmallInt(entry.getValue().size());
+                for (String className : entry.getValue()) {
+                    encoder.writeString(className);
+                }
+            }
+        }
+    }
+}
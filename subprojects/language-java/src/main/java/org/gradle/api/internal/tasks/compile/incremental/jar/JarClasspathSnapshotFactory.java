@@ -16,30 +16,53 @@
 
 package org.gradle.api.internal.tasks.compile.incremental.jar;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.common.hash.HashCode;
+import org.gradle.api.Action;
+import org.gradle.internal.operations.BuildOperationProcessor;
+import org.gradle.internal.operations.BuildOperationQueue;
+import org.gradle.internal.operations.RunnableBuildOperation;
 
 import java.io.File;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 public class JarClasspathSnapshotFactory {
 
     private final JarSnapshotter jarSnapshotter;
+    private final BuildOperationProcessor buildOperationProcessor;
 
-    public JarClasspathSnapshotFactory(JarSnapshotter jarSnapshotter) {
+    public JarClasspathSnapshotFactory(JarSnapshotter jarSnapshotter, BuildOperationProcessor buildOperationProcessor) {
         this.jarSnapshotter = jarSnapshotter;
+        this.buildOperationProcessor = buildOperationProcessor;
     }
 
     JarClasspathSnapshot createSnapshot(Iterable<JarArchive> jarArchives) {
+        final List<SnapshotJarOperation> operations = Lists.newArrayList();
+        for (JarArchive jar : jarArchives) {
+            operations.add(new SnapshotJarOperation(jar));
+        }
+        // Snapshot the jars concurrently, as each may need to be hashed and analyzed when it is not in the jar snapshot cache
+        buildOperationProcessor.run(new Action<BuildOperationQueue<SnapshotJarOperation>>() {
+            @Override
+            public void execute(BuildOperationQueue<SnapshotJarOperation> buildQueue) {
+                for (SnapshotJarOperation operation : operations) {
+                    buildQueue.add(operation);
+                }
+            }
+        });
+
         Map<File, JarSnapshot> jarSnapshots = Maps.newHashMap();
         Map<File, HashCode> jarHashes = Maps.newHashMap();
         Set<String> allClasses = Sets.newHashSet();
         Set<String> duplicateClasses = Sets.newHashSet();
 
-        for (JarArchive jar : jarArchives) {
-            JarSnapshot snapshot = jarSnapshotter.createSnapshot(jar);
+        for (SnapshotJarOperation operation : operations) {
+            JarArchive jar = operation.jar;
+            JarSnapshot snapshot = operation.snapshot;
             jarSnapshots.put(jar.file, snapshot);
             jarHashes.put(jar.file, snapshot.getHash());
             for (String c : snapshot.getClasses()) {
@@ -51,4 +74,23 @@ public class JarClasspathSnapshotFactory {
         JarClasspathSnapshotData jarClasspathSnapshotData = new JarClasspathSnapshotData(jarHashes, duplicateClasses);
         return new JarClasspathSnapshot(jarSnapshots, jarClasspathSnapshotData);
     }
+
+    private class SnapshotJarOperation implements RunnableBuildOperation {
+        private final JarArchive jar;
+        private JarSnapshot snapshot;
+
+        SnapshotJarOperation(JarArchive jar) {
+            this.jar = jar;
+        }
+
+        @Override
+        public void run() {
+            snapshot = jarSnapshotter.createSnapshot(jar);
+        }
+
+        @Override
+        public String getDescription() {
+            return "Snapshot " + jar.file;
+        }
+    }
 }
@@ -17,8 +17,10 @@
 package org.gradle.api.internal.tasks.compile.incremental.jar;
 
 import com.google.common.collect.Sets;
+import org.gradle.api.Nullable;
 import org.gradle.api.internal.tasks.compile.incremental.deps.ClassSetAnalysis;
 import org.gradle.api.internal.tasks.compile.incremental.deps.DependentsSet;
+import org.gradle.api.internal.tasks.compile.incremental.deps.SourceClassesMapping;
 
 import java.io.File;
 import java.util.Map;
@@ -29,12 +31,18 @@ public class PreviousCompilation {
     private ClassSetAnalysis analysis;
     private LocalJarClasspathSnapshotStore classpathSnapshotStore;
     private final JarSnapshotCache jarSnapshotCache;
+    private final SourceClassesMapping sourceClassesMapping;
     private Map<File, JarSnapshot> jarSnapshots;
 
     public PreviousCompilation(ClassSetAnalysis analysis, LocalJarClasspathSnapshotStore classpathSnapshotStore, JarSnapshotCache jarSnapshotCache) {
+        this(analysis, classpathSnapshotStore, jarSnapshotCache, null);
+    }
+
+    public PreviousCompilation(ClassSetAnalysis analysis, LocalJarClasspathSnapshotStore classpathSnapshotStore, JarSnapshotCache jarSnapshotCache, @Nullable SourceClassesMapping sourceClassesMapping) {
         this.analysis = analysis;
         this.classpathSnapshotStore = classpathSnapshotStore;
         this.jarSnapshotCache = jarSnapshotCache;
+        this.sourceClassesMapping = sourceClassesMapping;
     }
 
     public DependentsSet getDependents(Set<String> allClasses, Set<Integer> constants) {
@@ -57,4 +65,28 @@ public class PreviousCompilation {
         Set<Integer> constants = Sets.difference(analysis.getData().getConstants(className), newConstants);
         return analysis.getRelevantDependents(className, constants);
     }
+
+    /**
+     * Returns the classes compiled from the given source file, or null when the classes are to be inferred from the path of the source file.
+     */
+    @Nullable
+    public Set<String> getClassNamesForSource(String sourcePath) {
+        if (sourceClassesMapping == null) {
+            return null;
+        }
+        Set<String> classNames = sourceClassesMapping.getClassNames(sourcePath);
+        return classNames.isEmpty() ? null : classNames;
+    }
+
+    /**
+     * Returns the source files the given class was compiled from, or null when the source files are to be inferred from the name of the class.
+     */
+    @Nullable
+    public Set<String> getSourcePathsForClass(String className) {
+        if (sourceClassesMapping == null) {
+            return null;
+        }
+        Set<String> sourcePaths = sourceClassesMapping.getSourcePaths(className);
+        return sourcePaths.isEmpty() ? null : sourcePaths;
+    }
 }
@@ -23,12 +23,20 @@ import java.util.LinkedHashSet;
 public class RecompilationSpec {
 
     private final Collection<String> classesToCompile = new NormalizingClassNamesSet();
+    private final Collection<String> sourcePaths = new LinkedHashSet<String>();
     private String fullRebuildCause;
 
     public Collection<String> getClassNames() {
         return classesToCompile;
     }
 
+    /**
+     * The paths of the source files to compile, relative to their source directory.
+     */
+    public Collection<String> getSourcePaths() {
+        return sourcePaths;
+    }
+
     public boolean isFullRebuildNeeded() {
         return fullRebuildCause != null;
     }
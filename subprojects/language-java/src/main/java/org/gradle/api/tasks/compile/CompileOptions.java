@@ -364,6 +364,7 @@ public class CompileOptions extends AbstractOptions {
     /**
      * Configure the java compilation to be incremental (e.g. compiles only those java classes that were changed or that are dependencies to the changed classes).
      * The feature is incubating and does not yet satisfies all compilation scenarios.
+     * For {@code GroovyCompile}, this configures the joint compilation of Groovy and Java classes to be incremental, unless a compiler configuration script is used.
      */
     public CompileOptions setIncremental(boolean incremental) {
         this.incremental = incremental;
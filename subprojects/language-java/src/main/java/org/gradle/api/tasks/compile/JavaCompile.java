@@ -31,12 +31,9 @@ import org.gradle.api.internal.tasks.compile.DefaultJavaCompileSpec;
 import org.gradle.api.internal.tasks.compile.DefaultJavaCompileSpecFactory;
 import org.gradle.api.internal.tasks.compile.JavaCompileSpec;
 import org.gradle.api.internal.tasks.compile.incremental.IncrementalCompilerFactory;
-import org.gradle.api.internal.tasks.compile.incremental.analyzer.ClassAnalysisCache;
 import org.gradle.api.internal.tasks.compile.incremental.cache.CompileCaches;
+import org.gradle.api.internal.tasks.compile.incremental.cache.DefaultCompileCaches;
 import org.gradle.api.internal.tasks.compile.incremental.cache.GeneralCompileCaches;
-import org.gradle.api.internal.tasks.compile.incremental.deps.LocalClassSetAnalysisStore;
-import org.gradle.api.internal.tasks.compile.incremental.jar.JarSnapshotCache;
-import org.gradle.api.internal.tasks.compile.incremental.jar.LocalJarClasspathSnapshotStore;
 import org.gradle.api.specs.Spec;
 import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.Classpath;
@@ -51,6 +48,7 @@ import org.gradle.api.tasks.WorkResult;
 import org.gradle.api.tasks.incremental.IncrementalTaskInputs;
 import org.gradle.cache.CacheRepository;
 import org.gradle.internal.Factory;
+import org.gradle.internal.operations.BuildOperationProcessor;
 import org.gradle.jvm.internal.toolchain.JavaToolChainInternal;
 import org.gradle.jvm.platform.JavaPlatform;
 import org.gradle.jvm.platform.internal.DefaultJavaPlatform;
@@ -136,36 +134,14 @@ public class JavaCompile extends AbstractCompile {
         }
 
         DefaultJavaCompileSpec spec = createSpec();
-        CompileCaches compileCaches = createCompileCaches();
-        IncrementalCompilerFactory factory = new IncrementalCompilerFactory(
-            getFileOperations(), getCachingFileHasher(), getPath(), createCompiler(spec), source, compileCaches, (IncrementalTaskInputsInternal) inputs, getEffectiveAnnotationProcessorPath());
+        CompileCaches compileCaches = new DefaultCompileCaches(getGeneralCompileCaches(), getPath());
+        CleaningJavaCompiler cleaningCompiler = createCompiler(spec);
+        IncrementalCompilerFactory<JavaCompileSpec> factory = new IncrementalCompilerFactory<JavaCompileSpec>(
+            getFileOperations(), getCachingFileHasher(), getPath(), cleaningCompiler, cleaningCompiler.getCompiler(), source, compileCaches, (IncrementalTaskInputsInternal) inputs, getEffectiveAnnotationProcessorPath(), getBuildOperationProcessor());
         Compiler<JavaCompileSpec> compiler = factory.createCompiler();
         performCompilation(spec, compiler);
     }
 
-    private CompileCaches createCompileCaches() {
-        final GeneralCompileCaches generalCaches = getGeneralCompileCaches();
-        final LocalClassSetAnalysisStore localClassSetAnalysisStore = generalCaches.createLocalClassSetAnalysisStore(getPath());
-        final LocalJarClasspathSnapshotStore localJarClasspathSnapshotStore = generalCaches.createLocalJarClasspathSnapshotStore(getPath());
-        return new CompileCaches() {
-            public ClassAnalysisCache getClassAnalysisCache() {
-                return generalCaches.getClassAnalysisCache();
-            }
-
-            public JarSnapshotCache getJarSnapshotCache() {
-                return generalCaches.getJarSnapshotCache();
-            }
-
-            public LocalJarClasspathSnapshotStore getLocalJarClasspathSnapshotStore() {
-                return localJarClasspathSnapshotStore;
-            }
-
-            public LocalClassSetAnalysisStore getLocalClassSetAnalysisStore() {
-                return localClassSetAnalysisStore;
-            }
-        };
-    }
-
     @Inject
     protected CachingFileHasher getCachingFileHasher() {
         throw new UnsupportedOperationException();
@@ -183,6 +159,10 @@ public class JavaCompile extends AbstractCompile {
         throw new UnsupportedOperationException();
     }
 
+    @Inject protected BuildOperationProcessor getBuildOperationProcessor() {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     protected void compile() {
         DefaultJavaCompileSpec spec = createSpec();
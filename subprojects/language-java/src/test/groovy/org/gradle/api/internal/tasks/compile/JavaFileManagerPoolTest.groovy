@@ -0,0 +1,206 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile
+
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+import javax.tools.JavaCompiler
+import javax.tools.StandardJavaFileManager
+import javax.tools.StandardLocation
+import javax.tools.ToolProvider
+import java.nio.charset.Charset
+
+class JavaFileManagerPoolTest extends Specification {
+    @Rule TestNameTestDirectoryProvider tmpDir
+    def compiler = Mock(JavaCompiler)
+    def pool = new JavaFileManagerPool(2)
+
+    def "reuses file manager for compilations that differ only in their locations"() {
+        def fileManager = Mock(StandardJavaFileManager)
+        def jar = tmpDir.file("lib.jar").createFile()
+
+        when:
+        def lease1 = pool.acquire(compiler, null, ["-d", "out1", "-classpath", "a.jar", "-g"], [jar])
+        pool.release(lease1, true)
+        def lease2 = pool.acquire(compiler, null, ["-d", "out2", "-classpath", "b.jar", "-g"], [jar])
+
+        then:
+        1 * compiler.getStandardFileManager(null, null, null) >> fileManager
+        lease1.fileManager == fileManager
+        lease2.fileManager == fileManager
+        0 * fileManager.close()
+    }
+
+    def "reuses file manager for compilations with different instances of the same compiler"() {
+        def source = tmpDir.file("src/Foo.java")
+        source.text = "class Foo {}"
+        def compiler1 = ToolProvider.getSystemJavaCompiler()
+        def compiler2 = ToolProvider.getSystemJavaCompiler()
+
+        def options1 = ["-d", tmpDir.file("out1").createDir().path]
+        def options2 = ["-d", tmpDir.file("out2").createDir().path]
+
+        when:
+        def lease1 = pool.acquire(compiler1, null, options1, [])
+        def success1 = compile(compiler1, lease1, options1, source)
+        pool.release(lease1, true)
+        def lease2 = pool.acquire(compiler2, null, options2, [])
+        def success2 = compile(compiler2, lease2, options2, source)
+        pool.release(lease2, true)
+
+        then:
+        !compiler1.is(compiler2)
+        success1
+        success2
+        lease2.fileManager.is(lease1.fileManager)
+        tmpDir.file("out1/Foo.class").file
+        tmpDir.file("out2/Foo.class").file
+        pool.idleCount == 1
+
+        cleanup:
+        pool.clear()
+    }
+
+    def "does not reuse file manager for compilations with a different compiler implementation"() {
+        def fileManager1 = Mock(StandardJavaFileManager)
+        def fileManager2 = Mock(StandardJavaFileManager)
+        def otherCompiler = [getStandardFileManager: { listener, locale, charset -> fileManager2 }] as JavaCompiler
+
+        when:
+        pool.release(pool.acquire(compiler, null, ["-g"], []), true)
+        def lease = pool.acquire(otherCompiler, null, ["-g"], [])
+
+        then:
+        1 * compiler.getStandardFileManager(null, null, null) >> fileManager1
+        lease.fileManager == fileManager2
+    }
+
+    def "sets locations of file manager from the options of each compilation"() {
+        def fileManager = Mock(StandardJavaFileManager)
+        compiler.getStandardFileManager(null, null, null) >> fileManager
+        pool.release(pool.acquire(compiler, null, ["-d", "out1", "-classpath", "a.jar", "-processorpath", "p.jar"], []), true)
+
+        when:
+        pool.acquire(compiler, null, ["-d", "out2", "-classpath", "b.jar" + File.pathSeparator + "c.jar", "-sourcepath", "", "-processorpath", "p.jar"], [])
+
+        then:
+        1 * fileManager.setLocation(StandardLocation.CLASS_OUTPUT, [new File("out2")])
+        1 * fileManager.setLocation(StandardLocation.CLASS_PATH, [new File("b.jar"), new File("c.jar")])
+        1 * fileManager.setLocation(StandardLocation.SOURCE_PATH, [])
+        1 * fileManager.setLocation(StandardLocation.ANNOTATION_PROCESSOR_PATH, [new File("p.jar")])
+        0 * fileManager._
+    }
+
+    def "does not reuse file manager for compilations with different options or encoding"() {
+        def fileManager1 = Mock(StandardJavaFileManager)
+        def fileManager2 = Mock(StandardJavaFileManager)
+        def fileManager3 = Mock(StandardJavaFileManager)
+        def utf8 = Charset.forName("UTF-8")
+
+        when:
+        pool.release(pool.acquire(compiler, null, ["-g"], []), true)
+        def lease2 = pool.acquire(compiler, null, ["-g:none"], [])
+        def lease3 = pool.acquire(compiler, utf8, ["-g"], [])
+
+        then:
+        1 * compiler.getStandardFileManager(null, null, null) >> fileManager1
+        1 * compiler.getStandardFileManager(null, null, null) >> fileManager2
+        1 * compiler.getStandardFileManager(null, null, utf8) >> fileManager3
+        lease2.fileManager == fileManager2
+        lease3.fileManager == fileManager3
+    }
+
+    def "does not share file manager between concurrent compilations"() {
+        def fileManager1 = Mock(StandardJavaFileManager)
+        def fileManager2 = Mock(StandardJavaFileManager)
+
+        when:
+        def lease1 = pool.acquire(compiler, null, ["-g"], [])
+        def lease2 = pool.acquire(compiler, null, ["-g"], [])
+
+        then:
+        2 * compiler.getStandardFileManager(null, null, null) >>> [fileManager1, fileManager2]
+        lease1.fileManager == fileManager1
+        lease2.fileManager == fileManager2
+    }
+
+    def "discards file manager when a jar it has read has changed"() {
+        def fileManager1 = Mock(StandardJavaFileManager)
+        def fileManager2 = Mock(StandardJavaFileManager)
+        def jar = tmpDir.file("lib.jar")
+        jar.text = "content"
+
+        given:
+        compiler.getStandardFileManager(null, null, null) >>> [fileManager1, fileManager2]
+        pool.release(pool.acquire(compiler, null, ["-g"], [jar]), true)
+
+        when:
+        jar.text = "changed content"
+        def lease = pool.acquire(compiler, null, ["-g"], [])
+
+        then:
+        1 * fileManager1.close()
+        lease.fileManager == fileManager2
+    }
+
+    def "closes file manager that is not reusable"() {
+        def fileManager = Mock(StandardJavaFileManager)
+        compiler.getStandardFileManager(null, null, null) >> fileManager
+
+        when:
+        pool.release(pool.acquire(compiler, null, ["-g"], []), false)
+
+        then:
+        1 * fileManager.close()
+        pool.idleCount == 0
+    }
+
+    def "closes least recently used file managers when too many are idle"() {
+        def fileManager1 = Mock(StandardJavaFileManager)
+        def fileManager2 = Mock(StandardJavaFileManager)
+        def fileManager3 = Mock(StandardJavaFileManager)
+        compiler.getStandardFileManager(null, null, null) >>> [fileManager1, fileManager2, fileManager3]
+
+        when:
+        def lease1 = pool.acquire(compiler, null, ["-g"], [])
+        def lease2 = pool.acquire(compiler, null, ["-g"], [])
+        def lease3 = pool.acquire(compiler, null, ["-g"], [])
+        pool.release(lease1, true)
+        pool.release(lease2, true)
+        pool.release(lease3, true)
+
+        then:
+        1 * fileManager1.close()
+        0 * fileManager2.close()
+        0 * fileManager3.close()
+        pool.idleCount == 2
+
+        when:
+        pool.clear()
+
+        then:
+        1 * fileManager2.close()
+        1 * fileManager3.close()
+        pool.idleCount == 0
+    }
+
+    private static boolean compile(JavaCompiler compiler, JavaFileManagerPool.Lease lease, List<String> options, File source) {
+        compiler.getTask(null, lease.fileManager, null, options, null, lease.fileManager.getJavaFileObjects(source)).call()
+    }
+}
@@ -34,7 +34,7 @@ class IncrementalCompilationInitializerTest extends Specification {
         PatternSet sourceToCompile = Mock(PatternSet)
 
         when:
-        initializer.preparePatterns(["com.Foo", "Bar"], classesToDelete, sourceToCompile)
+        initializer.preparePatterns(["com.Foo", "Bar"], ["com/Foo.java", "Bar.java"], classesToDelete, sourceToCompile)
 
         then:
         1 * classesToDelete.include('com/Foo.class')
@@ -49,13 +49,13 @@ class IncrementalCompilationInitializerTest extends Specification {
     }
 
     def "does not prepare patterns when stale classes empty"() {
-        when: initializer.preparePatterns([], Mock(PatternSet), Mock(PatternSet))
+        when: initializer.preparePatterns([], [], Mock(PatternSet), Mock(PatternSet))
         then: thrown(AssertionError)
     }
 
     def "configures empty source when stale classes empty"() {
         def compileSpec = Mock(JavaCompileSpec)
-        when: initializer.initializeCompilation(compileSpec, [])
+        when: initializer.initializeCompilation(compileSpec, [], [])
         then:
         1 * compileSpec.setSource { it.files.empty }
         0 * _
@@ -40,4 +40,16 @@ class SourceToNameConverterTest extends Specification {
         when: converter.getClassName(temp.file("src/main/unknown/Xxx.java"))
         then: thrown(IllegalArgumentException)
     }
+
+    def "knows source paths and class names for other source file extensions"() {
+        def groovyConverter = new SourceToNameConverter(srcDirs, ["java", "groovy"])
+
+        expect:
+        groovyConverter.isSourceFile(temp.file("src/main/java/org/bar/Bar.groovy"))
+        !groovyConverter.isSourceFile(temp.file("src/main/java/org/bar/Bar.scala"))
+        groovyConverter.getClassName(temp.file("src/main/java/org/bar/Bar.groovy")) == "org.bar.Bar"
+        groovyConverter.getRelativePath(temp.file("src/main/java2/com/Com.groovy")) == "com/Com.groovy"
+        groovyConverter.getSourcePaths("org.bar.Bar") == ["org/bar/Bar.java", "org/bar/Bar.groovy"]
+        converter.getSourcePaths("org.bar.Bar") == ["org/bar/Bar.java"]
+    }
 }
@@ -43,17 +43,48 @@ class ClassSetAnalysisDataSerializerTest extends Specification {
         ClassSetAnalysisData read = serializer.read(new InputStreamBackedDecoder(new ByteArrayInputStream(os.toByteArray())))
 
         then:
-        read.dependents.keySet() == data.dependents.keySet()
+        read == data
 
         ["A", "B", "C"].each {
-            assert read.dependents[it].dependentClasses == data.dependents[it].dependentClasses
-            assert read.dependents[it].dependencyToAll == data.dependents[it].dependencyToAll
+            assert read.getDependents(it).dependentClasses == data.getDependents(it).dependentClasses
+            assert read.getDependents(it).dependencyToAll == data.getDependents(it).dependencyToAll
         }
 
-        read.dependents["D"] instanceof DependencyToAll
-        read.filePathToClassName == ["A.class": "A", "B.class": "B"]
-        read.classesToConstants == [C: [1,2] as Set, D: [] as Set]
-        read.literalsToClasses == [3: ['A', 'B'] as Set, 4: ['D'] as Set]
-        read.classesToChildren == ['A': ['SA'] as Set, B: ['SB1', 'SB2'] as Set]
+        read.getDependents("D") instanceof DependencyToAll
+        read.getDependents("SA") == null
+        read.getClassNameForFile("A.class") == "A"
+        read.getClassNameForFile("B.class") == "B"
+        read.getClassNameForFile("C.class") == null
+        read.getConstants("C") == [1, 2] as Set
+        read.getConstants("D") == [] as Set
+        read.getClassesWithLiteral(3) == ['A', 'B'] as Set
+        read.getClassesWithLiteral(4) == ['D'] as Set
+        read.getChildren("A") == ['SA'] as Set
+        read.getChildren("B") == ['SB1', 'SB2'] as Set
+    }
+
+    def "serializes negative constants and reasons of dependencies to all"() {
+        def data = new ClassSetAnalysisData(
+            [:],
+            ["org.A": new DependencyToAll("private constant"), "org.B": new DependencyToAll()],
+            ["org.A": [Integer.MIN_VALUE, -1, 0, Integer.MAX_VALUE] as Set],
+            [(Integer.MIN_VALUE): ['org.A'] as Set, (-5): ['org.B'] as Set, (Integer.MAX_VALUE): ['org.A', 'org.B'] as Set],
+            [:]
+        )
+        def os = new ByteArrayOutputStream()
+
+        when:
+        serializer.write(new OutputStreamBackedEncoder(os), data)
+        ClassSetAnalysisData read = serializer.read(new InputStreamBackedDecoder(new ByteArrayInputStream(os.toByteArray())))
+
+        then:
+        read == data
+        read.getDependents("org.A").description == "private constant"
+        read.getDependents("org.B").description == null
+        read.getConstants("org.A") == [Integer.MIN_VALUE, -1, 0, Integer.MAX_VALUE] as Set
+        read.getClassesWithLiteral(Integer.MIN_VALUE) == ['org.A'] as Set
+        read.getClassesWithLiteral(-5) == ['org.B'] as Set
+        read.getClassesWithLiteral(Integer.MAX_VALUE) == ['org.A', 'org.B'] as Set
+        read.getClassesWithLiteral(0) == [] as Set
     }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile.incremental.deps
+
+import org.gradle.cache.PersistentIndexedCache
+import spock.lang.Specification
+
+import static org.gradle.api.internal.tasks.compile.incremental.deps.DefaultDependentsSet.dependents
+
+class LocalClassSetAnalysisStoreTest extends Specification {
+    def cache = Mock(PersistentIndexedCache)
+    def store = new LocalClassSetAnalysisStore(":compileJava", cache)
+
+    def "writes analysis that has changed"() {
+        def analysis = analysisWithDependent("B")
+
+        when:
+        store.put(analysis)
+
+        then:
+        1 * cache.get(":compileJava") >> analysisWithDependent("C")
+        1 * cache.put(":compileJava", analysis)
+    }
+
+    def "writes analysis when there is no previous analysis"() {
+        def analysis = analysisWithDependent("B")
+
+        when:
+        store.put(analysis)
+
+        then:
+        1 * cache.get(":compileJava") >> null
+        1 * cache.put(":compileJava", analysis)
+    }
+
+    def "does not rewrite unchanged analysis"() {
+        when:
+        store.put(analysisWithDependent("B"))
+
+        then:
+        1 * cache.get(":compileJava") >> analysisWithDependent("B")
+        0 * cache.put(_, _)
+    }
+
+    def analysisWithDependent(String dependent) {
+        return new ClassSetAnalysisData(["A.class": "A"], ["A": dependents(dependent)], [A: [1] as Set], [:], [:])
+    }
+}
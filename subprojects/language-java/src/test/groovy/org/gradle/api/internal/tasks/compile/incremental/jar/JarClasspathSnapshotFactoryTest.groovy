@@ -17,14 +17,24 @@
 package org.gradle.api.internal.tasks.compile.incremental.jar
 
 import com.google.common.hash.HashCode
+import org.gradle.api.Action
 import org.gradle.api.file.FileTree
+import org.gradle.internal.operations.BuildOperationProcessor
+import org.gradle.internal.operations.BuildOperationQueue
+import org.gradle.internal.operations.RunnableBuildOperation
 import spock.lang.Specification
 import spock.lang.Subject
 
 class JarClasspathSnapshotFactoryTest extends Specification {
 
     def snapshotter = Mock(JarSnapshotter)
-    @Subject factory = new JarClasspathSnapshotFactory(snapshotter)
+    def queue = Stub(BuildOperationQueue) {
+        add(_) >> { RunnableBuildOperation operation -> operation.run() }
+    }
+    def buildOperationProcessor = Stub(BuildOperationProcessor) {
+        run(_) >> { Action generator -> generator.execute(queue) }
+    }
+    @Subject factory = new JarClasspathSnapshotFactory(snapshotter, buildOperationProcessor)
 
     def "creates classpath snapshot with correct duplicate classes"() {
         def jar1 = Stub(JarArchive); def jar2 = Stub(JarArchive); def jar3 = Stub(JarArchive)
@@ -63,4 +73,21 @@ class JarClasspathSnapshotFactoryTest extends Specification {
         s.data.jarHashes[new File("f1")] == HashCode.fromString("1234")
         s.data.jarHashes[new File("f2")] == HashCode.fromString("2345")
     }
+
+    def "snapshots each jar in a build operation"() {
+        def jar1 = new JarArchive(new File("f1"), Stub(FileTree))
+        def jar2 = new JarArchive(new File("f2"), Stub(FileTree))
+        def queue = Mock(BuildOperationQueue)
+        def buildOperationProcessor = Mock(BuildOperationProcessor)
+        def factory = new JarClasspathSnapshotFactory(snapshotter, buildOperationProcessor)
+
+        when:
+        factory.createSnapshot([jar1, jar2])
+
+        then:
+        1 * buildOperationProcessor.run(_) >> { Action generator -> generator.execute(queue) }
+        2 * queue.add({ it.description.startsWith("Snapshot ") }) >> { RunnableBuildOperation operation -> operation.run() }
+        1 * snapshotter.createSnapshot(jar1) >> Stub(JarSnapshot)
+        1 * snapshotter.createSnapshot(jar2) >> Stub(JarSnapshot)
+    }
 }
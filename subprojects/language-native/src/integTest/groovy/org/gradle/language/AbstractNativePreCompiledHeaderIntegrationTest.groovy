@@ -19,12 +19,15 @@ package org.gradle.language
 import org.apache.commons.lang.StringUtils
 import org.gradle.integtests.fixtures.SourceFile
 import org.gradle.nativeplatform.fixtures.AbstractInstalledToolChainIntegrationSpec
+import org.gradle.nativeplatform.fixtures.RequiresInstalledToolChain
 import org.gradle.nativeplatform.fixtures.app.IncrementalHelloWorldApp
 import org.gradle.util.Requires
 import org.gradle.util.TestPrecondition
 import org.hamcrest.Matchers
 import org.spockframework.util.TextUtil
 
+import static org.gradle.nativeplatform.fixtures.ToolChainRequirement.GCC_COMPATIBLE
+
 abstract class AbstractNativePreCompiledHeaderIntegrationTest extends AbstractInstalledToolChainIntegrationSpec {
     abstract IncrementalHelloWorldApp getApp()
 
@@ -410,6 +413,82 @@ abstract class AbstractNativePreCompiledHeaderIntegrationTest extends AbstractIn
         install.exec().out == app.englishOutput
     }
 
+    @RequiresInstalledToolChain(GCC_COMPATIBLE)
+    def "selects a header to pre-compile when the sources are recompiled" () {
+        given:
+        writeStandardSourceFiles()
+
+        when:
+        buildFile << autoSelectPreCompiledHeaderComponent()
+
+        then:
+        args("--info")
+        succeeds "helloSharedLibrary"
+        output.contains("No header to pre-compile was found for ${getLibraryCompileTaskName("hello", "shared")}.")
+        output.count(getUniquePragmaOutput(DEFAULT_PCH_MESSAGE)) == 2
+
+        when:
+        buildFile << """
+            model {
+                components {
+                    hello {
+                        binaries.all {
+                            ${app.compilerDefine("RECOMPILE")}
+                        }
+                    }
+                }
+            }
+        """
+
+        then:
+        args("--info")
+        succeeds "helloSharedLibrary"
+        executedAndNotSkipped ":${getLibraryCompileTaskName("hello", "shared")}"
+        output.contains("Pre-compiled header common.h for 2 source files of ${getLibraryCompileTaskName("hello", "shared")}")
+        // Once for the pre-compiled header only
+        output.count(getUniquePragmaOutput(DEFAULT_PCH_MESSAGE)) == 1
+    }
+
+    @RequiresInstalledToolChain(GCC_COMPATIBLE)
+    def "does not select a header that a source file includes after a directive" () {
+        given:
+        writeStandardSourceFiles()
+        new SourceFile(app.sourceType, "other.${app.sourceExtension}", """
+            #include "common.h"
+
+            int otherFunction() {
+                return 1000;
+            }
+        """).writeToDir(file("src/hello"))
+        def sumDotC = file("src/hello/${app.sourceType}/sum.${app.sourceExtension}")
+        sumDotC.text = "#define SUM_FIRST 1\n" + sumDotC.text
+
+        when:
+        buildFile << autoSelectPreCompiledHeaderComponent()
+
+        then:
+        succeeds "helloSharedLibrary"
+
+        when:
+        buildFile << """
+            model {
+                components {
+                    hello {
+                        binaries.all {
+                            ${app.compilerDefine("RECOMPILE")}
+                        }
+                    }
+                }
+            }
+        """
+
+        then:
+        args("--info")
+        succeeds "helloSharedLibrary"
+        output.contains("No header to pre-compile was found for ${getLibraryCompileTaskName("hello", "shared")}.")
+        output.count(getUniquePragmaOutput(DEFAULT_PCH_MESSAGE)) == 3
+    }
+
     static final String DEFAULT_PCH_MESSAGE="<==== compiling hello.h ====>"
     static final String FRENCH_PCH_MESSAGE="<==== compiling bonjour.h ====>"
     static final String ALTERNATE_PCH_MESSAGE="<==== compiling alternate hello.h ====>"
@@ -435,6 +514,23 @@ abstract class AbstractNativePreCompiledHeaderIntegrationTest extends AbstractIn
         """
     }
 
+    def autoSelectPreCompiledHeaderComponent() {
+        """
+            model {
+                components {
+                    hello(NativeLibrarySpec) {
+                        sources {
+                            ${app.sourceType}.autoSelectPreCompiledHeader = true
+                        }
+                        binaries.all {
+                            ${app.compilerArgs("-H")}
+                        }
+                    }
+                }
+            }
+        """
+    }
+
     String getMainComponent() {
         return """
             model {
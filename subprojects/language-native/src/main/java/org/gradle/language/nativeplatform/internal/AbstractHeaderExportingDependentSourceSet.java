@@ -32,6 +32,7 @@ public abstract class AbstractHeaderExportingDependentSourceSet extends Abstract
 
     private final List<Object> libs = new ArrayList<Object>();
     private String preCompiledHeader;
+    private boolean autoSelectPreCompiledHeader;
     private File prefixHeaderFile;
 
     @Override
@@ -59,6 +60,16 @@ public abstract class AbstractHeaderExportingDependentSourceSet extends Abstract
         this.preCompiledHeader = header;
     }
 
+    @Override
+    public boolean isAutoSelectPreCompiledHeader() {
+        return autoSelectPreCompiledHeader;
+    }
+
+    @Override
+    public void setAutoSelectPreCompiledHeader(boolean autoSelect) {
+        this.autoSelectPreCompiledHeader = autoSelect;
+    }
+
     @Override
     public File getPrefixHeaderFile() {
         return prefixHeaderFile;
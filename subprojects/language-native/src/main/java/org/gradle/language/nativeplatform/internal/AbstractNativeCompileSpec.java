@@ -20,9 +20,11 @@ import org.gradle.api.internal.changedetection.changes.DiscoveredInputRecorder;
 import org.gradle.internal.operations.logging.BuildOperationLogger;
 import org.gradle.nativeplatform.internal.AbstractBinaryToolSpec;
 import org.gradle.nativeplatform.toolchain.internal.NativeCompileSpec;
+import org.gradle.nativeplatform.toolchain.internal.ObjectFileCache;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class AbstractNativeCompileSpec extends AbstractBinaryToolSpec implements NativeCompileSpec {
 
@@ -37,8 +39,11 @@ public abstract class AbstractNativeCompileSpec extends AbstractBinaryToolSpec i
     private File prefixHeaderFile;
     private File preCompiledHeaderObjectFile;
     private Map<File, IncludeDirectives> sourceFileIncludeDirectives;
+    private Map<File, Long> previousCompileDurations = Collections.emptyMap();
+    private final Map<File, Long> compileDurations = new ConcurrentHashMap<File, Long>();
     private String preCompiledHeader;
     private DiscoveredInputRecorder discoveredInputRecorder;
+    private ObjectFileCache objectFileCache;
 
     @Override
     public List<File> getIncludeRoots() {
@@ -193,6 +198,31 @@ public abstract class AbstractNativeCompileSpec extends AbstractBinaryToolSpec i
         this.sourceFileIncludeDirectives = map;
     }
 
+    @Override
+    public Map<File, Long> getPreviousCompileDurations() {
+        return previousCompileDurations;
+    }
+
+    @Override
+    public void setPreviousCompileDurations(Map<File, Long> durations) {
+        this.previousCompileDurations = durations;
+    }
+
+    @Override
+    public Map<File, Long> getCompileDurations() {
+        return compileDurations;
+    }
+
+    @Override
+    public ObjectFileCache getObjectFileCache() {
+        return objectFileCache;
+    }
+
+    @Override
+    public void setObjectFileCache(ObjectFileCache objectFileCache) {
+        this.objectFileCache = objectFileCache;
+    }
+
     @Override
     public void setDiscoveredInputRecorder(DiscoveredInputRecorder inputs) {
         this.discoveredInputRecorder = inputs;
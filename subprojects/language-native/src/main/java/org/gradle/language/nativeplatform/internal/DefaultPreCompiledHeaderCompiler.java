@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.language.nativeplatform.internal;
+
+import org.apache.commons.io.FileUtils;
+import org.gradle.api.GradleException;
+import org.gradle.internal.Cast;
+import org.gradle.language.base.internal.compile.Compiler;
+import org.gradle.language.c.internal.DefaultCPCHCompileSpec;
+import org.gradle.language.cpp.internal.DefaultCppPCHCompileSpec;
+import org.gradle.language.nativeplatform.internal.incremental.PreCompiledHeaderCompiler;
+import org.gradle.language.objectivec.internal.DefaultObjectiveCPCHCompileSpec;
+import org.gradle.language.objectivecpp.internal.DefaultObjectiveCppPCHCompileSpec;
+import org.gradle.nativeplatform.toolchain.internal.NativeCompileSpec;
+import org.gradle.nativeplatform.toolchain.internal.PCHUtils;
+import org.gradle.nativeplatform.toolchain.internal.PlatformToolProvider;
+import org.gradle.nativeplatform.toolchain.internal.compilespec.CCompileSpec;
+import org.gradle.nativeplatform.toolchain.internal.compilespec.CppCompileSpec;
+import org.gradle.nativeplatform.toolchain.internal.compilespec.ObjectiveCCompileSpec;
+import org.gradle.nativeplatform.toolchain.internal.compilespec.ObjectiveCppCompileSpec;
+import org.gradle.util.GFileUtils;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Generates a prefix header for the selected header and compiles it with the pre-compiled header compiler of the tool chain, the same way as the pre-compiled
+ * header compile tasks do for a configured pre-compiled header.
+ */
+public class DefaultPreCompiledHeaderCompiler implements PreCompiledHeaderCompiler {
+    private final PlatformToolProvider platformToolProvider;
+
+    public DefaultPreCompiledHeaderCompiler(PlatformToolProvider platformToolProvider) {
+        this.platformToolProvider = platformToolProvider;
+    }
+
+    @Override
+    public void compile(NativeCompileSpec spec, String header, File headerFile) {
+        File pchDir = new File(spec.getTempDir(), "selectedPreCompiledHeader");
+        GFileUtils.deleteDirectory(pchDir);
+        File prefixHeaderFile = new File(pchDir, "prefix-headers.h");
+        // Include the header by its location, so that the prefix header does not depend on the include path
+        PCHUtils.generatePCHFile(Collections.singletonList(headerFile.getAbsolutePath()), prefixHeaderFile);
+
+        File objectFileDir = new File(pchDir, "objs");
+        NativeCompileSpec pchSpec = createPreCompiledHeaderSpec(spec);
+        pchSpec.setTargetPlatform(spec.getTargetPlatform());
+        pchSpec.setTempDir(spec.getTempDir());
+        pchSpec.setObjectFileDir(objectFileDir);
+        pchSpec.include(spec.getIncludeRoots());
+        pchSpec.source(Collections.singletonList(prefixHeaderFile));
+        pchSpec.setMacros(spec.getMacros());
+        pchSpec.args(spec.getArgs());
+        pchSpec.systemArgs(spec.getSystemArgs());
+        pchSpec.setPositionIndependentCode(spec.isPositionIndependentCode());
+        pchSpec.setOperationLogger(spec.getOperationLogger());
+        doCompile(pchSpec);
+
+        Collection<File> pchObjectFiles = FileUtils.listFiles(objectFileDir, null, true);
+        if (pchObjectFiles.size() != 1) {
+            throw new GradleException("Could not find the pre-compiled header compiled for " + header + " in " + objectFileDir + ".");
+        }
+        File pchObjectFile = pchObjectFiles.iterator().next();
+        File generatedDir = PCHUtils.generatePCHObjectDirectory(spec.getTempDir(), prefixHeaderFile, pchObjectFile);
+        spec.setPrefixHeaderFile(new File(generatedDir, prefixHeaderFile.getName()));
+        spec.setPreCompiledHeaderObjectFile(new File(generatedDir, pchObjectFile.getName()));
+        spec.setPreCompiledHeader(header);
+    }
+
+    private static NativeCompileSpec createPreCompiledHeaderSpec(NativeCompileSpec spec) {
+        if (spec instanceof CCompileSpec) {
+            return new DefaultCPCHCompileSpec();
+        }
+        if (spec instanceof CppCompileSpec) {
+            return new DefaultCppPCHCompileSpec();
+        }
+        if (spec instanceof ObjectiveCCompileSpec) {
+            return new DefaultObjectiveCPCHCompileSpec();
+        }
+        if (spec instanceof ObjectiveCppCompileSpec) {
+            return new DefaultObjectiveCppPCHCompileSpec();
+        }
+        throw new IllegalArgumentException("Cannot pre-compile a header for spec with type ".concat(spec.getClass().getSimpleName()));
+    }
+
+    private <T extends NativeCompileSpec> void doCompile(T spec) {
+        Class<T> specType = Cast.uncheckedCast(spec.getClass());
+        Compiler<T> compiler = platformToolProvider.newCompiler(specType);
+        compiler.execute(spec);
+    }
+}
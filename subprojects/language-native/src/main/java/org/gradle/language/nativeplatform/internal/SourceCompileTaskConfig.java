@@ -54,6 +54,9 @@ public class SourceCompileTaskConfig extends CompileTaskConfig {
             pch.setIncludeString(dependentSourceSet.getPreCompiledHeader());
             task.setPreCompiledHeader(pch);
         }
+        if (sourceSet instanceof DependentSourceSetInternal) {
+            task.setAutoSelectPreCompiledHeader(((DependentSourceSetInternal) sourceSet).isAutoSelectPreCompiledHeader());
+        }
 
         binary.binaryInputs(task.getOutputs().getFiles().getAsFileTree().matching(new PatternSet().include("**/*.obj", "**/*.o")));
     }
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.language.nativeplatform.internal.incremental;
+
+import com.google.common.collect.Lists;
+import com.google.common.io.Files;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.caching.BuildCache;
+import org.gradle.caching.BuildCacheEntryReader;
+import org.gradle.caching.BuildCacheEntryWriter;
+import org.gradle.caching.BuildCacheKey;
+import org.gradle.caching.internal.BuildCacheKeyBuilder;
+import org.gradle.caching.internal.DefaultBuildCacheKeyBuilder;
+import org.gradle.nativeplatform.toolchain.internal.ObjectFileCache;
+import org.gradle.util.GFileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shares the object files compiled from individual source files through the build cache. An object file is keyed by the tool chain and compiler version,
+ * the compiler arguments and the location, relative to the project directory, and content of the source file and of all the headers it includes, as found
+ * by the incremental compilation.
+ */
+public class BuildCacheObjectFileCache implements ObjectFileCache {
+    private static final Logger LOGGER = Logging.getLogger(BuildCacheObjectFileCache.class);
+    private static final Comparator<ResolvedInclude> INCLUDE_ORDER = new Comparator<ResolvedInclude>() {
+        @Override
+        public int compare(ResolvedInclude left, ResolvedInclude right) {
+            return left.getInclude().compareTo(right.getInclude());
+        }
+    };
+
+    private final BuildCache buildCache;
+    private final boolean pullAllowed;
+    private final boolean pushAllowed;
+    private final String toolChainIdentity;
+    private final File projectDir;
+    private final CompilationState compilationState;
+    private final Map<File, BuildCacheKey> objectFilesToStore = new LinkedHashMap<File, BuildCacheKey>();
+
+    public BuildCacheObjectFileCache(BuildCache buildCache, boolean pullAllowed, boolean pushAllowed, String toolChainIdentity, File projectDir, CompilationState compilationState) {
+        this.buildCache = buildCache;
+        this.pullAllowed = pullAllowed;
+        this.pushAllowed = pushAllowed;
+        this.toolChainIdentity = toolChainIdentity;
+        this.projectDir = projectDir;
+        this.compilationState = compilationState;
+    }
+
+    @Override
+    public boolean restore(File sourceFile, List<String> args, final File objectFile) {
+        BuildCacheKey key = createKey(sourceFile, args);
+        if (key == null) {
+            LOGGER.info("Not caching the object file for {} because its included files could not be determined.", sourceFile);
+            return false;
+        }
+        if (pullAllowed) {
+            boolean found = buildCache.load(key, new BuildCacheEntryReader() {
+                @Override
+                public void readFrom(InputStream input) throws IOException {
+                    OutputStream output = FileUtils.openOutputStream(objectFile);
+                    try {
+                        IOUtils.copyLarge(input, output);
+                    } finally {
+                        output.close();
+                    }
+                }
+            });
+            if (found) {
+                LOGGER.info("Restored the object file for {} from cache.", sourceFile);
+                return true;
+            }
+        }
+        if (pushAllowed) {
+            objectFilesToStore.put(objectFile, key);
+        }
+        return false;
+    }
+
+    /**
+     * Stores the object files that could not be restored, once they have been compiled.
+     */
+    public void storeCompiledObjectFiles() {
+        for (Map.Entry<File, BuildCacheKey> entry : objectFilesToStore.entrySet()) {
+            final File objectFile = entry.getKey();
+            if (objectFile.isFile()) {
+                buildCache.store(entry.getValue(), new BuildCacheEntryWriter() {
+                    @Override
+                    public void writeTo(OutputStream output) throws IOException {
+                        Files.copy(objectFile, output);
+                    }
+                });
+            }
+        }
+        objectFilesToStore.clear();
+    }
+
+    private BuildCacheKey createKey(File sourceFile, List<String> args) {
+        BuildCacheKeyBuilder builder = new DefaultBuildCacheKeyBuilder();
+        builder.putString(toolChainIdentity);
+        builder.appendToCacheKey(args);
+        if (!appendContent(builder, sourceFile, new HashSet<File>())) {
+            return null;
+        }
+        return builder.build();
+    }
+
+    /**
+     * Appends the location and content hash of the given file and, recursively, of the files it includes. The location is part of the key because
+     * debug information and {@code __FILE__} embed it in the object file.
+     */
+    private boolean appendContent(BuildCacheKeyBuilder builder, File file, Set<File> visited) {
+        if (!visited.add(file)) {
+            return true;
+        }
+        CompilationFileState state = compilationState.getState(file);
+        if (state == null) {
+            return false;
+        }
+        builder.putString(GFileUtils.relativePath(projectDir, file));
+        builder.putBytes(state.getHash().asBytes());
+        List<ResolvedInclude> includes = Lists.newArrayList(state.getResolvedIncludes());
+        Collections.sort(includes, INCLUDE_ORDER);
+        for (ResolvedInclude include : includes) {
+            if (include.isUnknown()) {
+                return false;
+            }
+            builder.putString(include.getInclude());
+            if (!appendContent(builder, include.getFile(), visited)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
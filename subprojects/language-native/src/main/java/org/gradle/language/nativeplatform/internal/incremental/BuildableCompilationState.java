@@ -27,6 +27,7 @@ import java.util.Set;
 public class BuildableCompilationState {
     private final Set<File> sourceInputs = new LinkedHashSet<File>();
     private final Map<File, CompilationFileState> fileStates = new HashMap<File, CompilationFileState>();
+    private final Map<File, Long> compileDurations = new HashMap<File, Long>();
 
     public Set<File> getSourceInputs() {
         return sourceInputs;
@@ -40,7 +41,11 @@ public class BuildableCompilationState {
         fileStates.put(file, compilationFileState);
     }
 
+    public void setCompileDuration(File sourceFile, long duration) {
+        compileDurations.put(sourceFile, duration);
+    }
+
     public CompilationState snapshot() {
-        return new CompilationState(ImmutableSet.copyOf(sourceInputs), ImmutableMap.copyOf(fileStates));
+        return new CompilationState(ImmutableSet.copyOf(sourceInputs), ImmutableMap.copyOf(fileStates), ImmutableMap.copyOf(compileDurations));
     }
 }
@@ -19,6 +19,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 
 import java.io.File;
+import java.util.Map;
 
 /**
  * An immutable snapshot of compilation state.
@@ -26,15 +27,22 @@ import java.io.File;
 public class CompilationState {
     private final ImmutableSet<File> sourceInputs;
     private final ImmutableMap<File, CompilationFileState> fileStates;
+    private final ImmutableMap<File, Long> compileDurations;
 
     public CompilationState(ImmutableSet<File> sourceInputs, ImmutableMap<File, CompilationFileState> fileStates) {
+        this(sourceInputs, fileStates, ImmutableMap.<File, Long>of());
+    }
+
+    public CompilationState(ImmutableSet<File> sourceInputs, ImmutableMap<File, CompilationFileState> fileStates, ImmutableMap<File, Long> compileDurations) {
         this.sourceInputs = sourceInputs;
         this.fileStates = fileStates;
+        this.compileDurations = compileDurations;
     }
 
     public CompilationState() {
         sourceInputs = ImmutableSet.of();
         fileStates = ImmutableMap.of();
+        compileDurations = ImmutableMap.of();
     }
 
     public ImmutableSet<File> getSourceInputs() {
@@ -48,4 +56,28 @@ public class CompilationState {
     public CompilationFileState getState(File file) {
         return fileStates.get(file);
     }
+
+    /**
+     * The duration in milliseconds of the most recent compilation of each source file, when known.
+     */
+    public ImmutableMap<File, Long> getCompileDurations() {
+        return compileDurations;
+    }
+
+    /**
+     * Returns a copy of this state with the given compile durations replacing the durations of the same source files.
+     */
+    public CompilationState withCompileDurations(Map<File, Long> durations) {
+        if (durations.isEmpty()) {
+            return this;
+        }
+        ImmutableMap.Builder<File, Long> builder = ImmutableMap.builder();
+        for (File sourceFile : sourceInputs) {
+            Long duration = durations.containsKey(sourceFile) ? durations.get(sourceFile) : compileDurations.get(sourceFile);
+            if (duration != null) {
+                builder.put(sourceFile, duration);
+            }
+        }
+        return new CompilationState(sourceInputs, fileStates, builder.build());
+    }
 }
@@ -16,8 +16,16 @@
 
 package org.gradle.language.nativeplatform.internal.incremental;
 
+import com.google.common.hash.HashCode;
+import org.gradle.cache.PersistentIndexedCache;
 import org.gradle.cache.PersistentStateCache;
+import org.gradle.language.nativeplatform.internal.IncludeDirectives;
 
 public interface CompilationStateCacheFactory {
     PersistentStateCache<CompilationState> create(String taskPath);
+
+    /**
+     * Returns the include directives parsed from source and header files, keyed by the hash of the file content. Shared by all tasks.
+     */
+    PersistentIndexedCache<HashCode, IncludeDirectives> getIncludeDirectivesCache();
 }
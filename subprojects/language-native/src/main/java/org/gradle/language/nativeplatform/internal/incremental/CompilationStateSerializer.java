@@ -35,6 +35,7 @@ import org.gradle.language.nativeplatform.internal.incremental.sourceparser.Defa
 import org.gradle.language.nativeplatform.internal.incremental.sourceparser.DefaultIncludeDirectives;
 
 import java.io.File;
+import java.util.List;
 import java.util.Set;
 
 public class CompilationStateSerializer extends AbstractSerializer<CompilationState> {
@@ -42,25 +43,29 @@ public class CompilationStateSerializer extends AbstractSerializer<CompilationSt
     private final Serializer<File> fileSerializer;
     private final SetSerializer<File> fileSetSerializer;
     private final MapSerializer<File, CompilationFileState> stateMapSerializer;
+    private final MapSerializer<File, Long> durationMapSerializer;
 
     public CompilationStateSerializer() {
         fileSerializer = SERIALIZER_FACTORY.getSerializerFor(File.class);
         fileSetSerializer = new SetSerializer<File>(fileSerializer);
         stateMapSerializer = new MapSerializer<File, CompilationFileState>(fileSerializer,
             new CompilationFileStateSerializer(fileSerializer));
+        durationMapSerializer = new MapSerializer<File, Long>(fileSerializer, SERIALIZER_FACTORY.getSerializerFor(Long.class));
     }
 
     @Override
     public CompilationState read(Decoder decoder) throws Exception {
         ImmutableSet<File> sourceInputs = ImmutableSet.copyOf(fileSetSerializer.read(decoder));
         ImmutableMap<File, CompilationFileState> fileStates = ImmutableMap.copyOf(stateMapSerializer.read(decoder));
-        return new CompilationState(sourceInputs, fileStates);
+        ImmutableMap<File, Long> compileDurations = ImmutableMap.copyOf(durationMapSerializer.read(decoder));
+        return new CompilationState(sourceInputs, fileStates, compileDurations);
     }
 
     @Override
     public void write(Encoder encoder, CompilationState value) throws Exception {
         fileSetSerializer.write(encoder, value.getSourceInputs());
         stateMapSerializer.write(encoder, value.getFileStates());
+        durationMapSerializer.write(encoder, value.getCompileDurations());
     }
 
     @Override
@@ -72,12 +77,13 @@ public class CompilationStateSerializer extends AbstractSerializer<CompilationSt
         CompilationStateSerializer rhs = (CompilationStateSerializer) obj;
         return Objects.equal(fileSerializer, rhs.fileSerializer)
             && Objects.equal(fileSetSerializer, rhs.fileSetSerializer)
-            && Objects.equal(stateMapSerializer, rhs.stateMapSerializer);
+            && Objects.equal(stateMapSerializer, rhs.stateMapSerializer)
+            && Objects.equal(durationMapSerializer, rhs.durationMapSerializer);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(super.hashCode(), fileSerializer, fileSetSerializer, stateMapSerializer);
+        return Objects.hashCode(super.hashCode(), fileSerializer, fileSetSerializer, stateMapSerializer, durationMapSerializer);
     }
 
     private static class CompilationFileStateSerializer extends AbstractSerializer<CompilationFileState> {
@@ -166,18 +172,23 @@ public class CompilationStateSerializer extends AbstractSerializer<CompilationSt
         }
     }
 
-    private static class SourceIncludesSerializer extends AbstractSerializer<IncludeDirectives> {
+    static class SourceIncludesSerializer extends AbstractSerializer<IncludeDirectives> {
         private final Serializer<Include> includeSerializer = new IncludeSerializer();
         private final ListSerializer<Include> includeListSerializer = new ListSerializer<Include>(includeSerializer);
 
         @Override
         public IncludeDirectives read(Decoder decoder) throws Exception {
-            return new DefaultIncludeDirectives(includeListSerializer.read(decoder));
+            List<Include> includes = includeListSerializer.read(decoder);
+            boolean contentBeforeFirstInclude = decoder.readBoolean();
+            boolean includeGuarded = decoder.readBoolean();
+            return new DefaultIncludeDirectives(includes, contentBeforeFirstInclude, includeGuarded);
         }
 
         @Override
         public void write(Encoder encoder, IncludeDirectives value) throws Exception {
             includeListSerializer.write(encoder, value.getIncludesAndImports());
+            encoder.writeBoolean(value.hasContentBeforeFirstInclude());
+            encoder.writeBoolean(value.isIncludeGuarded());
         }
 
         @Override
@@ -16,6 +16,7 @@
 
 package org.gradle.language.nativeplatform.internal.incremental;
 
+import com.google.common.hash.HashCode;
 import org.gradle.api.internal.changedetection.state.InMemoryTaskArtifactCache;
 import org.gradle.api.invocation.Gradle;
 import org.gradle.cache.CacheRepository;
@@ -24,6 +25,8 @@ import org.gradle.cache.PersistentIndexedCache;
 import org.gradle.cache.PersistentIndexedCacheParameters;
 import org.gradle.cache.PersistentStateCache;
 import org.gradle.cache.internal.FileLockManager;
+import org.gradle.internal.serialize.HashCodeSerializer;
+import org.gradle.language.nativeplatform.internal.IncludeDirectives;
 
 import java.io.Closeable;
 
@@ -32,6 +35,7 @@ import static org.gradle.cache.internal.filelock.LockOptionsBuilder.mode;
 public class DefaultCompilationStateCacheFactory implements CompilationStateCacheFactory, Closeable {
 
     private final PersistentIndexedCache<String, CompilationState> compilationStateIndexedCache;
+    private final PersistentIndexedCache<HashCode, IncludeDirectives> includeDirectivesCache;
     private final PersistentCache cache;
 
     public DefaultCompilationStateCacheFactory(CacheRepository cacheRepository, Gradle gradle, InMemoryTaskArtifactCache inMemoryTaskArtifactCache) {
@@ -44,6 +48,10 @@ public class DefaultCompilationStateCacheFactory implements CompilationStateCach
                 .cacheDecorator(inMemoryTaskArtifactCache.decorator(2000, false));
 
         compilationStateIndexedCache = cache.createCache(parameters);
+
+        PersistentIndexedCacheParameters<HashCode, IncludeDirectives> includeDirectivesParameters = new PersistentIndexedCacheParameters<HashCode, IncludeDirectives>("includeDirectives", new HashCodeSerializer(), new CompilationStateSerializer.SourceIncludesSerializer())
+                .cacheDecorator(inMemoryTaskArtifactCache.decorator(20000, true));
+        includeDirectivesCache = cache.createCache(includeDirectivesParameters);
     }
 
     @Override
@@ -56,6 +64,11 @@ public class DefaultCompilationStateCacheFactory implements CompilationStateCach
         return new PersistentCompilationStateCache(taskPath, compilationStateIndexedCache);
     }
 
+    @Override
+    public PersistentIndexedCache<HashCode, IncludeDirectives> getIncludeDirectivesCache() {
+        return includeDirectivesCache;
+    }
+
     private static class PersistentCompilationStateCache implements PersistentStateCache<CompilationState> {
         private final String taskPath;
         private final PersistentIndexedCache<String, CompilationState> compilationStateIndexedCache;
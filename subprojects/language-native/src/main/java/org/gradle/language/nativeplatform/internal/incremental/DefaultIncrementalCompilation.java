@@ -21,12 +21,14 @@ import java.util.Set;
 
 public class DefaultIncrementalCompilation implements IncrementalCompilation {
     private final CompilationState finalState;
+    private final CompilationState previousState;
     private final List<File> recompile;
     private final List<File> removed;
     private final Set<File> discoveredInputs;
 
-    public DefaultIncrementalCompilation(CompilationState finalState, List<File> recompile, List<File> removed, Set<File> discoveredInputs) {
+    public DefaultIncrementalCompilation(CompilationState finalState, CompilationState previousState, List<File> recompile, List<File> removed, Set<File> discoveredInputs) {
         this.finalState = finalState;
+        this.previousState = previousState;
         this.recompile = recompile;
         this.removed = removed;
         this.discoveredInputs = discoveredInputs;
@@ -47,6 +49,11 @@ public class DefaultIncrementalCompilation implements IncrementalCompilation {
         return finalState;
     }
 
+    @Override
+    public CompilationState getPreviousState() {
+        return previousState;
+    }
+
     @Override
     public Set<File> getDiscoveredInputs() {
         return discoveredInputs;
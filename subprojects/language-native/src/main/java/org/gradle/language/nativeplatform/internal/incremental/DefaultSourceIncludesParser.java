@@ -37,7 +37,7 @@ public class DefaultSourceIncludesParser implements SourceIncludesParser {
         if (importAware) {
             return parsedIncludes;
         } else {
-            return new DefaultIncludeDirectives(parsedIncludes.getIncludesOnly());
+            return new DefaultIncludeDirectives(parsedIncludes.getIncludesOnly(), parsedIncludes.hasContentBeforeFirstInclude(), parsedIncludes.isIncludeGuarded());
         }
     }
 
@@ -15,6 +15,7 @@
  */
 package org.gradle.language.nativeplatform.internal.incremental;
 
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.gradle.internal.FileUtils;
 import org.gradle.language.nativeplatform.internal.Include;
@@ -22,11 +23,23 @@ import org.gradle.language.nativeplatform.internal.IncludeDirectives;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
+/**
+ * Resolves includes against the include search path. The contents of the directories searched and the canonical location of the resolved files are
+ * cached for the lifetime of the resolver, so that an include that is found late in a long search path does not require a file system call for each
+ * directory it is not found in. A resolver should therefore only be used for a single compilation, as the headers may change between compilations.
+ */
 public class DefaultSourceIncludesResolver implements SourceIncludesResolver {
     private final List<File> includePaths;
+    private final Map<File, DirectoryContents> directories = Maps.newHashMap();
+    private final Map<File, FileKind> candidates = Maps.newHashMap();
+    private final Map<File, File> canonicalFiles = Maps.newHashMap();
 
     public DefaultSourceIncludesResolver(List<File> includePaths) {
         this.includePaths = includePaths;
@@ -65,16 +78,82 @@ public class DefaultSourceIncludesResolver implements SourceIncludesResolver {
             // and includePath = [ A, B ]
             // and /B/type_trait is the header we want.
             // We need /A/type_trait to be recorded as a directory in case it becomes a file later.
-            if (!candidate.isDirectory()) {
+            FileKind kind = getKind(candidate);
+            if (kind != FileKind.DIRECTORY) {
                 dependencies.searched(candidate);
             }
-            if (candidate.isFile()) {
-                dependencies.resolved(include, candidate);
+            if (kind == FileKind.FILE) {
+                dependencies.resolved(include, canonicalize(candidate));
                 return;
             }
         }
     }
 
+    private FileKind getKind(File candidate) {
+        FileKind kind = candidates.get(candidate);
+        if (kind == null) {
+            File dir = candidate.getParentFile();
+            if (dir == null || getContents(dir).mayContain(candidate.getName())) {
+                kind = candidate.isFile() ? FileKind.FILE : candidate.isDirectory() ? FileKind.DIRECTORY : FileKind.MISSING;
+            } else {
+                kind = FileKind.MISSING;
+            }
+            candidates.put(candidate, kind);
+        }
+        return kind;
+    }
+
+    private DirectoryContents getContents(File dir) {
+        DirectoryContents contents = directories.get(dir);
+        if (contents == null) {
+            contents = new DirectoryContents(dir.list());
+            directories.put(dir, contents);
+        }
+        return contents;
+    }
+
+    private File canonicalize(File file) {
+        File canonicalFile = canonicalFiles.get(file);
+        if (canonicalFile == null) {
+            canonicalFile = FileUtils.canonicalize(file);
+            canonicalFiles.put(file, canonicalFile);
+        }
+        return canonicalFile;
+    }
+
+    private enum FileKind {
+        FILE, DIRECTORY, MISSING
+    }
+
+    private static class DirectoryContents {
+        private final Set<String> names;
+        private final Set<String> lowerCaseNames;
+
+        DirectoryContents(String[] names) {
+            this.names = names == null ? Collections.<String>emptySet() : Sets.newHashSet(Arrays.asList(names));
+            this.lowerCaseNames = Sets.newHashSetWithExpectedSize(this.names.size());
+            for (String name : this.names) {
+                lowerCaseNames.add(name.toLowerCase(Locale.ROOT));
+            }
+        }
+
+        /**
+         * Returns false when the directory cannot contain an entry with the given name. Names that differ only in case, or that are not ASCII and
+         * so may be normalized differently by the file system, and the '.' and '..' entries, are treated as possible matches so that they are checked against the file system.
+         */
+        boolean mayContain(String name) {
+            if (names.contains(name) || lowerCaseNames.contains(name.toLowerCase(Locale.ROOT)) || name.equals(".") || name.equals("..")) {
+                return true;
+            }
+            for (int i = 0; i < name.length(); i++) {
+                if (name.charAt(i) > 127) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
     private static class BuildableResolvedSourceIncludes implements ResolvedSourceIncludes {
         private final Set<ResolvedInclude> dependencies = Sets.newLinkedHashSet();
         private final Set<File> candidates = Sets.newLinkedHashSet();
@@ -84,8 +163,7 @@ public class DefaultSourceIncludesResolver implements SourceIncludesResolver {
         }
 
         void resolved(String rawInclude, File resolved) {
-            File dependencyFile = resolved == null ? null : FileUtils.canonicalize(resolved);
-            dependencies.add(new ResolvedInclude(rawInclude, dependencyFile));
+            dependencies.add(new ResolvedInclude(rawInclude, resolved));
         }
 
         @Override
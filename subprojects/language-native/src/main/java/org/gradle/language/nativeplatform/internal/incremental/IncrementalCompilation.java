@@ -26,6 +26,11 @@ public interface IncrementalCompilation {
 
     CompilationState getFinalState();
 
+    /**
+     * The state of the previous compilation, which is empty when there was no previous compilation.
+     */
+    CompilationState getPreviousState();
+
     /**
      * The set of all input locations that were discovered as part of resolving the dependencies for this compilation.
      */
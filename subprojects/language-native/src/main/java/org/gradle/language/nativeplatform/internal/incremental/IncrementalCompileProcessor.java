@@ -55,7 +55,7 @@ public class IncrementalCompileProcessor {
             result.processSource(sourceFile);
         }
 
-        return new DefaultIncrementalCompilation(result.current.snapshot(), result.getModifiedSources(), result.getRemovedSources(), result.getDiscoveredInputs());
+        return new DefaultIncrementalCompilation(result.current.snapshot(), result.previous, result.getModifiedSources(), result.getRemovedSources(), result.getDiscoveredInputs());
     }
 
     private class IncrementalCompileFiles {
@@ -73,6 +73,10 @@ public class IncrementalCompileProcessor {
 
         public void processSource(File sourceFile) {
             current.addSourceInput(sourceFile);
+            Long compileDuration = previous.getCompileDurations().get(sourceFile);
+            if (compileDuration != null) {
+                current.setCompileDuration(sourceFile, compileDuration);
+            }
             if (checkChangedAndUpdateState(sourceFile) || !previous.getSourceInputs().contains(sourceFile)) {
                 toRecompile.add(sourceFile);
             }
@@ -15,9 +15,12 @@
  */
 package org.gradle.language.nativeplatform.internal.incremental;
 
+import org.gradle.StartParameter;
+import org.gradle.api.Nullable;
 import org.gradle.api.internal.TaskInternal;
 import org.gradle.api.internal.file.collections.DirectoryFileTreeFactory;
 import org.gradle.api.internal.hash.FileHasher;
+import org.gradle.caching.internal.BuildCacheConfigurationInternal;
 import org.gradle.language.base.internal.compile.Compiler;
 import org.gradle.nativeplatform.toolchain.NativeToolChain;
 import org.gradle.nativeplatform.toolchain.internal.NativeCompileSpec;
@@ -26,14 +29,27 @@ public class IncrementalCompilerBuilder {
     private final FileHasher hasher;
     private final CompilationStateCacheFactory compilationStateCacheFactory;
     private final DirectoryFileTreeFactory directoryFileTreeFactory;
+    private final StartParameter startParameter;
+    private final BuildCacheConfigurationInternal buildCacheConfiguration;
 
-    public IncrementalCompilerBuilder(FileHasher hasher, CompilationStateCacheFactory compilationStateCacheFactory, DirectoryFileTreeFactory directoryFileTreeFactory) {
+    public IncrementalCompilerBuilder(FileHasher hasher, CompilationStateCacheFactory compilationStateCacheFactory, DirectoryFileTreeFactory directoryFileTreeFactory,
+                                      StartParameter startParameter, BuildCacheConfigurationInternal buildCacheConfiguration) {
         this.hasher = hasher;
         this.compilationStateCacheFactory = compilationStateCacheFactory;
         this.directoryFileTreeFactory = directoryFileTreeFactory;
+        this.startParameter = startParameter;
+        this.buildCacheConfiguration = buildCacheConfiguration;
     }
 
     public <T extends NativeCompileSpec> Compiler<T> createIncrementalCompiler(TaskInternal task, Compiler<T> compiler, NativeToolChain toolchain) {
-        return new IncrementalNativeCompiler<T>(task, hasher, compilationStateCacheFactory, compiler, toolchain, directoryFileTreeFactory);
+        return createIncrementalCompiler(task, compiler, toolchain, null);
+    }
+
+    /**
+     * Creates an incremental compiler that compiles a pre-compiled header for the header included first by the most source files, using the given compiler.
+     */
+    public <T extends NativeCompileSpec> Compiler<T> createIncrementalCompiler(TaskInternal task, Compiler<T> compiler, NativeToolChain toolchain, @Nullable PreCompiledHeaderCompiler preCompiledHeaderCompiler) {
+        return new IncrementalNativeCompiler<T>(task, hasher, compilationStateCacheFactory, compiler, toolchain, directoryFileTreeFactory,
+            startParameter.isTaskOutputCacheEnabled() ? buildCacheConfiguration : null, preCompiledHeaderCompiler);
     }
 }
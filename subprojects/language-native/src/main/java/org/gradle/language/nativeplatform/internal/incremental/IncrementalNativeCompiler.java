@@ -15,6 +15,7 @@
  */
 package org.gradle.language.nativeplatform.internal.incremental;
 
+import org.gradle.api.Nullable;
 import org.gradle.api.Transformer;
 import org.gradle.api.file.EmptyFileVisitor;
 import org.gradle.api.file.FileVisitDetails;
@@ -28,15 +29,21 @@ import org.gradle.api.logging.Logging;
 import org.gradle.api.specs.Spec;
 import org.gradle.api.tasks.WorkResult;
 import org.gradle.cache.PersistentStateCache;
+import org.gradle.caching.internal.BuildCacheConfigurationInternal;
+import org.gradle.internal.time.Timer;
+import org.gradle.internal.time.Timers;
 import org.gradle.language.base.internal.compile.Compiler;
 import org.gradle.language.base.internal.tasks.SimpleStaleClassCleaner;
 import org.gradle.language.nativeplatform.internal.IncludeDirectives;
 import org.gradle.language.nativeplatform.internal.incremental.sourceparser.CSourceParser;
-import org.gradle.language.nativeplatform.internal.incremental.sourceparser.RegexBackedCSourceParser;
+import org.gradle.language.nativeplatform.internal.incremental.sourceparser.CachingCSourceParser;
+import org.gradle.language.nativeplatform.internal.incremental.sourceparser.DefaultCSourceParser;
 import org.gradle.nativeplatform.toolchain.Clang;
 import org.gradle.nativeplatform.toolchain.Gcc;
 import org.gradle.nativeplatform.toolchain.NativeToolChain;
+import org.gradle.nativeplatform.platform.internal.NativePlatformInternal;
 import org.gradle.nativeplatform.toolchain.internal.NativeCompileSpec;
+import org.gradle.nativeplatform.toolchain.internal.NativeToolChainInternal;
 import org.gradle.util.CollectionUtils;
 
 import java.io.File;
@@ -51,29 +58,42 @@ public class IncrementalNativeCompiler<T extends NativeCompileSpec> implements C
     private final FileHasher hasher;
     private final DirectoryFileTreeFactory directoryFileTreeFactory;
     private final CompilationStateCacheFactory compilationStateCacheFactory;
+    private final NativeToolChain toolChain;
+    private final BuildCacheConfigurationInternal buildCacheConfiguration;
+    private final PreCompiledHeaderCompiler preCompiledHeaderCompiler;
 
-    private final CSourceParser sourceParser = new RegexBackedCSourceParser();
-
-    public IncrementalNativeCompiler(TaskInternal task, FileHasher hasher, CompilationStateCacheFactory compilationStateCacheFactory, Compiler<T> delegateCompiler, NativeToolChain toolChain, DirectoryFileTreeFactory directoryFileTreeFactory) {
+    public IncrementalNativeCompiler(TaskInternal task, FileHasher hasher, CompilationStateCacheFactory compilationStateCacheFactory, Compiler<T> delegateCompiler, NativeToolChain toolChain,
+                                     DirectoryFileTreeFactory directoryFileTreeFactory, @Nullable BuildCacheConfigurationInternal buildCacheConfiguration,
+                                     @Nullable PreCompiledHeaderCompiler preCompiledHeaderCompiler) {
         this.task = task;
         this.hasher = hasher;
         this.compilationStateCacheFactory = compilationStateCacheFactory;
         this.delegateCompiler = delegateCompiler;
         this.directoryFileTreeFactory = directoryFileTreeFactory;
+        this.toolChain = toolChain;
+        this.buildCacheConfiguration = buildCacheConfiguration;
+        this.preCompiledHeaderCompiler = preCompiledHeaderCompiler;
         this.importsAreIncludes = Clang.class.isAssignableFrom(toolChain.getClass()) || Gcc.class.isAssignableFrom(toolChain.getClass());
     }
 
     @Override
     public WorkResult execute(final T spec) {
         PersistentStateCache<CompilationState> compileStateCache = compilationStateCacheFactory.create(task.getPath());
+        CSourceParser sourceParser = new CachingCSourceParser(new DefaultCSourceParser(), hasher, compilationStateCacheFactory.getIncludeDirectivesCache());
         DefaultSourceIncludesParser sourceIncludesParser = new DefaultSourceIncludesParser(sourceParser, importsAreIncludes);
         IncrementalCompileProcessor processor = createProcessor(compileStateCache, sourceIncludesParser, spec.getIncludeRoots());
         IncrementalCompilation compilation = processor.processSourceFiles(spec.getSourceFiles());
 
         spec.setSourceFileIncludeDirectives(mapIncludes(spec.getSourceFiles(), compilation.getFinalState()));
+        spec.setPreviousCompileDurations(compilation.getFinalState().getCompileDurations());
 
         handleDiscoveredInputs(spec, compilation, spec.getDiscoveredInputRecorder());
 
+        BuildCacheObjectFileCache objectFileCache = createObjectFileCache(spec, compilation.getFinalState());
+        spec.setObjectFileCache(objectFileCache);
+
+        PreCompiledHeaderSelector.Selection preCompiledHeader = compilePreCompiledHeader(spec, compilation);
+
         WorkResult workResult;
         if (spec.isIncrementalCompile()) {
             workResult = doIncrementalCompile(compilation, spec);
@@ -81,11 +101,71 @@ public class IncrementalNativeCompiler<T extends NativeCompileSpec> implements C
             workResult = doCleanIncrementalCompile(spec);
         }
 
-        compileStateCache.set(compilation.getFinalState());
+        if (objectFileCache != null) {
+            objectFileCache.storeCompiledObjectFiles();
+        }
+        if (preCompiledHeader != null) {
+            reportCompileDurations(spec, preCompiledHeader);
+        }
+
+        compileStateCache.set(compilation.getFinalState().withCompileDurations(spec.getCompileDurations()));
 
         return workResult;
     }
 
+    @Nullable
+    private BuildCacheObjectFileCache createObjectFileCache(T spec, CompilationState compilationState) {
+        if (buildCacheConfiguration == null || !(toolChain instanceof NativeToolChainInternal) || !(spec.getTargetPlatform() instanceof NativePlatformInternal)) {
+            return null;
+        }
+        NativeToolChainInternal toolChainInternal = (NativeToolChainInternal) toolChain;
+        NativePlatformInternal targetPlatform = (NativePlatformInternal) spec.getTargetPlatform();
+        String compilerVersion = toolChainInternal.select(targetPlatform).getCompilerVersion();
+        if (compilerVersion == null) {
+            LOGGER.info("Not caching the object files of {} because the version of the compiler is not known.", task.getName());
+            return null;
+        }
+        // Object files compiled by different tool chains or compiler versions, for different platforms or from different languages are never interchangeable
+        String toolChainIdentity = NativeToolChainInternal.Identifier.identify(toolChainInternal, targetPlatform) + ":" + compilerVersion + ":" + spec.getClass().getName();
+        return new BuildCacheObjectFileCache(buildCacheConfiguration.getCache(), buildCacheConfiguration.isPullAllowed(), buildCacheConfiguration.isPushAllowed(),
+            toolChainIdentity, task.getProject().getProjectDir(), compilationState);
+    }
+
+    @Nullable
+    private PreCompiledHeaderSelector.Selection compilePreCompiledHeader(T spec, IncrementalCompilation compilation) {
+        if (preCompiledHeaderCompiler == null || spec.getPreCompiledHeader() != null) {
+            return null;
+        }
+        Collection<File> sourceFiles = spec.isIncrementalCompile() ? compilation.getRecompile() : spec.getSourceFiles();
+        PreCompiledHeaderSelector.Selection selection = new PreCompiledHeaderSelector(compilation.getPreviousState(), compilation.getFinalState()).select(sourceFiles);
+        if (selection == null) {
+            LOGGER.info("No header to pre-compile was found for {}.", task.getName());
+            return null;
+        }
+        Timer clock = Timers.startTimer();
+        preCompiledHeaderCompiler.compile(spec, selection.getHeader(), selection.getHeaderFile());
+        LOGGER.info("Pre-compiled header {} for {} source files of {} in {}.", selection.getHeader(), selection.getSourceFiles().size(), task.getName(), clock.getElapsed());
+        return selection;
+    }
+
+    private void reportCompileDurations(T spec, PreCompiledHeaderSelector.Selection preCompiledHeader) {
+        int sourceFileCount = 0;
+        long duration = 0;
+        long previousDuration = 0;
+        for (File sourceFile : preCompiledHeader.getSourceFiles()) {
+            Long compileDuration = spec.getCompileDurations().get(sourceFile);
+            Long previousCompileDuration = spec.getPreviousCompileDurations().get(sourceFile);
+            if (compileDuration != null && previousCompileDuration != null) {
+                sourceFileCount++;
+                duration += compileDuration;
+                previousDuration += previousCompileDuration;
+            }
+        }
+        if (sourceFileCount > 0) {
+            LOGGER.info("Compiled {} source files using pre-compiled header {} in {} ms, compared to {} ms for their previous compilation.", sourceFileCount, preCompiledHeader.getHeader(), duration, previousDuration);
+        }
+    }
+
     protected void handleDiscoveredInputs(T spec, IncrementalCompilation compilation, final DiscoveredInputRecorder discoveredInputRecorder) {
         for (File includeFile : compilation.getDiscoveredInputs()) {
             discoveredInputRecorder.newInput(includeFile);
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.language.nativeplatform.internal.incremental;
+
+import org.gradle.nativeplatform.toolchain.internal.NativeCompileSpec;
+
+import java.io.File;
+
+/**
+ * Compiles a pre-compiled header for a header selected from the include graph of a compilation.
+ */
+public interface PreCompiledHeaderCompiler {
+    /**
+     * Compiles a pre-compiled header for the given header file, and configures the given spec to use it for the source files that include the header first.
+     *
+     * @param spec the spec of the compilation that will use the pre-compiled header
+     * @param header the header, as it is included by the source files
+     * @param headerFile the header file
+     */
+    void compile(NativeCompileSpec spec, String header, File headerFile);
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.language.nativeplatform.internal.incremental;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.gradle.api.Nullable;
+import org.gradle.language.nativeplatform.internal.Include;
+import org.gradle.language.nativeplatform.internal.IncludeType;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Selects a header to pre-compile for the source files of a compilation, from the include graph of the compilation.
+ *
+ * A pre-compiled header can only be used by a source file that includes it first, so the selected header is the one that is included first by the
+ * most source files. Headers that have changed since the previous compilation, that include headers that cannot be resolved, or that some source files
+ * include after other headers are not selected.
+ *
+ * The pre-compiled header is used by every source file that includes the same header string first. A header is therefore not selected when that string
+ * resolves to a different file, or cannot be resolved, for any of the source files, for example when two directories each contain a local header with
+ * the same name.
+ *
+ * The pre-compiled header is included ahead of the content of each source file that uses it, and the source file then includes the header again.
+ * A header is therefore only selected when it has an include guard or {@code #pragma once}, and when none of the source files that include it first
+ * has code or directives, such as a {@code #define}, before that include.
+ */
+public class PreCompiledHeaderSelector {
+    public static final int MIN_SOURCE_FILES = 2;
+
+    private final CompilationState previousState;
+    private final CompilationState currentState;
+    private final Map<File, Boolean> stableFiles = Maps.newHashMap();
+
+    public PreCompiledHeaderSelector(CompilationState previousState, CompilationState currentState) {
+        this.previousState = previousState;
+        this.currentState = currentState;
+    }
+
+    /**
+     * Selects the header to pre-compile for the given source files, or returns null when no header is used first by at least {@link #MIN_SOURCE_FILES} of them.
+     */
+    @Nullable
+    public Selection select(Collection<File> sourceFiles) {
+        Map<ResolvedInclude, List<File>> candidates = Maps.newLinkedHashMap();
+        Set<String> includedLater = Sets.newHashSet();
+        Set<String> includedAfterContent = Sets.newHashSet();
+        Map<String, File> firstIncludeFiles = Maps.newHashMap();
+        Set<String> ambiguousIncludes = Sets.newHashSet();
+        for (File sourceFile : sourceFiles) {
+            CompilationFileState state = currentState.getState(sourceFile);
+            if (state == null) {
+                continue;
+            }
+            List<Include> includes = state.getIncludeDirectives().getIncludesAndImports();
+            if (includes.isEmpty()) {
+                continue;
+            }
+            for (int i = 1; i < includes.size(); i++) {
+                includedLater.add(includes.get(i).getValue());
+            }
+            String value = includes.get(0).getValue();
+            if (state.getIncludeDirectives().hasContentBeforeFirstInclude()) {
+                // The header would be compiled without the macros this source file defines ahead of it
+                includedAfterContent.add(value);
+            }
+            ResolvedInclude firstInclude = resolve(includes.get(0), state);
+            File file = firstInclude == null ? null : firstInclude.getFile();
+            if (firstIncludeFiles.containsKey(value) && !Objects.equal(firstIncludeFiles.get(value), file)) {
+                // The pre-compiled header would be used in place of another header for some source files
+                ambiguousIncludes.add(value);
+            }
+            firstIncludeFiles.put(value, file);
+            if (firstInclude != null) {
+                List<File> users = candidates.get(firstInclude);
+                if (users == null) {
+                    users = Lists.newArrayList();
+                    candidates.put(firstInclude, users);
+                }
+                users.add(sourceFile);
+            }
+        }
+
+        Selection selection = null;
+        for (Map.Entry<ResolvedInclude, List<File>> entry : candidates.entrySet()) {
+            ResolvedInclude header = entry.getKey();
+            List<File> users = entry.getValue();
+            if (users.size() < MIN_SOURCE_FILES || includedLater.contains(header.getInclude()) || includedAfterContent.contains(header.getInclude())
+                || ambiguousIncludes.contains(header.getInclude())
+                || !isIncludeGuarded(header.getFile()) || !isStable(header.getFile())) {
+                continue;
+            }
+            if (selection == null || users.size() > selection.getSourceFiles().size()
+                || (users.size() == selection.getSourceFiles().size() && header.getInclude().compareTo(selection.getHeader()) < 0)) {
+                selection = new Selection(header.getInclude(), header.getFile(), users);
+            }
+        }
+        return selection;
+    }
+
+    @Nullable
+    private static ResolvedInclude resolve(Include include, CompilationFileState state) {
+        if (include.getType() == IncludeType.MACRO) {
+            return null;
+        }
+        for (ResolvedInclude resolvedInclude : state.getResolvedIncludes()) {
+            if (resolvedInclude.getInclude().equals(include.getValue())) {
+                return resolvedInclude.isUnknown() ? null : resolvedInclude;
+            }
+        }
+        return null;
+    }
+
+    private boolean isIncludeGuarded(File file) {
+        CompilationFileState state = currentState.getState(file);
+        return state != null && state.getIncludeDirectives().isIncludeGuarded();
+    }
+
+    /**
+     * A header is stable when it and all the headers it includes are known, and have not changed since the previous compilation. When there was no
+     * previous compilation, all known headers are considered stable.
+     */
+    private boolean isStable(File file) {
+        Boolean stable = stableFiles.get(file);
+        if (stable != null) {
+            return stable;
+        }
+        // Assume stable if we recurse to the same file due to an include cycle
+        stableFiles.put(file, true);
+        stable = checkStable(file);
+        stableFiles.put(file, stable);
+        return stable;
+    }
+
+    private boolean checkStable(File file) {
+        CompilationFileState state = currentState.getState(file);
+        if (state == null) {
+            return false;
+        }
+        if (!previousState.getSourceInputs().isEmpty()) {
+            CompilationFileState previousFileState = previousState.getState(file);
+            if (previousFileState == null || !previousFileState.getHash().equals(state.getHash())) {
+                return false;
+            }
+        }
+        for (ResolvedInclude include : state.getResolvedIncludes()) {
+            if (include.isUnknown() || !isStable(include.getFile())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static class Selection {
+        private final String header;
+        private final File headerFile;
+        private final List<File> sourceFiles;
+
+        Selection(String header, File headerFile, List<File> sourceFiles) {
+            this.header = header;
+            this.headerFile = headerFile;
+            this.sourceFiles = sourceFiles;
+        }
+
+        /**
+         * The header, as it is included by the source files.
+         */
+        public String getHeader() {
+            return header;
+        }
+
+        public File getHeaderFile() {
+            return headerFile;
+        }
+
+        /**
+         * The source files that include the header first, and so can use the pre-compiled header.
+         */
+        public List<File> getSourceFiles() {
+            return sourceFiles;
+        }
+    }
+}
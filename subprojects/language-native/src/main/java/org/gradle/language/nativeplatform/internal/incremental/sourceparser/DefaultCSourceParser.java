@@ -0,0 +1,382 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.language.nativeplatform.internal.incremental.sourceparser;
+
+import com.google.common.collect.Lists;
+import org.apache.commons.io.IOUtils;
+import org.gradle.api.Nullable;
+import org.gradle.api.UncheckedIOException;
+import org.gradle.language.nativeplatform.internal.Include;
+import org.gradle.language.nativeplatform.internal.IncludeDirectives;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds the include and import directives of a source file in a single pass over its content, without creating a string for each line.
+ * Comments are replaced with a single space and line continuations are removed before each line is inspected. A line is an include or import
+ * directive when its value is enclosed in quotes or angle brackets, or is a single macro name, and is the last thing on the line.
+ *
+ * The parser also records whether any code or other directive comes before the first include, and whether the file is protected by an include guard or
+ * {@code #pragma once}. An include guard is an {@code #ifndef X} or {@code #if !defined(X)} followed by {@code #define X}, whose {@code #endif} is the last
+ * thing in the file.
+ *
+ * This is _not_ threadsafe.
+ */
+public class DefaultCSourceParser implements CSourceParser {
+    private char[] content = new char[8192];
+    private char[] line = new char[256];
+    private int length;
+    private int pos;
+    private int lineLength;
+    private boolean includeSeen;
+    private boolean contentBeforeFirstInclude;
+    private boolean pragmaOnce;
+    private GuardState guardState;
+    private String guardMacro;
+    private int guardDepth;
+
+    private enum GuardState {
+        START, EXPECT_DEFINE, INSIDE, CLOSED, NONE
+    }
+
+    @Override
+    public IncludeDirectives parseSource(File sourceFile) {
+        read(sourceFile);
+        List<Include> includes = parseContent();
+        return new DefaultIncludeDirectives(includes, contentBeforeFirstInclude, pragmaOnce || guardState == GuardState.CLOSED);
+    }
+
+    private void read(File file) {
+        try {
+            Reader reader = new FileReader(file);
+            try {
+                length = 0;
+                int count;
+                while ((count = reader.read(content, length, content.length - length)) != -1) {
+                    length += count;
+                    if (length == content.length) {
+                        content = Arrays.copyOf(content, content.length * 2);
+                    }
+                }
+            } finally {
+                IOUtils.closeQuietly(reader);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Include> parseContent() {
+        List<Include> includes = Lists.newArrayList();
+        pos = 0;
+        lineLength = 0;
+        includeSeen = false;
+        contentBeforeFirstInclude = false;
+        pragmaOnce = false;
+        guardState = GuardState.START;
+        guardMacro = null;
+        guardDepth = 0;
+        boolean inString = false;
+        boolean quoted = false;
+        boolean skipLineFeed = false;
+        while (true) {
+            int ch = next();
+            if (ch == '\\' && discardNewLine()) {
+                continue;
+            }
+
+            if (ch == '"' && !quoted) {
+                inString = !inString;
+            } else if (ch == '\\') {
+                quoted = !quoted;
+            } else {
+                quoted = false;
+                if (!inString && ch == '/') {
+                    ch = skipComment();
+                }
+            }
+
+            if (ch == -1) {
+                parseLine(includes);
+                return includes;
+            }
+            if (skipLineFeed && ch == '\n') {
+                skipLineFeed = false;
+                continue;
+            }
+            skipLineFeed = false;
+            if (ch == '\n' || ch == '\r') {
+                parseLine(includes);
+                lineLength = 0;
+                skipLineFeed = ch == '\r';
+            } else {
+                if (lineLength == line.length) {
+                    line = Arrays.copyOf(line, line.length * 2);
+                }
+                line[lineLength++] = (char) ch;
+            }
+        }
+    }
+
+    /**
+     * Skips the comment that may start with the '/' just read, and returns the character to use in place of the '/'.
+     */
+    private int skipComment() {
+        int ch = next();
+        if (ch == '/') {
+            while (ch != '\n' && ch != -1 && ch != '\r') {
+                ch = next();
+            }
+            return ch;
+        }
+        if (ch == '*') {
+            while (ch != -1) {
+                ch = next();
+                if (ch == '*') {
+                    ch = next();
+                    while (ch == '*') {
+                        ch = next();
+                    }
+                    if (ch == '/') {
+                        return ' ';
+                    }
+                }
+            }
+            return -1;
+        }
+        pos--;
+        return '/';
+    }
+
+    private boolean discardNewLine() {
+        int ch = next();
+        if (ch == '\n') {
+            return true;
+        }
+        if (ch == '\r') {
+            if (next() == '\n') {
+                return true;
+            }
+            pos -= 2;
+            return false;
+        }
+        pos--;
+        return false;
+    }
+
+    private int next() {
+        // Always advance, so that a character can be pushed back by moving back, including past the end of the content
+        int index = pos++;
+        return index < length ? content[index] : -1;
+    }
+
+    private void parseLine(List<Include> includes) {
+        int start = 0;
+        int end = lineLength;
+        while (start < end && line[start] <= ' ') {
+            start++;
+        }
+        if (start == end) {
+            return;
+        }
+        if (line[start] != '#') {
+            content();
+            return;
+        }
+        while (line[end - 1] <= ' ') {
+            end--;
+        }
+
+        int index = skipWhitespace(start + 1, end);
+        boolean isImport;
+        if (matchesIgnoreCase("include", index, end)) {
+            isImport = false;
+            index += 7;
+        } else if (matchesIgnoreCase("import", index, end)) {
+            isImport = matches("import", index);
+            index += 6;
+        } else {
+            directive(index, end);
+            return;
+        }
+        Include include = parseInclude(skipWhitespace(index, end), end, isImport);
+        if (include != null) {
+            includeSeen = true;
+            includes.add(include);
+        }
+        content();
+    }
+
+    @Nullable
+    private Include parseInclude(int index, int end, boolean isImport) {
+        if (index == end) {
+            return null;
+        }
+
+        char first = line[index];
+        if (first == '<' || first == '"') {
+            char last = first == '<' ? '>' : '"';
+            // the value must be enclosed in the delimiters, and be the last thing on the line
+            if (end - index < 3 || line[end - 1] != last || indexOf(last, index + 1, end) != end - 1) {
+                return null;
+            }
+        } else {
+            for (int i = index; i < end; i++) {
+                if (!isWordCharacter(line[i])) {
+                    return null;
+                }
+            }
+        }
+        return DefaultInclude.parse(new String(line, index, end - index), isImport);
+    }
+
+    /**
+     * Records a line of code, or an include, that is outside of any include guard.
+     */
+    private void content() {
+        if (!includeSeen) {
+            contentBeforeFirstInclude = true;
+        }
+        if (guardState != GuardState.INSIDE) {
+            guardState = GuardState.NONE;
+        }
+    }
+
+    /**
+     * Records a preprocessor directive other than an include, starting with the given keyword.
+     */
+    private void directive(int index, int end) {
+        if (!includeSeen) {
+            contentBeforeFirstInclude = true;
+        }
+        int keywordEnd = index;
+        while (keywordEnd < end && isWordCharacter(line[keywordEnd])) {
+            keywordEnd++;
+        }
+        String keyword = new String(line, index, keywordEnd - index);
+        String argument = new String(line, keywordEnd, end - keywordEnd).trim();
+        if (keyword.equals("pragma") && argument.equals("once")) {
+            pragmaOnce = true;
+            return;
+        }
+        switch (guardState) {
+            case START:
+                guardMacro = guardMacro(keyword, argument);
+                guardState = guardMacro == null ? GuardState.NONE : GuardState.EXPECT_DEFINE;
+                break;
+            case EXPECT_DEFINE:
+                guardState = keyword.equals("define") && firstWord(argument).equals(guardMacro) ? GuardState.INSIDE : GuardState.NONE;
+                guardDepth = 1;
+                break;
+            case INSIDE:
+                if (keyword.equals("if") || keyword.equals("ifdef") || keyword.equals("ifndef")) {
+                    guardDepth++;
+                } else if (keyword.equals("endif")) {
+                    guardDepth--;
+                    if (guardDepth == 0) {
+                        guardState = GuardState.CLOSED;
+                    }
+                } else if (guardDepth == 1 && (keyword.equals("else") || keyword.equals("elif"))) {
+                    guardState = GuardState.NONE;
+                }
+                break;
+            default:
+                guardState = GuardState.NONE;
+        }
+    }
+
+    /**
+     * Returns the macro tested by an {@code #ifndef X} or {@code #if !defined(X)} directive, or null for any other directive.
+     */
+    @Nullable
+    private static String guardMacro(String keyword, String argument) {
+        if (keyword.equals("ifndef")) {
+            String macro = firstWord(argument);
+            return macro.isEmpty() ? null : macro;
+        }
+        if (keyword.equals("if") && argument.startsWith("!")) {
+            String condition = argument.substring(1).trim();
+            if (condition.startsWith("defined") && condition.length() > 7 && !isWordCharacter(condition.charAt(7))) {
+                String macro = condition.substring(7).replace('(', ' ').replace(')', ' ').trim();
+                return !macro.isEmpty() && firstWord(macro).equals(macro) ? macro : null;
+            }
+        }
+        return null;
+    }
+
+    private static String firstWord(String value) {
+        int end = 0;
+        while (end < value.length() && isWordCharacter(value.charAt(end))) {
+            end++;
+        }
+        return value.substring(0, end);
+    }
+
+    private int skipWhitespace(int index, int end) {
+        while (index < end && isWhitespace(line[index])) {
+            index++;
+        }
+        return index;
+    }
+
+    private int indexOf(char ch, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (line[i] == ch) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean matchesIgnoreCase(String keyword, int index, int end) {
+        if (end - index < keyword.length()) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length(); i++) {
+            char ch = line[index + i];
+            if (ch >= 'A' && ch <= 'Z') {
+                ch = (char) (ch - 'A' + 'a');
+            }
+            if (ch != keyword.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matches(String keyword, int index) {
+        for (int i = 0; i < keyword.length(); i++) {
+            if (line[index + i] != keyword.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWhitespace(char ch) {
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000B' || ch == '\f' || ch == '\r';
+    }
+
+    private static boolean isWordCharacter(char ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9') || ch == '_';
+    }
+}
@@ -26,9 +26,17 @@ import java.util.List;
 
 public class DefaultIncludeDirectives implements IncludeDirectives {
     private final ImmutableList<Include> allIncludes;
+    private final boolean contentBeforeFirstInclude;
+    private final boolean includeGuarded;
 
     public DefaultIncludeDirectives(List<Include> allIncludes) {
+        this(allIncludes, false, false);
+    }
+
+    public DefaultIncludeDirectives(List<Include> allIncludes, boolean contentBeforeFirstInclude, boolean includeGuarded) {
         this.allIncludes = ImmutableList.copyOf(allIncludes);
+        this.contentBeforeFirstInclude = contentBeforeFirstInclude;
+        this.includeGuarded = includeGuarded;
     }
 
     @Override
@@ -76,6 +84,16 @@ public class DefaultIncludeDirectives implements IncludeDirectives {
         });
     }
 
+    @Override
+    public boolean hasContentBeforeFirstInclude() {
+        return contentBeforeFirstInclude;
+    }
+
+    @Override
+    public boolean isIncludeGuarded() {
+        return includeGuarded;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -91,11 +109,14 @@ public class DefaultIncludeDirectives implements IncludeDirectives {
             return false;
         }
 
-        return true;
+        return contentBeforeFirstInclude == that.contentBeforeFirstInclude && includeGuarded == that.includeGuarded;
     }
 
     @Override
     public int hashCode() {
-        return allIncludes.hashCode();
+        int result = allIncludes.hashCode();
+        result = 31 * result + (contentBeforeFirstInclude ? 1 : 0);
+        result = 31 * result + (includeGuarded ? 1 : 0);
+        return result;
     }
 }
@@ -17,11 +17,16 @@
 package org.gradle.language.nativeplatform.tasks;
 
 import org.gradle.api.Incubating;
+import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.Nested;
 import org.gradle.api.tasks.Optional;
+import org.gradle.language.nativeplatform.internal.DefaultPreCompiledHeaderCompiler;
+import org.gradle.language.nativeplatform.internal.incremental.PreCompiledHeaderCompiler;
 import org.gradle.language.nativeplatform.internal.incremental.sourceparser.DefaultInclude;
+import org.gradle.nativeplatform.toolchain.GccCompatibleToolChain;
 import org.gradle.nativeplatform.toolchain.internal.NativeCompileSpec;
 import org.gradle.nativeplatform.toolchain.internal.PCHUtils;
+import org.gradle.nativeplatform.toolchain.internal.PlatformToolProvider;
 import org.gradle.nativeplatform.toolchain.internal.PreCompiledHeader;
 
 import java.io.File;
@@ -32,6 +37,7 @@ import java.io.File;
 @Incubating
 public abstract class AbstractNativeSourceCompileTask extends AbstractNativeCompileTask {
     private PreCompiledHeader preCompiledHeader;
+    private boolean autoSelectPreCompiledHeader;
 
     public AbstractNativeSourceCompileTask() {
         super();
@@ -49,6 +55,15 @@ public abstract class AbstractNativeSourceCompileTask extends AbstractNativeComp
         }
     }
 
+    @Override
+    PreCompiledHeaderCompiler createPreCompiledHeaderCompiler(PlatformToolProvider platformToolProvider) {
+        // Visual C++ needs the object file compiled with a pre-compiled header to be linked, so only GCC compatible tool chains are supported
+        if (!autoSelectPreCompiledHeader || preCompiledHeader != null || !(getToolChain() instanceof GccCompatibleToolChain)) {
+            return null;
+        }
+        return new DefaultPreCompiledHeaderCompiler(platformToolProvider);
+    }
+
     /**
      * Returns the pre-compiled header to be used during compilation
      */
@@ -60,4 +75,24 @@ public abstract class AbstractNativeSourceCompileTask extends AbstractNativeComp
     public void setPreCompiledHeader(PreCompiledHeader preCompiledHeader) {
         this.preCompiledHeader = preCompiledHeader;
     }
+
+    /**
+     * Should a header be selected and pre-compiled for the source files when no pre-compiled header is configured? The selected header is the one that
+     * most of the source files to compile include first, and that has not changed since the previous compilation. Only GCC compatible tool chains are supported.
+     *
+     * @since 4.0
+     */
+    @Input
+    public boolean isAutoSelectPreCompiledHeader() {
+        return autoSelectPreCompiledHeader;
+    }
+
+    /**
+     * Sets whether a header should be selected and pre-compiled for the source files when no pre-compiled header is configured.
+     *
+     * @since 4.0
+     */
+    public void setAutoSelectPreCompiledHeader(boolean autoSelectPreCompiledHeader) {
+        this.autoSelectPreCompiledHeader = autoSelectPreCompiledHeader;
+    }
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.language.nativeplatform.internal
+
+import org.gradle.api.internal.tasks.SimpleWorkResult
+import org.gradle.internal.operations.logging.BuildOperationLogger
+import org.gradle.language.base.internal.compile.Compiler
+import org.gradle.language.cpp.internal.DefaultCppCompileSpec
+import org.gradle.language.cpp.internal.DefaultCppPCHCompileSpec
+import org.gradle.nativeplatform.toolchain.internal.PlatformToolProvider
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class DefaultPreCompiledHeaderCompilerTest extends Specification {
+    @Rule TestNameTestDirectoryProvider temp = new TestNameTestDirectoryProvider()
+    def platformToolProvider = Mock(PlatformToolProvider)
+    def pchCompiler = Mock(Compiler)
+    def compiler = new DefaultPreCompiledHeaderCompiler(platformToolProvider)
+
+    def "compiles the header and configures the spec to use the pre-compiled header"() {
+        def header = temp.createFile("include/common.h")
+        def includeDir = temp.createDir("include")
+        def logger = Mock(BuildOperationLogger)
+        def spec = new DefaultCppCompileSpec()
+        spec.tempDir = temp.createDir("tmp")
+        spec.include(includeDir)
+        spec.macros = [foo: "bar"]
+        spec.args(["-O2"])
+        spec.operationLogger = logger
+        DefaultCppPCHCompileSpec pchSpec = null
+
+        when:
+        compiler.compile(spec, "common.h", header)
+
+        then:
+        1 * platformToolProvider.newCompiler(DefaultCppPCHCompileSpec) >> pchCompiler
+        1 * pchCompiler.execute(_) >> { DefaultCppPCHCompileSpec it ->
+            pchSpec = it
+            new File(it.objectFileDir, "1234/prefix-headers.h.gch").with {
+                parentFile.mkdirs()
+                text = "pch"
+            }
+            new SimpleWorkResult(true)
+        }
+
+        and:
+        pchSpec.sourceFiles*.name == ["prefix-headers.h"]
+        pchSpec.sourceFiles[0].text.contains(header.absolutePath)
+        pchSpec.includeRoots == [includeDir]
+        pchSpec.macros == [foo: "bar"]
+        pchSpec.args == ["-O2"]
+        pchSpec.operationLogger == logger
+
+        and:
+        spec.preCompiledHeader == "common.h"
+        spec.prefixHeaderFile.text == pchSpec.sourceFiles[0].text
+        spec.preCompiledHeaderObjectFile.text == "pch"
+        spec.preCompiledHeaderObjectFile.parentFile == spec.prefixHeaderFile.parentFile
+    }
+}
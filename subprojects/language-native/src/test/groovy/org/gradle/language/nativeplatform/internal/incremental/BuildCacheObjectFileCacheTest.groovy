@@ -0,0 +1,138 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.language.nativeplatform.internal.incremental
+
+import com.google.common.collect.ImmutableMap
+import com.google.common.collect.ImmutableSet
+import com.google.common.hash.HashCode
+import org.gradle.caching.BuildCache
+import org.gradle.caching.BuildCacheEntryReader
+import org.gradle.caching.BuildCacheEntryWriter
+import org.gradle.caching.BuildCacheKey
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class BuildCacheObjectFileCacheTest extends Specification {
+    @Rule TestNameTestDirectoryProvider temp = new TestNameTestDirectoryProvider()
+    def buildCache = Mock(BuildCache)
+    def sourceFile = temp.file("src/main.cpp")
+    def header = temp.file("include/main.h")
+    def objectFile = temp.createDir("objects").file("main.o")
+
+    def "restores the object file from the cache"() {
+        def cache = objectFileCache(state((sourceFile): [hash("1234"), ["main.h": header]], (header): [hash("2345"), [:]]))
+
+        when:
+        def restored = cache.restore(sourceFile, ["-c"], objectFile)
+        cache.storeCompiledObjectFiles()
+
+        then:
+        restored
+        objectFile.text == "object"
+        1 * buildCache.load(_, _) >> { BuildCacheKey key, BuildCacheEntryReader reader ->
+            reader.readFrom(new ByteArrayInputStream("object".bytes))
+            true
+        }
+        0 * buildCache.store(_, _)
+    }
+
+    def "stores the object file once it has been compiled"() {
+        def cache = objectFileCache(state((sourceFile): [hash("1234"), [:]]))
+        def stored = new ByteArrayOutputStream()
+
+        when:
+        def restored = cache.restore(sourceFile, ["-c"], objectFile)
+        objectFile.text = "object"
+        cache.storeCompiledObjectFiles()
+
+        then:
+        !restored
+        1 * buildCache.load(_, _) >> false
+        1 * buildCache.store(_, _) >> { BuildCacheKey key, BuildCacheEntryWriter writer -> writer.writeTo(stored) }
+        stored.toString() == "object"
+    }
+
+    def "key depends on the content and location of the included files and on the arguments"() {
+        def otherHeader = temp.file("other/main.h")
+        def original = key(state((sourceFile): [hash("1234"), ["main.h": header]], (header): [hash("2345"), [:]]), ["-c"])
+
+        expect:
+        original != null
+        original == key(state((sourceFile): [hash("1234"), ["main.h": header]], (header): [hash("2345"), [:]]), ["-c"])
+        original != key(state((sourceFile): [hash("1234"), ["main.h": otherHeader]], (otherHeader): [hash("2345"), [:]]), ["-c"])
+        original != key(state((sourceFile): [hash("1234"), ["main.h": header]], (header): [hash("3456"), [:]]), ["-c"])
+        original != key(state((sourceFile): [hash("1234"), ["main.h": header]], (header): [hash("2345"), [:]]), ["-c", "-O2"])
+        original != key(state((sourceFile): [hash("1234"), ["main.h": header]], (header): [hash("2345"), [:]]), ["-c"], "gcc:x86:gcc 5.4.0")
+    }
+
+    def "key does not depend on the location of the project directory"() {
+        def otherProjectDir = temp.file("other-project")
+        def otherSourceFile = otherProjectDir.file("src/main.cpp")
+        def otherHeader = otherProjectDir.file("include/main.h")
+
+        expect:
+        key(state((sourceFile): [hash("1234"), ["main.h": header]], (header): [hash("2345"), [:]]), ["-c"]) ==
+            key(otherProjectDir, otherSourceFile, state((otherSourceFile): [hash("1234"), ["main.h": otherHeader]], (otherHeader): [hash("2345"), [:]]), ["-c"], "gcc:x86:gcc 4.9.2")
+    }
+
+    def "does not use the cache when the included files are not known"() {
+        def cache = objectFileCache(state((sourceFile): [hash("1234"), ["MACRO": null]]))
+
+        when:
+        def restored = cache.restore(sourceFile, ["-c"], objectFile)
+        objectFile.text = "object"
+        cache.storeCompiledObjectFiles()
+
+        then:
+        !restored
+        0 * buildCache._
+    }
+
+    private String key(CompilationState state, List<String> args, String toolChainIdentity = "gcc:x86:gcc 4.9.2") {
+        key(temp.testDirectory, sourceFile, state, args, toolChainIdentity)
+    }
+
+    private String key(File projectDir, File sourceFile, CompilationState state, List<String> args, String toolChainIdentity) {
+        String key = null
+        def recordingCache = Stub(BuildCache) {
+            load(_, _) >> { BuildCacheKey k, BuildCacheEntryReader reader ->
+                key = k.hashCode
+                false
+            }
+        }
+        new BuildCacheObjectFileCache(recordingCache, true, false, toolChainIdentity, projectDir, state).restore(sourceFile, args, objectFile)
+        return key
+    }
+
+    private BuildCacheObjectFileCache objectFileCache(CompilationState state) {
+        new BuildCacheObjectFileCache(buildCache, true, true, "gcc:x86:gcc 4.9.2", temp.testDirectory, state)
+    }
+
+    private CompilationState state(Map<File, List<?>> states) {
+        def fileStates = [:]
+        states.each { file, fileState ->
+            def resolvedIncludes = fileState[1].collect { include, includedFile -> new ResolvedInclude(include, includedFile) }
+            fileStates.put(file, new CompilationFileState(fileState[0], null, ImmutableSet.copyOf(resolvedIncludes)))
+        }
+        new CompilationState(ImmutableSet.of(states.keySet().first()), ImmutableMap.copyOf(fileStates))
+    }
+
+    private static HashCode hash(String value) {
+        HashCode.fromString(value)
+    }
+}
@@ -57,7 +57,8 @@ class CompilationStateSerializerTest extends SerializerSpec {
         fileStates.put(fileEmpty, compilationFileState(HashCode.fromString("1234"), createSourceIncludes(), []))
 
         def fileTwo = new File("two")
-        def stateTwo = compilationFileState(HashCode.fromString("2345"), createSourceIncludes("<system>", '"quoted"', "MACRO"), [resolvedInclude("ONE"), resolvedInclude("TWO")])
+        def includesTwo = new DefaultIncludeDirectives(["<system>", '"quoted"', "MACRO"].collect { DefaultInclude.parse(it, false) }, true, true)
+        def stateTwo = compilationFileState(HashCode.fromString("2345"), includesTwo, [resolvedInclude("ONE"), resolvedInclude("TWO")])
         fileStates.put(fileTwo, stateTwo)
         def state = compilationState([], fileStates)
 
@@ -71,6 +72,8 @@ class CompilationStateSerializerTest extends SerializerSpec {
         emptyCompileState.includeDirectives.macroIncludes.empty
         emptyCompileState.includeDirectives.quotedIncludes.empty
         emptyCompileState.includeDirectives.systemIncludes.empty
+        !emptyCompileState.includeDirectives.hasContentBeforeFirstInclude()
+        !emptyCompileState.includeDirectives.includeGuarded
         emptyCompileState.resolvedIncludes.empty
 
         def otherCompileState = newState.getState(fileTwo)
@@ -78,9 +81,24 @@ class CompilationStateSerializerTest extends SerializerSpec {
         otherCompileState.includeDirectives.systemIncludes.collect { it.value } == ["system"]
         otherCompileState.includeDirectives.quotedIncludes.collect { it.value } == ["quoted"]
         otherCompileState.includeDirectives.macroIncludes.collect { it.value } == ["MACRO"]
+        otherCompileState.includeDirectives.hasContentBeforeFirstInclude()
+        otherCompileState.includeDirectives.includeGuarded
         otherCompileState.resolvedIncludes == [resolvedInclude("ONE"), resolvedInclude("TWO")] as Set
     }
 
+    def "serializes compile durations"() {
+        when:
+        def fileOne = new File("one")
+        def fileTwo = new File("two")
+        def state = compilationState([fileOne, fileTwo], [:]).withCompileDurations([(fileOne): 12L, (new File("removed")): 34L])
+
+        then:
+        with (serialized(state)) {
+            sourceInputs == [fileOne, fileTwo] as Set
+            compileDurations == [(fileOne): 12L]
+        }
+    }
+
     private DefaultIncludeDirectives createSourceIncludes(String... strings) {
         return new DefaultIncludeDirectives(strings.collect { DefaultInclude.parse(it, false) })
     }
@@ -166,6 +166,65 @@ class DefaultSourceIncludesResolverTest extends Specification {
         }
     }
 
+    def "caches the contents of searched directories"() {
+        given:
+        def resolver = new DefaultSourceIncludesResolver(includePaths)
+        quotedIncludes << "test.h"
+
+        expect:
+        resolver.resolveIncludes(sourceFile, includes).resolvedIncludes.empty
+
+        when:
+        def header = sourceDirectory.createFile("test.h")
+
+        then:
+        resolver.resolveIncludes(sourceFile, includes).resolvedIncludes.empty
+        dependencies == deps(header)
+    }
+
+    def "checks the file system for includes that differ in case from a directory entry"() {
+        given:
+        def header = sourceDirectory.createFile("Test.H")
+        def candidate = sourceDirectory.file("test.h")
+
+        when:
+        quotedIncludes << "test.h"
+
+        then:
+        dependencies.collect { it.file } == (candidate.isFile() ? [header.canonicalFile] : [])
+        candidates == [candidate]
+    }
+
+    def "checks the file system for includes with non ASCII names"() {
+        given:
+        // The same name in decomposed form, which some file systems treat as equal
+        sourceDirectory.createFile("caf\u00e9.h")
+        def candidate = sourceDirectory.file("cafe\u0301.h")
+
+        when:
+        quotedIncludes << "cafe\u0301.h"
+
+        then:
+        dependencies.size() == (candidate.isFile() ? 1 : 0)
+        candidates == [candidate]
+    }
+
+    def "ignores includes in directories that do not exist"() {
+        given:
+        def includeDir = testDirectory.file("missing")
+        def header = testDirectory.file("include").createFile("nested/test.h")
+
+        when:
+        includePaths << includeDir << testDirectory.file("include")
+        quotedIncludes << "nested/test.h"
+        systemIncludes << "other.h"
+
+        then:
+        dependencies == [new ResolvedInclude("nested/test.h", header)]
+        searchedCandidates() == [sourceDirectory.file("nested/test.h"), includeDir.file("nested/test.h"), header,
+                                 includeDir.file("other.h"), testDirectory.file("include/other.h")]
+    }
+
     def include(String value) {
         return DefaultInclude.parse(value, false)
     }
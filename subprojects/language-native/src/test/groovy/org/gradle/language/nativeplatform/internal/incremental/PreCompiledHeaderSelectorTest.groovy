@@ -0,0 +1,186 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.language.nativeplatform.internal.incremental
+
+import com.google.common.collect.ImmutableMap
+import com.google.common.collect.ImmutableSet
+import com.google.common.hash.HashCode
+import org.gradle.language.nativeplatform.internal.incremental.sourceparser.DefaultInclude
+import org.gradle.language.nativeplatform.internal.incremental.sourceparser.DefaultIncludeDirectives
+import spock.lang.Specification
+
+class PreCompiledHeaderSelectorTest extends Specification {
+    def headers = ["common.h": new File("include/common.h"), "other.h": new File("include/other.h"), "nested.h": new File("include/nested.h")]
+    def sourceFiles = []
+    def fileStates = [:]
+
+    def setup() {
+        header("common.h", 1, '"nested.h"')
+        header("other.h", 2)
+        header("nested.h", 3)
+    }
+
+    def "selects the header that most source files include first"() {
+        source("a.cpp", '"common.h"', "<vector>")
+        source("b.cpp", '"common.h"')
+        def c = source("c.cpp", '"other.h"')
+        def d = source("d.cpp", '"other.h"')
+        def e = source("e.cpp", '"other.h"', "<vector>")
+        source("f.cpp", "<vector>", "<map>")
+
+        when:
+        def selection = select(noPreviousState())
+
+        then:
+        selection.header == "other.h"
+        selection.headerFile == headers["other.h"]
+        selection.sourceFiles == [c, d, e]
+    }
+
+    def "does not select a header that is included first by a single source file"() {
+        source("a.cpp", '"common.h"')
+        source("b.cpp", '"other.h"')
+
+        expect:
+        select(noPreviousState()) == null
+    }
+
+    def "does not select a header that a source file includes after another header"() {
+        source("a.cpp", '"other.h"')
+        source("b.cpp", '"other.h"')
+        source("c.cpp", '"other.h"')
+        def d = source("d.cpp", '"common.h"', '"other.h"')
+        def e = source("e.cpp", '"common.h"')
+
+        when:
+        def selection = select(noPreviousState())
+
+        then:
+        selection.header == "common.h"
+        selection.sourceFiles == [d, e]
+    }
+
+    def "does not select a header that has changed or includes a header that has changed since the previous compilation"() {
+        def a = source("a.cpp", '"common.h"')
+        def b = source("b.cpp", '"common.h"')
+        def previousState = state()
+
+        expect:
+        select(previousState).sourceFiles == [a, b]
+
+        when:
+        header("nested.h", 4)
+
+        then:
+        select(previousState) == null
+    }
+
+    def "does not select a header that includes headers that cannot be resolved"() {
+        header("nested.h", 3, "MACRO")
+        source("a.cpp", '"common.h"')
+        source("b.cpp", '"common.h"')
+
+        expect:
+        select(noPreviousState()) == null
+    }
+
+    def "does not select a header without an include guard"() {
+        header("common.h", 1, false, '"nested.h"')
+        source("a.cpp", '"common.h"')
+        source("b.cpp", '"common.h"')
+
+        expect:
+        select(noPreviousState()) == null
+    }
+
+    def "does not select a header that a source file includes after code or other directives"() {
+        source("a.cpp", '"common.h"')
+        source("b.cpp", '"common.h"')
+        sourceWithContentBeforeIncludes("c.cpp", '"common.h"')
+
+        expect:
+        select(noPreviousState()) == null
+    }
+
+    def "does not select a header whose include resolves to different files for different source files"() {
+        def configA = new File("a/config.h")
+        def configB = new File("b/config.h")
+        fileStates[configA] = fileState(5, true, true)
+        fileStates[configB] = fileState(6, true, true)
+        sourceWithHeader("a/x.cpp", "config.h", configA)
+        sourceWithHeader("a/y.cpp", "config.h", configA)
+        sourceWithHeader("a/z.cpp", "config.h", configA)
+        sourceWithHeader("b/x.cpp", "config.h", configB)
+        def c = source("c.cpp", '"other.h"')
+        def d = source("d.cpp", '"other.h"')
+
+        when:
+        def selection = select(noPreviousState())
+
+        then:
+        selection.header == "other.h"
+        selection.sourceFiles == [c, d]
+    }
+
+    private PreCompiledHeaderSelector.Selection select(CompilationState previousState) {
+        new PreCompiledHeaderSelector(previousState, state()).select(sourceFiles)
+    }
+
+    private File source(String name, String... includes) {
+        def file = new File(name)
+        fileStates[file] = fileState(name.hashCode(), false, false, includes)
+        sourceFiles << file
+        file
+    }
+
+    private File sourceWithHeader(String name, String include, File header) {
+        def file = new File(name)
+        def includeDirectives = new DefaultIncludeDirectives([DefaultInclude.parse('"' + include + '"', false)], false, false)
+        fileStates[file] = new CompilationFileState(HashCode.fromInt(name.hashCode()), includeDirectives, ImmutableSet.of(new ResolvedInclude(include, header)))
+        sourceFiles << file
+        file
+    }
+
+    private File sourceWithContentBeforeIncludes(String name, String... includes) {
+        def file = new File(name)
+        fileStates[file] = fileState(name.hashCode(), true, false, includes)
+        sourceFiles << file
+        file
+    }
+
+    private void header(String name, int hash, String... includes) {
+        header(name, hash, true, includes)
+    }
+
+    private void header(String name, int hash, boolean includeGuarded, String... includes) {
+        fileStates[headers[name]] = fileState(hash, true, includeGuarded, includes)
+    }
+
+    private CompilationFileState fileState(int hash, boolean contentBeforeFirstInclude, boolean includeGuarded, String... includes) {
+        def includeDirectives = new DefaultIncludeDirectives(includes.collect { DefaultInclude.parse(it, false) }, contentBeforeFirstInclude, includeGuarded)
+        def resolvedIncludes = includeDirectives.includesAndImports.collect { new ResolvedInclude(it.value, headers[it.value]) }
+        new CompilationFileState(HashCode.fromInt(hash), includeDirectives, ImmutableSet.copyOf(resolvedIncludes))
+    }
+
+    private CompilationState state() {
+        new CompilationState(ImmutableSet.copyOf(sourceFiles), ImmutableMap.copyOf(fileStates))
+    }
+
+    private static CompilationState noPreviousState() {
+        new CompilationState()
+    }
+}
@@ -22,9 +22,9 @@ import org.junit.Rule
 import spock.lang.Specification
 import spock.lang.Unroll
 
-class RegexBackedCSourceParserTest extends Specification {
+class DefaultCSourceParserTest extends Specification {
     @Rule final TestNameTestDirectoryProvider temporaryFolder = new TestNameTestDirectoryProvider()
-    CSourceParser parser = new RegexBackedCSourceParser()
+    CSourceParser parser = new DefaultCSourceParser()
 
     protected TestFile getSourceFile() {
         testDirectory.file('source.c')
@@ -466,4 +466,95 @@ st3"
         then:
         includes == ['"test1"', '"test2"', '"test3"'].collect { include(it) }
     }
+
+    def "finds directives separated by carriage returns"() {
+        when:
+        sourceFile << "#include \"a.h\"\r#include \"b.h\"\r\n#include \\\r\n\"c.h\"\r"
+
+        then:
+        found == ["a.h", "b.h", "c.h"]
+    }
+
+    @Unroll
+    def "finds directive after #description at the start of the file"() {
+        when:
+        sourceFile << text
+
+        then:
+        found == ["a.h"]
+
+        where:
+        description         | text
+        "line comment"      | "// comment on first line\n#include \"a.h\"\n"
+        "inline comment"    | "/* comment at the start */#include \"a.h\"\n"
+        "line continuation" | "\\\n#include \"a.h\"\n"
+    }
+
+    def "parses files larger than the initial buffers"() {
+        when:
+        sourceFile << "// ${'x' * 10000}\n"
+        sourceFile << "#include \"${'a' * 1000}.h\"\n"
+        (1..1000).each {
+            sourceFile << "#include <header${it}.h>\n"
+        }
+
+        then:
+        found.size() == 1001
+        found.first() == "${'a' * 1000}.h"
+        found.last() == "header1000.h"
+    }
+
+    def "can reuse parser for multiple files"() {
+        def other = testDirectory.file("other.h")
+
+        when:
+        sourceFile << "#include <long-name-for-a-header.h>\n"
+        other << "#include \"a.h\""
+
+        then:
+        found == ["long-name-for-a-header.h"]
+        parser.parseSource(other).includesAndImports.collect { it.value } == ["a.h"]
+        found == ["long-name-for-a-header.h"]
+    }
+
+    def "detects code or directives before the first include"() {
+        when:
+        sourceFile << text
+
+        then:
+        parsedSource.hasContentBeforeFirstInclude() == contentBeforeFirstInclude
+
+        where:
+        text                                              | contentBeforeFirstInclude
+        "#include \"a.h\"\n#define X 1\nint x;\n"         | false
+        "// comment\n\n/* comment */\n#include \"a.h\"\n" | false
+        "#define X 1\n#include \"a.h\"\n"                 | true
+        "#undef X\n#include \"a.h\"\n"                    | true
+        "#if X\n#include \"a.h\"\n#endif\n"               | true
+        "int x;\n#include \"a.h\"\n"                      | true
+        "#include MACRO(a)\n#include \"a.h\"\n"           | true
+    }
+
+    def "detects include guard"() {
+        when:
+        sourceFile << text
+
+        then:
+        parsedSource.includeGuarded == includeGuarded
+
+        where:
+        text                                                                          | includeGuarded
+        "// comment\n#ifndef A_H\n#define A_H\n#include <b.h>\nint a;\n#endif\n"      | true
+        "#if !defined(A_H)\n#define A_H\nint a;\n#endif // A_H\n"                     | true
+        "#if ! defined A_H\n#define A_H\nint a;\n#endif\n"                            | true
+        "#ifndef A_H\n#define A_H\n#ifdef B\nint b;\n#else\nint c;\n#endif\n#endif\n" | true
+        "#pragma once\nint a;\n"                                                      | true
+        "int a;\n"                                                                    | false
+        "#ifndef A_H\n#define B_H\nint a;\n#endif\n"                                  | false
+        "#ifndef A_H\n#define A_H\nint a;\n#endif\nint b;\n"                          | false
+        "int b;\n#ifndef A_H\n#define A_H\nint a;\n#endif\n"                          | false
+        "#ifndef A_H\n#define A_H\nint a;\n#else\nint b;\n#endif\n"                   | false
+        "#ifndef A_H\n#define A_H\nint a;\n"                                          | false
+        "#if !definedA_H\n#define A_H\nint a;\n#endif\n"                              | false
+    }
 }
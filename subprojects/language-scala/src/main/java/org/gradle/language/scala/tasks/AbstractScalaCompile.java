@@ -106,6 +106,9 @@ public abstract class AbstractScalaCompile extends AbstractCompile {
         }
     }
 
+    /**
+     * Returns the analysis file of each Scala compile task in the build, keyed by the published jar and by the classes directory of the task.
+     */
     @SuppressWarnings("unchecked")
     protected Map<File, File> createOrGetGlobalAnalysisMap() {
         ExtraPropertiesExtension extraProperties = getProject().getRootProject().getExtensions().getExtraProperties();
@@ -117,9 +120,19 @@ public abstract class AbstractScalaCompile extends AbstractCompile {
             analysisMap = Maps.newHashMap();
             for (Project project : getProject().getRootProject().getAllprojects()) {
                 for (AbstractScalaCompile task : project.getTasks().withType(AbstractScalaCompile.class)) {
-                    File publishedCode = task.getScalaCompileOptions().getIncrementalOptions().getPublishedCode();
                     File analysisFile = task.getScalaCompileOptions().getIncrementalOptions().getAnalysisFile();
-                    analysisMap.put(publishedCode, analysisFile);
+                    if (analysisFile == null) {
+                        continue;
+                    }
+                    // Other projects may depend on either the published jar or the classes directory of this task
+                    File publishedCode = task.getScalaCompileOptions().getIncrementalOptions().getPublishedCode();
+                    if (publishedCode != null) {
+                        analysisMap.put(publishedCode, analysisFile);
+                    }
+                    File destinationDir = task.getDestinationDir();
+                    if (destinationDir != null) {
+                        analysisMap.put(destinationDir, analysisFile);
+                    }
                 }
             }
             extraProperties.set("scalaCompileAnalysisMap", Collections.unmodifiableMap(analysisMap));
@@ -16,6 +16,7 @@
 package org.gradle.launcher.daemon.server;
 
 import com.google.common.collect.ImmutableList;
+import org.gradle.api.internal.changedetection.state.InMemoryTaskArtifactCache;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.gradle.internal.classpath.ClassPath;
@@ -106,8 +107,8 @@ public class DaemonServices extends DefaultServiceRegistry {
         return new DaemonMemoryStatus(healthStats);
     }
 
-    protected DaemonHealthCheck createDaemonHealthCheck(ListenerManager listenerManager, HealthExpirationStrategy healthExpirationStrategy) {
-        return new DaemonHealthCheck(healthExpirationStrategy, listenerManager);
+    protected DaemonHealthCheck createDaemonHealthCheck(ListenerManager listenerManager, HealthExpirationStrategy healthExpirationStrategy, DaemonMemoryStatus memoryStatus, InMemoryTaskArtifactCache inMemoryTaskArtifactCache) {
+        return new DaemonHealthCheck(healthExpirationStrategy, memoryStatus, inMemoryTaskArtifactCache, listenerManager);
     }
 
     protected DaemonRunningStats createDaemonRunningStats() {
@@ -16,6 +16,9 @@
 
 package org.gradle.launcher.daemon.server.health;
 
+import org.gradle.api.internal.changedetection.state.InMemoryTaskArtifactCache;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
 import org.gradle.internal.event.ListenerBroadcast;
 import org.gradle.internal.event.ListenerManager;
 import org.gradle.launcher.daemon.server.expiry.DaemonExpirationListener;
@@ -25,16 +28,27 @@ import org.gradle.launcher.daemon.server.expiry.DaemonExpirationStrategy;
 import static org.gradle.launcher.daemon.server.expiry.DaemonExpirationStatus.DO_NOT_EXPIRE;
 
 public class DaemonHealthCheck {
+    private static final Logger LOGGER = Logging.getLogger(DaemonHealthCheck.class);
 
     private final DaemonExpirationStrategy strategy;
+    private final DaemonMemoryStatus memoryStatus;
+    private final InMemoryTaskArtifactCache inMemoryTaskArtifactCache;
     private final ListenerBroadcast<DaemonExpirationListener> listenerBroadcast;
 
-    public DaemonHealthCheck(DaemonExpirationStrategy strategy, ListenerManager listenerManager) {
+    public DaemonHealthCheck(DaemonExpirationStrategy strategy, DaemonMemoryStatus memoryStatus, InMemoryTaskArtifactCache inMemoryTaskArtifactCache, ListenerManager listenerManager) {
         this.strategy = strategy;
+        this.memoryStatus = memoryStatus;
+        this.inMemoryTaskArtifactCache = inMemoryTaskArtifactCache;
         this.listenerBroadcast = listenerManager.createAnonymousBroadcaster(DaemonExpirationListener.class);
     }
 
     public void executeHealthCheck() {
+        // Give the in-memory caches a chance to shrink before the garbage collector starts thrashing and the daemon has to be stopped
+        if (memoryStatus.isTenuredSpaceUnderPressure()) {
+            long released = inMemoryTaskArtifactCache.releaseMemory();
+            LOGGER.info("Tenured space is under pressure. Released {} entries from in-memory caches.", released);
+        }
+
         DaemonExpirationResult result = strategy.checkExpiration();
         if (result.getStatus() != DO_NOT_EXPIRE) {
             listenerBroadcast.getSource().onExpirationEvent(result);
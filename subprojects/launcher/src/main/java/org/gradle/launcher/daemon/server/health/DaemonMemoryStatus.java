@@ -34,6 +34,10 @@ public class DaemonMemoryStatus {
     public static final String TENURED_RATE_EXPIRE_AT = "org.gradle.daemon.performance.tenured-rate-expire-at";
     public static final String PERMGEN_USAGE_EXPIRE_AT = "org.gradle.daemon.performance.permgen-usage-expire-at";
     public static final String THRASHING_EXPIRE_AT = "org.gradle.daemon.performance.thrashing-expire-at";
+    public static final String TENURED_USAGE_RELEASE_CACHES_AT = "org.gradle.daemon.performance.tenured-usage-release-caches-at";
+
+    // By default, caches are released when tenured space usage gets within this many percentage points of the expiration threshold
+    private static final int RELEASE_CACHES_USAGE_MARGIN = 10;
 
     private static final String TENURED = "tenured";
     private static final String PERMGEN = "perm gen";
@@ -44,6 +48,7 @@ public class DaemonMemoryStatus {
     private final double tenuredRateThreshold;
     private final int permgenUsageThreshold;
     private final double thrashingThreshold;
+    private final int releaseCachesUsageThreshold;
 
     public DaemonMemoryStatus(DaemonHealthStats stats) {
         this.stats = stats;
@@ -52,6 +57,7 @@ public class DaemonMemoryStatus {
         this.tenuredRateThreshold = parseValue(TENURED_RATE_EXPIRE_AT, strategy.getGcRateThreshold());
         this.permgenUsageThreshold = parseValue(PERMGEN_USAGE_EXPIRE_AT, strategy.getPermGenUsageThreshold());
         this.thrashingThreshold = parseValue(THRASHING_EXPIRE_AT, strategy.getThrashingThreshold());
+        this.releaseCachesUsageThreshold = parseValue(TENURED_USAGE_RELEASE_CACHES_AT, Math.max(tenuredUsageThreshold - RELEASE_CACHES_USAGE_MARGIN, 0));
     }
 
     public boolean isTenuredSpaceExhausted() {
@@ -69,6 +75,24 @@ public class DaemonMemoryStatus {
         });
     }
 
+    /**
+     * Returns true when tenured space is filling up, but is not yet exhausted. In-memory caches should release some of their entries at this point.
+     */
+    public boolean isTenuredSpaceUnderPressure() {
+        GarbageCollectionStats gcStats = stats.getGcMonitor().getTenuredStats();
+
+        return exceedsThreshold(TENURED, gcStats, new Spec<GarbageCollectionStats>() {
+            @Override
+            public boolean isSatisfiedBy(GarbageCollectionStats gcStats) {
+                return releaseCachesUsageThreshold != 0
+                    && tenuredRateThreshold != 0
+                    && gcStats.getEventCount() >= 5
+                    && gcStats.getUsage() >= releaseCachesUsageThreshold
+                    && gcStats.getRate() >= tenuredRateThreshold;
+            }
+        });
+    }
+
     public boolean isPermGenSpaceExhausted() {
         GarbageCollectionStats gcStats = stats.getGcMonitor().getPermGenStats();
 
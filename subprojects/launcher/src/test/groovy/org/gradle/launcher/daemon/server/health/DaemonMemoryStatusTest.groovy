@@ -27,6 +27,7 @@ import spock.lang.Unroll
 
 import static DaemonMemoryStatus.PERMGEN_USAGE_EXPIRE_AT
 import static DaemonMemoryStatus.TENURED_RATE_EXPIRE_AT
+import static DaemonMemoryStatus.TENURED_USAGE_RELEASE_CACHES_AT
 import static DaemonMemoryStatus.TENURED_USAGE_EXPIRE_AT
 import static DaemonMemoryStatus.THRASHING_EXPIRE_AT
 
@@ -90,6 +91,47 @@ class DaemonMemoryStatusTest extends Specification {
         1.0           | 75             | 1.0  | 100  | true
     }
 
+    @Unroll
+    def "knows when tenured space is under pressure (#rateThreshold <= #rate, #usageThreshold <= #used)"() {
+        when:
+        System.setProperty(TENURED_USAGE_RELEASE_CACHES_AT, usageThreshold.toString())
+        System.setProperty(TENURED_RATE_EXPIRE_AT, rateThreshold.toString())
+        gcMonitor.getTenuredStats() >> {
+            Stub(GarbageCollectionStats) {
+                getUsage() >> used
+                getRate() >> rate
+                getEventCount() >> 10
+            }
+        }
+
+        then:
+        status.isTenuredSpaceUnderPressure() == underPressure
+
+        where:
+        rateThreshold | usageThreshold | rate | used | underPressure
+        1.0           | 70             | 1.1  | 100  | true
+        1.0           | 70             | 1.1  | 71   | true
+        1.0           | 70             | 1.1  | 69   | false
+        1.0           | 70             | 0.9  | 71   | false
+        1.0           | 0              | 1.1  | 100  | false
+        0             | 70             | 1.1  | 100  | false
+    }
+
+    def "releases caches before tenured space is exhausted by default"() {
+        when:
+        gcMonitor.getTenuredStats() >> {
+            Stub(GarbageCollectionStats) {
+                getUsage() >> 75
+                getRate() >> 1.5
+                getEventCount() >> 10
+            }
+        }
+
+        then:
+        status.isTenuredSpaceUnderPressure()
+        !status.isTenuredSpaceExhausted()
+    }
+
     @Unroll
     def "knows when perm gen space is exhausted (#usageThreshold <= #used, #usageThreshold <= #used)"() {
         when:
@@ -160,6 +202,9 @@ class DaemonMemoryStatusTest extends Specification {
 
         and:
         !status.isThrashing()
+
+        and:
+        !status.isTenuredSpaceUnderPressure()
     }
 
     DaemonMemoryStatus getStatus() {
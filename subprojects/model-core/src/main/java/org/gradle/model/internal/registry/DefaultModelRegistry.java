@@ -40,6 +40,11 @@ import static org.gradle.model.internal.core.ModelNode.State.*;
 @NotThreadSafe
 public class DefaultModelRegistry implements ModelRegistryInternal {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultModelRegistry.class);
+    private static final ModelRuleExecutionListener NO_OP_RULE_EXECUTION_LISTENER = new ModelRuleExecutionListener() {
+        @Override
+        public void ruleExecuted(String projectPath, ModelRuleDescriptor rule, long executionTimeNanos) {
+        }
+    };
 
     private final String projectPath;
     private final ModelGraph modelGraph;
@@ -48,10 +53,18 @@ public class DefaultModelRegistry implements ModelRegistryInternal {
     // Use of a LinkedList for 2 reasons: `Set` proved to have a significant negative impact on performance
     // And list will see a lot of removals, which ArrayList isn't very well suited for.
     private final List<RuleBinder> unboundRules = new LinkedList<RuleBinder>();
+    private final ModelRuleExecutionListener ruleExecutionListener;
+    // Time spent in rules executed while the current rule is running, so that each rule is only charged for its own time
+    private long nestedRuleExecutionTime;
 
     public DefaultModelRegistry(ModelRuleExtractor ruleExtractor, String projectPath) {
+        this(ruleExtractor, projectPath, NO_OP_RULE_EXECUTION_LISTENER);
+    }
+
+    public DefaultModelRegistry(ModelRuleExtractor ruleExtractor, String projectPath, ModelRuleExecutionListener ruleExecutionListener) {
         this.ruleExtractor = ruleExtractor;
         this.projectPath = projectPath;
+        this.ruleExecutionListener = ruleExecutionListener;
         ModelRegistration rootRegistration = ModelRegistrations.of(ModelPath.ROOT).descriptor("<root>").withProjection(EmptyModelProjection.INSTANCE).build();
         modelGraph = new ModelGraph(new ModelElementNode(this, rootRegistration, null));
         ruleBindings = new RuleBindings();
@@ -448,6 +461,9 @@ public class DefaultModelRegistry implements ModelRegistryInternal {
 
         LOGGER.debug("Project {} - Mutating {} using {}", projectPath, node.getPath(), descriptor);
 
+        long outerNestedTime = nestedRuleExecutionTime;
+        nestedRuleExecutionTime = 0;
+        long start = System.nanoTime();
         try {
             RuleContext.run(descriptor, new Runnable() {
                 @Override
@@ -458,6 +474,11 @@ public class DefaultModelRegistry implements ModelRegistryInternal {
         } catch (Throwable e) {
             // TODO some representation of state of the inputs
             throw new ModelRuleExecutionException(descriptor, e);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            long ownTime = elapsed - nestedRuleExecutionTime;
+            nestedRuleExecutionTime = outerNestedTime + elapsed;
+            ruleExecutionListener.ruleExecuted(projectPath, descriptor, ownTime);
         }
     }
 
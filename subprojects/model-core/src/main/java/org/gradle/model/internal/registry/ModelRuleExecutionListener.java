@@ -0,0 +1,33 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.model.internal.registry;
+
+import org.gradle.model.internal.core.rule.describe.ModelRuleDescriptor;
+
+/**
+ * Notified when a model rule has been executed, to allow the time spent in each rule to be profiled.
+ */
+public interface ModelRuleExecutionListener {
+    /**
+     * Called after a rule has been executed, whether or not it succeeded.
+     *
+     * @param projectPath The path of the project that owns the model the rule was applied to.
+     * @param rule The rule.
+     * @param executionTimeNanos The time spent executing the rule, excluding any rules that were executed while it was running.
+     */
+    void ruleExecuted(String projectPath, ModelRuleDescriptor rule, long executionTimeNanos);
+}
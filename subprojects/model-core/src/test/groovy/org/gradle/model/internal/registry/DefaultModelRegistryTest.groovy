@@ -31,6 +31,8 @@ import org.gradle.util.TextUtil
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.util.concurrent.TimeUnit
+
 import static org.gradle.model.internal.core.NodePredicate.allDescendants
 import static org.gradle.model.internal.core.NodePredicate.allLinks
 import static org.gradle.util.TextUtil.normaliseLineSeparators
@@ -377,6 +379,58 @@ class DefaultModelRegistryTest extends Specification {
         0 * action._
     }
 
+    def "notifies listener of the time spent executing each rule"() {
+        def listener = Mock(ModelRuleExecutionListener)
+        def registry = new ModelRegistryHelper(listener)
+
+        given:
+        registry.register("foo") { it.descriptor("create foo").unmanaged(new Bean()) }
+        registry.configure(ModelActionRole.Mutate) {
+            it.path("foo").descriptor("mutate foo").action { Bean bean ->
+                Thread.sleep(20)
+                bean.value = "mutated"
+            }
+        }
+
+        when:
+        registry.realize("foo", Bean)
+
+        then:
+        _ * listener.ruleExecuted(null, { it.toString() == "create foo" }, _)
+        1 * listener.ruleExecuted(null, { it.toString() == "mutate foo" }, { it >= TimeUnit.MILLISECONDS.toNanos(20) })
+        0 * listener._
+    }
+
+    def "time spent in nested rules is not included in the time of the enclosing rule"() {
+        def listener = Mock(ModelRuleExecutionListener)
+        def registry = new ModelRegistryHelper(listener)
+        def outerTime = 0
+        def innerTime = 0
+
+        given:
+        registry.register("foo") { it.descriptor("create foo").unmanaged(new Bean()) }
+        registry.register("bar") { it.descriptor("create bar").unmanaged(new Bean()) }
+        registry.configure(ModelActionRole.Mutate) {
+            it.path("bar").descriptor("mutate bar").action { Bean bean ->
+                Thread.sleep(50)
+            }
+        }
+        registry.configure(ModelActionRole.Mutate) {
+            it.path("foo").descriptor("mutate foo").action { Bean bean ->
+                registry.realize("bar", Bean)
+            }
+        }
+
+        when:
+        registry.realize("foo", Bean)
+
+        then:
+        1 * listener.ruleExecuted(null, { it.toString() == "mutate foo" }, _) >> { args -> outerTime = args[2] }
+        1 * listener.ruleExecuted(null, { it.toString() == "mutate bar" }, _) >> { args -> innerTime = args[2] }
+        innerTime >= TimeUnit.MILLISECONDS.toNanos(50)
+        outerTime < innerTime
+    }
+
     def "registration for linked element invoked before element is closed"() {
         def action = Mock(Action)
 
@@ -18,6 +18,7 @@ package org.gradle.model.internal.fixture;
 import org.gradle.api.internal.rules.RuleAwarePolymorphicNamedEntityInstantiator;
 import org.gradle.model.internal.inspect.ModelRuleExtractor;
 import org.gradle.model.internal.registry.DefaultModelRegistry;
+import org.gradle.model.internal.registry.ModelRuleExecutionListener;
 import org.gradle.model.internal.type.ModelType;
 
 public class ModelRegistryHelper extends DefaultModelRegistry {
@@ -29,6 +30,10 @@ public class ModelRegistryHelper extends DefaultModelRegistry {
         super(ruleExtractor, null);
     }
 
+    public ModelRegistryHelper(ModelRuleExecutionListener ruleExecutionListener) {
+        super(ProjectRegistrySpec.MODEL_RULE_EXTRACTOR, null, ruleExecutionListener);
+    }
+
     public static <T> ModelType<RuleAwarePolymorphicNamedEntityInstantiator<T>> instantiatorType(Class<T> typeClass) {
         return new ModelType.Builder<RuleAwarePolymorphicNamedEntityInstantiator<T>>() {
         }.where(new ModelType.Parameter<T>() {
@@ -65,4 +65,22 @@ public interface DependentSourceSet extends LanguageSourceSet {
      * @return the pre-compiled header
      */
     String getPreCompiledHeader();
+
+    /**
+     * Sets whether a header should be selected and pre-compiled when compiling sources in this source set, when no pre-compiled header is configured.
+     * The selected header is the one that most of the sources to compile include first, and that has not changed since the previous compilation.
+     * Only GCC compatible tool chains are supported.
+     *
+     * @param autoSelect whether to select the header to pre-compile
+     * @since 4.0
+     */
+    void setAutoSelectPreCompiledHeader(boolean autoSelect);
+
+    /**
+     * Returns whether a header is selected and pre-compiled when compiling sources in this source set.
+     *
+     * @return whether to select the header to pre-compile
+     * @since 4.0
+     */
+    boolean isAutoSelectPreCompiledHeader();
 }
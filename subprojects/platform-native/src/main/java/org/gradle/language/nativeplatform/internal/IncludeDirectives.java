@@ -26,4 +26,14 @@ public interface IncludeDirectives {
     List<Include> getMacroIncludes();
     List<Include> getIncludesAndImports();
     List<Include> getIncludesOnly();
+
+    /**
+     * Returns true when the file contains code or preprocessor directives before its first include or import.
+     */
+    boolean hasContentBeforeFirstInclude();
+
+    /**
+     * Returns true when the file is protected from being included more than once, by {@code #pragma once} or by an include guard around all of its content.
+     */
+    boolean isIncludeGuarded();
 }
@@ -16,6 +16,7 @@
 
 package org.gradle.nativeplatform.toolchain.internal;
 
+import org.gradle.api.Nullable;
 import org.gradle.internal.operations.BuildOperationProcessor;
 import org.gradle.language.base.internal.compile.CompileSpec;
 import org.gradle.language.base.internal.compile.Compiler;
@@ -64,6 +65,12 @@ public abstract class AbstractPlatformToolProvider implements PlatformToolProvid
         return targetOperatingSystem.getInternalOs().getStaticLibraryName(libraryPath);
     }
 
+    @Nullable
+    @Override
+    public String getCompilerVersion() {
+        return null;
+    }
+
     @Override
     public <T> T get(Class<T> toolType) {
         throw new IllegalArgumentException(String.format("Don't know how to provide tool of type %s.", toolType.getSimpleName()));
@@ -16,6 +16,7 @@
 
 package org.gradle.nativeplatform.toolchain.internal;
 
+import org.gradle.api.Nullable;
 import org.gradle.api.internal.changedetection.changes.DiscoveredInputRecorder;
 import org.gradle.language.nativeplatform.internal.IncludeDirectives;
 import org.gradle.nativeplatform.internal.BinaryToolSpec;
@@ -83,6 +84,26 @@ public interface NativeCompileSpec extends BinaryToolSpec {
 
     void setSourceFileIncludeDirectives(Map<File, IncludeDirectives> map);
 
+    /**
+     * The duration in milliseconds of the previous compilation of each source file, when known. Source files that took the longest are compiled first.
+     */
+    Map<File, Long> getPreviousCompileDurations();
+
+    void setPreviousCompileDurations(Map<File, Long> durations);
+
+    /**
+     * The duration in milliseconds of the compilation of each source file compiled using this spec. Populated by the compiler.
+     */
+    Map<File, Long> getCompileDurations();
+
+    /**
+     * The cache to restore object files from, or null when object files are not cached.
+     */
+    @Nullable
+    ObjectFileCache getObjectFileCache();
+
+    void setObjectFileCache(@Nullable ObjectFileCache objectFileCache);
+
     DiscoveredInputRecorder getDiscoveredInputRecorder();
 
     void setDiscoveredInputRecorder(DiscoveredInputRecorder inputs);
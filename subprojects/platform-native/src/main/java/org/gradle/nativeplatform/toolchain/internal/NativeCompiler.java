@@ -18,6 +18,7 @@ package org.gradle.nativeplatform.toolchain.internal;
 
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import com.google.common.primitives.Longs;
 import org.gradle.api.Action;
 import org.gradle.api.Transformer;
 import org.gradle.api.internal.tasks.SimpleWorkResult;
@@ -30,6 +31,8 @@ import org.gradle.internal.FileUtils;
 import org.gradle.internal.operations.BuildOperationProcessor;
 import org.gradle.internal.operations.BuildOperationQueue;
 import org.gradle.internal.os.OperatingSystem;
+import org.gradle.internal.time.Timer;
+import org.gradle.internal.time.Timers;
 import org.gradle.language.base.internal.compile.Compiler;
 import org.gradle.language.nativeplatform.internal.Include;
 import org.gradle.language.nativeplatform.internal.IncludeDirectives;
@@ -38,7 +41,10 @@ import org.gradle.util.CollectionUtils;
 
 import java.io.File;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class NativeCompiler<T extends NativeCompileSpec> implements Compiler<T> {
 
@@ -67,16 +73,26 @@ public abstract class NativeCompiler<T extends NativeCompileSpec> implements Com
     @Override
     public WorkResult execute(final T spec) {
         final T transformedSpec = specTransformer.transform(spec);
-        final List<String> genericArgs = getArguments(transformedSpec);
+        final List<String> compilerArgs = getCompilerArguments(transformedSpec);
+        final List<String> genericArgs = getInvocationArguments(compilerArgs, transformedSpec);
+        final ObjectFileCache objectFileCache = spec.getObjectFileCache();
 
         final File objectDir = transformedSpec.getObjectFileDir();
-        buildOperationProcessor.run(commandLineToolInvocationWorker, new Action<BuildOperationQueue<CommandLineToolInvocation>>() {
+        final List<File> sourceFiles = longestFirst(transformedSpec.getSourceFiles(), spec.getPreviousCompileDurations());
+        final TimingInvocationWorker worker = new TimingInvocationWorker(spec.getCompileDurations());
+        buildOperationProcessor.run(worker, new Action<BuildOperationQueue<CommandLineToolInvocation>>() {
             @Override
             public void execute(BuildOperationQueue<CommandLineToolInvocation> buildQueue) {
                 buildQueue.setLogLocation(spec.getOperationLogger().getLogLocation());
-                for (File sourceFile : transformedSpec.getSourceFiles()) {
+                for (File sourceFile : sourceFiles) {
+                    File objectFile = getOutputFileDir(sourceFile, objectDir, objectFileExtension);
+                    List<String> pchArgs = maybeGetPCHArgs(spec, sourceFile);
+                    if (objectFileCache != null && objectFileCache.restore(sourceFile, Lists.newArrayList(Iterables.concat(compilerArgs, pchArgs)), objectFile)) {
+                        continue;
+                    }
                     CommandLineToolInvocation perFileInvocation =
-                        createPerFileInvocation(genericArgs, sourceFile, objectDir, spec);
+                        createPerFileInvocation(genericArgs, pchArgs, sourceFile, objectFile, objectDir, spec);
+                    worker.compiling(perFileInvocation, sourceFile);
                     buildQueue.add(perFileInvocation);
                 }
             }
@@ -85,18 +101,50 @@ public abstract class NativeCompiler<T extends NativeCompileSpec> implements Com
         return new SimpleWorkResult(!transformedSpec.getSourceFiles().isEmpty());
     }
 
+    /**
+     * Orders the source files so that the files that took the longest to compile previously are compiled first, and so do not hold up the end of the
+     * compilation. Source files without a previous duration keep their relative order, ahead of the other files.
+     */
+    private static List<File> longestFirst(List<File> sourceFiles, final Map<File, Long> previousDurations) {
+        if (previousDurations == null || previousDurations.isEmpty()) {
+            return sourceFiles;
+        }
+        List<File> ordered = Lists.newArrayList(sourceFiles);
+        Collections.sort(ordered, new Comparator<File>() {
+            @Override
+            public int compare(File left, File right) {
+                return Longs.compare(getDuration(right), getDuration(left));
+            }
+
+            private long getDuration(File sourceFile) {
+                Long duration = previousDurations.get(sourceFile);
+                return duration == null ? Long.MAX_VALUE : duration;
+            }
+        });
+        return ordered;
+    }
+
     protected List<String> getArguments(T spec) {
+        return getInvocationArguments(getCompilerArguments(spec), spec);
+    }
+
+    private List<String> getCompilerArguments(T spec) {
         List<String> args = argsTransformer.transform(spec);
 
         Action<List<String>> userArgTransformer = invocationContext.getArgAction();
         // modifies in place
         userArgTransformer.execute(args);
+        return args;
+    }
 
-        if (useCommandFile) {
-            // Shorten args and write out an options.txt file
-            // This must be called only once per execute()
-            addOptionsFileArgs(args, spec.getTempDir());
+    private List<String> getInvocationArguments(List<String> compilerArgs, T spec) {
+        if (!useCommandFile) {
+            return compilerArgs;
         }
+        // Shorten args and write out an options.txt file
+        // This must be called only once per execute()
+        List<String> args = Lists.newArrayList(compilerArgs);
+        addOptionsFileArgs(args, spec.getTempDir());
         return args;
     }
 
@@ -159,15 +207,46 @@ public abstract class NativeCompiler<T extends NativeCompileSpec> implements Com
                 .concat(" but it is not the first declared header, so the pre-compiled header will not be used.");
     }
 
-    protected CommandLineToolInvocation createPerFileInvocation(List<String> genericArgs, File sourceFile, File objectDir, T spec) {
-        String objectFileSuffix = objectFileExtension;
+    protected CommandLineToolInvocation createPerFileInvocation(List<String> genericArgs, List<String> pchArgs, File sourceFile, File objectFile, File objectDir, T spec) {
         List<String> sourceArgs = getSourceArgs(sourceFile);
-        List<String> outputArgs = getOutputArgs(getOutputFileDir(sourceFile, objectDir, objectFileSuffix));
-        List<String> pchArgs = maybeGetPCHArgs(spec, sourceFile);
+        List<String> outputArgs = getOutputArgs(objectFile);
 
         return invocationContext.createInvocation("compiling ".concat(sourceFile.getName()), objectDir, buildPerFileArgs(genericArgs, sourceArgs, outputArgs, pchArgs), spec.getOperationLogger());
     }
 
+    /**
+     * Records the duration of each compiler invocation against the source file it compiles.
+     */
+    private class TimingInvocationWorker implements CommandLineToolInvocationWorker {
+        private final Map<CommandLineToolInvocation, File> sourceFiles = new ConcurrentHashMap<CommandLineToolInvocation, File>();
+        private final Map<File, Long> durations;
+
+        TimingInvocationWorker(Map<File, Long> durations) {
+            this.durations = durations;
+        }
+
+        void compiling(CommandLineToolInvocation invocation, File sourceFile) {
+            sourceFiles.put(invocation, sourceFile);
+        }
+
+        @Override
+        public String getDisplayName() {
+            return commandLineToolInvocationWorker.getDisplayName();
+        }
+
+        @Override
+        public void execute(CommandLineToolInvocation invocation) {
+            Timer clock = Timers.startTimer();
+            commandLineToolInvocationWorker.execute(invocation);
+            File sourceFile = sourceFiles.get(invocation);
+            if (sourceFile != null) {
+                long duration = clock.getElapsedMillis();
+                durations.put(sourceFile, duration);
+                logger.info("Compiled {} in {} ms.", sourceFile, duration);
+            }
+        }
+    }
+
     protected Iterable<String> buildPerFileArgs(List<String> genericArgs, List<String> sourceArgs, List<String> outputArgs, List<String> pchArgs) {
         return Iterables.concat(genericArgs, pchArgs, sourceArgs, outputArgs);
     }
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.nativeplatform.toolchain.internal;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Restores the object files compiled from individual source files from a cache, so that a source file does not need to be compiled when an object
+ * file compiled from the same inputs is available.
+ */
+public interface ObjectFileCache {
+    /**
+     * Restores the object file compiled from the given source file with the given compiler arguments into the given location.
+     *
+     * @return true if the object file was restored, false if the source file needs to be compiled.
+     */
+    boolean restore(File sourceFile, List<String> args, File objectFile);
+}
@@ -17,6 +17,7 @@
 package org.gradle.nativeplatform.toolchain.internal;
 
 import org.gradle.api.GradleException;
+import org.gradle.api.Nullable;
 import org.gradle.internal.text.TreeFormatter;
 import org.gradle.language.base.internal.compile.CompileSpec;
 import org.gradle.language.base.internal.compile.Compiler;
@@ -74,6 +75,12 @@ public class UnavailablePlatformToolProvider implements PlatformToolProvider {
         return targetOperatingSystem.getInternalOs().getStaticLibraryName(libraryPath);
     }
 
+    @Nullable
+    @Override
+    public String getCompilerVersion() {
+        return null;
+    }
+
     @Override
     public <T> T get(Class<T> toolType) {
         throw new IllegalArgumentException(String.format("Don't know how to provide tool of type %s.", toolType.getSimpleName()));
@@ -17,6 +17,7 @@ package org.gradle.nativeplatform.toolchain.internal.gcc;
 
 import com.google.common.collect.Maps;
 import org.gradle.api.Action;
+import org.gradle.api.Nullable;
 import org.gradle.api.internal.file.FileResolver;
 import org.gradle.internal.Actions;
 import org.gradle.internal.operations.BuildOperationProcessor;
@@ -145,16 +146,22 @@ public abstract class AbstractGccCompatibleToolChain extends ExtendableToolChain
         targetPlatformConfigurationConfiguration.apply(configurableToolChain);
         configureActions.execute(configurableToolChain);
 
-        initTools(configurableToolChain, result);
+        GccVersionResult versionResult = initTools(configurableToolChain, result);
         if (!result.isAvailable()) {
             return new UnavailablePlatformToolProvider(targetPlatform.getOperatingSystem(), result);
         }
 
-        return new GccPlatformToolProvider(buildOperationProcessor, targetPlatform.getOperatingSystem(), toolSearchPath, configurableToolChain, execActionFactory, compilerOutputFileNamingSchemeFactory, configurableToolChain.isCanUseCommandFile());
+        String compilerVersion = versionResult == null ? null : (versionResult.isClang() ? "clang " : "gcc ") + versionResult.getVersion();
+        return new GccPlatformToolProvider(buildOperationProcessor, targetPlatform.getOperatingSystem(), toolSearchPath, configurableToolChain, execActionFactory, compilerOutputFileNamingSchemeFactory, configurableToolChain.isCanUseCommandFile(), compilerVersion);
     }
 
-    protected void initTools(DefaultGccPlatformToolChain platformToolChain, ToolChainAvailability availability) {
+    /**
+     * Locates the tools of the given platform tool chain, and returns the meta-data of the compiler that was probed, if any.
+     */
+    @Nullable
+    protected GccVersionResult initTools(DefaultGccPlatformToolChain platformToolChain, ToolChainAvailability availability) {
         // Attempt to determine whether the compiler is the correct implementation
+        GccVersionResult foundCompiler = null;
         boolean found = false;
         for (GccCommandLineToolConfigurationInternal tool : platformToolChain.getCompilers()) {
             CommandLineToolSearchResult compiler = locate(tool);
@@ -162,11 +169,12 @@ public abstract class AbstractGccCompatibleToolChain extends ExtendableToolChain
                 GccVersionResult versionResult = getMetaDataProvider().getGccMetaData(compiler.getTool(), platformToolChain.getCompilerProbeArgs());
                 availability.mustBeAvailable(versionResult);
                 if (!versionResult.isAvailable()) {
-                    return;
+                    return null;
                 }
                 // Assume all the other compilers are ok, if they happen to be installed
                 LOGGER.debug("Found {} with version {}", ToolType.C_COMPILER.getToolName(), versionResult);
                 found = true;
+                foundCompiler = versionResult;
                 initForImplementation(platformToolChain, versionResult);
                 break;
             }
@@ -182,6 +190,7 @@ public abstract class AbstractGccCompatibleToolChain extends ExtendableToolChain
             GccCommandLineToolConfigurationInternal cCompiler = platformToolChain.getcCompiler();
             availability.mustBeAvailable(locate(cCompiler));
         }
+        return foundCompiler;
     }
 
     protected void initForImplementation(DefaultGccPlatformToolChain platformToolChain, GccVersionResult versionResult) {
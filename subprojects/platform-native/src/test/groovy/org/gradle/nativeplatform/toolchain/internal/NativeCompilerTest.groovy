@@ -148,6 +148,67 @@ abstract class NativeCompilerTest extends Specification {
         false           | "options passed on the command line only"
     }
 
+    def "compiles the source files that took the longest to compile previously first"() {
+        given:
+        def compiler = getCompiler()
+        def testDir = tmpDirProvider.testDirectory
+        def fast = testDir.file("fast.ext")
+        def added = testDir.file("added.ext")
+        def slow = testDir.file("slow.ext")
+        def compileDurations = [:]
+        def compiled = []
+
+        when:
+        NativeCompileSpec compileSpec = Stub(getCompileSpecType()) {
+            getObjectFileDir() >> testDir.file("output/objects")
+            getSourceFiles() >> [fast, added, slow]
+            getPreviousCompileDurations() >> [(fast): 10L, (slow): 1000L]
+            getCompileDurations() >> compileDurations
+            getOperationLogger() >> Mock(BuildOperationLogger)
+            getPreCompiledHeader() >> null
+            getPrefixHeaderFile() >> null
+            getPreCompiledHeaderObjectFile() >> null
+        }
+
+        and:
+        compiler.execute(compileSpec)
+
+        then:
+        3 * commandLineTool.execute(_) >> { CommandLineToolInvocation invocation -> compiled << invocation.description }
+        compiled == ["compiling added.ext", "compiling slow.ext", "compiling fast.ext"]
+        compileDurations.keySet() == [fast, added, slow] as Set
+    }
+
+    def "does not compile the source files whose object files are restored from the cache"() {
+        given:
+        def compiler = getCompiler()
+        def testDir = tmpDirProvider.testDirectory
+        def cached = testDir.file("cached.ext")
+        def changed = testDir.file("changed.ext")
+        def objectFileCache = Mock(ObjectFileCache)
+        def compiled = []
+
+        when:
+        NativeCompileSpec compileSpec = Stub(getCompileSpecType()) {
+            getObjectFileDir() >> testDir.file("output/objects")
+            getSourceFiles() >> [cached, changed]
+            getObjectFileCache() >> objectFileCache
+            getOperationLogger() >> Mock(BuildOperationLogger)
+            getPreCompiledHeader() >> null
+            getPrefixHeaderFile() >> null
+            getPreCompiledHeaderObjectFile() >> null
+        }
+
+        and:
+        compiler.execute(compileSpec)
+
+        then:
+        1 * objectFileCache.restore(cached, _, { it.name == "cached.o" }) >> true
+        1 * objectFileCache.restore(changed, _, { it.name == "changed.o" }) >> false
+        1 * commandLineTool.execute(_) >> { CommandLineToolInvocation invocation -> compiled << invocation.description }
+        compiled == ["compiling changed.ext"]
+    }
+
     def "user-supplied arg actions run once per execute"() {
         given:
         def invocationContext = new DefaultMutableCommandLineToolContext()
@@ -37,6 +37,7 @@ import org.gradle.platform.base.internal.toolchain.ToolSearchResult
 import org.gradle.process.internal.ExecActionFactory
 import org.gradle.util.TreeVisitor
 import org.gradle.util.UsesNativeServices
+import org.gradle.util.VersionNumber
 import spock.lang.Specification
 
 import static org.gradle.nativeplatform.platform.internal.ArchitectureInternal.InstructionSet.X86
@@ -135,6 +136,28 @@ class AbstractGccCompatibleToolChainTest extends Specification {
         toolChain.select(platform).available
     }
 
+    def "provides the version of the compiler that was probed"() {
+        given:
+        platform.operatingSystem >> dummyOs
+        platform.architecture >> dummyArch
+
+        and:
+        toolSearchPath.locate(_, _) >> tool
+        metaDataProvider.getGccMetaData(_, _) >> Stub(GccVersionResult) {
+            isAvailable() >> true
+            isClang() >> clang
+            getVersion() >> VersionNumber.parse(version)
+        }
+
+        expect:
+        toolChain.select(platform).compilerVersion == compilerVersion
+
+        where:
+        clang | version | compilerVersion
+        false | "4.9.2" | "gcc 4.9.2"
+        true  | "3.8.0" | "clang 3.8.0"
+    }
+
     def "is available when platform configuration registered for platform and tools are available"() {
         given:
         platform.name >> "SomePlatform"
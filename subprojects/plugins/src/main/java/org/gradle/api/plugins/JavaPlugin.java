@@ -346,7 +346,7 @@ public class JavaPlugin implements Plugin<ProjectInternal> {
             JavaBasePlugin.BUILD_DEPENDENTS_TASK_NAME, TEST_RUNTIME_CONFIGURATION_NAME);
     }
 
-    private void configureTest(final Project project, final JavaPluginConvention pluginConvention) {
+    private void configureTest(final ProjectInternal project, final JavaPluginConvention pluginConvention) {
         project.getTasks().withType(Test.class, new Action<Test>() {
             public void execute(final Test test) {
                 test.getConventionMapping().map("testClassesDir", new Callable<Object>() {
@@ -361,8 +361,13 @@ public class JavaPlugin implements Plugin<ProjectInternal> {
                 });
             }
         });
-        Test test = project.getTasks().create(TEST_TASK_NAME, Test.class);
-        project.getTasks().getByName(JavaBasePlugin.CHECK_TASK_NAME).dependsOn(test);
+        final Test test = project.getTasks().create(TEST_TASK_NAME, Test.class);
+        project.getTasks().configureLater(JavaBasePlugin.CHECK_TASK_NAME, new Action<Task>() {
+            @Override
+            public void execute(Task check) {
+                check.dependsOn(test);
+            }
+        });
         test.setDescription("Runs the unit tests.");
         test.setGroup(JavaBasePlugin.VERIFICATION_GROUP);
     }
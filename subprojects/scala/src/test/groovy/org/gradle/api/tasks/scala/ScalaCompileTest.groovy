@@ -76,6 +76,30 @@ public class ScalaCompileTest extends AbstractCompileTest {
         e.cause.message.contains("'testTask.scalaClasspath' must not be empty")
     }
 
+    def "uses the analysis of the Scala compile tasks whose classes or jar are on the classpath"() {
+        given:
+        setUpMocksAndAttributes(scalaCompile)
+        scalaClasspath.isEmpty() >> false
+        def libraryClasses = project.file("library/classes")
+        def libraryAnalysis = project.file("library.analysis")
+        def publishedJar = project.file("published.jar")
+        def publishedAnalysis = project.file("published.analysis")
+        def library = project.tasks.create("library", ScalaCompile)
+        library.destinationDir = libraryClasses
+        library.scalaCompileOptions.incrementalOptions.analysisFile = libraryAnalysis
+        def published = project.tasks.create("published", ScalaCompile)
+        published.destinationDir = project.file("published/classes")
+        published.scalaCompileOptions.incrementalOptions.analysisFile = publishedAnalysis
+        published.scalaCompileOptions.incrementalOptions.publishedCode = publishedJar
+        scalaCompile.classpath = project.files(libraryClasses, publishedJar, TEST_DEPENDENCY_MANAGER_CLASSPATH)
+
+        when:
+        scalaCompile.execute()
+
+        then:
+        1 * scalaCompiler.execute({ it.analysisMap == [(libraryClasses): libraryAnalysis, (publishedJar): publishedAnalysis] })
+    }
+
     protected void setUpMocksAndAttributes(final ScalaCompile compile) {
         super.setUpMocksAndAttributes(compile)
         compile.setScalaClasspath(scalaClasspath)